@@ -11,6 +11,7 @@ import java.util.Iterator;
 import javax.swing.Timer;
 
 import svwit.util.ConvexHull;
+import svwit.util.Geometry;
 import svwit.util.Point;
 
 /**
@@ -76,7 +77,7 @@ public class AnimatedCalipers {
 	public AnimatedCalipers(DrawingPanel drawingPanel) {
 		this.drawingPanel = drawingPanel;
 		coordinateTransformer = drawingPanel.getCoordinateTransformer();
-
+		
 		// ~30 FPS
 		timer = new Timer(33, new ActionListener() {
 			@Override
@@ -184,13 +185,13 @@ public class AnimatedCalipers {
 	private void doAnimation() {
 		
 		recalculateCalipers();
-
-		while(getDeterminant(pointA, pointAfterA, pointBCaliperA) >= 0 && convexHull.size() > 2) {
+		
+		while(Geometry.getDeterminant(pointA, pointAfterA, pointBCaliperA) >= 0 && convexHull.size() > 2) {
 			pointA = pointAfterA;
 			pointAfterA = iteratorA.next();
 			recalculateCaliperA();
 		}
-		while(getDeterminant(pointB, pointAfterB, pointACaliperB) >= 0 && convexHull.size() > 2) {
+		while(Geometry.getDeterminant(pointB, pointAfterB, pointACaliperB) >= 0 && convexHull.size() > 2) {
 			pointB = pointAfterB;
 			pointAfterB = iteratorB.next();
 			recalculateCaliperB();
@@ -201,7 +202,7 @@ public class AnimatedCalipers {
 		} else {
 			angle = 0;
 		}
-
+		
 		drawingPanel.repaint();
 	}
 	
@@ -233,22 +234,6 @@ public class AnimatedCalipers {
 		pointBCaliperB.setY((int)(pointB.getY() + Math.sin(angle + Math.PI) * calculateLength()));
 	}
 	
-	/**
-	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
-	 * 
-	 * @param pointA Der erste Punkt
-	 * @param pointB Der zweite Punkt
-	 * @param pointC Der dritte Punkt
-	 * @return Die Determinante
-	 */
-	private long getDeterminant(Point pointA, Point pointB, Point pointC) {
-		long determinant = 0;	
-		determinant += (long)pointA.getX() * ((long)pointB.getY() - (long)pointC.getY());
-		determinant += (long)pointB.getX() * ((long)pointC.getY() - (long)pointA.getY());
-		determinant += (long)pointC.getX() * ((long)pointA.getY() - (long)pointB.getY());	
-		return determinant;
-	}
-	
 	/**
 	 * Berechnet die Länge, die ein Messschieber annehmen soll und gibt diese zurück.
 	 * <p>
@@ -261,5 +246,5 @@ public class AnimatedCalipers {
 	private int calculateLength() {
 		return (int)(Math.max(drawingPanel.getWidth(), drawingPanel.getHeight()) / coordinateTransformer.getZoom());
 	}
-	
+
 }
@@ -19,14 +19,12 @@ import java.util.SortedSet;
 import javax.swing.JPanel;
 
 import svwit.calculator.CalculatorManager;
+import svwit.calculator.HullSnapshot;
 import svwit.changes.ChangeManager;
 import svwit.changes.DrawingPanelChanges;
 import svwit.util.ConvexHull;
-import svwit.util.Diameter;
+import svwit.util.PackedPointsCollection;
 import svwit.util.Point;
-import svwit.util.PointsCollection;
-import svwit.util.Quadrangle;
-import svwit.util.Triangle;
 import svwit.util.ValueChangeListener;
 
 /**
@@ -93,16 +91,8 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 	/** Der Punkt, der der Mausposition am nächsten ist */
 	private Point closestPoint;
 	
-	/** Die Punktmenge, die alle Punkte beinhaltet */
-	private PointsCollection allPoints = new PointsCollection();
-	/** Die Punktmenge der konvexen Hülle */
-	private ConvexHull convexHull = new ConvexHull();
-	/** Die Punktmenge des Durchmessers der konvexen Hülle */
-	private Diameter diameter = new Diameter();
-	/** Die Punktmenge des größten enthaltenen Vierecks der konvexen Hülle */
-	private Quadrangle quadrangle = new Quadrangle();
-	/** Die Punktmenge des größten enthaltenen Dreiecks der konvexen Hülle */
-	private Triangle triangle = new Triangle();
+	/** Der unveränderliche Stand der Punktmenge und der Ergebnisse, der angezeigt wird */
+	private HullSnapshot snapshot;
 
 	/**
 	 * Der Konstruktor.
@@ -119,6 +109,7 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 		super(true); // Setzt das Fenster auf DoubleBuffered, um eine bessere geschwindigkeit beim Zeichnen zu erhalten
 		this.guiManager = guiManager;
 		calculatorManager = guiManager.getCalculatorManager();
+		snapshot = calculatorManager.getSnapshot();
 		addMouseListener(this);
 		addMouseMotionListener(this);
 		addMouseWheelListener(this);
@@ -262,7 +253,8 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 	 * Hierfür werden automatisch der Zoomfaktor und die Verschiebung des Sichtbereichs angepasst.
 	 */
 	public void centerView() {
-		if(allPoints.size() <= 0) {
+		ConvexHull convexHull = snapshot.getConvexHull();
+		if(snapshot.size() <= 0 || convexHull == null || convexHull.size() <= 0) {
 			coordinateTransformer.setZoom(1);
 			coordinateTransformer.setOffsetX(0);
 			coordinateTransformer.setOffsetY(0);
@@ -321,12 +313,12 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 	 * @param e {@code MouseEvent}, welches diese Funktion aufruft
 	 */
 	private void calculateClosestPoint(MouseEvent e) {
-		if(allPoints.size() <= 0) {
+		if(snapshot.size() <= 0) {
 			return;
 		}
 		Point min = new Point(coordinateTransformer.transformToModelX(e.getX() - maxDistanceToMouse), coordinateTransformer.transformToModelY(e.getY() - maxDistanceToMouse));
 		Point max = new Point(coordinateTransformer.transformToModelX(e.getX() + maxDistanceToMouse), coordinateTransformer.transformToModelY(e.getY() + maxDistanceToMouse));
-		SortedSet<Point> subCollection = allPoints.subSet(min, max);
+		SortedSet<Point> subCollection = snapshot.getPointsAsSortedSet().subSet(min, max);
 		long distance = Long.MAX_VALUE;
 		for(Point p : subCollection) {
 			long newDistance = qLength(p, e.getX(), e.getY());
@@ -364,27 +356,31 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 		g2d.setStroke(new BasicStroke(4));
 		g2d.setFont(new Font("Dialog", Font.BOLD, 12));
 		
-		if(allPoints.size() <= 0) {
+		HullSnapshot current = snapshot;
+		if(current.size() <= 0) {
 			if(showMouseCoordinatesAndZoomEnabled) {
 				super.paintComponents(g2d);
 			}
 			return;
 		}
 		
-		if(showConvexHullEnabled) {
-			drawLinesBetwenPoints(g2d, convexHull, ColorPallet.COLOR_CONVEX_HULL);
-		}
+		ConvexHull convexHull = current.getConvexHull();
+		if(convexHull != null && convexHull.size() > 0) {
+			if(showConvexHullEnabled) {
+				drawLinesBetwenPoints(g2d, convexHull, ColorPallet.COLOR_CONVEX_HULL);
+			}
 		
-		if(showDiameterEnabled) {
-			drawLinesBetwenPoints(g2d, diameter, ColorPallet.COLOR_DIAMETER);
-		}
+			if(showDiameterEnabled) {
+				drawLinesBetwenPoints(g2d, current.getDiameter(), ColorPallet.COLOR_DIAMETER);
+			}
 		
-		if(showQuadrangleEnabled) {
-			drawLinesBetwenPoints(g2d, quadrangle, ColorPallet.COLOR_QUADRANGLE);
-		}
+			if(showQuadrangleEnabled) {
+				drawLinesBetwenPoints(g2d, current.getQuadrangle(), ColorPallet.COLOR_QUADRANGLE);
+			}
 		
-		if(showTriangleEnabled) {
-			drawLinesBetwenPoints(g2d, triangle, ColorPallet.COLOR_TRIANGLE);
+			if(showTriangleEnabled) {
+				drawLinesBetwenPoints(g2d, current.getTriangle(), ColorPallet.COLOR_TRIANGLE);
+			}
 		}
 		
 		if(showAnimationEnabled) {
@@ -403,12 +399,15 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 		}
 		
 		g2d.setColor(ColorPallet.COLOR_POINT);
-		for(Point point : allPoints) {
-			g2d.fillOval(coordinateTransformer.transformToScreenX(point.getX()) - 4, coordinateTransformer.transformToScreenY(point.getY()) - 4, 8, 8);
+		PackedPointsCollection points = current.getPoints();
+		for(int i = 0; i < points.size(); i++) {
+			int x = points.getX(i);
+			int y = points.getY(i);
+			g2d.fillOval(coordinateTransformer.transformToScreenX(x) - 4, coordinateTransformer.transformToScreenY(y) - 4, 8, 8);
 			if(showCoordinatesEnabled && !showClosestPointCoordinatesEnabled) {
-				String string = "( " + point.getX() + " , " + point.getY() + " )";
+				String string = "( " + x + " , " + y + " )";
 				int stringWidth = g2d.getFontMetrics().stringWidth(string);
-				g2d.drawString(string, coordinateTransformer.transformToScreenX(point.getX()) - stringWidth / 2, coordinateTransformer.transformToScreenY(point.getY()) - 8);
+				g2d.drawString(string, coordinateTransformer.transformToScreenX(x) - stringWidth / 2, coordinateTransformer.transformToScreenY(y) - 8);
 			}
 		}
 		if(showMouseCoordinatesAndZoomEnabled) {
@@ -418,17 +417,22 @@ public class DrawingPanel extends JPanel implements ValueChangeListener, MouseLi
 
 	@Override
 	public void onValueChanged() {
-		allPoints = calculatorManager.getAllPoints();
-		convexHull = calculatorManager.getconvexHull();
-		diameter = calculatorManager.getDiameter();
-		quadrangle = calculatorManager.getQuadrangle();
-		triangle = calculatorManager.getTriangle();
+		snapshot = calculatorManager.getSnapshot();
 		
-		animatedCalipers.setAnimation(convexHull);
+		if(snapshot.getConvexHull() != null) {
+			animatedCalipers.setAnimation(snapshot.getConvexHull());
+		}
 
 		repaint();
 	}
 
+	@Override
+	public void onPointsChanged() {
+		snapshot = calculatorManager.getSnapshot();
+		
+		repaint();
+	}
+	
 	@Override
 	public void mouseClicked(MouseEvent e) {
 		if(e.getButton() == MouseEvent.BUTTON1) {
@@ -20,6 +20,9 @@ import javax.swing.KeyStroke;
 import javax.swing.UIManager;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import svwit.util.BinaryPointsFile;
+import svwit.util.CompressedPointsFile;
+
 /**
  * Diese Klasse repräsentiert die Menüleiste mit allen enthaltenen Menüpunkten.
  * <p>
@@ -104,7 +107,13 @@ public class MenuBar extends JMenuBar{
 	private void init() {
 		
 		UIManager.getLookAndFeelDefaults().put("MenuItem.acceleratorForeground", Color.DARK_GRAY);
-		fileChooser.setFileFilter(new FileNameExtensionFilter("Points Datei", "points"));
+		FileNameExtensionFilter pointsFilter = new FileNameExtensionFilter("Points Datei", "points");
+		FileNameExtensionFilter binaryPointsFilter = new FileNameExtensionFilter("Binäre Points Datei", BinaryPointsFile.EXTENSION);
+		FileNameExtensionFilter compressedPointsFilter = new FileNameExtensionFilter("Komprimierte Points Datei", "gz", "bgz");
+		fileChooser.addChoosableFileFilter(new FileNameExtensionFilter("Alle Points Dateien", "points", BinaryPointsFile.EXTENSION, "gz", "bgz"));
+		fileChooser.addChoosableFileFilter(binaryPointsFilter);
+		fileChooser.addChoosableFileFilter(compressedPointsFilter);
+		fileChooser.setFileFilter(pointsFilter);
 		
 		// -------------------------------------------
 		// "Datei" Menu
@@ -170,13 +179,19 @@ public class MenuBar extends JMenuBar{
 				int returnValue = fileChooser.showSaveDialog(null);
 				if (returnValue == JFileChooser.APPROVE_OPTION) {
 					try {
-						if(!fileChooser.getSelectedFile().getAbsolutePath().endsWith(".points")) {
-							guiManager.getCalculatorManager().savePointsToFile(fileChooser.getSelectedFile().getAbsolutePath() + ".points");
-							prevPath = fileChooser.getSelectedFile().getAbsolutePath() + ".points";
-						} else {
-							guiManager.getCalculatorManager().savePointsToFile(fileChooser.getSelectedFile().getAbsolutePath());
-							prevPath = fileChooser.getSelectedFile().getAbsolutePath();
+						String path = fileChooser.getSelectedFile().getAbsolutePath();
+						if(!path.endsWith(".points") && !BinaryPointsFile.hasExtension(path) && !CompressedPointsFile.hasExtension(path)) {
+							// das Format wird über die Dateiendung gewählt, ohne Endung über den gewählten Filter
+							if(fileChooser.getFileFilter() == binaryPointsFilter) {
+								path += "." + BinaryPointsFile.EXTENSION;
+							} else if(fileChooser.getFileFilter() == compressedPointsFilter) {
+								path += "." + CompressedPointsFile.GZIP_EXTENSION;
+							} else {
+								path += ".points";
+							}
 						}
+						guiManager.getCalculatorManager().savePointsToFile(path);
+						prevPath = path;
 						menuItemSave.setEnabled(true);
 					} catch (IOException e1) {
 						System.out.println("Error: Datei konnte nicht gespeichert werden!");
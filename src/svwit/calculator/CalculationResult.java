@@ -0,0 +1,105 @@
+package svwit.calculator;
+
+import svwit.util.ConvexHull;
+import svwit.util.Diameter;
+import svwit.util.Quadrangle;
+import svwit.util.Triangle;
+
+/**
+ * Diese Klasse fasst die Ergebnisse einer Berechnung des {@code CalculationService} zusammen.
+ * <p>
+ * Die Ergebnisse gehören zu der Version der Punktmenge, mit der die Berechnung angefordert wurde. Sie werden nach der Berechnung
+ * nicht mehr verändert und dürfen daher ohne Synchronisierung an einen anderen Thread übergeben werden.
+ * Die konvexe Hülle darf auch von dem Empfänger nicht verändert werden.
+ * 
+ * @see CalculationService
+ */
+public final class CalculationResult {
+
+	/** Die Version der Punktmenge, zu der die Ergebnisse gehören */
+	private final long version;
+	/** Die konvexe Hülle */
+	private final ConvexHull convexHull;
+	/** Der Durchmesser der konvexen Hülle */
+	private final Diameter diameter;
+	/** Das größte enthaltene Viereck der konvexen Hülle */
+	private final Quadrangle quadrangle;
+	/** Das größte enthaltene Dreieck der konvexen Hülle */
+	private final Triangle triangle;
+	/** Die Dauer der Berechnung in Nanosekunden */
+	private final long calculationTime;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param version Die Version der Punktmenge, zu der die Ergebnisse gehören
+	 * @param convexHull Die konvexe Hülle
+	 * @param diameter Der Durchmesser der konvexen Hülle
+	 * @param quadrangle Das größte enthaltene Viereck der konvexen Hülle
+	 * @param triangle Das größte enthaltene Dreieck der konvexen Hülle
+	 * @param calculationTime Die Dauer der Berechnung in Nanosekunden
+	 */
+	public CalculationResult(long version, ConvexHull convexHull, Diameter diameter, Quadrangle quadrangle, Triangle triangle, long calculationTime) {
+		this.version = version;
+		this.convexHull = convexHull;
+		this.diameter = diameter;
+		this.quadrangle = quadrangle;
+		this.triangle = triangle;
+		this.calculationTime = calculationTime;
+	}
+	
+	/**
+	 * Gibt die Version der Punktmenge zurück, zu der die Ergebnisse gehören.
+	 * 
+	 * @return Version der Punktmenge
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Gibt die konvexe Hülle zurück.
+	 * 
+	 * @return konvexe Hülle
+	 */
+	public ConvexHull getConvexHull() {
+		return convexHull;
+	}
+	
+	/**
+	 * Gibt den Durchmesser der konvexen Hülle zurück.
+	 * 
+	 * @return Durchmesser der konvexen Hülle
+	 */
+	public Diameter getDiameter() {
+		return diameter;
+	}
+	
+	/**
+	 * Gibt das größte enthaltene Viereck der konvexen Hülle zurück.
+	 * 
+	 * @return größtes enthaltene Viereck der konvexen Hülle
+	 */
+	public Quadrangle getQuadrangle() {
+		return quadrangle;
+	}
+	
+	/**
+	 * Gibt das größte enthaltene Dreieck der konvexen Hülle zurück.
+	 * 
+	 * @return größtes enthaltene Dreieck der konvexen Hülle
+	 */
+	public Triangle getTriangle() {
+		return triangle;
+	}
+	
+	/**
+	 * Gibt die Dauer der Berechnung in Nanosekunden zurück.
+	 * 
+	 * @return Dauer der Berechnung
+	 */
+	public long getCalculationTime() {
+		return calculationTime;
+	}
+
+}
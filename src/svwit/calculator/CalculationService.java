@@ -0,0 +1,193 @@
+package svwit.calculator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import svwit.util.ConvexHull;
+import svwit.util.Diameter;
+import svwit.util.IPackedPointsCollection;
+import svwit.util.Quadrangle;
+import svwit.util.Triangle;
+
+/**
+ * Diese Klasse berechnet die konvexe Hülle, sowie den Durchmesser und das größte enthaltene Viereck und Dreieck im Hintergrund.
+ * <p>
+ * Eine Berechnung wird mit {@code submit} für eine Version der Punktmenge angefordert. Die Punktmenge muss eine unveränderliche Kopie sein,
+ * da sie von einem anderen Thread gelesen wird. Die Berechnungen laufen nacheinander auf einem eigenen Executor.
+ * Wird eine neue Berechnung angefordert, bevor die vorherige begonnen hat, ersetzt sie diese, sodass immer nur die neueste Version berechnet wird.
+ * Eine laufende Berechnung, deren Version nicht mehr die neueste ist, wird nach der konvexen Hülle und nach jedem weiteren Ergebnis abgebrochen,
+ * da sich die einzelnen Algorithmen nicht unterbrechen lassen.
+ * <p>
+ * Die Ergebnisse werden als {@code CalculationResult} über einen zweiten Executor veröffentlicht, in der GUI auf dem Event-Dispatch-Thread.
+ * Unmittelbar vor dem Aufruf des {@code ICalculationListener} wird erneut geprüft, ob die Version noch die neueste ist.
+ * 
+ * @see ICalculationListener
+ * @see CalculationResult
+ */
+public class CalculationService {
+
+	/** Der Executor, auf dem die Berechnungen ausgeführt werden */
+	private final Executor calculationExecutor;
+	/** Der Executor, über den die Ergebnisse veröffentlicht werden */
+	private final Executor publishExecutor;
+	/** Die Berechnung, die als nächstes ausgeführt wird, oder {@code null} */
+	private final AtomicReference<Job> nextJob = new AtomicReference<>();
+	/** Die Version der zuletzt angeforderten Berechnung */
+	private volatile long latestVersion = Long.MIN_VALUE;
+	/** Die Anzahl der Berechnungen, die vor oder während ihrer Ausführung verworfen wurden */
+	private final AtomicLong discardedJobs = new AtomicLong();
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Berechnungen laufen auf einem eigenen Daemon-Thread, die Ergebnisse werden über den übergebenen Executor veröffentlicht.
+	 * In der GUI ist dies der Event-Dispatch-Thread, zum Beispiel über {@code SwingUtilities::invokeLater}.
+	 * 
+	 * @param publishExecutor Der Executor, über den die Ergebnisse veröffentlicht werden. Er muss die Aufgaben auf dem Thread des {@code CalculatorManager} ausführen.
+	 */
+	public CalculationService(Executor publishExecutor) {
+		this(createCalculationThread(), publishExecutor);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param calculationExecutor Der Executor, auf dem die Berechnungen ausgeführt werden
+	 * @param publishExecutor Der Executor, über den die Ergebnisse veröffentlicht werden
+	 */
+	public CalculationService(Executor calculationExecutor, Executor publishExecutor) {
+		this.calculationExecutor = calculationExecutor;
+		this.publishExecutor = publishExecutor;
+	}
+	
+	/**
+	 * Erzeugt den Executor mit einem Daemon-Thread für die Berechnungen.
+	 * 
+	 * @return Der Executor
+	 */
+	private static ExecutorService createCalculationThread() {
+		return Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Berechnung");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Fordert die Berechnung zu einer Version der Punktmenge an.
+	 * <p>
+	 * Eine noch nicht begonnene Berechnung wird ersetzt, eine laufende Berechnung wird bei der nächsten Gelegenheit abgebrochen.
+	 * Die Versionen müssen mit jeder Anforderung größer werden.
+	 * 
+	 * @param version Die Version der Punktmenge
+	 * @param calculator Der {@code Calculator}, mit dem berechnet wird. Er darf nur von dieser Berechnung verwendet werden.
+	 * @param points Eine unveränderliche Kopie der Punktmenge
+	 * @param listener Der Listener, der über das Ergebnis informiert wird
+	 */
+	public void submit(long version, Calculator calculator, IPackedPointsCollection points, ICalculationListener listener) {
+		latestVersion = version;
+		if(nextJob.getAndSet(new Job(version, calculator, points, listener)) != null) {
+			discardedJobs.incrementAndGet();
+		} else {
+			calculationExecutor.execute(this::runNextJob);
+		}
+	}
+	
+	/**
+	 * Verwirft alle angeforderten Berechnungen. Bereits laufende Berechnungen werden bei der nächsten Gelegenheit abgebrochen
+	 * und ihre Ergebnisse nicht veröffentlicht.
+	 */
+	public void cancel() {
+		latestVersion = Long.MAX_VALUE;
+		if(nextJob.getAndSet(null) != null) {
+			discardedJobs.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der Berechnungen zurück, die vor oder während ihrer Ausführung verworfen wurden.
+	 * 
+	 * @return Anzahl der verworfenen Berechnungen
+	 */
+	public long getDiscardedJobs() {
+		return discardedJobs.get();
+	}
+	
+	/**
+	 * Führt die nächste angeforderte Berechnung aus und veröffentlicht ihre Ergebnisse, sofern sie dann noch aktuell ist.
+	 */
+	private void runNextJob() {
+		Job job = nextJob.getAndSet(null);
+		if(job == null) {
+			return;
+		}
+		long start = System.nanoTime();
+		Calculator calculator = job.calculator;
+		calculator.update(job.points);
+		if(isStale(job)) {
+			return;
+		}
+		Diameter diameter = calculator.getDiameter();
+		Quadrangle quadrangle = calculator.getQuadrangle();
+		if(isStale(job)) {
+			return;
+		}
+		Triangle triangle = calculator.getTriangle();
+		ConvexHull convexHull = calculator.getConvexHull();
+		CalculationResult result = new CalculationResult(job.version, convexHull, diameter, quadrangle, triangle, System.nanoTime() - start);
+		publishExecutor.execute(() -> {
+			if(!isStale(job)) {
+				job.listener.onCalculationFinished(result);
+			}
+		});
+	}
+	
+	/**
+	 * Prüft, ob inzwischen eine neuere Berechnung angefordert wurde.
+	 * 
+	 * @param job Die Berechnung
+	 * @return {@code true}, wenn die Berechnung veraltet ist, {@code false} ansonsten
+	 */
+	private boolean isStale(Job job) {
+		if(job.version != latestVersion) {
+			discardedJobs.incrementAndGet();
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Diese Klasse beschreibt eine angeforderte Berechnung.
+	 */
+	private static class Job {
+		
+		/** Die Version der Punktmenge */
+		private final long version;
+		/** Der {@code Calculator}, mit dem berechnet wird */
+		private final Calculator calculator;
+		/** Die unveränderliche Kopie der Punktmenge */
+		private final IPackedPointsCollection points;
+		/** Der Listener, der über das Ergebnis informiert wird */
+		private final ICalculationListener listener;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param version Die Version der Punktmenge
+		 * @param calculator Der {@code Calculator}, mit dem berechnet wird
+		 * @param points Die unveränderliche Kopie der Punktmenge
+		 * @param listener Der Listener, der über das Ergebnis informiert wird
+		 */
+		private Job(long version, Calculator calculator, IPackedPointsCollection points, ICalculationListener listener) {
+			this.version = version;
+			this.calculator = calculator;
+			this.points = points;
+			this.listener = listener;
+		}
+	
+	}
+
+}
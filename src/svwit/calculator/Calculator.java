@@ -1,13 +1,21 @@
 package svwit.calculator;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import svwit.util.ConvexHull;
 import svwit.util.Diameter;
+import svwit.util.Geometry;
+import svwit.util.IPackedPointsCollection;
+import svwit.util.PackedPointsCollection;
 import svwit.util.Point;
 import svwit.util.PointsCollection;
+import svwit.util.PointsCursor;
 import svwit.util.Quadrangle;
 import svwit.util.Triangle;
 
@@ -24,7 +32,14 @@ public class Calculator {
 	private static final int DIRECTION_LEFT = 0;
 	/** Gibt die Richtung an, in der die Konturen bereinigt werden sollten -> von rechts nach links */
 	private static final int DIRECTION_RIGHT = 1;
-
+	
+	/** Die standardmäßige Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 18;
+	/** Die Version der Algorithmen. Sie muss erhöht werden, sobald sich die Ergebnisse für dieselbe Punktmenge ändern können. */
+	public static final int ALGORITHM_VERSION = 1;
+	/** Die Anzahl an Punkten, die der Vorfilter gemeinsam prüft */
+	private static final int PREFILTER_BLOCK_SIZE = 1024;
+	
 	/** Die Punktmenge, die verarbeitet werden soll */
 	private PointsCollection pointsCollection;
 	
@@ -42,6 +57,225 @@ public class Calculator {
 	/** Der Lexikographisch größte Punkt  */
 	private Point maxP;
 	
+	/** Die Version der konvexen Hülle. Sie wird bei jeder Änderung der konvexen Hülle erhöht. */
+	private long hullVersion = 0;
+	/** Die Version der konvexen Hülle, zu der der Durchmesser und das Viereck zuletzt berechnet wurden */
+	private long diameterAndQuadrangleVersion = -1;
+	/** Die Version der konvexen Hülle, zu der das Dreieck zuletzt berechnet wurde */
+	private long triangleVersion = -1;
+	
+	/** Die konvexe Hülle, die bei dem Hinzufügen und Entfernen einzelner Punkte angepasst wird */
+	private DynamicConvexHull dynamicConvexHull;
+	/** Gibt an, ob beim Hinzufügen und Entfernen eines einzelnen Punktes die konvexe Hülle inkrementell angepasst werden soll */
+	private boolean incrementalUpdateEnabled = true;
+	/** Gibt an, ob die konvexe Hülle großer Punktmengen parallel berechnet werden soll */
+	private boolean parallelCalculationEnabled = false;
+	/** Die Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird */
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+	/** Der {@code ForkJoinPool} für die parallele Berechnung, bei {@code null} wird der gemeinsame {@code ForkJoinPool} verwendet */
+	private ForkJoinPool forkJoinPool = null;
+	/** Bereinigt die Konturen mit primitiven Arrays in O(k) */
+	private ContourCleaner contourCleaner = new ContourCleaner();
+	/** Gibt an, ob die Konturen mit dem {@code ContourCleaner} anstatt mit {@code clearContourWithIterator} bereinigt werden sollen */
+	private boolean arrayCleanupEnabled = true;
+	/** Gibt an, ob Punkte im Inneren vor der Berechnung der Konturen mit der Klasse {@code OctagonFilter} aussortiert werden sollen */
+	private boolean prefilterEnabled = false;
+	/** Die Anzahl der Punkte, die bei der letzten Berechnung von dem Vorfilter geprüft wurden */
+	private int prefilterExaminedPoints = 0;
+	/** Die Anzahl der Punkte, die bei der letzten Berechnung von dem Vorfilter aussortiert wurden */
+	private int prefilterEliminatedPoints = 0;
+	/** Die Anzahl der Punkte, die seit der Erzeugung dieses {@code Calculator} von dem Vorfilter aussortiert wurden */
+	private long prefilterEliminatedPointsTotal = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 */
+	public Calculator() {
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Übernimmt die Einstellungen des übergebenen {@code Calculator}, aber keine Ergebnisse. So kann eine Berechnung
+	 * mit denselben Einstellungen auf einem anderen Thread durchgeführt werden, siehe {@code CalculationService}.
+	 * 
+	 * @param settings Der {@code Calculator}, dessen Einstellungen übernommen werden
+	 */
+	public Calculator(Calculator settings) {
+		incrementalUpdateEnabled = settings.incrementalUpdateEnabled;
+		parallelCalculationEnabled = settings.parallelCalculationEnabled;
+		parallelThreshold = settings.parallelThreshold;
+		forkJoinPool = settings.forkJoinPool;
+		arrayCleanupEnabled = settings.arrayCleanupEnabled;
+		prefilterEnabled = settings.prefilterEnabled;
+	}
+	
+	/**
+	 * Gibt zurück, ob beim Hinzufügen und Entfernen eines einzelnen Punktes die konvexe Hülle inkrementell angepasst wird.
+	 * 
+	 * @return {@code true}, wenn die inkrementelle Anpassung aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isIncrementalUpdateEnabled() {
+		return incrementalUpdateEnabled;
+	}
+	
+	/**
+	 * Aktiviert beziehungsweise deaktiviert die inkrementelle Anpassung der konvexen Hülle beim Hinzufügen und Entfernen eines einzelnen Punktes.
+	 * <p>
+	 * Ist die inkrementelle Anpassung deaktiviert, geben {@code addToConvexHull} und {@code removeFromConvexHull} immer {@code false} zurück,
+	 * sodass die konvexe Hülle vollständig neu berechnet wird.
+	 * 
+	 * @param b {@code true}, wenn dies aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setIncrementalUpdateEnabled(boolean b) {
+		incrementalUpdateEnabled = b;
+	}
+	
+	/**
+	 * Gibt zurück, ob die konvexe Hülle großer Punktmengen parallel berechnet wird.
+	 * 
+	 * @return {@code true}, wenn die parallele Berechnung aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isParallelCalculationEnabled() {
+		return parallelCalculationEnabled;
+	}
+	
+	/**
+	 * Aktiviert beziehungsweise deaktiviert die parallele Berechnung der konvexen Hülle.
+	 * <p>
+	 * Ist die parallele Berechnung aktiviert, wird die konvexe Hülle von Punktmengen mit mindestens {@code parallelThreshold} Punkten
+	 * von der Klasse {@code ParallelConvexHull} im {@code ForkJoinPool} aus {@code getForkJoinPool} berechnet.
+	 * 
+	 * @param b {@code true}, wenn dies aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setParallelCalculationEnabled(boolean b) {
+		parallelCalculationEnabled = b;
+	}
+	
+	/**
+	 * Gibt die Anzahl an Punkten zurück, ab der die konvexe Hülle parallel berechnet wird.
+	 * 
+	 * @return Anzahl an Punkten, ab der parallel berechnet wird
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+	
+	/**
+	 * Setzt die Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird.
+	 * <p>
+	 * Werte kleiner als {@code 3} werden als {@code 3} behandelt, da die parallele Berechnung mindestens drei Punkte voraussetzt.
+	 * 
+	 * @param parallelThreshold Anzahl an Punkten, ab der parallel berechnet werden soll
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = Math.max(3, parallelThreshold);
+	}
+	
+	/**
+	 * Gibt zurück, ob die Konturen mit primitiven Arrays in O(k) bereinigt werden.
+	 * 
+	 * @return {@code true}, wenn der {@code ContourCleaner} verwendet wird, {@code false}, wenn {@code clearContourWithIterator} verwendet wird
+	 */
+	public boolean isArrayCleanupEnabled() {
+		return arrayCleanupEnabled;
+	}
+	
+	/**
+	 * Legt fest, ob die Konturen mit primitiven Arrays in O(k) bereinigt werden.
+	 * <p>
+	 * Beide Verfahren liefern dieselbe konvexe Hülle. Standardmäßig wird der {@code ContourCleaner} verwendet.
+	 * 
+	 * @see ContourCleaner
+	 * 
+	 * @param b {@code true}, wenn der {@code ContourCleaner} verwendet werden soll, {@code false} für {@code clearContourWithIterator}
+	 */
+	public void setArrayCleanupEnabled(boolean b) {
+		arrayCleanupEnabled = b;
+	}
+	
+	/**
+	 * Gibt zurück, ob Punkte im Inneren vor der Berechnung der Konturen aussortiert werden.
+	 * 
+	 * @return {@code true}, wenn der Vorfilter aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isPrefilterEnabled() {
+		return prefilterEnabled;
+	}
+	
+	/**
+	 * Aktiviert beziehungsweise deaktiviert den Vorfilter.
+	 * <p>
+	 * Ist der Vorfilter aktiviert, werden vor der Berechnung der Konturen alle Punkte aussortiert, die echt innerhalb des Achtecks
+	 * aus den äußersten Punkten liegen. Die Konturen werden anschließend nur aus den verbleibenden Punkten berechnet.
+	 * Bei der parallelen Berechnung wird der Vorfilter nicht verwendet.
+	 * 
+	 * @see OctagonFilter
+	 * 
+	 * @param b {@code true}, wenn dies aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setPrefilterEnabled(boolean b) {
+		prefilterEnabled = b;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück, die bei der letzten Berechnung der konvexen Hülle von dem Vorfilter geprüft wurden.
+	 * 
+	 * @return Anzahl der geprüften Punkte
+	 */
+	public int getPrefilterExaminedPoints() {
+		return prefilterExaminedPoints;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück, die bei der letzten Berechnung der konvexen Hülle von dem Vorfilter aussortiert wurden.
+	 * 
+	 * @return Anzahl der aussortierten Punkte
+	 */
+	public int getPrefilterEliminatedPoints() {
+		return prefilterEliminatedPoints;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück, die seit der Erzeugung dieses {@code Calculator} insgesamt von dem Vorfilter aussortiert wurden.
+	 * 
+	 * @return Anzahl aller aussortierten Punkte
+	 */
+	public long getPrefilterEliminatedPointsTotal() {
+		return prefilterEliminatedPointsTotal;
+	}
+	
+	/**
+	 * Gibt den {@code ForkJoinPool} zurück, in dem die konvexe Hülle parallel berechnet wird.
+	 * 
+	 * @return Der gesetzte {@code ForkJoinPool} oder der gemeinsame {@code ForkJoinPool}, wenn keiner gesetzt wurde
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+	}
+	
+	/**
+	 * Setzt den {@code ForkJoinPool}, in dem die konvexe Hülle parallel berechnet wird.
+	 * <p>
+	 * Über die Parallelität des {@code ForkJoinPool} wird festgelegt, wie viele Threads die Berechnung verwendet.
+	 * Bei {@code null} wird der gemeinsame {@code ForkJoinPool} verwendet.
+	 * 
+	 * @param forkJoinPool Der {@code ForkJoinPool} für die parallele Berechnung
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
+	/**
+	 * Gibt zurück, ob die konvexe Hülle einer Punktmenge mit der übergebenen Anzahl an Punkten parallel berechnet werden soll.
+	 * 
+	 * @param size Die Anzahl der Punkte
+	 * @return {@code true}, wenn parallel berechnet werden soll, {@code false} ansonsten
+	 */
+	private boolean isParallelCalculation(int size) {
+		return parallelCalculationEnabled && size >= parallelThreshold;
+	}
+	
 	/**
 	 * Gibt die konvexe Hülle zurück.
 	 * 
@@ -51,34 +285,126 @@ public class Calculator {
 		return convexHull;
 	}
 	
+	/**
+	 * Gibt die Version der konvexen Hülle zurück. Sie wird bei jeder Änderung der konvexen Hülle erhöht.
+	 * 
+	 * @return Version der konvexen Hülle
+	 */
+	public long getHullVersion() {
+		return hullVersion;
+	}
+	
 	/**
 	 * Gibt den Durchmesser der konvexen Hülle zurück.
+	 * <p>
+	 * Der Durchmesser wird erst bei dem ersten Aufruf nach einer Änderung der konvexen Hülle berechnet,
+	 * zusammen mit dem größten enthaltenen Viereck.
 	 * 
 	 * @return Durchmesser der konvexen Hülle
 	 */
 	public Diameter getDiameter() {
+		ensureDiameterAndQuadrangle();
 		return diameter;
 	}
 	
 	/**
 	 * Gibt das größte enthaltene Viereck der konvexen Hülle zurück.
+	 * <p>
+	 * Das Viereck wird erst bei dem ersten Aufruf nach einer Änderung der konvexen Hülle berechnet,
+	 * zusammen mit dem Durchmesser.
 	 * 
 	 * @return größtes enthaltene Viereck der konvexen Hülle
 	 */
 	public Quadrangle getQuadrangle() {
+		ensureDiameterAndQuadrangle();
 		return quadrangle;
 	}
 	
 	
 	/**
 	 * Gibt das größte enthaltene Dreieck der konvexen Hülle zurück.
+	 * <p>
+	 * Das Dreieck wird erst bei dem ersten Aufruf nach einer Änderung der konvexen Hülle berechnet.
 	 * 
 	 * @return größtes enthaltene Dreieck der konvexen Hülle
 	 */
 	public Triangle getTriangle() {
+		if(convexHull != null && triangleVersion != hullVersion) {
+			calculateTriangle();
+			triangleVersion = hullVersion;
+		}
 		return triangle;
 	}
 	
+	/**
+	 * Gibt zurück, ob der Durchmesser und das größte enthaltene Viereck bereits zu der aktuellen Version der konvexen Hülle berechnet wurden.
+	 * 
+	 * @return {@code true}, wenn sie berechnet wurden, {@code false} ansonsten
+	 */
+	boolean isDiameterAndQuadrangleCalculated() {
+		return convexHull != null && diameterAndQuadrangleVersion == hullVersion;
+	}
+	
+	/**
+	 * Gibt zurück, ob das größte enthaltene Dreieck bereits zu der aktuellen Version der konvexen Hülle berechnet wurde.
+	 * 
+	 * @return {@code true}, wenn es berechnet wurde, {@code false} ansonsten
+	 */
+	boolean isTriangleCalculated() {
+		return convexHull != null && triangleVersion == hullVersion;
+	}
+	
+	/**
+	 * Berechnet den Durchmesser und das größte enthaltene Viereck, falls diese noch nicht zu der aktuellen Version der konvexen Hülle berechnet wurden.
+	 */
+	private void ensureDiameterAndQuadrangle() {
+		if(convexHull != null && diameterAndQuadrangleVersion != hullVersion) {
+			calculateDiameterAndQuadrangle();
+			diameterAndQuadrangleVersion = hullVersion;
+		}
+	}
+	
+	/**
+	 * Übernimmt die neu berechnete konvexe Hülle in der Klassenvariable {@code convexHull}, falls sie sich von der vorherigen unterscheidet.
+	 * <p>
+	 * Hat die neue konvexe Hülle dieselben Eckpunkte in derselben Reihenfolge und dieselben äußersten Punkte, wird die vorherige Instanz behalten
+	 * und die Version nicht erhöht. Dies ist zum Beispiel nach dem Hinzufügen, Verschieben oder Entfernen eines Punktes im Inneren der Fall.
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck der vorherigen Version werden dann unverändert weiterverwendet.
+	 * 
+	 * @param previous Die vorherige konvexe Hülle oder {@code null}
+	 */
+	private void adoptConvexHull(ConvexHull previous) {
+		if(previous != null && previous != convexHull && isSameConvexHull(previous, convexHull)) {
+			convexHull = previous;
+		} else if(previous != convexHull) {
+			invalidateShapes();
+		}
+	}
+	
+	/**
+	 * Prüft, ob zwei konvexe Hüllen dieselben Eckpunkte in derselben Reihenfolge und dieselben äußersten Punkte haben.
+	 * 
+	 * @param a Die erste konvexe Hülle
+	 * @param b Die zweite konvexe Hülle
+	 * @return {@code true}, wenn die konvexen Hüllen gleich sind, {@code false} ansonsten
+	 */
+	static boolean isSameConvexHull(ConvexHull a, ConvexHull b) {
+		return a.size() == b.size()
+				&& Objects.equals(a.getMostLeftPoint(), b.getMostLeftPoint())
+				&& Objects.equals(a.getMostRightPoint(), b.getMostRightPoint())
+				&& Objects.equals(a.getMostTopPoint(), b.getMostTopPoint())
+				&& Objects.equals(a.getMostBottomPoint(), b.getMostBottomPoint())
+				&& a.equals(b);
+	}
+	
+	/**
+	 * Erhöht die Version der konvexen Hülle, nachdem sich diese geändert hat.
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden dadurch bei dem nächsten Abruf neu berechnet.
+	 */
+	private void invalidateShapes() {
+		hullVersion++;
+	}
+	
 	/**
 	 * Nimmt eine Punktmenge entgegen und startet die Berechnung der konvexen Hülle,
 	 * sowie dem Durchmesser, größtes enthaltenes Viereck und Dreieck der konvexen Hülle
@@ -86,6 +412,8 @@ public class Calculator {
 	 * <p>
 	 * Die Berechnung der konvexen Hülle geschieht in der Methode {@code calculateConvexHull}.
 	 * Die Berechnung des Durchmesser und des Vierecks geschieht in der Methode {@code calculateDiameterAndQuadrangle}.
+	 * Diese und die Berechnung des Dreiecks werden erst bei dem ersten Abruf mit {@code getDiameter}, {@code getQuadrangle}
+	 * beziehungsweise {@code getTriangle} durchgeführt.
 	 * <p>
 	 * Die konvexe Hülle wird in der Klassenvariable {@code convexHull} gespeichert. <br>
 	 * Der Durchmesser wird in der Klassenvariable {@code diameter} gespeichert. <br>
@@ -97,9 +425,214 @@ public class Calculator {
 	public void update(PointsCollection pointsCollection) {
 		this.pointsCollection = pointsCollection;
 		
+		ConvexHull previous = convexHull;
 		calculateConvexHull();
-		calculateDiameterAndQuadrangle();
-		calculateTriangle();
+		adoptConvexHull(previous);
+		dynamicConvexHull = new DynamicConvexHull(pointsCollection, convexHull);
+	}
+	
+	/**
+	 * Nimmt eine Punktmenge entgegen, deren Punkte als primitive Koordinaten gespeichert sind, und startet die Berechnung der konvexen Hülle,
+	 * sowie dem Durchmesser, größtes enthaltenes Viereck und Dreieck der konvexen Hülle aus der Punktmenge.
+	 * <p>
+	 * Die Ergebnisse entsprechen denen von {@code update(PointsCollection)}. Beim Durchlaufen der Punktmenge werden jedoch keine Objekte pro Punkt erzeugt.
+	 * Die konvexe Hülle kann anschließend nicht mit {@code addToConvexHull} und {@code removeFromConvexHull} angepasst werden.
+	 * 
+	 * @see IPackedPointsCollection
+	 * 
+	 * @param points Die Punktmenge, aus der berechnet werden soll.
+	 */
+	public void update(IPackedPointsCollection points) {
+		this.pointsCollection = null;
+		
+		ConvexHull previous = convexHull;
+		calculateConvexHull(points);
+		adoptConvexHull(previous);
+		dynamicConvexHull = null;
+	}
+	
+	/**
+	 * Berechnet nur die konvexe Hülle der übergebenen Punktmenge und gibt sie zurück.
+	 * <p>
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden hierbei nicht berechnet, sondern erst bei dem nächsten Abruf.
+	 * Die konvexe Hülle kann anschließend nicht mit {@code addToConvexHull} und {@code removeFromConvexHull} angepasst werden.
+	 * 
+	 * @param points Die Punktmenge, aus der berechnet werden soll.
+	 * @return Die konvexe Hülle
+	 */
+	public ConvexHull updateConvexHull(IPackedPointsCollection points) {
+		this.pointsCollection = null;
+		
+		ConvexHull previous = convexHull;
+		calculateConvexHull(points);
+		adoptConvexHull(previous);
+		dynamicConvexHull = null;
+		return convexHull;
+	}
+	
+	/**
+	 * Übernimmt eine bereits berechnete konvexe Hülle und berechnet aus dieser den Durchmesser, sowie das größte enthaltene Viereck und Dreieck.
+	 * <p>
+	 * Die konvexe Hülle muss wie bei {@code update} gegen den Uhrzeigersinn sortiert sein, mit dem lexikographisch kleinsten Punkt beginnen
+	 * und ihre äußersten Punkte gesetzt haben. Sie wird zum Beispiel von der Klasse {@code StreamingConvexHull} berechnet,
+	 * ohne dass die zugehörige Punktmenge vorliegt. Die konvexe Hülle kann anschließend nicht mit {@code addToConvexHull}
+	 * und {@code removeFromConvexHull} angepasst werden.
+	 * 
+	 * @see StreamingConvexHull
+	 * 
+	 * @param convexHull Die konvexe Hülle
+	 */
+	public void update(ConvexHull convexHull) {
+		this.pointsCollection = null;
+		ConvexHull previous = this.convexHull;
+		this.convexHull = convexHull;
+		adoptConvexHull(previous);
+		dynamicConvexHull = null;
+		minP = convexHull.getMostLeftPoint();
+		maxP = convexHull.getMostRightPoint();
+	}
+	
+	/**
+	 * Übernimmt bereits berechnete Ergebnisse zu einer Punktmenge, ohne diese neu zu berechnen.
+	 * <p>
+	 * Die Ergebnisse müssen zu der übergebenen Punktmenge gehören, zum Beispiel weil sie von einer {@code ResultCache} zu dieser gelesen wurden.
+	 * Ist die konvexe Hülle dieselbe wie die bisherige, werden wie bei {@code update} die bisherige Instanz und Version behalten,
+	 * ebenso die bereits berechneten Ergebnisse. Die übergebenen Ergebnisse ersetzen nur die, die noch nicht berechnet wurden.
+	 * Die konvexe Hülle kann anschließend wie nach {@code update(PointsCollection)} mit {@code addToConvexHull} und {@code removeFromConvexHull} angepasst werden.
+	 * 
+	 * @see svwit.util.ResultCache
+	 * 
+	 * @param pointsCollection Die Punktmenge, zu der die Ergebnisse gehören
+	 * @param convexHull Die konvexe Hülle der Punktmenge
+	 * @param diameter Der Durchmesser der konvexen Hülle
+	 * @param quadrangle Das größte enthaltene Viereck der konvexen Hülle
+	 * @param triangle Das größte enthaltene Dreieck der konvexen Hülle
+	 */
+	public void restore(PointsCollection pointsCollection, ConvexHull convexHull, Diameter diameter, Quadrangle quadrangle, Triangle triangle) {
+		this.pointsCollection = pointsCollection;
+		ConvexHull previous = this.convexHull;
+		this.convexHull = convexHull;
+		adoptConvexHull(previous);
+		if(diameterAndQuadrangleVersion != hullVersion) {
+			this.diameter = diameter;
+			this.quadrangle = quadrangle;
+			diameterAndQuadrangleVersion = hullVersion;
+		}
+		if(triangleVersion != hullVersion) {
+			this.triangle = triangle;
+			triangleVersion = hullVersion;
+		}
+		minP = this.convexHull.getMostLeftPoint();
+		maxP = this.convexHull.getMostRightPoint();
+		dynamicConvexHull = new DynamicConvexHull(pointsCollection, this.convexHull);
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem genau ein Punkt der Punktmenge hinzugefügt wurde.
+	 * <p>
+	 * Die Anpassung wird von der Klasse {@code DynamicConvexHull} vorgenommen. Liegt der neue Punkt innerhalb oder auf dem Rand 
+	 * der bisherigen konvexen Hülle, bleibt diese unverändert. Dies wird mit einem Test in O(log h) entschieden, 
+	 * wobei h die Anzahl der Punkte der konvexen Hülle ist.
+	 * <p>
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden bei dem nächsten Abruf neu berechnet, falls sich die konvexe Hülle geändert hat.
+	 * 
+	 * @see DynamicConvexHull
+	 * 
+	 * @param pointsCollection Die Punktmenge, aus der die bisherige konvexe Hülle berechnet wurde. Der Punkt {@code addedPoint} ist bereits enthalten.
+	 * @param addedPoint Der Punkt, der der Punktmenge hinzugefügt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung mit {@code update} notwendig ist
+	 */
+	public boolean addToConvexHull(PointsCollection pointsCollection, Point addedPoint) {
+		if(!isDynamicUpdatePossible(pointsCollection)) {
+			return false;
+		}
+		return adoptDynamicConvexHull(dynamicConvexHull.insert(addedPoint));
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem genau ein Punkt aus der Punktmenge entfernt wurde.
+	 * <p>
+	 * Die Anpassung wird von der Klasse {@code DynamicConvexHull} vorgenommen. Ist der entfernte Punkt kein Eckpunkt der bisherigen 
+	 * konvexen Hülle, bleibt diese unverändert. Ansonsten wird nur der Teil der konvexen Hülle zwischen den beiden Nachbarn des Punktes neu berechnet.
+	 * Werden viele Eckpunkte entfernt, liefert ein {@code SubHullTree} die neue konvexe Hülle in polylogarithmischer Zeit.
+	 * <p>
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden bei dem nächsten Abruf neu berechnet, falls sich die konvexe Hülle geändert hat.
+	 * 
+	 * @see DynamicConvexHull
+	 * 
+	 * @param pointsCollection Die Punktmenge, aus der die bisherige konvexe Hülle berechnet wurde. Der Punkt {@code removedPoint} ist bereits entfernt.
+	 * @param removedPoint Der Punkt, der aus der Punktmenge entfernt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung mit {@code update} notwendig ist
+	 */
+	public boolean removeFromConvexHull(PointsCollection pointsCollection, Point removedPoint) {
+		if(!isDynamicUpdatePossible(pointsCollection)) {
+			return false;
+		}
+		return adoptDynamicConvexHull(dynamicConvexHull.delete(removedPoint));
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem genau ein Punkt der Punktmenge verschoben wurde.
+	 * <p>
+	 * Die Anpassung wird von der Klasse {@code DynamicConvexHull} vorgenommen. Ist der Punkt kein Eckpunkt der bisherigen konvexen Hülle
+	 * und liegt seine neue Position innerhalb, bleibt die konvexe Hülle nach einem Test in O(log h) unverändert.
+	 * Ansonsten wird nur die betroffene Kette ersetzt. Wird derselbe Punkt wiederholt verschoben, muss die Punktmenge nur bei der ersten Verschiebung durchsucht werden.
+	 * <p>
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden bei dem nächsten Abruf neu berechnet, falls sich die konvexe Hülle geändert hat.
+	 * 
+	 * @see DynamicConvexHull#move(Point, Point)
+	 * 
+	 * @param pointsCollection Die Punktmenge, aus der die bisherige konvexe Hülle berechnet wurde. Der Punkt ist bereits verschoben.
+	 * @param origin Die bisherige Position des Punktes
+	 * @param destination Die neue Position des Punktes
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung mit {@code update} notwendig ist
+	 */
+	public boolean moveInConvexHull(PointsCollection pointsCollection, Point origin, Point destination) {
+		if(!isDynamicUpdatePossible(pointsCollection)) {
+			return false;
+		}
+		return adoptDynamicConvexHull(dynamicConvexHull.move(origin, destination));
+	}
+	
+	/**
+	 * Berechnet den Durchmesser, sowie das größte enthaltene Viereck und Dreieck aus der aktuellen konvexen Hülle neu.
+	 * Die Berechnung findet erst bei dem nächsten Abruf der Ergebnisse statt.
+	 * <p>
+	 * Nach Änderungen der konvexen Hülle geschieht dies automatisch. Diese Methode erzwingt die Neuberechnung auch dann,
+	 * wenn die konvexe Hülle unverändert geblieben ist.
+	 */
+	public void updateShapes() {
+		invalidateShapes();
+	}
+	
+	/**
+	 * Gibt zurück, ob die konvexe Hülle zu der übergebenen Punktmenge gehört und inkrementell angepasst werden darf.
+	 * 
+	 * @param pointsCollection Die Punktmenge, die geprüft werden soll
+	 * @return {@code true}, wenn die konvexe Hülle inkrementell angepasst werden darf, {@code false} ansonsten
+	 */
+	private boolean isDynamicUpdatePossible(PointsCollection pointsCollection) {
+		return incrementalUpdateEnabled && dynamicConvexHull != null && dynamicConvexHull.getPointsCollection() == pointsCollection;
+	}
+	
+	/**
+	 * Übernimmt die konvexe Hülle aus {@code dynamicConvexHull}, wenn diese angepasst werden konnte.
+	 * Konnte sie nicht angepasst werden, ist die gespeicherte konvexe Hülle ungültig, bis {@code update} aufgerufen wird.
+	 * 
+	 * @param adjusted Gibt an, ob die konvexe Hülle angepasst werden konnte
+	 * @return Den übergebenen Wert {@code adjusted}
+	 */
+	private boolean adoptDynamicConvexHull(boolean adjusted) {
+		if(adjusted) {
+			ConvexHull previous = convexHull;
+			convexHull = dynamicConvexHull.getConvexHull();
+			adoptConvexHull(previous);
+			minP = convexHull.getMostLeftPoint();
+			maxP = convexHull.getMostRightPoint();
+		} else {
+			dynamicConvexHull = null;
+		}
+		return adjusted;
 	}
 	
 	/**
@@ -107,11 +640,11 @@ public class Calculator {
 	 * <p>
 	 * Die konvexe Hülle wird aus der, in der Klassenvariable {@code pointsCollection} gespeicherten, Punktmenge berechnet.
 	 * Es werden die vier Konturen, unten links, unten rechts, oben rechts und oben links mithilfe der Methode {@code calculateContour} berechnet.
-	 * Anschließend werden die vier Konturen mithilfe der Methode {@code clearContourWithIterator} einzeln bereinigt.
-	 * Zuletzt werden die vier Konturen zusammengefügt und doppelte Punkte an den Stellen des zusammenfügens entfernt.
+	 * Anschließend werden die vier Konturen mithilfe der Methode {@code mergeContours} einzeln bereinigt und zusammengefügt.
 	 * <p>
 	 * Sollte die gespeicherte Punktmenge leer sein, wird diese Methode abgebrochen. 
 	 * Für eine Punktmenge, die aus zwei oder weniger Punkten besteht, wird die konvexe Hülle aus genau diesen Punkten bestehen.
+	 * Ist die parallele Berechnung aktiviert und die Punktmenge groß genug, wird die konvexe Hülle von der Klasse {@code ParallelConvexHull} berechnet.
 	 */
 	private void calculateConvexHull() {
 		convexHull = new ConvexHull();
@@ -137,32 +670,234 @@ public class Calculator {
 			}
 			return;
 		}
-
+		
 		minP = pointsCollection.first();
 		maxP = pointsCollection.last();
 		
+		if(isParallelCalculation(pointsCollection.size())) {
+			convexHull = new ParallelConvexHull(getForkJoinPool()).calculate(pointsCollection);
+			return;
+		}
+		
 		// Konturen Berechnen	
 		// - Linke Konturen
-
+		
+		ArrayDeque<Point> candidates = prefilterEnabled ? filterInteriorPoints(pointsCollection) : null;
+		
 		ArrayList<Point> contourBottomLeft = new ArrayList<Point>();
 		ArrayList<Point> contourTopLeft = new ArrayList<Point>();		
-		calculateContour(pointsCollection, contourBottomLeft, contourTopLeft, DIRECTION_LEFT);
+		if(candidates != null) {
+			calculateContour(candidates.iterator(), contourBottomLeft, contourTopLeft);
+		} else {
+			calculateContour(pointsCollection, contourBottomLeft, contourTopLeft, DIRECTION_LEFT);
+		}
 		
 		// - Rechte Konturen
 		
 		ArrayList<Point> contourBottomRight = new ArrayList<Point>();
 		ArrayList<Point> contourTopRight = new ArrayList<Point>();
-		calculateContour(pointsCollection, contourBottomRight, contourTopRight, DIRECTION_RIGHT);
-
+		if(candidates != null) {
+			calculateContour(candidates.descendingIterator(), contourBottomRight, contourTopRight);
+		} else {
+			calculateContour(pointsCollection, contourBottomRight, contourTopRight, DIRECTION_RIGHT);
+		}
+		
+		mergeContours(contourBottomLeft, contourBottomRight, contourTopRight, contourTopLeft);
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle aus einer Punktmenge, deren Punkte als primitive Koordinaten gespeichert sind.
+	 * <p>
+	 * Die Berechnung entspricht der Methode {@code calculateConvexHull}. Beim Durchlaufen der Punktmenge werden jedoch keine Objekte pro Punkt erzeugt,
+	 * sondern nur für die Punkte, die in eine der vier Konturen aufgenommen werden.
+	 * 
+	 * @param points Die Punktmenge, aus der die konvexe Hülle berechnet werden soll
+	 */
+	private void calculateConvexHull(IPackedPointsCollection points) {
+		convexHull = new ConvexHull();
+		
+		if(points.isEmpty()) {
+			return;
+		}
+		
+		Point first = points.getPoint(0);
+		Point last = points.size() > 1 ? points.getPoint(points.size() - 1) : first;
+		convexHull.setMostLeftPoint(first);
+		convexHull.setMostRightPoint(last);
+		
+		if(points.size() <= 2) {
+			convexHull.setMostTopPoint(first);
+			convexHull.setMostBottomPoint(first);
+			convexHull.add(first);
+			if(last != first) {
+				convexHull.add(last);
+				if(last.getY() > first.getY()) {
+					convexHull.setMostTopPoint(last);
+				}
+				if(last.getY() < first.getY()) {
+					convexHull.setMostBottomPoint(last);
+				}
+			}
+			return;
+		}
+		
+		minP = first;
+		maxP = last;
+		
+		if(isParallelCalculation(points.size())) {
+			convexHull = new ParallelConvexHull(getForkJoinPool()).calculate(points);
+			return;
+		}
+		
+		if(prefilterEnabled) {
+			points = filterInteriorPoints(points);
+		}
+		
+		// Konturen Berechnen	
+		// - Linke Konturen
+		
+		ArrayList<Point> contourBottomLeft = new ArrayList<Point>();
+		ArrayList<Point> contourTopLeft = new ArrayList<Point>();		
+		calculateContour(points.ascendingCursor(), first, contourBottomLeft, contourTopLeft);
+		
+		// - Rechte Konturen
+		
+		ArrayList<Point> contourBottomRight = new ArrayList<Point>();
+		ArrayList<Point> contourTopRight = new ArrayList<Point>();
+		calculateContour(points.descendingCursor(), last, contourBottomRight, contourTopRight);
+		
+		mergeContours(contourBottomLeft, contourBottomRight, contourTopRight, contourTopLeft);
+	}
+	
+	/**
+	 * Sortiert die Punkte aus, die echt innerhalb des Achtecks aus den äußersten Punkten liegen.
+	 * <p>
+	 * In einem ersten Durchlauf werden die äußersten Punkte mit der Klasse {@code OctagonFilter} bestimmt.
+	 * In einem zweiten Durchlauf werden die Koordinaten blockweise in primitive Arrays kopiert und mit {@code OctagonFilter.classify} geprüft.
+	 * Die übrigen Punkte werden in lexikographischer Reihenfolge übernommen.
+	 * Die Anzahl der geprüften und aussortierten Punkte wird in den Zählern des Vorfilters gespeichert.
+	 * 
+	 * @param pointsCollection Die Punktmenge
+	 * @return Die verbleibenden Punkte in lexikographischer Reihenfolge
+	 */
+	private ArrayDeque<Point> filterInteriorPoints(PointsCollection pointsCollection) {
+		OctagonFilter filter = new OctagonFilter();
+		for(Point p : pointsCollection) {
+			filter.offer(p.getX(), p.getY());
+		}
+		filter.build();
+		
+		ArrayDeque<Point> candidates = new ArrayDeque<Point>();
+		Point[] block = new Point[PREFILTER_BLOCK_SIZE];
+		int[] xs = new int[PREFILTER_BLOCK_SIZE];
+		int[] ys = new int[PREFILTER_BLOCK_SIZE];
+		boolean[] inside = new boolean[PREFILTER_BLOCK_SIZE];
+		Iterator<Point> iterator = pointsCollection.iterator();
+		while(iterator.hasNext()) {
+			int length = 0;
+			while(length < PREFILTER_BLOCK_SIZE && iterator.hasNext()) {
+				Point p = iterator.next();
+				block[length] = p;
+				xs[length] = p.getX();
+				ys[length] = p.getY();
+				length++;
+			}
+			filter.classify(xs, ys, length, inside);
+			for(int i = 0; i < length; i++) {
+				if(!inside[i]) {
+					candidates.add(block[i]);
+				}
+			}
+		}
+		countPrefilterResult(pointsCollection.size(), candidates.size());
+		return candidates;
+	}
+	
+	/**
+	 * Sortiert die Punkte einer Punktmenge, deren Punkte als primitive Koordinaten gespeichert sind, aus,
+	 * die echt innerhalb des Achtecks aus den äußersten Punkten liegen.
+	 * <p>
+	 * Das Vorgehen entspricht der Methode {@code filterInteriorPoints}. Die verbleibenden Punkte werden in eine neue
+	 * {@code PackedPointsCollection} übernommen.
+	 * 
+	 * @param points Die Punktmenge
+	 * @return Die verbleibenden Punkte
+	 */
+	private IPackedPointsCollection filterInteriorPoints(IPackedPointsCollection points) {
+		OctagonFilter filter = new OctagonFilter();
+		int size = points.size();
+		for(int i = 0; i < size; i++) {
+			filter.offer(points.getX(i), points.getY(i));
+		}
+		filter.build();
+		
+		long[] keys = new long[64];
+		int count = 0;
+		int[] xs = new int[PREFILTER_BLOCK_SIZE];
+		int[] ys = new int[PREFILTER_BLOCK_SIZE];
+		boolean[] inside = new boolean[PREFILTER_BLOCK_SIZE];
+		for(int start = 0; start < size; start += PREFILTER_BLOCK_SIZE) {
+			int length = Math.min(PREFILTER_BLOCK_SIZE, size - start);
+			for(int i = 0; i < length; i++) {
+				xs[i] = points.getX(start + i);
+				ys[i] = points.getY(start + i);
+			}
+			filter.classify(xs, ys, length, inside);
+			for(int i = 0; i < length; i++) {
+				if(!inside[i]) {
+					if(count == keys.length) {
+						keys = Arrays.copyOf(keys, count * 2);
+					}
+					keys[count++] = PackedPointsCollection.pack(xs[i], ys[i]);
+				}
+			}
+		}
+		PackedPointsCollection candidates = new PackedPointsCollection(count);
+		candidates.addAllSorted(keys, count);
+		countPrefilterResult(size, count);
+		return candidates;
+	}
+	
+	/**
+	 * Speichert die Anzahl der geprüften und aussortierten Punkte des Vorfilters.
+	 * 
+	 * @param examined Die Anzahl der geprüften Punkte
+	 * @param remaining Die Anzahl der verbleibenden Punkte
+	 */
+	private void countPrefilterResult(int examined, int remaining) {
+		prefilterExaminedPoints = examined;
+		prefilterEliminatedPoints = examined - remaining;
+		prefilterEliminatedPointsTotal += prefilterEliminatedPoints;
+	}
+	
+	/**
+	 * Bereinigt die vier Konturen und fügt diese zu der konvexen Hülle zusammen.
+	 * <p>
+	 * Die vier Konturen werden mithilfe des {@code ContourCleaner} beziehungsweise der Methode {@code clearContourWithIterator} einzeln bereinigt.
+	 * Anschließend werden sie in die Klassenvariable {@code convexHull} übernommen und doppelte Punkte an den Stellen des zusammenfügens entfernt.
+	 * 
+	 * @param contourBottomLeft Die Kontur unten links
+	 * @param contourBottomRight Die Kontur unten rechts
+	 * @param contourTopRight Die Kontur oben rechts
+	 * @param contourTopLeft Die Kontur oben links
+	 */
+	private void mergeContours(ArrayList<Point> contourBottomLeft, ArrayList<Point> contourBottomRight, ArrayList<Point> contourTopRight, ArrayList<Point> contourTopLeft) {
 		// Konturen Bereinigen
 		
-		clearContourWithIterator(contourBottomLeft, (a, b, c) -> getDeterminant(a, b, c) >= 0);
-		clearContourWithIterator(contourBottomRight, (a, b, c) -> getDeterminant(a, b, c) <= 0);
-		clearContourWithIterator(contourTopRight, (a, b, c) -> getDeterminant(a, b, c) >= 0);
-		clearContourWithIterator(contourTopLeft, (a, b, c) -> getDeterminant(a, b, c) <= 0);
-
+		if(arrayCleanupEnabled) {
+			contourCleaner.clearContour(contourBottomLeft, true);
+			contourCleaner.clearContour(contourBottomRight, false);
+			contourCleaner.clearContour(contourTopRight, true);
+			contourCleaner.clearContour(contourTopLeft, false);
+		} else {
+			clearContourWithIterator(contourBottomLeft, (a, b, c) -> Geometry.getDeterminant(a, b, c) >= 0);
+			clearContourWithIterator(contourBottomRight, (a, b, c) -> Geometry.getDeterminant(a, b, c) <= 0);
+			clearContourWithIterator(contourTopRight, (a, b, c) -> Geometry.getDeterminant(a, b, c) >= 0);
+			clearContourWithIterator(contourTopLeft, (a, b, c) -> Geometry.getDeterminant(a, b, c) <= 0);
+		}
+		
 		// Konturen zusammenfügen
-
+		
 		for(int i = 0; i < contourBottomLeft.size(); i++) {
 			convexHull.add(contourBottomLeft.get(i));
 		}
@@ -183,7 +918,7 @@ public class Calculator {
 		if(convexHull.get(convexHull.size() - 1).equals(contourTopLeft.get(contourTopLeft.size() - 1))) {
 			convexHull.remove(convexHull.size() - 1);
 		}
-
+		
 		for(int i = contourTopLeft.size() - 1; i >= 0; i--) {
 			convexHull.add(contourTopLeft.get(i));
 		}
@@ -210,7 +945,19 @@ public class Calculator {
 		} else if (direction == DIRECTION_RIGHT) {
 			iterator = pointsCollection.descendingIterator();
 		}
-		
+		calculateContour(iterator, contourBottom, contourTop);
+	}
+	
+	/**
+	 * Berechnet jeweils die obere und untere Kontur aus den Punkten, die der übergebene Iterator liefert.
+	 * <p>
+	 * Die Richtung wird durch den übergebenen Iterator festgelegt, der die Punkte lexikographisch auf- oder absteigend liefern muss.
+	 * 
+	 * @param iterator Iterator über die Punkte, aus denen die Konturen berechnet werden sollen
+	 * @param contourBottom Liste, in die die untere Kontur gespeichert werden soll
+	 * @param contourTop Liste, in die die obere Kontur gespeichert werden soll
+	 */
+	private void calculateContour(Iterator<Point> iterator, ArrayList<Point> contourBottom, ArrayList<Point> contourTop) {
 		Point minYSoFar;
 		Point maxYSoFar;
 		Point currentPoint = iterator.next();
@@ -235,6 +982,45 @@ public class Calculator {
 		convexHull.setMostTopPoint(maxYSoFar);
 	}
 	
+	/**
+	 * Berechnet jeweils die obere und untere Kontur aus einer Punktmenge, deren Punkte als primitive Koordinaten gespeichert sind.
+	 * <p>
+	 * Die Berechnung entspricht der Methode {@code calculateContour}. Die Richtung wird durch den übergebenen Cursor festgelegt.
+	 * Es werden nur für die Punkte Objekte erzeugt, die in eine der beiden Konturen aufgenommen werden.
+	 * 
+	 * @param cursor Cursor, der die Punktmenge in der gewünschten Richtung durchläuft
+	 * @param firstPoint Der erste Punkt, den der Cursor liefert
+	 * @param contourBottom Liste, in die die untere Kontur gespeichert werden soll
+	 * @param contourTop Liste, in die die obere Kontur gespeichert werden soll
+	 */
+	private void calculateContour(PointsCursor cursor, Point firstPoint, ArrayList<Point> contourBottom, ArrayList<Point> contourTop) {
+		cursor.next();
+		Point minYSoFar = firstPoint;
+		Point maxYSoFar = firstPoint;
+		int minY = firstPoint.getY();
+		int maxY = firstPoint.getY();
+		
+		contourBottom.add(firstPoint);
+		contourTop.add(firstPoint);
+		
+		while(cursor.next()) {
+			int y = cursor.getY();
+			if(y < minY) {
+				minYSoFar = new Point(cursor.getX(), y);
+				minY = y;
+				contourBottom.add(minYSoFar);
+			}
+			if(y > maxY) {
+				maxYSoFar = new Point(cursor.getX(), y);
+				maxY = y;
+				contourTop.add(maxYSoFar);
+			}
+		}
+		
+		convexHull.setMostBottomPoint(minYSoFar);
+		convexHull.setMostTopPoint(maxYSoFar);
+	}
+	
 	/**
 	 * Bereinigt die übergebe Kontur.
 	 * <p>
@@ -253,7 +1039,7 @@ public class Calculator {
 	 * @param contour Die Kontur, die bereinigt werden soll
 	 * @param decider Der Entscheider, der vorgibt, wann ein Punkt ungültig ist.
 	 */
-	private void clearContourWithIterator(ArrayList<Point> contour, IClearContourDirectionDecider decider) {
+	void clearContourWithIterator(ArrayList<Point> contour, IClearContourDirectionDecider decider) {
 		if(contour.size() < 3) {
 			return;
 		}
@@ -345,11 +1131,11 @@ public class Calculator {
 		
 		diameter.setDiameterPoints(pointA, pointB);
 		quadrangle.setQuandranglePoints(pointA, pointAQuad, pointB, pointBQuad);
-		quadrangleArea = getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad);
+		quadrangleArea = Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad);
 		
 		while(!(pointA.equals(maxP) && pointB.equals(minP))) {
 			pointC = new Point(pointB.getX() + pointA.getX() - afterB.getX(), pointB.getY() + pointA.getY() - afterB.getY());
-			determinant = getDeterminant(pointA, afterA, pointC);
+			determinant = Geometry.getDeterminant(pointA, afterA, pointC);
 			if(determinant > 0) {
 				pointA = afterA;
 				afterA = convexHull.get(++indexA % convexHull.size());
@@ -370,9 +1156,9 @@ public class Calculator {
 						pointBQuad = afterBQuad;
 						afterBQuad = convexHull.get(++indexBQuad % convexHull.size());
 					}
-					if(quadrangleArea < (getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad))) {
+					if(quadrangleArea < (Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad))) {
 						quadrangle.setQuandranglePoints(pointA, pointAQuad, pointB, pointBQuad);
-						quadrangleArea = getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad);
+						quadrangleArea = Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad);
 					}
 					
 					pointB = afterB;
@@ -390,9 +1176,9 @@ public class Calculator {
 						pointBQuad = afterBQuad;
 						afterBQuad = convexHull.get(++indexBQuad % convexHull.size());
 					}
-					if(quadrangleArea < (getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad))) {
+					if(quadrangleArea < (Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad))) {
 						quadrangle.setQuandranglePoints(pointA, pointAQuad, pointB, pointBQuad);
-						quadrangleArea = getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad);
+						quadrangleArea = Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad);
 					}
 					
 					pointA = afterA;
@@ -412,9 +1198,9 @@ public class Calculator {
 				pointBQuad = afterBQuad;
 				afterBQuad = convexHull.get(++indexBQuad % convexHull.size());
 			}
-			if(quadrangleArea < (getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad))) {
+			if(quadrangleArea < (Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad))) {
 				quadrangle.setQuandranglePoints(pointA, pointAQuad, pointB, pointBQuad);
-				quadrangleArea = getDeterminant(pointA, pointAQuad, pointB) + getDeterminant(pointA, pointB, pointBQuad);
+				quadrangleArea = Geometry.getDeterminant(pointA, pointAQuad, pointB) + Geometry.getDeterminant(pointA, pointB, pointBQuad);
 			}
 		}
 	}
@@ -464,52 +1250,36 @@ public class Calculator {
 			return;
 		}
 		
-		long triangleArea = getDeterminant(pointA, pointB, pointC);
+		long triangleArea = Geometry.getDeterminant(pointA, pointB, pointC);
 		long newArea = 0;
 		
 		do {
 			do {
-				while(getDeterminant(pointA, pointB, afterC) > getDeterminant(pointA, pointB, pointC)) {
+				while(Geometry.getDeterminant(pointA, pointB, afterC) > Geometry.getDeterminant(pointA, pointB, pointC)) {
 					pointC = afterC;
 					afterC = convexHull.get(++indexC % convexHull.size());
 				}
 				
-				newArea = getDeterminant(pointA, pointB, pointC);
+				newArea = Geometry.getDeterminant(pointA, pointB, pointC);
 				if(newArea > triangleArea) {
 					triangleArea = newArea;
 					triangle.setTrianglePoints(pointA, pointB, pointC);
 				}
 				changed = false;
 				
-				if(getDeterminant(pointA, afterB, pointC) > newArea || getDeterminant(pointA, afterB, afterC) > newArea) {
+				if(Geometry.getDeterminant(pointA, afterB, pointC) > newArea || Geometry.getDeterminant(pointA, afterB, afterC) > newArea) {
 					pointB = afterB;
 					afterB = convexHull.get(++indexB % convexHull.size());
 					changed = true;
 				}
-				
+			
 			} while(changed);
 			
 			pointA = afterA;
 			afterA = convexHull.get(++indexA % convexHull.size());
-			
-		} while(!pointA.equals(minP));
 		
-	}
+		} while(!pointA.equals(minP));
 	
-	/**
-	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
-	 * 
-	 * @param pointA Der erste Punkt
-	 * @param pointB Der zweite Punkt
-	 * @param pointC Der dritte Punkt
-	 * @return Die Determinante
-	 */
-	private long getDeterminant(Point pointA, Point pointB, Point pointC) {
-		long determinant = 0;	
-		determinant += (long)pointA.getX() * ((long)pointB.getY() - (long)pointC.getY());
-		determinant += (long)pointB.getX() * ((long)pointC.getY() - (long)pointA.getY());
-		determinant += (long)pointC.getX() * ((long)pointA.getY() - (long)pointB.getY());	
-		return determinant;
 	}
 	
 	/**
@@ -540,7 +1310,7 @@ public class Calculator {
 	 */
 	private boolean isHeigher(Point pointA, Point pointB, Point pointC, Point pointD) {
 		Point pointE = new Point(pointA.getX() + pointD.getX() - pointB.getX(), pointA.getY() + pointD.getY() - pointB.getY());
-		long det = getDeterminant(pointE, pointD, pointC);
+		long det = Geometry.getDeterminant(pointE, pointD, pointC);
 		return det > 0;
 	}
 	
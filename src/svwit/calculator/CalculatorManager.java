@@ -2,14 +2,22 @@ package svwit.calculator;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 import svwit.util.ConvexHull;
 import svwit.util.Diameter;
 import svwit.util.FileManager;
+import svwit.util.IPackedPointsCollection;
+import svwit.util.PackedPointsCollection;
 import svwit.util.Point;
 import svwit.util.PointsCollection;
 import svwit.util.Quadrangle;
+import svwit.util.ResultCache;
 import svwit.util.Triangle;
 import svwit.util.ValueChangeListener;
 
@@ -23,10 +31,25 @@ import svwit.util.ValueChangeListener;
  * Zusätzlich wird eine Instanz der Klasse {@code Calculator} verwaltet, in welcher die konvexe Hülle,
  * sowie der Durchmesser und das größte Enthaltene Viereck und Dreieck der konvexen Hülle berechnet werden.
  * Die ergebnisse dieser Berechnungen können über diese Klasse abgefragt werden.
+ * <p>
+ * Nach jeder abgeschlossenen Änderung wird ein unveränderlicher Stand der Punktmenge und der Ergebnisse als {@code HullSnapshot} veröffentlicht,
+ * den auch andere Threads ohne Synchronisierung mit {@code getSnapshot} lesen können. Alle anderen Methoden dürfen nur von einem Thread aufgerufen werden,
+ * in der GUI von dem Event-Dispatch-Thread.
  * 
  */
 public class CalculatorManager {
 	
+	/** Die standardmäßige maximale Anzahl an Änderungen, bis zu der die konvexe Hülle inkrementell angepasst wird */
+	public static final int DEFAULT_MAX_INCREMENTAL_CHANGES = 256;
+	/** Die standardmäßige Anzahl an Punkten, ab der die Ergebnisse einer geladenen Punktmenge in der {@code ResultCache} gesucht und gespeichert werden */
+	public static final int DEFAULT_CACHE_MIN_POINTS = 1 << 16;
+	/** Die standardmäßige Anzahl an Punkten, ab der die konvexe Hülle von dem {@code CalculationService} im Hintergrund berechnet wird */
+	public static final int DEFAULT_ASYNC_THRESHOLD = 1 << 15;
+	/** Die maximale Anzahl an entfernten und hinzugefügten Punkten, die ein Stand zusätzlich zu der Basis seiner Punktmenge hält */
+	private static final int MAX_SNAPSHOT_CHANGES = 4096;
+	/** Eine leere Punktmenge, die nicht verändert wird */
+	private static final PackedPointsCollection NO_POINTS = new PackedPointsCollection(0);
+	
 	/** Der {@code FileManager} zum Laden und Speichern von Punktmengen */
 	private FileManager fileManager;
 	/** Eine Liste aller angemeldeter Listener, die über Änderungen an der
@@ -35,10 +58,55 @@ public class CalculatorManager {
 	/** Der {@code Calculator} zur Berechnung der konvexen Hülle, sowie dem Durchmesser und
 	 * dem größten enthaltenen Viereck und Dreieck der konvexen Hülle */
 	private Calculator calc;
+	/** Der {@code ForkJoinPool}, der mit {@code setParallelism} für die parallele Berechnung erzeugt wurde, oder {@code null} */
+	private ForkJoinPool forkJoinPool = null;
 	
 	/** Die Punktmenge, die alle Punkte enthällt */
 	private PointsCollection allPoints;
 	
+	/** Die Verschachtelungstiefe der aktuell geöffneten Stapelverarbeitungen. Bei {@code 0} ist keine Stapelverarbeitung geöffnet. */
+	private int batchDepth = 0;
+	/** Gibt an, ob während der geöffneten Stapelverarbeitung eine Neuberechnung angefordert wurde */
+	private boolean updatePending = false;
+	/** Gibt an, ob die konvexe Hülle bei der nächsten Neuberechnung vollständig neu berechnet werden muss */
+	private boolean recalculationPending = false;
+	/** Die Anzahl der Änderungen seit der letzten Neuberechnung */
+	private int pendingChanges = 0;
+	/** Die maximale Anzahl an Änderungen seit der letzten Neuberechnung, bis zu der die konvexe Hülle inkrementell angepasst wird */
+	private int maxIncrementalChanges = DEFAULT_MAX_INCREMENTAL_CHANGES;
+	/** Die Version der konvexen Hülle bei der letzten Benachrichtigung der Listener */
+	private long notifiedHullVersion = 0;
+	/** Die Version der Punktmenge. Sie wird bei jeder abgeschlossenen Änderung erhöht. */
+	private long pointsVersion = 0;
+	/** Der Dienst, der vollständige Neuberechnungen im Hintergrund durchführt, oder {@code null}, falls synchron berechnet wird */
+	private CalculationService calculationService = null;
+	/** Die Anzahl an Punkten, ab der die konvexe Hülle von dem {@code calculationService} berechnet wird */
+	private int asyncThreshold = DEFAULT_ASYNC_THRESHOLD;
+	/** Gibt an, ob die Ergebnisse des {@code Calculator} veraltet sind, weil auf eine Berechnung im Hintergrund gewartet wird */
+	private boolean calculationPending = false;
+	/** Gibt an, ob gerade eine Berechnung im Hintergrund läuft, deren Ergebnis noch nicht eingetroffen ist */
+	private boolean calculationInFlight = false;
+	/** Der Hashwert der geladenen Punktmenge, deren Ergebnisse nach der Berechnung im Hintergrund in der {@code resultCache} gespeichert werden */
+	private long cacheStoreHash = 0;
+	/** Die Version der Punktmenge, zu der {@code cacheStoreHash} gehört, oder {@code -1} */
+	private long cacheStoreVersion = -1;
+	/** Die Ablage für die Ergebnisse geladener Punktmengen oder {@code null}, falls keine verwendet wird */
+	private ResultCache resultCache = null;
+	/** Die Anzahl an Punkten, ab der die Ergebnisse einer geladenen Punktmenge in der {@code resultCache} gesucht und gespeichert werden */
+	private int cacheMinPoints = DEFAULT_CACHE_MIN_POINTS;
+	/** Der zuletzt veröffentlichte Stand der Punktmenge und der Ergebnisse */
+	private final AtomicReference<HullSnapshot> snapshot = new AtomicReference<>(HullSnapshot.EMPTY);
+	/** Die Änderungen an der Punktmenge seit dem zuletzt veröffentlichten Stand. Pro Punkt wird nur die letzte Änderung gehalten, {@code true} für hinzugefügt. */
+	private Map<Long, Boolean> snapshotChanges = new HashMap<>();
+	/** Gibt an, ob die Punktmenge des nächsten Standes vollständig aus {@code allPoints} erzeugt werden muss */
+	private boolean snapshotRebuildPending = false;
+	/** Die konvexe Hülle der zuletzt eingetroffenen Punkte eines Datenstroms oder {@code null}, falls kein Fenster eingerichtet ist */
+	private SlidingWindowConvexHull slidingWindow = null;
+	/** Die Version der konvexen Hülle des Fensters bei der letzten Benachrichtigung der Listener */
+	private long notifiedWindowVersion = 0;
+	/** Eine Liste aller angemeldeter Listener, die über Änderungen an der konvexen Hülle des Fensters informiert werden sollen */
+	private List<ISlidingWindowListener> windowListeners = new ArrayList<>();
+	
 	/**
 	 * Der Konstruktor.
 	 * <p>
@@ -60,6 +128,21 @@ public class CalculatorManager {
 		return allPoints;
 	}
 	
+	/**
+	 * Gibt den zuletzt veröffentlichten Stand der Punktmenge und der Ergebnisse zurück.
+	 * <p>
+	 * Diese Methode darf von jedem Thread aufgerufen werden. Der Stand wird nach jeder abgeschlossenen Änderung
+	 * vor der Benachrichtigung der Listener ersetzt und danach nicht mehr verändert.
+	 * Während einer geöffneten Stapelverarbeitung bleibt der vorherige Stand bestehen.
+	 * 
+	 * @see HullSnapshot
+	 * 
+	 * @return Der aktuelle Stand
+	 */
+	public HullSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+	
 	/**
 	 * Gibt die konvexe Hülle zurück.
 	 * 
@@ -71,28 +154,47 @@ public class CalculatorManager {
 	
 	/**
 	 * Gibt den Durchmesser der konvexen Hülle zurück.
+	 * <p>
+	 * Gehört der veröffentlichte Stand zu der aktuellen konvexen Hülle, wird der Durchmesser aus diesem übernommen,
+	 * damit er nicht zusätzlich von dem {@code Calculator} berechnet wird.
 	 * 
 	 * @return Durchmesser der konvexen Hülle
 	 */
 	public Diameter getDiameter() {
+		HullSnapshot current = snapshot.get();
+		if(current.getHullVersion() == calc.getHullVersion()) {
+			return current.getDiameter();
+		}
 		return calc.getDiameter();
 	}
 	
 	/**
 	 * Gibt das größte enthaltene Viereck der konvexen Hülle zurück.
+	 * <p>
+	 * Gehört der veröffentlichte Stand zu der aktuellen konvexen Hülle, wird das Viereck aus diesem übernommen.
 	 * 
 	 * @return größtes enthaltene Viereck der konvexen Hülle
 	 */
 	public Quadrangle getQuadrangle() {
+		HullSnapshot current = snapshot.get();
+		if(current.getHullVersion() == calc.getHullVersion()) {
+			return current.getQuadrangle();
+		}
 		return calc.getQuadrangle();
 	}
 	
 	/**
 	 * Gibt das größte enthaltene Dreieck der konvexen Hülle zurück.
+	 * <p>
+	 * Gehört der veröffentlichte Stand zu der aktuellen konvexen Hülle, wird das Dreieck aus diesem übernommen.
 	 * 
 	 * @return größtes enthaltene Dreieck der konvexen Hülle
 	 */
 	public Triangle getTriangle() {
+		HullSnapshot current = snapshot.get();
+		if(current.getHullVersion() == calc.getHullVersion()) {
+			return current.getTriangle();
+		}
 		return calc.getTriangle();
 	}
 	
@@ -104,8 +206,10 @@ public class CalculatorManager {
 	 */
 	public void addPoint(int x, int y) {
 		Point newPoint = new Point(x, y);
-		allPoints.add(newPoint);
-		update();
+		if(allPoints.add(newPoint)) {
+			fileManager.recordAdd(newPoint);
+			update(newPoint, true);
+		}
 	}
 	
 	/**
@@ -116,7 +220,8 @@ public class CalculatorManager {
 	 */
 	public boolean addPoint(Point p) {
 		if(allPoints.add(p)) {
-			update();
+			fileManager.recordAdd(p);
+			update(p, true);
 			return true;
 		}
 		return false;
@@ -132,7 +237,10 @@ public class CalculatorManager {
 	public void addPointsFromArray(int[][] newPoints) {
 		for(int[] point : newPoints) {
 			Point newPoint = new Point(point[0], point[1]);
-			allPoints.add(newPoint);
+			if(allPoints.add(newPoint)) {
+				fileManager.recordAdd(newPoint);
+				recordSnapshotChange(newPoint, true);
+			}
 		}	
 		update();
 	}
@@ -145,10 +253,52 @@ public class CalculatorManager {
 	 * @param newPoints Eine Liste an Punkten, die hinzugefügt werden sollen
 	 */
 	public void addPointsFromArrayList(ArrayList<Point> newPoints) {
-		allPoints.addAll(newPoints);
+		for(Point p : newPoints) {
+			if(allPoints.add(p)) {
+				fileManager.recordAdd(p);
+				recordSnapshotChange(p, true);
+			}
+		}
 		update();
 	}
-
+	
+	/**
+	 * Fügt die Punkte einer sortierten Punktmenge der aktuellen Punktmenge hinzu.
+	 * <p>
+	 * Die Punkte werden mit einem Aufruf von {@code addAll} übernommen. Ist die aktuelle Punktmenge leer, wird sie dabei in O(n)
+	 * aus der sortierten Reihenfolge aufgebaut. Die Punkte werden gemeinsam im Journal aufgezeichnet und für den nächsten Stand vorgemerkt.
+	 * Solange seit der letzten Neuberechnung höchstens {@code maxIncrementalChanges} Änderungen vorgenommen wurden,
+	 * werden die Punkte einzeln in die konvexe Hülle eingefügt, ansonsten wird die konvexe Hülle einmal vollständig neu berechnet.
+	 * 
+	 * @see PointsIngestor
+	 * 
+	 * @param points Die Punkte, die hinzugefügt werden sollen
+	 * @return Die Anzahl der Punkte, die noch nicht enthalten waren
+	 */
+	public int addPoints(IPackedPointsCollection points) {
+		int previousSize = allPoints.size();
+		allPoints.addAll(points.asSortedSet());
+		int added = allPoints.size() - previousSize;
+		if(added == 0) {
+			return 0;
+		}
+		fileManager.recordAdds(points);
+		recordSnapshotAdds(points);
+		if(!recalculationPending && !calculationPending && pendingChanges + points.size() <= maxIncrementalChanges) {
+			for(int i = 0; i < points.size(); i++) {
+				if(!calc.addToConvexHull(allPoints, points.getPoint(i))) {
+					recalculationPending = true;
+					break;
+				}
+			}
+		} else {
+			recalculationPending = true;
+		}
+		pendingChanges += added;
+		finishUpdate();
+		return added;
+	}
+	
 	/**
 	 * Entfernt den überbenen Punkt aus der aktuellen Punktmenge.
 	 * 
@@ -157,22 +307,52 @@ public class CalculatorManager {
 	 */
 	public boolean removePoint(Point p) {
 		if(allPoints.remove(p)) {
-			update();
+			fileManager.recordRemove(p);
+			update(p, false);
 			return true;
 		}
 		return false;
 	}
 	
+	/**
+	 * Verschiebt einen Punkt der aktuellen Punktmenge an eine neue Position.
+	 * <p>
+	 * Der Punkt wird nur verschoben, wenn sich an der Zielposition noch kein Punkt befindet. Die Verschiebung wird als eine Änderung
+	 * mit {@code update(Point, Point)} angepasst und als eine Verschiebung im Journal aufgezeichnet.
+	 * Befindet sich an der Startposition kein Punkt, wird der Punkt an der Zielposition nur hinzugefügt.
+	 * 
+	 * @param origin Die Startposition des Punktes
+	 * @param destination Die Zielposition des Punktes
+	 * @return {@code true}, wenn der Punkt verschoben wurde, {@code false} ansonsten
+	 */
+	public boolean movePoint(Point origin, Point destination) {
+		if(!allPoints.add(destination)) {
+			return false;
+		}
+		fileManager.recordMove(origin, destination);
+		if(allPoints.remove(origin)) {
+			update(origin, destination);
+		} else {
+			update(destination, true);
+		}
+		return true;
+	}
+	
 	/**
 	 * Entfernt eine Menge an Punkten aus der aktuellen Punktmenge.
 	 * <p>
 	 * Die zu entfernenden Punkte werden als Liste an Punkten übergeben.
+	 * Die Punkte werden einzeln in einer Stapelverarbeitung entfernt, sodass bei wenigen Punkten die konvexe Hülle nur angepasst
+	 * und nicht vollständig neu berechnet werden muss.
 	 * 
 	 * @param removePoints Die Liste der zu entfernenden Punkte
 	 */
 	public void removePointsFromArrayList(ArrayList<Point> removePoints) {
-		allPoints.removeAll(removePoints);
-		update();
+		executeBatch(() -> {
+			for(Point p : removePoints) {
+				removePoint(p);
+			}
+		});
 	}
 	
 	/**
@@ -180,31 +360,424 @@ public class CalculatorManager {
 	 */
 	public void clearAllPoints() {
 		allPoints.clear();
+		fileManager.recordClear();
+		rebuildSnapshotPoints();
 		update();
 	}
-
+	
 	/**
 	 * Entfernt alle Punkte aus der aktuellen Punktmenge und fügt anschließend eine Menge an Punkten,
 	 * die aus einer Datei gelesen werden, der nun leeren Punktmenge hinzu.
+	 * <p>
+	 * Ist eine {@code ResultCache} gesetzt und enthält die Datei mindestens {@code cacheMinPoints} Punkte, werden die Ergebnisse
+	 * zu dem Hashwert der Punktmenge aus dieser übernommen, statt sie neu zu berechnen. Gibt es noch keinen gültigen Eintrag,
+	 * werden die neu berechneten Ergebnisse dort gespeichert.
 	 * 
 	 * @param path			Der Pfad zu der Datei, aus welcher die Punkte gelesen werden sollen.
 	 * @throws IOException	Wirft eine Ausnahme zurück, falls die Datei nicht vorhanden ist oder nicht gelesen werden kann.
 	 */
 	public void addPointsFromFile(String path) throws IOException {
-		clearAllPoints();
-		fileManager.readPointsFromFile(path);
-		update();
+		long hash = 0;
+		boolean store = false;
+		beginBatch();
+		try {
+			clearAllPoints();
+			fileManager.readPointsFromFile(path);
+			ResultCache.Entry entry = null;
+			if(resultCache != null && allPoints.size() >= cacheMinPoints) {
+				hash = ResultCache.hash(allPoints);
+				entry = resultCache.get(hash, allPoints.size());
+				store = entry == null;
+			}
+			if(entry != null) {
+				calc.restore(allPoints, entry.getConvexHull(), entry.getDiameter(), entry.getQuadrangle(), entry.getTriangle());
+				recalculationPending = false;
+			} else {
+				update();
+			}
+		} finally {
+			commitBatch();
+		}
+		if(store && batchDepth == 0) {
+			if(calculationPending) {
+				cacheStoreHash = hash;
+				cacheStoreVersion = pointsVersion;
+			} else {
+				storeResults(hash);
+			}
+		}
+	}
+	
+	/**
+	 * Speichert die aktuellen Ergebnisse zu dem übergebenen Hashwert der Punktmenge in der {@code resultCache}.
+	 * 
+	 * @param hash Der Hashwert der Punktmenge
+	 */
+	private void storeResults(long hash) {
+		resultCache.put(hash, allPoints.size(), new ResultCache.Entry(calc.getConvexHull(), getDiameter(), getQuadrangle(), getTriangle()));
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle, sowie dessen Durchmesser und größtes enthaltenes Viereck und Dreieck der Punkte einer Datei,
+	 * ohne die Punkte zu speichern.
+	 * <p>
+	 * Die Punkte werden in Stapeln der übergebenen Größe an eine {@code StreamingConvexHull} übergeben, die nur die bisherige konvexe Hülle behält.
+	 * So können auch Dateien verarbeitet werden, deren Punkte nicht in den Speicher passen. Die aktuelle Punktmenge wird geleert und bleibt danach leer,
+	 * nur die Ergebnisse der Berechnungen stehen zur Verfügung. Wird die Punktmenge anschließend verändert, wird die konvexe Hülle aus dieser neu berechnet.
+	 * 
+	 * @see StreamingConvexHull
+	 * 
+	 * @param path			Der Pfad zu der Datei, aus welcher die Punkte gelesen werden sollen.
+	 * @param batchSize		Die Anzahl an Punkten pro Stapel
+	 * @return				Die Anzahl der gelesenen Punkte, einschließlich doppelter Punkte
+	 * @throws IOException	Wirft eine Ausnahme zurück, falls die Datei nicht vorhanden ist oder nicht gelesen werden kann,
+	 * 						oder ihr Journal entfernte oder verschobene Punkte enthält, siehe {@code FileManager.streamPointsFromFile}.
+	 * @throws IllegalStateException Wirft eine Ausnahme, falls eine Stapelverarbeitung geöffnet ist. Da die Punktmenge ersetzt wird,
+	 * 						kann die Berechnung nicht bis zum Abschluss der Stapelverarbeitung zurückgestellt werden.
+	 */
+	public long calculateFromFileStreaming(String path, int batchSize) throws IOException {
+		if(batchDepth > 0) {
+			throw new IllegalStateException("Während einer Stapelverarbeitung kann keine Datei gestreamt werden");
+		}
+		StreamingConvexHull streamingConvexHull = new StreamingConvexHull(batchSize);
+		long points = fileManager.streamPointsFromFile(path, streamingConvexHull);
+		ConvexHull convexHull = streamingConvexHull.finish();
+		
+		allPoints.clear();
+		fileManager.recordClear();
+		rebuildSnapshotPoints();
+		calc.update(convexHull);
+		recalculationPending = false;
+		calculationPending = false;
+		pendingChanges = 0;
+		pointsVersion++;
+		notifyValueChangeListeners();
+		return points;
 	}
 	
 	/**
 	 * Speichert die aktuelle Punktmenge in eine Datei.
+	 * <p>
+	 * Wurde die Punktmenge aus derselben Datei gelesen oder zuletzt in diese gespeichert, werden nur die Änderungen seitdem
+	 * in das Journal der Datei geschrieben, siehe {@code FileManager.savePointsToFile}.
 	 * @param path			Der Pfad zu der Datei, in welche die Punkte geschrieben werden sollen.
 	 * @throws IOException	Wirft eine Ausnahme zurück, falls die Datei nicht erstellt oder beschrieben werden kann.
 	 */
 	public void savePointsToFile(String path) throws IOException {
 		fileManager.savePointsToFile(path);
 	}
-
+	
+	/**
+	 * Gibt den Dienst zurück, der vollständige Neuberechnungen großer Punktmengen im Hintergrund durchführt.
+	 * 
+	 * @return Der Dienst oder {@code null}, falls synchron berechnet wird
+	 */
+	public CalculationService getCalculationService() {
+		return calculationService;
+	}
+	
+	/**
+	 * Setzt den Dienst, der vollständige Neuberechnungen großer Punktmengen im Hintergrund durchführt.
+	 * <p>
+	 * Ist ein Dienst gesetzt und enthält die Punktmenge mindestens {@code asyncThreshold} Punkte, wird bei einer vollständigen Neuberechnung
+	 * eine Kopie der Punktmenge an den Dienst übergeben und die Listener werden sofort mit {@code onPointsChanged} benachrichtigt.
+	 * Bis das Ergebnis eintrifft, geben {@code getconvexHull}, {@code getDiameter}, {@code getQuadrangle} und {@code getTriangle}
+	 * die vorherigen Ergebnisse zurück, siehe {@code isCalculationPending}. Änderungen in dieser Zeit werden zu einer weiteren Berechnung
+	 * zusammengefasst, die erst nach dem Eintreffen des veralteten Ergebnisses angefordert wird.
+	 * 
+	 * @param calculationService Der Dienst oder {@code null}, falls synchron berechnet werden soll
+	 */
+	public void setCalculationService(CalculationService calculationService) {
+		this.calculationService = calculationService;
+	}
+	
+	/**
+	 * Gibt die Anzahl an Punkten zurück, ab der die konvexe Hülle von dem {@code CalculationService} im Hintergrund berechnet wird.
+	 * 
+	 * @return Anzahl an Punkten
+	 */
+	public int getAsyncThreshold() {
+		return asyncThreshold;
+	}
+	
+	/**
+	 * Setzt die Anzahl an Punkten, ab der die konvexe Hülle von dem {@code CalculationService} im Hintergrund berechnet wird.
+	 * 
+	 * @param asyncThreshold Anzahl an Punkten
+	 */
+	public void setAsyncThreshold(int asyncThreshold) {
+		this.asyncThreshold = asyncThreshold;
+	}
+	
+	/**
+	 * Gibt zurück, ob die Ergebnisse veraltet sind, weil auf eine Berechnung im Hintergrund gewartet wird.
+	 * 
+	 * @return {@code true}, wenn eine Berechnung aussteht, {@code false} ansonsten
+	 */
+	public boolean isCalculationPending() {
+		return calculationPending;
+	}
+	
+	/**
+	 * Gibt die Ablage für die Ergebnisse geladener Punktmengen zurück.
+	 * 
+	 * @return Die Ablage oder {@code null}, falls keine verwendet wird
+	 */
+	public ResultCache getResultCache() {
+		return resultCache;
+	}
+	
+	/**
+	 * Setzt die Ablage für die Ergebnisse geladener Punktmengen.
+	 * 
+	 * @param resultCache Die Ablage oder {@code null}, falls keine verwendet werden soll
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * Gibt die Anzahl an Punkten zurück, ab der die Ergebnisse einer geladenen Punktmenge in der {@code ResultCache} gesucht und gespeichert werden.
+	 * 
+	 * @return Anzahl an Punkten
+	 */
+	public int getCacheMinPoints() {
+		return cacheMinPoints;
+	}
+	
+	/**
+	 * Setzt die Anzahl an Punkten, ab der die Ergebnisse einer geladenen Punktmenge in der {@code ResultCache} gesucht und gespeichert werden.
+	 * <p>
+	 * Bei kleineren Punktmengen ist die Berechnung schneller als das Lesen des Eintrags.
+	 * 
+	 * @param cacheMinPoints Anzahl an Punkten
+	 */
+	public void setCacheMinPoints(int cacheMinPoints) {
+		this.cacheMinPoints = cacheMinPoints;
+	}
+	
+	/**
+	 * Gibt die maximale Anzahl an Änderungen seit der letzten Neuberechnung zurück, bis zu der die konvexe Hülle inkrementell angepasst wird.
+	 * 
+	 * @return maximale Anzahl an inkrementellen Änderungen
+	 */
+	public int getMaxIncrementalChanges() {
+		return maxIncrementalChanges;
+	}
+	
+	/**
+	 * Setzt die maximale Anzahl an Änderungen seit der letzten Neuberechnung, bis zu der die konvexe Hülle inkrementell angepasst wird.
+	 * <p>
+	 * Werden innerhalb einer Stapelverarbeitung mehr Punkte hinzugefügt oder entfernt, wird die konvexe Hülle 
+	 * beim Abschluss der Stapelverarbeitung vollständig neu berechnet. Bei {@code 0} wird die konvexe Hülle immer vollständig neu berechnet.
+	 * 
+	 * @param maxIncrementalChanges maximale Anzahl an inkrementellen Änderungen
+	 */
+	public void setMaxIncrementalChanges(int maxIncrementalChanges) {
+		this.maxIncrementalChanges = maxIncrementalChanges;
+	}
+	
+	/**
+	 * Gibt zurück, ob die konvexe Hülle großer Punktmengen parallel berechnet wird.
+	 * 
+	 * @return {@code true}, wenn die parallele Berechnung aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isParallelCalculationEnabled() {
+		return calc.isParallelCalculationEnabled();
+	}
+	
+	/**
+	 * Aktiviert beziehungsweise deaktiviert die parallele Berechnung der konvexen Hülle bei einer vollständigen Neuberechnung.
+	 * 
+	 * @param b {@code true}, wenn dies aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setParallelCalculationEnabled(boolean b) {
+		calc.setParallelCalculationEnabled(b);
+	}
+	
+	/**
+	 * Gibt die Anzahl an Punkten zurück, ab der die konvexe Hülle parallel berechnet wird.
+	 * 
+	 * @return Anzahl an Punkten, ab der parallel berechnet wird
+	 */
+	public int getParallelThreshold() {
+		return calc.getParallelThreshold();
+	}
+	
+	/**
+	 * Setzt die Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird, sofern die parallele Berechnung aktiviert ist.
+	 * 
+	 * @param parallelThreshold Anzahl an Punkten, ab der parallel berechnet werden soll
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		calc.setParallelThreshold(parallelThreshold);
+	}
+	
+	/**
+	 * Setzt die Anzahl der Threads, mit denen die konvexe Hülle parallel berechnet wird.
+	 * <p>
+	 * Bei mehr als einem Thread wird die parallele Berechnung aktiviert und in einem eigenen {@code ForkJoinPool}
+	 * mit der übergebenen Parallelität ausgeführt. Ansonsten wird die parallele Berechnung deaktiviert.
+	 * Ein zuvor hier erzeugter {@code ForkJoinPool} wird weiterverwendet, wenn sich die Parallelität nicht ändert, und ansonsten beendet.
+	 * 
+	 * @param parallelism Die Anzahl der Threads
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism > 1) {
+			if(forkJoinPool == null || forkJoinPool.getParallelism() != parallelism) {
+				shutdownForkJoinPool();
+				forkJoinPool = new ForkJoinPool(parallelism);
+			}
+			calc.setForkJoinPool(forkJoinPool);
+			calc.setParallelCalculationEnabled(true);
+		} else {
+			shutdownForkJoinPool();
+			calc.setForkJoinPool(null);
+			calc.setParallelCalculationEnabled(false);
+		}
+	}
+	
+	/**
+	 * Beendet den {@code ForkJoinPool}, der mit {@code setParallelism} erzeugt wurde. Bereits gestartete Berechnungen werden noch abgeschlossen.
+	 */
+	private void shutdownForkJoinPool() {
+		if(forkJoinPool != null) {
+			forkJoinPool.shutdown();
+			forkJoinPool = null;
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der Threads zurück, mit denen große Dateien eingelesen werden.
+	 * 
+	 * @return Anzahl der Threads
+	 */
+	public int getReadParallelism() {
+		return fileManager.getParallelism();
+	}
+	
+	/**
+	 * Setzt die Anzahl der Threads, mit denen große Dateien eingelesen werden.
+	 * 
+	 * @param parallelism Anzahl der Threads, mindestens {@code 1}
+	 */
+	public void setReadParallelism(int parallelism) {
+		fileManager.setParallelism(parallelism);
+	}
+	
+	/**
+	 * Gibt die Dauer einer Phase des letzten Einlesens einer Datei in Nanosekunden zurück.
+	 * 
+	 * @param phase Die Phase, zum Beispiel {@code FileManager.PHASE_PARSE}
+	 * @return Dauer der Phase in Nanosekunden
+	 * @see FileManager#getPhaseTime(int)
+	 */
+	public long getReadPhaseTime(int phase) {
+		return fileManager.getPhaseTime(phase);
+	}
+	
+	/**
+	 * Gibt zurück, ob Änderungen an einer gelesenen oder gespeicherten Datei in einem Journal gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn das Journal aktiviert ist, {@code false} ansonsten
+	 * @see FileManager#isJournalEnabled()
+	 */
+	public boolean isJournalEnabled() {
+		return fileManager.isJournalEnabled();
+	}
+	
+	/**
+	 * Legt fest, ob Änderungen an einer gelesenen oder gespeicherten Datei in einem Journal gespeichert werden.
+	 * Ist das Journal deaktiviert, wird beim Einlesen auch ein vorhandenes Journal der Datei nicht angewendet.
+	 * 
+	 * @param b {@code true}, wenn das Journal aktiviert werden soll, {@code false} ansonsten
+	 * @see FileManager#setJournalEnabled(boolean)
+	 */
+	public void setJournalEnabled(boolean b) {
+		fileManager.setJournalEnabled(b);
+	}
+	
+	/**
+	 * Gibt die Größe des Journals in Bytes zurück, ab der es beim Speichern in eine vollständige Datei verdichtet wird.
+	 * 
+	 * @return Größe in Bytes
+	 */
+	public long getCompactionThreshold() {
+		return fileManager.getCompactionThreshold();
+	}
+	
+	/**
+	 * Setzt die Größe des Journals in Bytes, ab der es beim Speichern in eine vollständige Datei verdichtet wird.
+	 * 
+	 * @param compactionThreshold Größe in Bytes
+	 */
+	public void setCompactionThreshold(long compactionThreshold) {
+		fileManager.setCompactionThreshold(compactionThreshold);
+	}
+	
+	/**
+	 * Gibt zurück, ob Punktmengen über eine temporäre Datei atomar gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn atomar gespeichert wird, {@code false} ansonsten
+	 */
+	public boolean isAtomicSaveEnabled() {
+		return fileManager.isAtomicSaveEnabled();
+	}
+	
+	/**
+	 * Legt fest, ob Punktmengen über eine temporäre Datei atomar gespeichert werden.
+	 * 
+	 * @param b {@code true}, wenn atomar gespeichert werden soll, {@code false} ansonsten
+	 */
+	public void setAtomicSaveEnabled(boolean b) {
+		fileManager.setAtomicSaveEnabled(b);
+	}
+	
+	/**
+	 * Gibt zurück, ob Punkte im Binärformat als Differenzen gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn als Differenzen gespeichert wird, {@code false} ansonsten
+	 */
+	public boolean isBinaryDeltaEncoded() {
+		return fileManager.isBinaryDeltaEncoded();
+	}
+	
+	/**
+	 * Legt fest, ob Punkte im Binärformat als Differenzen gespeichert werden.
+	 * 
+	 * @param b {@code true}, wenn als Differenzen gespeichert werden soll, {@code false} ansonsten
+	 */
+	public void setBinaryDeltaEncoded(boolean b) {
+		fileManager.setBinaryDeltaEncoded(b);
+	}
+	
+	/**
+	 * Gibt zurück, ob Punkte im Inneren vor der Berechnung der konvexen Hülle aussortiert werden.
+	 * 
+	 * @return {@code true}, wenn der Vorfilter aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isPrefilterEnabled() {
+		return calc.isPrefilterEnabled();
+	}
+	
+	/**
+	 * Aktiviert beziehungsweise deaktiviert den Vorfilter, der Punkte im Inneren vor der Berechnung der konvexen Hülle aussortiert.
+	 * 
+	 * @param b {@code true}, wenn dies aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setPrefilterEnabled(boolean b) {
+		calc.setPrefilterEnabled(b);
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück, die bei der letzten vollständigen Berechnung der konvexen Hülle von dem Vorfilter aussortiert wurden.
+	 * 
+	 * @return Anzahl der aussortierten Punkte
+	 */
+	public int getPrefilterEliminatedPoints() {
+		return calc.getPrefilterEliminatedPoints();
+	}
+	
 	/**
 	 * Fügt einen Listener der Liste aller Listener hinzu.
 	 * @param listener Der Listener, der hinzugefügt werden soll.
@@ -213,22 +786,429 @@ public class CalculatorManager {
 		listeners.add(listener);
 	}
 	
+	/**
+	 * Richtet ein gleitendes Fenster über einen Datenstrom mit Zeitstempeln ein, dessen konvexe Hülle unabhängig von der Punktmenge berechnet wird.
+	 * Ein bestehendes Fenster wird dabei verworfen.
+	 * 
+	 * @param maxPoints Die maximale Anzahl an Punkten im Fenster, bei {@code 0} unbegrenzt
+	 * @param maxAge Das maximale Alter eines Punktes im Fenster, gemessen an dem neuesten Zeitstempel, bei {@code 0} unbegrenzt
+	 * @see SlidingWindowConvexHull
+	 */
+	public void setSlidingWindow(int maxPoints, long maxAge) {
+		slidingWindow = new SlidingWindowConvexHull(maxPoints, maxAge);
+		notifiedWindowVersion = slidingWindow.getHullVersion();
+		notifySlidingWindowListeners();
+	}
+	
+	/**
+	 * Gibt das gleitende Fenster zurück.
+	 * 
+	 * @return Das Fenster oder {@code null}, falls kein Fenster eingerichtet ist
+	 */
+	public SlidingWindowConvexHull getSlidingWindow() {
+		return slidingWindow;
+	}
+	
+	/**
+	 * Fügt dem gleitenden Fenster einen Punkt hinzu. Die Listener des Fensters werden nur informiert, wenn sich dessen konvexe Hülle geändert hat.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @param timestamp Der Zeitstempel des Punktes
+	 * @throws IllegalStateException Wirft eine Ausnahme, falls mit {@code setSlidingWindow} kein Fenster eingerichtet wurde.
+	 */
+	public void addWindowPoint(int x, int y, long timestamp) {
+		if(slidingWindow == null) {
+			throw new IllegalStateException("Es ist kein gleitendes Fenster eingerichtet");
+		}
+		slidingWindow.add(x, y, timestamp);
+		if(batchDepth == 0) {
+			notifySlidingWindowListenersIfChanged();
+		}
+	}
+	
+	/**
+	 * Setzt den neuesten Zeitstempel des gleitenden Fensters, sodass zu alte Punkte ausscheiden.
+	 * Die Listener des Fensters werden nur informiert, wenn sich dessen konvexe Hülle geändert hat.
+	 * 
+	 * @param timestamp Der neue Zeitstempel
+	 * @throws IllegalStateException Wirft eine Ausnahme, falls mit {@code setSlidingWindow} kein Fenster eingerichtet wurde.
+	 */
+	public void advanceWindow(long timestamp) {
+		if(slidingWindow == null) {
+			throw new IllegalStateException("Es ist kein gleitendes Fenster eingerichtet");
+		}
+		slidingWindow.advanceTo(timestamp);
+		if(batchDepth == 0) {
+			notifySlidingWindowListenersIfChanged();
+		}
+	}
+	
+	/**
+	 * Fügt einen Listener der Liste aller Listener des gleitenden Fensters hinzu.
+	 * @param listener Der Listener, der hinzugefügt werden soll.
+	 */
+	public void addSlidingWindowListener(ISlidingWindowListener listener) {
+		windowListeners.add(listener);
+	}
+	
+	/**
+	 * Öffnet eine Stapelverarbeitung.
+	 * <p>
+	 * Solange eine Stapelverarbeitung geöffnet ist, werden Änderungen an der Punktmenge direkt übernommen,
+	 * die Neuberechnung der konvexen Hülle und die Benachrichtigung der Listener jedoch bis zum Aufruf von {@code commitBatch} zurückgestellt.
+	 * Stapelverarbeitungen können verschachtelt werden. Die Neuberechnung findet erst statt, wenn die äußerste Stapelverarbeitung abgeschlossen wird.
+	 * <p>
+	 * Zu jedem Aufruf dieser Methode muss genau ein Aufruf von {@code commitBatch} erfolgen.
+	 */
+	public void beginBatch() {
+		batchDepth++;
+	}
+	
+	/**
+	 * Schließt die zuletzt geöffnete Stapelverarbeitung ab.
+	 * <p>
+	 * Wird hierdurch die äußerste Stapelverarbeitung abgeschlossen und wurde während dieser die Punktmenge verändert,
+	 * wird genau eine Neuberechnung durchgeführt und die Listener werden genau einmal benachrichtigt.
+	 */
+	public void commitBatch() {
+		if(batchDepth <= 0) {
+			return;
+		}
+		batchDepth--;
+		if(batchDepth == 0 && updatePending) {
+			updatePending = false;
+			finishUpdate();
+		}
+		if(batchDepth == 0) {
+			notifySlidingWindowListenersIfChanged();
+		}
+	}
+	
+	/**
+	 * Führt die übergebenen Änderungen als eine Stapelverarbeitung aus.
+	 * <p>
+	 * Alle Änderungen an der Punktmenge, die innerhalb von {@code operation} vorgenommen werden, lösen nur eine Neuberechnung
+	 * und eine Benachrichtigung der Listener aus. Die Stapelverarbeitung wird auch dann abgeschlossen, wenn eine Ausnahme auftritt.
+	 * 
+	 * @see IBatchOperation
+	 * 
+	 * @param operation Die Änderungen, die als Stapel ausgeführt werden sollen
+	 */
+	public void executeBatch(IBatchOperation operation) {
+		beginBatch();
+		try {
+			operation.execute();
+		} finally {
+			commitBatch();
+		}
+	}
+	
+	/**
+	 * Gibt zurück, ob aktuell eine Stapelverarbeitung geöffnet ist.
+	 * 
+	 * @return {@code true}, wenn eine Stapelverarbeitung geöffnet ist, {@code false} ansonsten
+	 */
+	public boolean isBatchOpen() {
+		return batchDepth > 0;
+	}
+	
 	/**
 	 * Führt eine neuberechnung der konvexen Hülle, sowie dessen Durchmesser und größtes enthaltenes Viereck und Dreieck durch.
 	 * Benachrichtigt anschließend alle Listener, die sich angemeldet haben.
+	 * <p>
+	 * Ist eine Stapelverarbeitung geöffnet, wird die Neuberechnung nur vorgemerkt und beim Abschluss der Stapelverarbeitung durchgeführt.
 	 */
 	private void update() {
-		calc.update(allPoints);
+		recalculationPending = true;
+		finishUpdate();
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem genau ein Punkt der Punktmenge hinzugefügt oder aus ihr entfernt wurde.
+	 * <p>
+	 * Solange seit der letzten Neuberechnung höchstens {@code maxIncrementalChanges} Änderungen vorgenommen wurden und keine Berechnung
+	 * im Hintergrund aussteht, wird die konvexe Hülle direkt durch den {@code Calculator} angepasst. Ansonsten oder wenn die Anpassung nicht möglich ist,
+	 * wird eine vollständige Neuberechnung vorgemerkt. Anschließend wird die Neuberechnung mit {@code finishUpdate} abgeschlossen.
+	 * 
+	 * @param changedPoint Der Punkt, der hinzugefügt oder entfernt wurde
+	 * @param added {@code true}, wenn der Punkt hinzugefügt wurde, {@code false}, wenn er entfernt wurde
+	 */
+	private void update(Point changedPoint, boolean added) {
+		recordSnapshotChange(changedPoint, added);
+		if(!recalculationPending && !calculationPending && pendingChanges < maxIncrementalChanges) {
+			boolean adjusted;
+			if(added) {
+				adjusted = calc.addToConvexHull(allPoints, changedPoint);
+			} else {
+				adjusted = calc.removeFromConvexHull(allPoints, changedPoint);
+			}
+			if(!adjusted) {
+				recalculationPending = true;
+			}
+		} else {
+			recalculationPending = true;
+		}
+		pendingChanges++;
+		finishUpdate();
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem genau ein Punkt der Punktmenge verschoben wurde.
+	 * <p>
+	 * Wie bei {@code update(Point, boolean)} wird die konvexe Hülle direkt durch den {@code Calculator} angepasst, sofern dies möglich ist.
+	 * Die Verschiebung zählt dabei als eine Änderung. Beim Ziehen eines Punktes wird so bei jeder Mausbewegung nur die neue Position in die konvexe Hülle
+	 * der übrigen Punkte eingefügt, statt den Punkt einzeln zu entfernen und hinzuzufügen.
+	 * 
+	 * @param origin Die bisherige Position des Punktes, die bereits aus der Punktmenge entfernt wurde
+	 * @param destination Die neue Position des Punktes, die der Punktmenge bereits hinzugefügt wurde
+	 */
+	private void update(Point origin, Point destination) {
+		recordSnapshotChange(origin, false);
+		recordSnapshotChange(destination, true);
+		if(!recalculationPending && !calculationPending && pendingChanges < maxIncrementalChanges) {
+			if(!calc.moveInConvexHull(allPoints, origin, destination)) {
+				recalculationPending = true;
+			}
+		} else {
+			recalculationPending = true;
+		}
+		pendingChanges++;
+		finishUpdate();
+	}
+	
+	/**
+	 * Schließt eine Neuberechnung ab und benachrichtigt alle Listener, die sich angemeldet haben.
+	 * <p>
+	 * Wurde eine vollständige Neuberechnung vorgemerkt, wird die konvexe Hülle neu berechnet. Ansonsten wurde die konvexe Hülle bereits angepasst.
+	 * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden von dem {@code Calculator} erst bei Bedarf und nur dann neu berechnet,
+	 * wenn sich die konvexe Hülle geändert hat. Ist ein {@code CalculationService} gesetzt und die Punktmenge groß genug,
+	 * wird die vollständige Neuberechnung im Hintergrund angefordert, siehe {@code requestCalculation}.
+	 * Ist eine Stapelverarbeitung geöffnet, wird dies bis zum Abschluss der Stapelverarbeitung zurückgestellt.
+	 */
+	private void finishUpdate() {
+		if(batchDepth > 0) {
+			updatePending = true;
+			return;
+		}
+		pointsVersion++;
+		if(recalculationPending) {
+			if(calculationService != null && allPoints.size() >= asyncThreshold) {
+				calculationPending = true;
+				requestCalculation();
+			} else {
+				calc.update(allPoints);
+				calculationPending = false;
+			}
+		}
+		recalculationPending = false;
+		pendingChanges = 0;
+		notifyValueChangeListeners();
+	}
+	
+	/**
+	 * Fordert die Berechnung der aktuellen Version der Punktmenge bei dem {@code CalculationService} an.
+	 * <p>
+	 * Der Berechnung wird die unveränderliche Punktmenge des Standes zu dieser Version übergeben, der hierfür bereits veröffentlicht wird.
+	 * Läuft bereits eine Berechnung, wird stattdessen die neueste Version angefordert, sobald das veraltete Ergebnis eintrifft.
+	 */
+	private void requestCalculation() {
+		if(calculationInFlight) {
+			return;
+		}
+		calculationInFlight = true;
+		calculationService.submit(pointsVersion, new Calculator(calc), publishSnapshot().getPoints(), this::onCalculationFinished);
+	}
+	
+	/**
+	 * Übernimmt das Ergebnis einer Berechnung im Hintergrund.
+	 * <p>
+	 * Gehört das Ergebnis nicht mehr zu der aktuellen Version der Punktmenge, wird es verworfen und die aktuelle Version angefordert,
+	 * sofern noch eine Berechnung aussteht. Ansonsten werden die Ergebnisse in den {@code Calculator} übernommen,
+	 * gegebenenfalls in der {@code resultCache} gespeichert und die Listener benachrichtigt.
+	 * 
+	 * @param result Das Ergebnis der Berechnung
+	 */
+	private void onCalculationFinished(CalculationResult result) {
+		calculationInFlight = false;
+		if(result.getVersion() != pointsVersion || batchDepth > 0) {
+			if(calculationPending) {
+				if(batchDepth > 0) {
+					recalculationPending = true;
+					updatePending = true;
+				} else {
+					requestCalculation();
+				}
+			}
+			return;
+		}
+		calc.restore(allPoints, result.getConvexHull(), result.getDiameter(), result.getQuadrangle(), result.getTriangle());
+		calculationPending = false;
+		if(cacheStoreVersion == pointsVersion && resultCache != null) {
+			storeResults(cacheStoreHash);
+		}
+		cacheStoreVersion = -1;
 		notifyValueChangeListeners();
 	}
 	
+	/**
+	 * Merkt eine Änderung an der Punktmenge für den nächsten Stand vor.
+	 * <p>
+	 * Übersteigt die Anzahl der vorgemerkten Änderungen ein Achtel der Punktmenge, wird die Punktmenge des nächsten Standes
+	 * stattdessen vollständig aus {@code allPoints} erzeugt.
+	 * 
+	 * @param changedPoint Der Punkt, der hinzugefügt oder entfernt wurde
+	 * @param added {@code true}, wenn der Punkt hinzugefügt wurde, {@code false}, wenn er entfernt wurde
+	 */
+	private void recordSnapshotChange(Point changedPoint, boolean added) {
+		if(snapshotRebuildPending) {
+			return;
+		}
+		snapshotChanges.put(PackedPointsCollection.pack(changedPoint.getX(), changedPoint.getY()), added);
+		if(snapshotChanges.size() > 64 + (allPoints.size() >> 3)) {
+			rebuildSnapshotPoints();
+		}
+	}
+	
+	/**
+	 * Merkt die übergebenen Punkte als hinzugefügt für den nächsten Stand vor.
+	 * <p>
+	 * Würde die Anzahl der vorgemerkten Änderungen dadurch ein Achtel der Punktmenge übersteigen, wird die Punktmenge des nächsten Standes
+	 * direkt vollständig aus {@code allPoints} erzeugt, ohne die Punkte einzeln vorzumerken.
+	 * 
+	 * @param points Die Punkte, die hinzugefügt wurden
+	 */
+	private void recordSnapshotAdds(IPackedPointsCollection points) {
+		if(snapshotRebuildPending) {
+			return;
+		}
+		if(snapshotChanges.size() + points.size() > 64 + (allPoints.size() >> 3)) {
+			rebuildSnapshotPoints();
+			return;
+		}
+		for(int i = 0; i < points.size(); i++) {
+			snapshotChanges.put(PackedPointsCollection.pack(points.getX(i), points.getY(i)), true);
+		}
+	}
+	
+	/**
+	 * Verwirft die vorgemerkten Änderungen, sodass die Punktmenge des nächsten Standes vollständig aus {@code allPoints} erzeugt wird.
+	 * Dies ist notwendig, wenn die Punktmenge geleert oder direkt verändert wird, zum Beispiel beim Laden einer Datei.
+	 */
+	private void rebuildSnapshotPoints() {
+		snapshotRebuildPending = true;
+		snapshotChanges.clear();
+	}
+	
+	/**
+	 * Veröffentlicht einen neuen Stand der Punktmenge und der Ergebnisse, falls sich seit dem vorherigen Stand etwas geändert hat.
+	 * <p>
+	 * Der neue Stand übernimmt die Basis der Punktmenge des vorherigen Standes, oder dessen vollständige Punktmenge, falls diese bereits erzeugt wurde.
+	 * Die vorgemerkten Änderungen werden in die entfernten und hinzugefügten Punkte des vorherigen Standes eingefügt, was O(m log m + k) Zeit
+	 * für m Änderungen und k bisherige Änderungen benötigt. Erst bei mehr als {@code MAX_SNAPSHOT_CHANGES} Änderungen wird eine neue Basis erzeugt.
+	 * <p>
+	 * Ist die konvexe Hülle unverändert, teilt sich der neue Stand die konvexe Hülle und die Ergebnisse mit dem vorherigen Stand.
+	 * Ansonsten werden die Ergebnisse übernommen, die der {@code Calculator} bereits berechnet hat. Die übrigen werden erst bei Bedarf berechnet.
+	 * Darf nur aufgerufen werden, wenn keine Stapelverarbeitung geöffnet ist.
+	 * 
+	 * @return Der aktuelle Stand
+	 */
+	private HullSnapshot publishSnapshot() {
+		HullSnapshot previous = snapshot.get();
+		if(previous.getVersion() == pointsVersion && previous.getHullVersion() == calc.getHullVersion() && previous.isCalculationPending() == calculationPending) {
+			return previous;
+		}
+		PackedPointsCollection base;
+		PackedPointsCollection removed = NO_POINTS;
+		PackedPointsCollection added = NO_POINTS;
+		if(snapshotRebuildPending) {
+			base = PackedPointsCollection.fromPoints(allPoints);
+			snapshotRebuildPending = false;
+		} else {
+			base = previous.getPointsIfCreated();
+			if(base == null) {
+				base = previous.getBase();
+				removed = previous.getRemoved();
+				added = previous.getAdded();
+			}
+			if(!snapshotChanges.isEmpty()) {
+				int count = snapshotChanges.size();
+				long[] keys = new long[count];
+				int i = 0;
+				for(long key : snapshotChanges.keySet()) {
+					keys[i++] = key;
+				}
+				Arrays.sort(keys);
+				boolean[] inAdded = new boolean[count];
+				boolean[] inRemoved = new boolean[count];
+				for(i = 0; i < count; i++) {
+					boolean contained = snapshotChanges.get(keys[i]);
+					boolean inBase = base.containsKey(keys[i]);
+					inAdded[i] = contained && !inBase;
+					inRemoved[i] = !contained && inBase;
+				}
+				added = added.withChanges(keys, inAdded, count);
+				removed = removed.withChanges(keys, inRemoved, count);
+				if(added.size() + removed.size() > MAX_SNAPSHOT_CHANGES) {
+					base = base.withChanges(removed, added);
+					removed = NO_POINTS;
+					added = NO_POINTS;
+				}
+			}
+		}
+		snapshotChanges.clear();
+		
+		HullSnapshot next;
+		if(previous.getHullVersion() == calc.getHullVersion()) {
+			next = previous.withPoints(pointsVersion, base, removed, added, calculationPending);
+		} else {
+			next = HullSnapshot.create(pointsVersion, base, removed, added, calculationPending, calc.getHullVersion(), calc.getConvexHull(),
+					calc.isDiameterAndQuadrangleCalculated() ? calc.getDiameter() : null,
+					calc.isDiameterAndQuadrangleCalculated() ? calc.getQuadrangle() : null,
+					calc.isTriangleCalculated() ? calc.getTriangle() : null);
+		}
+		snapshot.set(next);
+		return next;
+	}
+	
 	/**
 	 * Benachrichtigt alle Listener über Änderungen.
+	 * <p>
+	 * Zuvor wird der neue Stand mit {@code publishSnapshot} veröffentlicht, sodass die Listener ihn mit {@code getSnapshot} abrufen können.
+	 * Hat sich die konvexe Hülle seit der letzten Benachrichtigung nicht geändert, wird {@code onPointsChanged} aufgerufen,
+	 * ansonsten {@code onValueChanged}.
 	 */
 	private void notifyValueChangeListeners() {
+		publishSnapshot();
+		notifySlidingWindowListenersIfChanged();
+		boolean hullChanged = calc.getHullVersion() != notifiedHullVersion;
+		notifiedHullVersion = calc.getHullVersion();
 		for(ValueChangeListener listener : listeners) {
-			listener.onValueChanged();
+			if(hullChanged) {
+				listener.onValueChanged();
+			} else {
+				listener.onPointsChanged();
+			}
 		}
 	}
-		
+
+	/**
+	 * Benachrichtigt alle Listener des gleitenden Fensters, falls sich dessen konvexe Hülle seit der letzten Benachrichtigung geändert hat.
+	 */
+	private void notifySlidingWindowListenersIfChanged() {
+		if(slidingWindow != null && slidingWindow.getHullVersion() != notifiedWindowVersion) {
+			notifiedWindowVersion = slidingWindow.getHullVersion();
+			notifySlidingWindowListeners();
+		}
+	}
+	
+	/**
+	 * Benachrichtigt alle Listener des gleitenden Fensters.
+	 */
+	private void notifySlidingWindowListeners() {
+		for(ISlidingWindowListener listener : windowListeners) {
+			listener.onWindowChanged(slidingWindow);
+		}
+	}
+
 }
@@ -0,0 +1,97 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import svwit.util.Geometry;
+import svwit.util.Point;
+
+/**
+ * Diese Klasse bereinigt eine Kontur in O(k), wobei k die Anzahl der Punkte der Kontur ist.
+ * <p>
+ * Die Bereinigung liefert dasselbe Ergebnis wie die Methode {@code clearContourWithIterator} der Klasse {@code Calculator}.
+ * Statt mit einem {@code ListIterator} vor und zurück zu laufen und ungültige Punkte einzeln aus der Liste zu entfernen,
+ * werden die Koordinaten in primitive Arrays kopiert und wie ein Stapel mit einem Schreibzeiger durchlaufen:
+ * Jeder neue Punkt entfernt so lange den obersten Punkt des Stapels, bis dieser wieder gültig ist, und wird anschließend selbst abgelegt.
+ * Da jeder Punkt höchstens einmal abgelegt und einmal entfernt wird, ist die Laufzeit linear.
+ * Zuletzt werden die verbleibenden Punkte in der Liste nach vorne geschoben und das Ende der Liste abgeschnitten.
+ * <p>
+ * Die Arrays werden zwischen den Aufrufen wiederverwendet, sodass nach dem ersten Aufruf nur bei längeren Konturen Speicher angelegt wird.
+ * Eine Instanz darf deshalb nicht gleichzeitig von mehreren Threads verwendet werden.
+ * 
+ */
+public class ContourCleaner {
+
+	/** Die X-Koordinaten des Stapels */
+	private int[] stackX = new int[16];
+	/** Die Y-Koordinaten des Stapels */
+	private int[] stackY = new int[16];
+	/** Der Index jedes Punktes des Stapels in der ursprünglichen Kontur */
+	private int[] stackIndex = new int[16];
+	
+	/**
+	 * Bereinigt die übergebene Kontur.
+	 * <p>
+	 * Ist {@code counterClockwise} {@code true}, bleiben nur Punkte erhalten, an denen die Kontur gegen den Uhrzeigersinn abknickt.
+	 * Dies entspricht dem Entscheider {@code getDeterminant(a, b, c) >= 0} der Methode {@code clearContourWithIterator}.
+	 * Ansonsten bleiben nur Punkte erhalten, an denen die Kontur im Uhrzeigersinn abknickt.
+	 * 
+	 * @param contour Die Kontur, die bereinigt werden soll
+	 * @param counterClockwise Gibt an, ob die Kontur gegen den Uhrzeigersinn abknicken soll
+	 */
+	public void clearContour(ArrayList<Point> contour, boolean counterClockwise) {
+		int length = contour.size();
+		if(length < 3) {
+			return;
+		}
+		ensureCapacity(length);
+		
+		int top = 0;
+		for(int i = 0; i < length; i++) {
+			Point p = contour.get(i);
+			int x = p.getX();
+			int y = p.getY();
+			while(top >= 2 && isInvalid(top, x, y, counterClockwise)) {
+				top--;
+			}
+			stackX[top] = x;
+			stackY[top] = y;
+			stackIndex[top] = i;
+			top++;
+		}
+		
+		for(int i = 0; i < top; i++) {
+			contour.set(i, contour.get(stackIndex[i]));
+		}
+		contour.subList(top, length).clear();
+	}
+	
+	/**
+	 * Gibt zurück, ob der oberste Punkt des Stapels durch den übergebenen Punkt ungültig wird.
+	 * 
+	 * @param top Die Anzahl der Punkte auf dem Stapel
+	 * @param x X-Koordinate des neuen Punktes
+	 * @param y Y-Koordinate des neuen Punktes
+	 * @param counterClockwise Gibt an, ob die Kontur gegen den Uhrzeigersinn abknicken soll
+	 * @return {@code true}, wenn der oberste Punkt entfernt werden muss, {@code false} ansonsten
+	 */
+	private boolean isInvalid(int top, int x, int y, boolean counterClockwise) {
+		long determinant = Geometry.getDeterminant(stackX[top - 2], stackY[top - 2], stackX[top - 1], stackY[top - 1], x, y);
+		return counterClockwise ? determinant <= 0 : determinant >= 0;
+	}
+	
+	/**
+	 * Vergrößert die Arrays, sodass eine Kontur der übergebenen Länge bereinigt werden kann.
+	 * 
+	 * @param length Die Länge der Kontur
+	 */
+	private void ensureCapacity(int length) {
+		if(stackX.length < length) {
+			int capacity = Math.max(length, stackX.length * 2);
+			stackX = Arrays.copyOf(stackX, capacity);
+			stackY = Arrays.copyOf(stackY, capacity);
+			stackIndex = Arrays.copyOf(stackIndex, capacity);
+		}
+	}
+
+}
@@ -0,0 +1,509 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.NavigableSet;
+
+import svwit.util.ConvexHull;
+import svwit.util.Geometry;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse passt eine bestehende konvexe Hülle an, wenn einzelne Punkte der zugehörigen Punktmenge hinzugefügt oder entfernt werden.
+ * <p>
+ * Die konvexe Hülle muss gegen den Uhrzeigersinn verlaufen, mit dem lexikographisch kleinsten Punkt beginnen und darf keine
+ * kollinearen Punkte enthalten, wie es bei der konvexen Hülle aus der Klasse {@code Calculator} der Fall ist.
+ * Die angepasste konvexe Hülle erfüllt wieder diese Eigenschaften und wird jeweils als neue Instanz angelegt,
+ * sodass bereits herausgegebene Instanzen unverändert bleiben.
+ * <p>
+ * Ob ein Punkt innerhalb, auf dem Rand oder außerhalb der konvexen Hülle liegt, wird mit einer binären Suche in O(log h) entschieden,
+ * wobei h die Anzahl der Punkte der konvexen Hülle ist.
+ * Punkte im Inneren der konvexen Hülle können dadurch ohne Neuberechnung hinzugefügt und entfernt werden.
+ * <ul>
+ * <li>Beim Hinzufügen eines äußeren Punktes wird die von ihm aus sichtbare Kette der konvexen Hülle zwischen den beiden Tangentenpunkten ersetzt.</li>
+ * <li>Beim Entfernen eines Eckpunktes werden zunächst nur die Punkte betrachtet, die in dem Dreieck aus dem Eckpunkt und seinen beiden Nachbarn liegen.
+ * Diese werden über einen Bereich der sortierten Punktmenge gefunden, dessen X-Koordinaten von dem Dreieck abgedeckt werden.
+ * Aus ihnen wird die neue Kette zwischen den beiden Nachbarn berechnet. Dieser Bereich kann bis zu O(n) Punkte enthalten.</li>
+ * <li>Haben die durchsuchten Bereiche insgesamt mehr Punkte enthalten, als die Punktmenge umfasst, wird einmalig ein {@code SubHullTree} aus der Punktmenge aufgebaut.
+ * Er wird ab dann bei jeder Änderung in O(log³ n) Zeit angepasst und liefert nach dem Entfernen eines Eckpunktes die neue konvexe Hülle,
+ * ohne die Punktmenge zu durchsuchen. Der Aufbau in O(n) Zeit wird so durch die zuvor durchsuchten Punkte aufgewogen.</li>
+ * <li>Beim Verschieben eines Punktes wird die konvexe Hülle der Punktmenge ohne diesen Punkt einmalig wie beim Entfernen berechnet und gespeichert.
+ * Wird derselbe Punkt erneut verschoben, wie beim Ziehen mit der Maus, wird nur noch seine neue Position in diese konvexe Hülle eingefügt.</li>
+ * </ul>
+ * Kann eine Änderung nicht angepasst werden, beispielsweise weil die konvexe Hülle aus weniger als drei Punkten besteht,
+ * geben die Methoden {@code false} zurück und die konvexe Hülle muss vollständig neu berechnet werden.
+ * 
+ */
+public class DynamicConvexHull {
+
+	/** Gibt an, dass ein Punkt außerhalb der konvexen Hülle liegt */
+	public static final int LOCATION_OUTSIDE = 0;
+	/** Gibt an, dass ein Punkt auf dem Rand der konvexen Hülle liegt */
+	public static final int LOCATION_BOUNDARY = 1;
+	/** Gibt an, dass ein Punkt echt innerhalb der konvexen Hülle liegt */
+	public static final int LOCATION_INSIDE = 2;
+	
+	/** Die Punktmenge, zu der die konvexe Hülle gehört */
+	private PointsCollection pointsCollection;
+	/** Die aktuelle konvexe Hülle */
+	private ConvexHull convexHull;
+	/** Die aktuelle Position des zuletzt verschobenen Punktes oder {@code null}, falls seitdem eine andere Änderung angepasst wurde */
+	private Point movingPoint = null;
+	/** Die konvexe Hülle der Punktmenge ohne den Punkt {@code movingPoint} */
+	private ConvexHull convexHullWithoutMovingPoint = null;
+	/** Die Punktmenge als Baum von Teilhüllen oder {@code null}, solange er noch nicht aufgebaut wurde */
+	private SubHullTree subHullTree = null;
+	/** Die Anzahl der Punkte, die beim Entfernen von Eckpunkten bisher durchsucht wurden */
+	private long scannedPoints = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Hier werden die Punktmenge und die bereits berechnete konvexe Hülle dieser Punktmenge übergeben.
+	 * 
+	 * @param pointsCollection Die Punktmenge, zu der die konvexe Hülle gehört
+	 * @param convexHull Die konvexe Hülle der Punktmenge
+	 */
+	public DynamicConvexHull(PointsCollection pointsCollection, ConvexHull convexHull) {
+		this.pointsCollection = pointsCollection;
+		this.convexHull = convexHull;
+	}
+	
+	/**
+	 * Gibt die Punktmenge zurück, zu der die konvexe Hülle gehört.
+	 * 
+	 * @return Punktmenge der konvexen Hülle
+	 */
+	public PointsCollection getPointsCollection() {
+		return pointsCollection;
+	}
+	
+	/**
+	 * Gibt die aktuelle konvexe Hülle zurück.
+	 * 
+	 * @return konvexe Hülle
+	 */
+	public ConvexHull getConvexHull() {
+		return convexHull;
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem der übergebene Punkt der Punktmenge hinzugefügt wurde.
+	 * <p>
+	 * Zunächst wird mit der Methode {@code findVisibleEdge} eine Kante gesucht, die von dem Punkt aus sichtbar ist.
+	 * Gibt es keine solche Kante, liegt der Punkt innerhalb der konvexen Hülle und diese bleibt unverändert.
+	 * Ansonsten wird die Kette der sichtbaren Kanten in beide Richtungen erweitert. Die Endpunkte dieser Kette sind die Tangentenpunkte.
+	 * Alle Punkte zwischen den Tangentenpunkten werden durch den neuen Punkt ersetzt.
+	 * Da die konvexe Hülle gegen den Uhrzeigersinn verläuft, ist eine Kante sichtbar, wenn der Punkt rechts von ihr oder auf ihrer Verlängerung liegt.
+	 * 
+	 * @param p Der Punkt, der hinzugefügt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung notwendig ist
+	 */
+	public boolean insert(Point p) {
+		movingPoint = null;
+		return insertPoint(p);
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem der übergebene Punkt der Punktmenge hinzugefügt wurde, wie in {@code insert} beschrieben.
+	 * 
+	 * @param p Der Punkt, der hinzugefügt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung notwendig ist
+	 */
+	private boolean insertPoint(Point p) {
+		if(convexHull == null || convexHull.size() < 3) {
+			return false;
+		}
+		if(subHullTree != null) {
+			subHullTree.add(p);
+		}
+		int size = convexHull.size();
+		int edge = findVisibleEdge(p);
+		if(edge < 0) {
+			return true;
+		}
+		
+		int first = edge;
+		int last = edge;
+		int steps = 0;
+		while(steps < size && Geometry.getDeterminant(convexHull.get((first - 1 + size) % size), convexHull.get(first), p) <= 0) {
+			first = (first - 1 + size) % size;
+			steps++;
+		}
+		while(steps < size && Geometry.getDeterminant(convexHull.get((last + 1) % size), convexHull.get((last + 2) % size), p) <= 0) {
+			last = (last + 1) % size;
+			steps++;
+		}
+		if(steps >= size) {
+			return false;
+		}
+		
+		// Die Punkte von dem hinteren Tangentenpunkt bis zu dem vorderen Tangentenpunkt bleiben erhalten
+		ArrayList<Point> points = new ArrayList<Point>(size + 1);
+		int index = (last + 1) % size;
+		while(index != first) {
+			points.add(convexHull.get(index));
+			index = (index + 1) % size;
+		}
+		points.add(convexHull.get(first));
+		points.add(p);
+		
+		setConvexHull(points);
+		return true;
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem der übergebene Punkt aus der Punktmenge entfernt wurde.
+	 * <p>
+	 * Liegt der Punkt echt innerhalb der konvexen Hülle oder auf dem Rand, ohne ein Eckpunkt zu sein, bleibt die konvexe Hülle unverändert.
+	 * Ist der Punkt ein Eckpunkt, kann die neue konvexe Hülle zwischen seinen beiden Nachbarn A und B nur durch Punkte verlaufen,
+	 * die rechts von der Strecke von A nach B, also in dem Dreieck aus A, dem Punkt und B, liegen.
+	 * Diese Punkte werden aus dem Bereich der sortierten Punktmenge gesucht, dessen X-Koordinaten von dem Dreieck abgedeckt werden.
+	 * Aus A, B und den gefundenen Punkten wird mit der Methode {@code calculateChain} die neue Kette von A nach B berechnet,
+	 * welche den entfernten Punkt in der konvexen Hülle ersetzt.
+	 * <p>
+	 * Sobald mehr Punkte durchsucht wurden, als die Punktmenge enthält, wird stattdessen ein {@code SubHullTree} verwendet,
+	 * aus dem die neue konvexe Hülle ohne Durchsuchen der Punktmenge ausgelesen wird.
+	 * 
+	 * @param p Der Punkt, der entfernt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung notwendig ist
+	 */
+	public boolean delete(Point p) {
+		movingPoint = null;
+		return deletePoint(p, null);
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem der übergebene Punkt aus der Punktmenge entfernt wurde, wie in {@code delete} beschrieben.
+	 * 
+	 * @param p Der Punkt, der entfernt wurde
+	 * @param ignoredPoint Ein Punkt der Punktmenge, der bei der Berechnung der neuen Kette nicht berücksichtigt wird, oder {@code null}
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung notwendig ist
+	 */
+	private boolean deletePoint(Point p, Point ignoredPoint) {
+		if(convexHull == null || convexHull.size() < 3) {
+			return false;
+		}
+		if(subHullTree != null) {
+			subHullTree.remove(p);
+		} else if(scannedPoints > pointsCollection.size()) {
+			subHullTree = SubHullTree.fromPoints(pointsCollection, ignoredPoint);
+		}
+		int location = locate(p);
+		if(location == LOCATION_INSIDE) {
+			return true;
+		}
+		if(location == LOCATION_OUTSIDE) {
+			return false;
+		}
+		int index = indexOfVertex(p);
+		if(index < 0) {
+			return true;
+		}
+		
+		if(subHullTree != null) {
+			ArrayList<Point> points = subHullTree.getConvexHull();
+			if(points == null || points.size() < 3) {
+				return false;
+			}
+			setConvexHull(points);
+			return true;
+		}
+		
+		int size = convexHull.size();
+		Point pointA = convexHull.get((index - 1 + size) % size);
+		Point pointB = convexHull.get((index + 1) % size);
+		
+		int minX = Math.min(p.getX(), Math.min(pointA.getX(), pointB.getX()));
+		int maxX = Math.max(p.getX(), Math.max(pointA.getX(), pointB.getX()));
+		NavigableSet<Point> range = pointsCollection.subSet(new Point(minX, Integer.MIN_VALUE), true, new Point(maxX, Integer.MAX_VALUE), true);
+		
+		ArrayList<Point> candidates = new ArrayList<Point>();
+		for(Point q : range) {
+			scannedPoints++;
+			if(q.equals(ignoredPoint)) {
+				continue;
+			}
+			if(q.equals(pointA) || q.equals(pointB)) {
+				candidates.add(q);
+			} else if(Geometry.getDeterminant(pointA, pointB, q) < 0 && Geometry.getDeterminant(pointA, p, q) >= 0 && Geometry.getDeterminant(p, pointB, q) >= 0) {
+				candidates.add(q);
+			}
+		}
+		ArrayList<Point> chain = calculateChain(candidates, pointA, pointB);
+		if(chain == null || size + chain.size() - 2 < 3) {
+			return false;
+		}
+		
+		// Die Kette ersetzt den entfernten Punkt, B ist bereits das letzte Element der Kette
+		ArrayList<Point> points = new ArrayList<Point>(size + chain.size());
+		int current = (index + 2) % size;
+		while(current != index) {
+			points.add(convexHull.get(current));
+			current = (current + 1) % size;
+		}
+		points.addAll(chain);
+		
+		setConvexHull(points);
+		return true;
+	}
+	
+	/**
+	 * Passt die konvexe Hülle an, nachdem ein Punkt der Punktmenge verschoben wurde.
+	 * <p>
+	 * Die konvexe Hülle der Punktmenge ohne den verschobenen Punkt wird mit {@code delete} berechnet, wobei die neue Position nicht berücksichtigt wird.
+	 * Ist der Punkt kein Eckpunkt, ist dies die bisherige konvexe Hülle. Anschließend wird die neue Position mit {@code insert} eingefügt.
+	 * Liegt sie innerhalb, genügt hierfür ein Test in O(log h), ansonsten wird nur die von ihr aus sichtbare Kette ersetzt.
+	 * <p>
+	 * Die konvexe Hülle ohne den Punkt wird zusammen mit seiner neuen Position gespeichert. Wird derselbe Punkt als Nächstes erneut verschoben,
+	 * wird sie wiederverwendet, da sich die übrigen Punkte nicht verändert haben. Das Durchsuchen der Punktmenge fällt dann weg.
+	 * 
+	 * @param origin Die bisherige Position des Punktes, die bereits aus der Punktmenge entfernt wurde
+	 * @param destination Die neue Position des Punktes, die der Punktmenge bereits hinzugefügt wurde
+	 * @return {@code true}, wenn die konvexe Hülle angepasst werden konnte, {@code false}, wenn eine Neuberechnung notwendig ist
+	 */
+	public boolean move(Point origin, Point destination) {
+		ConvexHull previous = convexHull;
+		if(origin.equals(movingPoint)) {
+			if(subHullTree != null) {
+				subHullTree.remove(origin);
+			}
+			convexHull = convexHullWithoutMovingPoint;
+		} else if(!deletePoint(origin, destination)) {
+			movingPoint = null;
+			return false;
+		}
+		ConvexHull withoutMovingPoint = convexHull;
+		if(!insertPoint(destination)) {
+			convexHull = previous;
+			movingPoint = null;
+			return false;
+		}
+		movingPoint = destination;
+		convexHullWithoutMovingPoint = withoutMovingPoint;
+		return true;
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Punkt außerhalb, auf dem Rand oder echt innerhalb der konvexen Hülle liegt.
+	 * <p>
+	 * Die konvexe Hülle wird hierfür als Fächer von Dreiecken um ihren ersten Punkt betrachtet.
+	 * Mit einer binären Suche wird das Dreieck bestimmt, in dessen Winkelbereich der Punkt liegt, wodurch der Test in O(log h) Zeit erfolgt.
+	 * Die konvexe Hülle muss aus mindestens drei Punkten bestehen.
+	 * 
+	 * @param p Der Punkt, der geprüft werden soll
+	 * @return {@code LOCATION_OUTSIDE}, {@code LOCATION_BOUNDARY} oder {@code LOCATION_INSIDE}
+	 */
+	public int locate(Point p) {
+		int size = convexHull.size();
+		Point first = convexHull.get(0);
+		long detFirst = Geometry.getDeterminant(first, convexHull.get(1), p);
+		long detLast = Geometry.getDeterminant(first, convexHull.get(size - 1), p);
+		if(detFirst < 0 || detLast > 0) {
+			return LOCATION_OUTSIDE;
+		}
+		int low = findWedge(p);
+		long det = Geometry.getDeterminant(convexHull.get(low), convexHull.get(low + 1), p);
+		if(det < 0) {
+			return LOCATION_OUTSIDE;
+		}
+		if(det == 0 || (low == 1 && detFirst == 0) || (low + 1 == size - 1 && detLast == 0)) {
+			return LOCATION_BOUNDARY;
+		}
+		return LOCATION_INSIDE;
+	}
+	
+	/**
+	 * Sucht eine Kante der konvexen Hülle, die von dem übergebenen Punkt aus sichtbar ist.
+	 * <p>
+	 * Wie bei {@code locate} wird hierfür eine binäre Suche über den Fächer um den ersten Punkt der konvexen Hülle verwendet.
+	 * 
+	 * @param p Der Punkt, der geprüft werden soll
+	 * @return Den Index i der sichtbaren Kante vom i-ten zum (i+1)-ten Punkt oder {@code -1}, wenn der Punkt innerhalb oder auf dem Rand der konvexen Hülle liegt
+	 */
+	private int findVisibleEdge(Point p) {
+		int size = convexHull.size();
+		Point first = convexHull.get(0);
+		if(Geometry.getDeterminant(first, convexHull.get(1), p) < 0) {
+			return 0;
+		}
+		if(Geometry.getDeterminant(first, convexHull.get(size - 1), p) > 0) {
+			return size - 1;
+		}
+		int low = findWedge(p);
+		if(Geometry.getDeterminant(convexHull.get(low), convexHull.get(low + 1), p) < 0) {
+			return low;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Sucht mit einer binären Suche das Dreieck aus dem ersten, dem i-ten und dem (i+1)-ten Punkt der konvexen Hülle,
+	 * in dessen Winkelbereich der übergebene Punkt liegt.
+	 * <p>
+	 * Der Punkt muss links von der Geraden durch den ersten und zweiten Punkt und rechts von der Geraden durch den ersten und letzten Punkt liegen.
+	 * 
+	 * @param p Der Punkt, der geprüft werden soll
+	 * @return Den Index i des Dreiecks
+	 */
+	private int findWedge(Point p) {
+		Point first = convexHull.get(0);
+		int low = 1;
+		int high = convexHull.size() - 1;
+		while(high - low > 1) {
+			int mid = (low + high) >>> 1;
+			if(Geometry.getDeterminant(first, convexHull.get(mid), p) >= 0) {
+				low = mid;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Gibt den Index des übergebenen Punktes in der konvexen Hülle zurück.
+	 * <p>
+	 * Da die konvexe Hülle mit dem lexikographisch kleinsten Punkt beginnt, ist sie bis zu dem lexikographisch größten Punkt aufsteigend
+	 * und danach absteigend sortiert. Der lexikographisch größte Punkt und anschließend der gesuchte Punkt werden jeweils mit einer binären Suche gefunden.
+	 * 
+	 * @param p Der Punkt, der gesucht werden soll
+	 * @return Index des Punktes oder {@code -1}, wenn der Punkt kein Eckpunkt der konvexen Hülle ist
+	 */
+	private int indexOfVertex(Point p) {
+		int size = convexHull.size();
+		
+		// Index des lexikographisch größten Punktes
+		int low = 0;
+		int high = size - 1;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(convexHull.get(mid).compareTo(convexHull.get(mid + 1)) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int maxIndex = low;
+		
+		// Aufsteigender Teil
+		low = 0;
+		high = maxIndex;
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = convexHull.get(mid).compareTo(p);
+			if(compare == 0) {
+				return mid;
+			} else if(compare < 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		
+		// Absteigender Teil
+		low = maxIndex + 1;
+		high = size - 1;
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = convexHull.get(mid).compareTo(p);
+			if(compare == 0) {
+				return mid;
+			} else if(compare > 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Berechnet die Kette der konvexen Hülle der übergebenen Punkte von Punkt A nach Punkt B gegen den Uhrzeigersinn.
+	 * <p>
+	 * Die Punkte müssen lexikographisch sortiert sein und die Punkte A und B enthalten.
+	 * Die konvexe Hülle wird mit dem Monotone-Chain-Algorithmus berechnet, bei dem kollineare Punkte entfernt werden.
+	 * Die zurückgegebene Kette enthält die Punkte nach A bis einschließlich B.
+	 * 
+	 * @param points Die lexikographisch sortierten Punkte
+	 * @param pointA Der Startpunkt der Kette
+	 * @param pointB Der Endpunkt der Kette
+	 * @return Die Kette nach A bis einschließlich B oder {@code null}, wenn A oder B keine Eckpunkte der konvexen Hülle sind
+	 */
+	private ArrayList<Point> calculateChain(ArrayList<Point> points, Point pointA, Point pointB) {
+		ArrayList<Point> hull = new ArrayList<Point>(points.size() + 1);
+		// untere Kontur
+		for(Point q : points) {
+			while(hull.size() >= 2 && Geometry.getDeterminant(hull.get(hull.size() - 2), hull.get(hull.size() - 1), q) <= 0) {
+				hull.remove(hull.size() - 1);
+			}
+			hull.add(q);
+		}
+		// obere Kontur
+		int lowerSize = hull.size();
+		for(int i = points.size() - 2; i >= 0; i--) {
+			Point q = points.get(i);
+			while(hull.size() > lowerSize && Geometry.getDeterminant(hull.get(hull.size() - 2), hull.get(hull.size() - 1), q) <= 0) {
+				hull.remove(hull.size() - 1);
+			}
+			hull.add(q);
+		}
+		hull.remove(hull.size() - 1);
+		
+		int start = hull.indexOf(pointA);
+		if(start < 0) {
+			return null;
+		}
+		ArrayList<Point> chain = new ArrayList<Point>();
+		for(int i = 1; i <= hull.size(); i++) {
+			Point q = hull.get((start + i) % hull.size());
+			chain.add(q);
+			if(q.equals(pointB)) {
+				return chain;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Übernimmt die übergebenen Punkte als neue konvexe Hülle.
+	 * <p>
+	 * Die Punkte müssen gegen den Uhrzeigersinn sortiert sein. Die konvexe Hülle wird so rotiert, dass sie mit dem lexikographisch kleinsten Punkt beginnt.
+	 * Zusätzlich werden die lexikographisch kleinsten und größten Punkte, sowie die Punkte mit der kleinsten und größten Y-Koordinate bestimmt.
+	 * Haben mehrere Punkte die kleinste oder größte Y-Koordinate, wird wie bei der vollständigen Berechnung in {@code Calculator} der rechte Punkt gewählt.
+	 * 
+	 * @param points Die Punkte der neuen konvexen Hülle gegen den Uhrzeigersinn
+	 */
+	private void setConvexHull(ArrayList<Point> points) {
+		int start = 0;
+		for(int i = 1; i < points.size(); i++) {
+			if(points.get(i).compareTo(points.get(start)) < 0) {
+				start = i;
+			}
+		}
+		
+		ConvexHull newConvexHull = new ConvexHull();
+		Point mostRight = points.get(start);
+		Point mostTop = points.get(start);
+		Point mostBottom = points.get(start);
+		for(int i = 0; i < points.size(); i++) {
+			Point point = points.get((start + i) % points.size());
+			newConvexHull.add(point);
+			if(point.compareTo(mostRight) > 0) {
+				mostRight = point;
+			}
+			if(point.getY() > mostTop.getY() || (point.getY() == mostTop.getY() && point.compareTo(mostTop) > 0)) {
+				mostTop = point;
+			}
+			if(point.getY() < mostBottom.getY() || (point.getY() == mostBottom.getY() && point.compareTo(mostBottom) > 0)) {
+				mostBottom = point;
+			}
+		}
+		newConvexHull.setMostLeftPoint(points.get(start));
+		newConvexHull.setMostRightPoint(mostRight);
+		newConvexHull.setMostTopPoint(mostTop);
+		newConvexHull.setMostBottomPoint(mostBottom);
+		
+		convexHull = newConvexHull;
+	}
+}
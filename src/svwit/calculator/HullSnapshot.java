@@ -0,0 +1,312 @@
+package svwit.calculator;
+
+import java.util.SortedSet;
+
+import svwit.util.ConvexHull;
+import svwit.util.Diameter;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+import svwit.util.Quadrangle;
+import svwit.util.Triangle;
+
+/**
+ * Diese Klasse beschreibt einen unveränderlichen Stand der Punktmenge und der zugehörigen Ergebnisse.
+ * <p>
+ * Ein Stand wird von dem {@code CalculatorManager} nach jeder abgeschlossenen Änderung über eine atomare Referenz veröffentlicht,
+ * siehe {@code CalculatorManager.getSnapshot}. Weder die Punktmenge noch die konvexe Hülle eines Standes werden danach verändert,
+ * sodass ein Stand ohne Synchronisierung von beliebigen Threads gelesen werden kann, zum Beispiel beim Zeichnen oder Exportieren.
+ * Die konvexe Hülle darf auch von dem Leser nicht verändert werden.
+ * <p>
+ * Damit nicht bei jeder Änderung die gesamte Punktmenge kopiert wird, besteht die Punktmenge eines Standes aus einer Basis,
+ * sowie den seit dieser entfernten und hinzugefügten Punkten. Die vollständige Punktmenge wird erst bei dem ersten Abruf
+ * mit {@code getPoints} in einem Durchlauf erzeugt.
+ * <p>
+ * Der Durchmesser, das größte enthaltene Viereck und Dreieck werden erst bei dem ersten Abruf berechnet, sofern der {@code Calculator}
+ * sie nicht bereits berechnet hatte. Stände mit derselben Version der konvexen Hülle teilen sich diese Ergebnisse,
+ * sodass sie pro konvexer Hülle höchstens einmal berechnet werden. Rufen mehrere Threads gleichzeitig ein noch nicht berechnetes Ergebnis ab,
+ * kann es mehrfach berechnet werden. Alle erhalten dann gleichwertige Ergebnisse.
+ * <p>
+ * Wird die konvexe Hülle gerade im Hintergrund berechnet, gehören die Ergebnisse noch zu einer früheren Version der Punktmenge,
+ * siehe {@code isCalculationPending}.
+ * 
+ * @see CalculatorManager#getSnapshot()
+ */
+public final class HullSnapshot {
+
+	/** Der leere Stand vor der ersten Änderung */
+	static final HullSnapshot EMPTY = create(0, new PackedPointsCollection(0), new PackedPointsCollection(0), new PackedPointsCollection(0),
+			false, 0, null, null, null, null);
+	
+	/** Die Version der Punktmenge */
+	private final long version;
+	/** Die Basis der Punktmenge */
+	private final PackedPointsCollection base;
+	/** Die Punkte der Basis, die seit dieser entfernt wurden */
+	private final PackedPointsCollection removed;
+	/** Die Punkte, die seit der Basis hinzugefügt wurden. Sie sind nicht in der Basis enthalten. */
+	private final PackedPointsCollection added;
+	/** Die vollständige Punktmenge oder {@code null}, falls sie noch nicht erzeugt wurde */
+	private volatile PackedPointsCollection points;
+	/** Gibt an, ob die Ergebnisse zu einer früheren Version der Punktmenge gehören, weil auf eine Berechnung im Hintergrund gewartet wird */
+	private final boolean calculationPending;
+	/** Die Version der konvexen Hülle */
+	private final long hullVersion;
+	/** Die konvexe Hülle und die daraus berechneten Ergebnisse */
+	private final Shapes shapes;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param version Die Version der Punktmenge
+	 * @param base Die Basis der Punktmenge
+	 * @param removed Die Punkte der Basis, die seit dieser entfernt wurden
+	 * @param added Die Punkte, die seit der Basis hinzugefügt wurden
+	 * @param calculationPending Gibt an, ob auf eine Berechnung im Hintergrund gewartet wird
+	 * @param hullVersion Die Version der konvexen Hülle
+	 * @param shapes Die konvexe Hülle und die daraus berechneten Ergebnisse
+	 */
+	private HullSnapshot(long version, PackedPointsCollection base, PackedPointsCollection removed, PackedPointsCollection added,
+			boolean calculationPending, long hullVersion, Shapes shapes) {
+		this.version = version;
+		this.base = base;
+		this.removed = removed;
+		this.added = added;
+		this.points = removed.size() == 0 && added.size() == 0 ? base : null;
+		this.calculationPending = calculationPending;
+		this.hullVersion = hullVersion;
+		this.shapes = shapes;
+	}
+	
+	/**
+	 * Erzeugt einen neuen Stand mit einer neuen konvexen Hülle.
+	 * <p>
+	 * Bereits berechnete Ergebnisse werden übernommen, fehlende Ergebnisse werden mit {@code null} übergeben und bei Bedarf berechnet.
+	 * Die übergebenen Punktmengen dürfen danach nicht mehr verändert werden.
+	 * 
+	 * @param version Die Version der Punktmenge
+	 * @param base Die Basis der Punktmenge
+	 * @param removed Die Punkte der Basis, die seit dieser entfernt wurden
+	 * @param added Die Punkte, die seit der Basis hinzugefügt wurden. Sie dürfen nicht in der Basis enthalten sein.
+	 * @param calculationPending Gibt an, ob auf eine Berechnung im Hintergrund gewartet wird
+	 * @param hullVersion Die Version der konvexen Hülle
+	 * @param convexHull Die konvexe Hülle oder {@code null}. Sie darf danach nicht mehr verändert werden.
+	 * @param diameter Der Durchmesser der konvexen Hülle oder {@code null}, falls er noch nicht berechnet wurde
+	 * @param quadrangle Das größte enthaltene Viereck der konvexen Hülle oder {@code null}, falls es noch nicht berechnet wurde
+	 * @param triangle Das größte enthaltene Dreieck der konvexen Hülle oder {@code null}, falls es noch nicht berechnet wurde
+	 * @return Der neue Stand
+	 */
+	static HullSnapshot create(long version, PackedPointsCollection base, PackedPointsCollection removed, PackedPointsCollection added,
+			boolean calculationPending, long hullVersion, ConvexHull convexHull, Diameter diameter, Quadrangle quadrangle, Triangle triangle) {
+		return new HullSnapshot(version, base, removed, added, calculationPending, hullVersion, new Shapes(convexHull, diameter, quadrangle, triangle));
+	}
+	
+	/**
+	 * Erzeugt einen neuen Stand mit einer neuen Punktmenge, der die konvexe Hülle und die Ergebnisse dieses Standes weiterverwendet.
+	 * Die übergebenen Punktmengen dürfen danach nicht mehr verändert werden.
+	 * 
+	 * @param version Die Version der Punktmenge
+	 * @param base Die Basis der Punktmenge
+	 * @param removed Die Punkte der Basis, die seit dieser entfernt wurden
+	 * @param added Die Punkte, die seit der Basis hinzugefügt wurden. Sie dürfen nicht in der Basis enthalten sein.
+	 * @param calculationPending Gibt an, ob auf eine Berechnung im Hintergrund gewartet wird
+	 * @return Der neue Stand
+	 */
+	HullSnapshot withPoints(long version, PackedPointsCollection base, PackedPointsCollection removed, PackedPointsCollection added, boolean calculationPending) {
+		return new HullSnapshot(version, base, removed, added, calculationPending, hullVersion, shapes);
+	}
+	
+	/**
+	 * Gibt die Basis der Punktmenge zurück.
+	 * 
+	 * @return Basis der Punktmenge
+	 */
+	PackedPointsCollection getBase() {
+		return base;
+	}
+	
+	/**
+	 * Gibt die Punkte der Basis zurück, die seit dieser entfernt wurden.
+	 * 
+	 * @return entfernte Punkte
+	 */
+	PackedPointsCollection getRemoved() {
+		return removed;
+	}
+	
+	/**
+	 * Gibt die Punkte zurück, die seit der Basis hinzugefügt wurden.
+	 * 
+	 * @return hinzugefügte Punkte
+	 */
+	PackedPointsCollection getAdded() {
+		return added;
+	}
+	
+	/**
+	 * Gibt die vollständige Punktmenge zurück, falls sie bereits erzeugt wurde.
+	 * 
+	 * @return Die Punktmenge oder {@code null}
+	 */
+	PackedPointsCollection getPointsIfCreated() {
+		return points;
+	}
+	
+	/**
+	 * Gibt die Version der Punktmenge zurück. Sie wird bei jeder abgeschlossenen Änderung der Punktmenge erhöht.
+	 * 
+	 * @return Version der Punktmenge
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Gibt die Version der konvexen Hülle zurück. Sie wird bei jeder Änderung der konvexen Hülle erhöht.
+	 * 
+	 * @return Version der konvexen Hülle
+	 */
+	public long getHullVersion() {
+		return hullVersion;
+	}
+	
+	/**
+	 * Gibt zurück, ob die Ergebnisse zu einer früheren Version der Punktmenge gehören, weil auf eine Berechnung im Hintergrund gewartet wird.
+	 * 
+	 * @return {@code true}, wenn eine Berechnung aussteht, {@code false} ansonsten
+	 */
+	public boolean isCalculationPending() {
+		return calculationPending;
+	}
+	
+	/**
+	 * Gibt die Punktmenge zurück. Sie darf nicht verändert werden.
+	 * <p>
+	 * Bei dem ersten Abruf wird die Punktmenge aus der Basis und den Änderungen erzeugt.
+	 * Rufen mehrere Threads sie gleichzeitig zum ersten Mal ab, kann sie mehrfach erzeugt werden.
+	 * 
+	 * @return Punktmenge
+	 */
+	public PackedPointsCollection getPoints() {
+		PackedPointsCollection result = points;
+		if(result == null) {
+			result = base.withChanges(removed, added);
+			points = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Gibt die Punktmenge als unveränderliche, sortierte Menge zurück, zum Beispiel um Punkte in einem Bereich mit {@code subSet} zu suchen.
+	 * 
+	 * @return Sortierte Sicht auf die Punktmenge
+	 */
+	public SortedSet<Point> getPointsAsSortedSet() {
+		return getPoints().asSortedSet();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public int size() {
+		return base.size() - removed.size() + added.size();
+	}
+	
+	/**
+	 * Gibt die konvexe Hülle zurück.
+	 * 
+	 * @return konvexe Hülle oder {@code null}, falls noch keine berechnet wurde
+	 */
+	public ConvexHull getConvexHull() {
+		return shapes.convexHull;
+	}
+	
+	/**
+	 * Gibt den Durchmesser der konvexen Hülle zurück.
+	 * 
+	 * @return Durchmesser der konvexen Hülle oder {@code null}, falls noch keine konvexe Hülle berechnet wurde
+	 */
+	public Diameter getDiameter() {
+		shapes.ensureDiameterAndQuadrangle();
+		return shapes.diameter;
+	}
+	
+	/**
+	 * Gibt das größte enthaltene Viereck der konvexen Hülle zurück.
+	 * 
+	 * @return größtes enthaltene Viereck der konvexen Hülle oder {@code null}, falls noch keine konvexe Hülle berechnet wurde
+	 */
+	public Quadrangle getQuadrangle() {
+		shapes.ensureDiameterAndQuadrangle();
+		return shapes.quadrangle;
+	}
+	
+	/**
+	 * Gibt das größte enthaltene Dreieck der konvexen Hülle zurück.
+	 * 
+	 * @return größtes enthaltene Dreieck der konvexen Hülle oder {@code null}, falls noch keine konvexe Hülle berechnet wurde
+	 */
+	public Triangle getTriangle() {
+		shapes.ensureTriangle();
+		return shapes.triangle;
+	}
+	
+	/**
+	 * Diese Klasse hält eine konvexe Hülle und die daraus berechneten Ergebnisse, die sich mehrere Stände teilen.
+	 * <p>
+	 * Die Ergebnisse werden jeweils mit einem eigenen {@code Calculator} berechnet und erst danach über ein {@code volatile} Feld veröffentlicht.
+	 */
+	private static final class Shapes {
+		
+		/** Die konvexe Hülle */
+		private final ConvexHull convexHull;
+		/** Der Durchmesser der konvexen Hülle */
+		private volatile Diameter diameter;
+		/** Das größte enthaltene Viereck der konvexen Hülle */
+		private volatile Quadrangle quadrangle;
+		/** Das größte enthaltene Dreieck der konvexen Hülle */
+		private volatile Triangle triangle;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param convexHull Die konvexe Hülle oder {@code null}
+		 * @param diameter Der Durchmesser oder {@code null}
+		 * @param quadrangle Das größte enthaltene Viereck oder {@code null}
+		 * @param triangle Das größte enthaltene Dreieck oder {@code null}
+		 */
+		private Shapes(ConvexHull convexHull, Diameter diameter, Quadrangle quadrangle, Triangle triangle) {
+			this.convexHull = convexHull;
+			this.diameter = diameter;
+			this.quadrangle = quadrangle;
+			this.triangle = triangle;
+		}
+		
+		/**
+		 * Berechnet den Durchmesser und das größte enthaltene Viereck, falls diese noch nicht berechnet wurden.
+		 * Das Viereck wird vor dem Durchmesser veröffentlicht, sodass nach einem gesetzten Durchmesser beide vorliegen.
+		 */
+		private void ensureDiameterAndQuadrangle() {
+			if(diameter == null && convexHull != null) {
+				Calculator calculator = new Calculator();
+				calculator.update(convexHull);
+				quadrangle = calculator.getQuadrangle();
+				diameter = calculator.getDiameter();
+			}
+		}
+		
+		/**
+		 * Berechnet das größte enthaltene Dreieck, falls dieses noch nicht berechnet wurde.
+		 */
+		private void ensureTriangle() {
+			if(triangle == null && convexHull != null) {
+				Calculator calculator = new Calculator();
+				calculator.update(convexHull);
+				triangle = calculator.getTriangle();
+			}
+		}
+	
+	}
+
+}
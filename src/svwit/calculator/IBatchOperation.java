@@ -0,0 +1,18 @@
+package svwit.calculator;
+
+/**
+ * Dieses funktionale Interface beschreibt eine Menge an Änderungen auf der Punktmenge, die als Stapel ausgeführt werden sollen.
+ * <p>
+ * Die hier angegebene Methode wird in der Klasse {@code CalculatorManager} innerhalb einer Stapelverarbeitung aufgerufen.
+ * Alle Änderungen, die während der Ausführung vorgenommen werden, lösen nur eine einzige Neuberechnung der konvexen Hülle
+ * und eine einzige Benachrichtigung der Listener aus.
+ * 
+ * @see CalculatorManager#executeBatch(IBatchOperation)
+ */
+public interface IBatchOperation {
+
+	/**
+	 * Führt die Änderungen auf der Punktmenge aus.
+	 */
+	void execute();
+}
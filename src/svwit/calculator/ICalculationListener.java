@@ -0,0 +1,18 @@
+package svwit.calculator;
+
+/**
+ * Dieses funktionale Interface dient dazu, über das Ergebnis einer Berechnung des {@code CalculationService} informiert zu werden.
+ * <p>
+ * Die Methode wird über den Executor zur Veröffentlichung der Ergebnisse aufgerufen, in der GUI also auf dem Event-Dispatch-Thread.
+ * 
+ * @see CalculationService
+ */
+public interface ICalculationListener {
+
+	/**
+	 * Wird ausgeführt, sobald eine Berechnung abgeschlossen wurde, die zu dem Zeitpunkt der Veröffentlichung noch aktuell ist.
+	 * 
+	 * @param result Das Ergebnis der Berechnung
+	 */
+	void onCalculationFinished(CalculationResult result);
+}
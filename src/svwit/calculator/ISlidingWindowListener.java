@@ -0,0 +1,16 @@
+package svwit.calculator;
+
+/**
+ * Dieses funktionale Interface dient dazu, über Änderungen der konvexen Hülle eines gleitenden Fensters informiert zu werden.
+ * 
+ * @see CalculatorManager#addSlidingWindowListener(ISlidingWindowListener)
+ */
+public interface ISlidingWindowListener {
+
+	/**
+	 * Wird ausgeführt, sobald sich die konvexe Hülle des Fensters geändert hat.
+	 * 
+	 * @param window Das Fenster, dessen konvexe Hülle sich geändert hat
+	 */
+	void onWindowChanged(SlidingWindowConvexHull window);
+}
@@ -0,0 +1,145 @@
+package svwit.calculator;
+
+import java.util.Arrays;
+
+import svwit.util.Geometry;
+
+/**
+ * Diese Klasse erkennt Punkte, die echt innerhalb der konvexen Hülle liegen, bevor diese berechnet wird (Akl-Toussaint-Heuristik).
+ * <p>
+ * Zunächst werden alle Punkte mit {@code offer} übergeben, wobei die Punkte mit der kleinsten und größten X-Koordinate, Y-Koordinate,
+ * Summe x + y und Differenz x - y bestimmt werden. Diese bis zu acht Punkte liegen auf dem Rand der konvexen Hülle und bilden,
+ * gegen den Uhrzeigersinn verbunden, ein konvexes Achteck. Nach dem Aufruf von {@code build} kann mit {@code isInside}
+ * geprüft werden, ob ein Punkt echt innerhalb dieses Achtecks liegt. Solche Punkte können nicht zur konvexen Hülle gehören
+ * und müssen bei deren Berechnung nicht betrachtet werden.
+ * <p>
+ * Mit {@code classify} können viele Punkte in primitiven Arrays auf einmal geprüft werden. Dabei werden alle Punkte nacheinander
+ * mit {@code Geometry.retainLeftOf} gegen jeweils eine Kante getestet, sodass pro Punkt und Kante nur zwei Multiplikationen
+ * und ein Vergleich ohne Verzweigung nötig sind.
+ * 
+ */
+public class OctagonFilter {
+
+	/** Die Anzahl der Richtungen, in denen die äußersten Punkte bestimmt werden */
+	private static final int DIRECTIONS = 8;
+	
+	/** Die X-Koordinaten der äußersten Punkte, gegen den Uhrzeigersinn beginnend mit der kleinsten X-Koordinate */
+	private int[] extremeX = new int[DIRECTIONS];
+	/** Die Y-Koordinaten der äußersten Punkte, gegen den Uhrzeigersinn beginnend mit der kleinsten X-Koordinate */
+	private int[] extremeY = new int[DIRECTIONS];
+	/** Die Anzahl der bisher übergebenen Punkte */
+	private long offered = 0;
+	
+	/** Die X-Koordinaten der Ecken des Achtecks gegen den Uhrzeigersinn, die erste Ecke wird am Ende wiederholt */
+	private int[] cornerX = new int[DIRECTIONS + 1];
+	/** Die Y-Koordinaten der Ecken des Achtecks gegen den Uhrzeigersinn, die erste Ecke wird am Ende wiederholt */
+	private int[] cornerY = new int[DIRECTIONS + 1];
+	/** Die Anzahl der Kanten des Achtecks, {@code 0} wenn das Achteck weniger als drei verschiedene Ecken hat */
+	private int edges = 0;
+	
+	/**
+	 * Übergibt einen Punkt der Punktmenge, um die äußersten Punkte zu bestimmen.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	public void offer(int x, int y) {
+		if(offered++ == 0) {
+			for(int i = 0; i < DIRECTIONS; i++) {
+				extremeX[i] = x;
+				extremeY[i] = y;
+			}
+			return;
+		}
+		long sum = (long)x + y;
+		long difference = (long)x - y;
+		// Die Richtungen sind gegen den Uhrzeigersinn sortiert: links, unten links, unten, unten rechts, rechts, oben rechts, oben, oben links
+		replaceIf(0, x < extremeX[0], x, y);
+		replaceIf(1, sum < (long)extremeX[1] + extremeY[1], x, y);
+		replaceIf(2, y < extremeY[2], x, y);
+		replaceIf(3, difference > (long)extremeX[3] - extremeY[3], x, y);
+		replaceIf(4, x > extremeX[4], x, y);
+		replaceIf(5, sum > (long)extremeX[5] + extremeY[5], x, y);
+		replaceIf(6, y > extremeY[6], x, y);
+		replaceIf(7, difference < (long)extremeX[7] - extremeY[7], x, y);
+	}
+	
+	/**
+	 * Ersetzt den äußersten Punkt einer Richtung, wenn die übergebene Bedingung erfüllt ist.
+	 * 
+	 * @param direction Der Index der Richtung
+	 * @param condition Ob der Punkt weiter außen liegt als der bisherige äußerste Punkt
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	private void replaceIf(int direction, boolean condition, int x, int y) {
+		if(condition) {
+			extremeX[direction] = x;
+			extremeY[direction] = y;
+		}
+	}
+	
+	/**
+	 * Berechnet aus den äußersten Punkten die Kanten des Achtecks.
+	 * <p>
+	 * Aufeinanderfolgende gleiche Ecken werden dabei zusammengefasst. Hat das Achteck weniger als drei verschiedene Ecken,
+	 * liegt kein Punkt innerhalb und {@code isInside} gibt immer {@code false} zurück.
+	 */
+	public void build() {
+		int corners = 0;
+		for(int i = 0; i < DIRECTIONS && offered > 0; i++) {
+			if(corners == 0 || cornerX[corners - 1] != extremeX[i] || cornerY[corners - 1] != extremeY[i]) {
+				cornerX[corners] = extremeX[i];
+				cornerY[corners] = extremeY[i];
+				corners++;
+			}
+		}
+		while(corners > 1 && cornerX[corners - 1] == cornerX[0] && cornerY[corners - 1] == cornerY[0]) {
+			corners--;
+		}
+		
+		edges = 0;
+		if(corners < 3) {
+			return;
+		}
+		cornerX[corners] = cornerX[0];
+		cornerY[corners] = cornerY[0];
+		edges = corners;
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Punkt echt innerhalb des Achtecks liegt. Punkte auf dem Rand liegen nicht innerhalb.
+	 * <p>
+	 * Diese Methode darf erst nach {@code build} aufgerufen werden.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return {@code true}, wenn der Punkt echt innerhalb liegt, {@code false} ansonsten
+	 */
+	public boolean isInside(int x, int y) {
+		boolean inside = edges >= 3;
+		for(int i = 0; i < edges; i++) {
+			inside &= Geometry.getDeterminant(cornerX[i], cornerY[i], cornerX[i + 1], cornerY[i + 1], x, y) > 0;
+		}
+		return inside;
+	}
+	
+	/**
+	 * Prüft für alle übergebenen Punkte, ob sie echt innerhalb des Achtecks liegen.
+	 * <p>
+	 * Das Ergebnis entspricht dem von {@code isInside} für jeden einzelnen Punkt. Die Punkte werden jedoch kantenweise
+	 * mit {@code Geometry.retainLeftOf} geprüft. Diese Methode darf erst nach {@code build} aufgerufen werden.
+	 * 
+	 * @param xs Die X-Koordinaten der Punkte
+	 * @param ys Die Y-Koordinaten der Punkte
+	 * @param length Die Anzahl der Punkte
+	 * @param inside Array, in das für jeden Punkt geschrieben wird, ob er echt innerhalb liegt
+	 */
+	public void classify(int[] xs, int[] ys, int length, boolean[] inside) {
+		Arrays.fill(inside, 0, length, edges >= 3);
+		for(int i = 0; i < edges; i++) {
+			Geometry.retainLeftOf(cornerX[i], cornerY[i], cornerX[i + 1], cornerY[i + 1], xs, ys, length, inside);
+		}
+	}
+
+}
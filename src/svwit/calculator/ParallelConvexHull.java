@@ -0,0 +1,442 @@
+package svwit.calculator;
+
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import svwit.util.ConvexHull;
+import svwit.util.Geometry;
+import svwit.util.IPackedPointsCollection;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse berechnet die konvexe Hülle einer Punktmenge parallel mithilfe eines {@code ForkJoinPool}.
+ * <p>
+ * Die lexikographisch sortierte Punktmenge wird in aufeinanderfolgende Abschnitte zerlegt, für die jeweils unabhängig voneinander
+ * die untere und obere Kontur berechnet wird. Da alle Punkte eines Abschnitts lexikographisch vor denen des folgenden Abschnitts liegen,
+ * können die Konturen zweier benachbarter Abschnitte zusammengefügt werden, indem ihre Punkte hintereinander gehängt und erneut bereinigt werden.
+ * Dabei werden nur die Punkte der beiden Konturen betrachtet, nicht die Punkte der Abschnitte.
+ * <p>
+ * Eine {@code IPackedPointsCollection} wird nach dem Index zerlegt. Eine {@code PointsCollection} wird in gleich breite Streifen
+ * entlang der X-Achse zerlegt, die jeweils über {@code subSet} durchlaufen werden.
+ * <p>
+ * Die berechnete konvexe Hülle erfüllt dieselben Eigenschaften wie die der Klasse {@code Calculator}: sie verläuft gegen den Uhrzeigersinn,
+ * beginnt mit dem lexikographisch kleinsten Punkt und enthält keine kollinearen Punkte. Die Punktmenge muss mindestens drei Punkte enthalten.
+ * 
+ */
+public class ParallelConvexHull {
+
+	/** Die minimale Anzahl an Punkten eines Abschnitts, der nicht weiter zerlegt wird */
+	private static final int MIN_CHUNK_SIZE = 1 << 14;
+	/** Die Anzahl der Abschnitte pro Thread, damit ungleich aufwendige Abschnitte ausgeglichen werden */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	/** Der {@code ForkJoinPool}, in dem die Berechnung ausgeführt wird */
+	private ForkJoinPool pool;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Berechnung wird in dem übergebenen {@code ForkJoinPool} ausgeführt.
+	 * 
+	 * @param pool Der {@code ForkJoinPool}, in dem die Berechnung ausgeführt werden soll
+	 */
+	public ParallelConvexHull(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle der übergebenen Punktmenge, deren Punkte als primitive Koordinaten gespeichert sind.
+	 * 
+	 * @param points Die Punktmenge mit mindestens drei Punkten
+	 * @return Die konvexe Hülle
+	 */
+	public ConvexHull calculate(IPackedPointsCollection points) {
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, points.size() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+		return toConvexHull(pool.invoke(new PackedContourTask(points, 0, points.size(), chunkSize)));
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle der übergebenen Punktmenge.
+	 * 
+	 * @param pointsCollection Die Punktmenge mit mindestens drei Punkten
+	 * @return Die konvexe Hülle
+	 */
+	public ConvexHull calculate(PointsCollection pointsCollection) {
+		long minX = pointsCollection.first().getX();
+		long maxX = pointsCollection.last().getX();
+		int stripes = (int)Math.max(1, Math.min(maxX - minX + 1, (long)pool.getParallelism() * CHUNKS_PER_THREAD));
+		return toConvexHull(pool.invoke(new StripeContourTask(pointsCollection, minX, maxX - minX + 1, stripes, 0, stripes)));
+	}
+	
+	/**
+	 * Setzt die konvexe Hülle aus der unteren und oberen Kontur zusammen.
+	 * <p>
+	 * Die untere Kontur wird von links nach rechts und die obere Kontur von rechts nach links übernommen,
+	 * wobei die gemeinsamen Endpunkte nur einmal aufgenommen werden.
+	 * 
+	 * @param contours Die untere und obere Kontur der gesamten Punktmenge
+	 * @return Die konvexe Hülle
+	 */
+	private ConvexHull toConvexHull(Contours contours) {
+		ConvexHull convexHull = new ConvexHull();
+		for(int i = 0; i < contours.lowerSize - 1; i++) {
+			convexHull.add(toPoint(contours.lower[i]));
+		}
+		for(int i = contours.upperSize - 1; i > 0; i--) {
+			convexHull.add(toPoint(contours.upper[i]));
+		}
+		
+		Point mostTop = convexHull.get(0);
+		Point mostBottom = convexHull.get(0);
+		for(Point p : convexHull) {
+			if(p.getY() > mostTop.getY() || (p.getY() == mostTop.getY() && p.compareTo(mostTop) > 0)) {
+				mostTop = p;
+			}
+			if(p.getY() < mostBottom.getY() || (p.getY() == mostBottom.getY() && p.compareTo(mostBottom) > 0)) {
+				mostBottom = p;
+			}
+		}
+		convexHull.setMostLeftPoint(convexHull.get(0));
+		convexHull.setMostRightPoint(convexHull.get(contours.lowerSize - 1));
+		convexHull.setMostTopPoint(mostTop);
+		convexHull.setMostBottomPoint(mostBottom);
+		return convexHull;
+	}
+	
+	/**
+	 * Erzeugt einen Punkt aus dem übergebenen {@code long}-Wert.
+	 * 
+	 * @param key Der {@code long}-Wert des Punktes
+	 * @return Der Punkt
+	 */
+	private static Point toPoint(long key) {
+		return new Point(PackedPointsCollection.unpackX(key), PackedPointsCollection.unpackY(key));
+	}
+	
+	/**
+	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
+	 * 
+	 * @param a Der {@code long}-Wert des ersten Punktes
+	 * @param b Der {@code long}-Wert des zweiten Punktes
+	 * @param c Der {@code long}-Wert des dritten Punktes
+	 * @return Die Determinante
+	 */
+	private static long getDeterminant(long a, long b, long c) {
+		return Geometry.getDeterminant(PackedPointsCollection.unpackX(a), PackedPointsCollection.unpackY(a),
+				PackedPointsCollection.unpackX(b), PackedPointsCollection.unpackY(b),
+				PackedPointsCollection.unpackX(c), PackedPointsCollection.unpackY(c));
+	}
+	
+	/**
+	 * Diese Klasse speichert die untere und obere Kontur eines Abschnitts der Punktmenge als {@code long}-Werte.
+	 * <p>
+	 * Beide Konturen verlaufen von dem lexikographisch kleinsten zu dem lexikographisch größten Punkt des Abschnitts.
+	 * Die Punkte werden nacheinander mit {@code add} hinzugefügt, wobei Punkte, die keinen Knick gegen den beziehungsweise im Uhrzeigersinn
+	 * bilden, wieder entfernt werden.
+	 */
+	private static class Contours {
+		
+		/** Die Punkte der unteren Kontur */
+		private long[] lower = new long[16];
+		/** Die Anzahl der Punkte der unteren Kontur */
+		private int lowerSize = 0;
+		/** Die Punkte der oberen Kontur */
+		private long[] upper = new long[16];
+		/** Die Anzahl der Punkte der oberen Kontur */
+		private int upperSize = 0;
+		
+		/**
+		 * Berechnet die Konturen aus den Treppen, die beim Durchlaufen eines Abschnitts von links und von rechts gefunden wurden.
+		 * <p>
+		 * Die Punkte der unteren Kontur liegen links des tiefsten Punktes auf der linken unteren Treppe und rechts davon auf der rechten unteren Treppe.
+		 * Entsprechendes gilt für die obere Kontur. Es werden deshalb nur die Punkte der Treppen betrachtet.
+		 * 
+		 * @param left Die Treppen, die beim lexikographisch aufsteigenden Durchlaufen gefunden wurden
+		 * @param right Die Treppen, die beim lexikographisch absteigenden Durchlaufen gefunden wurden
+		 */
+		private void addStaircases(Staircases left, Staircases right) {
+			for(int i = 0; i < left.bottomSize; i++) {
+				addLower(left.bottom[i]);
+			}
+			for(int i = right.bottomSize - 1; i >= 0; i--) {
+				addLower(right.bottom[i]);
+			}
+			for(int i = 0; i < left.topSize; i++) {
+				addUpper(left.top[i]);
+			}
+			for(int i = right.topSize - 1; i >= 0; i--) {
+				addUpper(right.top[i]);
+			}
+		}
+		
+		/**
+		 * Fügt die Konturen eines lexikographisch nachfolgenden Abschnitts hinzu.
+		 * <p>
+		 * Die Punkte der unteren und oberen Kontur des Abschnitts werden einzeln mit {@code addLower} beziehungsweise {@code addUpper} übernommen.
+		 * 
+		 * @param next Die Konturen des nachfolgenden Abschnitts
+		 * @return Diese Konturen
+		 */
+		private Contours append(Contours next) {
+			for(int i = 0; i < next.lowerSize; i++) {
+				addLower(next.lower[i]);
+			}
+			for(int i = 0; i < next.upperSize; i++) {
+				addUpper(next.upper[i]);
+			}
+			return this;
+		}
+		
+		/**
+		 * Fügt einen Punkt der unteren Kontur hinzu. Die Punkte müssen lexikographisch aufsteigend übergeben werden.
+		 * 
+		 * @param key Der {@code long}-Wert des Punktes
+		 */
+		private void addLower(long key) {
+			if(lowerSize > 0 && lower[lowerSize - 1] == key) {
+				return;
+			}
+			while(lowerSize >= 2 && getDeterminant(lower[lowerSize - 2], lower[lowerSize - 1], key) <= 0) {
+				lowerSize--;
+			}
+			if(lowerSize == lower.length) {
+				lower = Arrays.copyOf(lower, lowerSize * 2);
+			}
+			lower[lowerSize++] = key;
+		}
+		
+		/**
+		 * Fügt einen Punkt der oberen Kontur hinzu. Die Punkte müssen lexikographisch aufsteigend übergeben werden.
+		 * 
+		 * @param key Der {@code long}-Wert des Punktes
+		 */
+		private void addUpper(long key) {
+			if(upperSize > 0 && upper[upperSize - 1] == key) {
+				return;
+			}
+			while(upperSize >= 2 && getDeterminant(upper[upperSize - 2], upper[upperSize - 1], key) >= 0) {
+				upperSize--;
+			}
+			if(upperSize == upper.length) {
+				upper = Arrays.copyOf(upper, upperSize * 2);
+			}
+			upper[upperSize++] = key;
+		}
+	}
+	
+	/**
+	 * Diese Klasse sammelt beim Durchlaufen eines Abschnitts die Punkte, die eine neue kleinste beziehungsweise größte Y-Koordinate haben.
+	 * <p>
+	 * Dies entspricht der Berechnung der Konturen in der Klasse {@code Calculator}. Pro Punkt wird nur die Y-Koordinate verglichen,
+	 * sodass die aufwendigere Bereinigung der Konturen nur für wenige Punkte durchgeführt werden muss.
+	 */
+	private static class Staircases {
+		
+		/** Die Punkte mit einer neuen kleinsten Y-Koordinate in der Reihenfolge des Durchlaufens */
+		private long[] bottom = new long[16];
+		/** Die Anzahl der Punkte der unteren Treppe */
+		private int bottomSize = 0;
+		/** Die Punkte mit einer neuen größten Y-Koordinate in der Reihenfolge des Durchlaufens */
+		private long[] top = new long[16];
+		/** Die Anzahl der Punkte der oberen Treppe */
+		private int topSize = 0;
+		/** Die bisher kleinste Y-Koordinate */
+		private int minY;
+		/** Die bisher größte Y-Koordinate */
+		private int maxY;
+		
+		/**
+		 * Übergibt den Punkt an dem übergebenen Index der Punktmenge.
+		 * 
+		 * @param points Die Punktmenge
+		 * @param index Der Index des Punktes
+		 */
+		private void offer(IPackedPointsCollection points, int index) {
+			int y = points.getY(index);
+			if(bottomSize == 0 || y < minY || y > maxY) {
+				offer(points.getX(index), y);
+			}
+		}
+		
+		/**
+		 * Übergibt den nächsten Punkt.
+		 * 
+		 * @param p Der Punkt
+		 */
+		private void offer(Point p) {
+			offer(p.getX(), p.getY());
+		}
+		
+		/**
+		 * Übergibt den nächsten Punkt und nimmt diesen in die Treppen auf, wenn er eine neue kleinste oder größte Y-Koordinate hat.
+		 * 
+		 * @param x X-Koordinate des Punktes
+		 * @param y Y-Koordinate des Punktes
+		 */
+		private void offer(int x, int y) {
+			boolean first = bottomSize == 0;
+			if(first || y < minY) {
+				if(bottomSize == bottom.length) {
+					bottom = Arrays.copyOf(bottom, bottomSize * 2);
+				}
+				bottom[bottomSize++] = PackedPointsCollection.pack(x, y);
+				minY = y;
+			}
+			if(first || y > maxY) {
+				if(topSize == top.length) {
+					top = Arrays.copyOf(top, topSize * 2);
+				}
+				top[topSize++] = PackedPointsCollection.pack(x, y);
+				maxY = y;
+			}
+		}
+	}
+	
+	/**
+	 * Diese Klasse berechnet die Konturen eines Indexbereichs einer {@code IPackedPointsCollection}.
+	 * Ist der Bereich größer als die Abschnittsgröße, wird er halbiert und die Konturen der beiden Hälften werden zusammengefügt.
+	 */
+	@SuppressWarnings("serial")
+	private static class PackedContourTask extends RecursiveTask<Contours> {
+		
+		/** Die Punktmenge */
+		private IPackedPointsCollection points;
+		/** Der erste Index des Bereichs (eingeschlossen) */
+		private int from;
+		/** Der letzte Index des Bereichs (ausgeschlossen) */
+		private int to;
+		/** Die Anzahl an Punkten, ab der ein Bereich halbiert wird */
+		private int chunkSize;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param points Die Punktmenge
+		 * @param from Der erste Index des Bereichs (eingeschlossen)
+		 * @param to Der letzte Index des Bereichs (ausgeschlossen)
+		 * @param chunkSize Die Anzahl an Punkten, ab der ein Bereich halbiert wird
+		 */
+		private PackedContourTask(IPackedPointsCollection points, int from, int to, int chunkSize) {
+			this.points = points;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+		
+		@Override
+		protected Contours compute() {
+			if(to - from > chunkSize) {
+				int mid = (from + to) >>> 1;
+				PackedContourTask right = new PackedContourTask(points, mid, to, chunkSize);
+				right.fork();
+				Contours left = new PackedContourTask(points, from, mid, chunkSize).compute();
+				return left.append(right.join());
+			}
+			Staircases left = new Staircases();
+			for(int i = from; i < to; i++) {
+				left.offer(points, i);
+			}
+			Staircases right = new Staircases();
+			for(int i = to - 1; i >= from; i--) {
+				right.offer(points, i);
+			}
+			Contours contours = new Contours();
+			contours.addStaircases(left, right);
+			return contours;
+		}
+	}
+	
+	/**
+	 * Diese Klasse berechnet die Konturen eines Bereichs von Streifen einer {@code PointsCollection}.
+	 * Ein Streifen umfasst alle Punkte, deren X-Koordinate in einem festen Intervall liegt.
+	 * Umfasst der Bereich mehr als einen Streifen, wird er halbiert und die Konturen der beiden Hälften werden zusammengefügt.
+	 */
+	@SuppressWarnings("serial")
+	private static class StripeContourTask extends RecursiveTask<Contours> {
+		
+		/** Die Punktmenge */
+		private PointsCollection pointsCollection;
+		/** Die kleinste X-Koordinate der Punktmenge */
+		private long minX;
+		/** Die Breite der Punktmenge entlang der X-Achse */
+		private long width;
+		/** Die Anzahl aller Streifen */
+		private int stripes;
+		/** Der erste Streifen des Bereichs (eingeschlossen) */
+		private int from;
+		/** Der letzte Streifen des Bereichs (ausgeschlossen) */
+		private int to;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param pointsCollection Die Punktmenge
+		 * @param minX Die kleinste X-Koordinate der Punktmenge
+		 * @param width Die Breite der Punktmenge entlang der X-Achse
+		 * @param stripes Die Anzahl aller Streifen
+		 * @param from Der erste Streifen des Bereichs (eingeschlossen)
+		 * @param to Der letzte Streifen des Bereichs (ausgeschlossen)
+		 */
+		private StripeContourTask(PointsCollection pointsCollection, long minX, long width, int stripes, int from, int to) {
+			this.pointsCollection = pointsCollection;
+			this.minX = minX;
+			this.width = width;
+			this.stripes = stripes;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Contours compute() {
+			if(to - from > 1) {
+				int mid = (from + to) >>> 1;
+				StripeContourTask right = new StripeContourTask(pointsCollection, minX, width, stripes, mid, to);
+				right.fork();
+				Contours left = new StripeContourTask(pointsCollection, minX, width, stripes, from, mid).compute();
+				return left.append(right.join());
+			}
+			NavigableSet<Point> stripe = getStripe(from);
+			Staircases left = new Staircases();
+			for(Point p : stripe) {
+				left.offer(p);
+			}
+			Staircases right = new Staircases();
+			for(Point p : stripe.descendingSet()) {
+				right.offer(p);
+			}
+			Contours contours = new Contours();
+			contours.addStaircases(left, right);
+			return contours;
+		}
+		
+		/**
+		 * Gibt die Punkte des übergebenen Streifens als Ansicht auf die Punktmenge zurück.
+		 * 
+		 * @param stripe Der Index des Streifens
+		 * @return Die Punkte des Streifens
+		 */
+		private NavigableSet<Point> getStripe(int stripe) {
+			Point fromPoint = new Point(getStripeStart(stripe), Integer.MIN_VALUE);
+			if(stripe == stripes - 1) {
+				return pointsCollection.tailSet(fromPoint, true);
+			}
+			Point toPoint = new Point(getStripeStart(stripe + 1), Integer.MIN_VALUE);
+			return pointsCollection.subSet(fromPoint, true, toPoint, false);
+		}
+		
+		/**
+		 * Gibt die kleinste X-Koordinate des übergebenen Streifens zurück.
+		 * 
+		 * @param stripe Der Index des Streifens
+		 * @return Die kleinste X-Koordinate des Streifens
+		 */
+		private int getStripeStart(int stripe) {
+			return (int)(minX + width * stripe / stripes);
+		}
+	}
+
+}
@@ -0,0 +1,331 @@
+package svwit.calculator;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+
+/**
+ * Diese Klasse nimmt Punkte von beliebig vielen Threads entgegen und übergibt sie gesammelt dem {@code CalculatorManager}.
+ * <p>
+ * Die Punkte werden mit {@code offer} in einen von mehreren Puffern geschrieben, der anhand des aufrufenden Threads gewählt wird.
+ * Jeder Puffer hat eine eigene Sperre, die nur für das Anhängen eines Punktes gehalten wird, sodass sich die Threads kaum gegenseitig behindern.
+ * Das Leeren der Puffer wird über einen Executor auf dem Thread des {@code CalculatorManager} ausgeführt, in der GUI also auf dem Event-Dispatch-Thread.
+ * Dort werden die Punkte sortiert und mit {@code CalculatorManager.addPoints} gemeinsam hinzugefügt, wodurch die konvexe Hülle einmal angepasst oder neu berechnet
+ * und ein neuer {@code HullSnapshot} veröffentlicht wird. Die Puffer werden dafür nur kurz gesperrt, um ihren Inhalt zu übernehmen.
+ * Ein Thread, der Punkte übergibt, wartet also nie auf eine Berechnung.
+ * <p>
+ * Das Leeren wird in einem festen Zeitabstand angefordert, siehe {@code setDrainInterval}, sowie sobald ein Puffer {@code bufferThreshold} Punkte enthält.
+ * <p>
+ * Jedes Leeren beginnt eine neue Epoche. Ein Punkt gehört zu der Epoche, die beim Anhängen unter der Sperre des Puffers gelesen wird,
+ * und wird genau mit dem Leeren am Ende dieser Epoche übernommen. Wurde ein Punkt vollständig übergeben, bevor die Übergabe eines anderen Punktes begann,
+ * gehört er daher zu derselben oder einer früheren Epoche. Jeder veröffentlichte {@code HullSnapshot} enthält so genau die Punkte,
+ * die vor einem Zeitpunkt übergeben wurden, die Stände sind also linearisierbar.
+ * 
+ * @see CalculatorManager#getSnapshot()
+ */
+public class PointsIngestor {
+
+	/** Der standardmäßige Zeitabstand in Millisekunden, in dem die Puffer geleert werden */
+	public static final long DEFAULT_DRAIN_INTERVAL = 50;
+	/** Die standardmäßige Anzahl an Punkten in einem Puffer, ab der das Leeren sofort angefordert wird */
+	public static final int DEFAULT_BUFFER_THRESHOLD = 1 << 14;
+	/** Die initiale Kapazität eines Puffers */
+	private static final int INITIAL_BUFFER_CAPACITY = 256;
+	
+	/** Der {@code CalculatorManager}, dem die Punkte hinzugefügt werden */
+	private final CalculatorManager calculatorManager;
+	/** Der Executor, auf dem die Puffer geleert werden */
+	private final Executor drainExecutor;
+	/** Die Puffer. Ihre Anzahl ist eine Zweierpotenz. */
+	private final Stripe[] stripes;
+	/** Die aktuelle Epoche. Sie wird zu Beginn jedes Leerens erhöht. */
+	private volatile long epoch = 0;
+	/** Gibt an, ob das Leeren bereits angefordert, aber noch nicht begonnen wurde */
+	private final AtomicBoolean drainRequested = new AtomicBoolean();
+	/** Die Anzahl an Punkten in einem Puffer, ab der das Leeren sofort angefordert wird */
+	private volatile int bufferThreshold = DEFAULT_BUFFER_THRESHOLD;
+	/** Der Zeitabstand in Millisekunden, in dem die Puffer geleert werden, bei {@code 0} nur über {@code bufferThreshold} */
+	private long drainInterval = 0;
+	/** Der Thread, der das Leeren in dem festen Zeitabstand anfordert, oder {@code null} */
+	private ScheduledExecutorService timer = null;
+	/** Die Anzahl der bisher übernommenen Punkte, einschließlich doppelter Punkte */
+	private long drainedPoints = 0;
+	/** Die Anzahl der bisherigen Leerungen */
+	private long drains = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Puffer werden alle {@code DEFAULT_DRAIN_INTERVAL} Millisekunden auf dem übergebenen Executor geleert.
+	 * In der GUI ist dies der Event-Dispatch-Thread, zum Beispiel über {@code SwingUtilities::invokeLater}.
+	 * Es werden doppelt so viele Puffer angelegt, wie Prozessoren zur Verfügung stehen.
+	 * 
+	 * @param calculatorManager Der {@code CalculatorManager}, dem die Punkte hinzugefügt werden
+	 * @param drainExecutor Der Executor, auf dem die Puffer geleert werden. Er muss die Aufgaben auf dem Thread des {@code CalculatorManager} ausführen.
+	 */
+	public PointsIngestor(CalculatorManager calculatorManager, Executor drainExecutor) {
+		this(calculatorManager, drainExecutor, 2 * Runtime.getRuntime().availableProcessors());
+		setDrainInterval(DEFAULT_DRAIN_INTERVAL);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Puffer werden nur über {@code bufferThreshold}, {@code requestDrain} und {@code drain} geleert,
+	 * bis ein Zeitabstand mit {@code setDrainInterval} gesetzt wird.
+	 * 
+	 * @param calculatorManager Der {@code CalculatorManager}, dem die Punkte hinzugefügt werden
+	 * @param drainExecutor Der Executor, auf dem die Puffer geleert werden. Er muss die Aufgaben auf dem Thread des {@code CalculatorManager} ausführen.
+	 * @param stripes Die gewünschte Anzahl an Puffern. Sie wird auf die nächste Zweierpotenz aufgerundet.
+	 */
+	public PointsIngestor(CalculatorManager calculatorManager, Executor drainExecutor, int stripes) {
+		this.calculatorManager = calculatorManager;
+		this.drainExecutor = drainExecutor;
+		int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+		this.stripes = new Stripe[count];
+		for(int i = 0; i < count; i++) {
+			this.stripes[i] = new Stripe();
+		}
+	}
+	
+	/**
+	 * Übergibt einen Punkt. Diese Methode darf von jedem Thread aufgerufen werden.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	public void offer(int x, int y) {
+		Stripe stripe = stripes[stripeIndex()];
+		int size;
+		synchronized(stripe) {
+			long currentEpoch = epoch;
+			if(stripe.epoch != currentEpoch) {
+				stripe.epoch = currentEpoch;
+				stripe.epochStart = stripe.size;
+			}
+			if(stripe.size == stripe.keys.length) {
+				stripe.keys = Arrays.copyOf(stripe.keys, stripe.keys.length * 2);
+			}
+			stripe.keys[stripe.size++] = PackedPointsCollection.pack(x, y);
+			size = stripe.size;
+		}
+		if(size >= bufferThreshold) {
+			requestDrain();
+		}
+	}
+	
+	/**
+	 * Übergibt einen Punkt. Diese Methode darf von jedem Thread aufgerufen werden.
+	 * 
+	 * @param p Der Punkt
+	 */
+	public void offer(Point p) {
+		offer(p.getX(), p.getY());
+	}
+	
+	/**
+	 * Fordert das Leeren der Puffer auf dem Executor an, falls dies nicht bereits angefordert wurde. Diese Methode darf von jedem Thread aufgerufen werden.
+	 */
+	public void requestDrain() {
+		if(drainRequested.compareAndSet(false, true)) {
+			drainExecutor.execute(this::drain);
+		}
+	}
+	
+	/**
+	 * Leert alle Puffer und fügt die Punkte dem {@code CalculatorManager} in einer Stapelverarbeitung hinzu.
+	 * <p>
+	 * Diese Methode darf nur auf dem Thread des {@code CalculatorManager} aufgerufen werden. Danach enthält der Stand
+	 * aus {@code CalculatorManager.getSnapshot} alle Punkte, deren Übergabe vor dem Aufruf abgeschlossen war.
+	 * 
+	 * @return Die Anzahl der übernommenen Punkte, ohne doppelte Punkte
+	 */
+	public int drain() {
+		PackedPointsCollection points = takeBuffers();
+		if(points.size() > 0) {
+			calculatorManager.addPoints(points);
+		}
+		return points.size();
+	}
+	
+	/**
+	 * Beginnt eine neue Epoche und übernimmt aus allen Puffern die Punkte der vorherigen Epochen.
+	 * <p>
+	 * Die Punkte jedes Puffers werden sortiert und anschließend mit {@code PackedPointsCollection.mergeSorted} zusammengeführt,
+	 * wobei doppelte Punkte entfernt werden.
+	 * 
+	 * @return Die übernommenen Punkte
+	 */
+	private synchronized PackedPointsCollection takeBuffers() {
+		drainRequested.set(false);
+		long drainedEpoch = epoch;
+		epoch = drainedEpoch + 1;
+		
+		long[][] buffers = new long[stripes.length][];
+		int[] counts = new int[stripes.length];
+		int total = 0;
+		for(int i = 0; i < stripes.length; i++) {
+			Stripe stripe = stripes[i];
+			synchronized(stripe) {
+				int count = stripe.epoch > drainedEpoch ? stripe.epochStart : stripe.size;
+				if(count == 0) {
+					continue;
+				}
+				buffers[i] = stripe.keys;
+				counts[i] = count;
+				long[] remaining = new long[Math.max(INITIAL_BUFFER_CAPACITY, Integer.highestOneBit(stripe.size - count) << 1)];
+				System.arraycopy(stripe.keys, count, remaining, 0, stripe.size - count);
+				stripe.keys = remaining;
+				stripe.size -= count;
+				stripe.epochStart = 0;
+			}
+			Arrays.sort(buffers[i], 0, counts[i]);
+			total += counts[i];
+		}
+		drains++;
+		drainedPoints += total;
+		for(int i = 0; i < buffers.length; i++) {
+			if(buffers[i] == null) {
+				buffers[i] = new long[0];
+			}
+		}
+		return PackedPointsCollection.mergeSorted(buffers, counts);
+	}
+	
+	/**
+	 * Gibt die ungefähre Anzahl der Punkte zurück, die übergeben, aber noch nicht übernommen wurden.
+	 * 
+	 * @return Anzahl der wartenden Punkte
+	 */
+	public int getPendingPoints() {
+		int pending = 0;
+		for(Stripe stripe : stripes) {
+			synchronized(stripe) {
+				pending += stripe.size;
+			}
+		}
+		return pending;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher übernommenen Punkte zurück, einschließlich doppelter Punkte.
+	 * 
+	 * @return Anzahl der übernommenen Punkte
+	 */
+	public synchronized long getDrainedPoints() {
+		return drainedPoints;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisherigen Leerungen zurück.
+	 * 
+	 * @return Anzahl der Leerungen
+	 */
+	public synchronized long getDrains() {
+		return drains;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Puffer zurück.
+	 * 
+	 * @return Anzahl der Puffer
+	 */
+	public int getStripes() {
+		return stripes.length;
+	}
+	
+	/**
+	 * Gibt die Anzahl an Punkten in einem Puffer zurück, ab der das Leeren sofort angefordert wird.
+	 * 
+	 * @return Anzahl an Punkten
+	 */
+	public int getBufferThreshold() {
+		return bufferThreshold;
+	}
+	
+	/**
+	 * Setzt die Anzahl an Punkten in einem Puffer, ab der das Leeren sofort angefordert wird.
+	 * 
+	 * @param bufferThreshold Anzahl an Punkten, mindestens {@code 1}
+	 */
+	public void setBufferThreshold(int bufferThreshold) {
+		this.bufferThreshold = Math.max(1, bufferThreshold);
+	}
+	
+	/**
+	 * Gibt den Zeitabstand in Millisekunden zurück, in dem die Puffer geleert werden.
+	 * 
+	 * @return Zeitabstand in Millisekunden, {@code 0}, falls nur über {@code bufferThreshold} geleert wird
+	 */
+	public synchronized long getDrainInterval() {
+		return drainInterval;
+	}
+	
+	/**
+	 * Setzt den Zeitabstand, in dem die Puffer geleert werden.
+	 * <p>
+	 * Das Leeren wird von einem eigenen Daemon-Thread angefordert, sofern Punkte warten, und auf dem Executor ausgeführt.
+	 * 
+	 * @param drainInterval Zeitabstand in Millisekunden, bei {@code 0} wird nur über {@code bufferThreshold} geleert
+	 */
+	public synchronized void setDrainInterval(long drainInterval) {
+		this.drainInterval = Math.max(0, drainInterval);
+		if(timer != null) {
+			timer.shutdownNow();
+			timer = null;
+		}
+		if(this.drainInterval > 0) {
+			timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Punkteingang");
+				thread.setDaemon(true);
+				return thread;
+			});
+			timer.scheduleWithFixedDelay(() -> {
+				if(getPendingPoints() > 0) {
+					requestDrain();
+				}
+			}, this.drainInterval, this.drainInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	/**
+	 * Beendet das Leeren in dem festen Zeitabstand. Bereits übergebene Punkte können weiterhin mit {@code drain} übernommen werden.
+	 */
+	public void shutdown() {
+		setDrainInterval(0);
+	}
+	
+	/**
+	 * Gibt den Index des Puffers für den aufrufenden Thread zurück.
+	 * 
+	 * @return Index des Puffers
+	 */
+	private int stripeIndex() {
+		long id = Thread.currentThread().getId();
+		int hash = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+	}
+	
+	/**
+	 * Diese Klasse beschreibt einen Puffer für die übergebenen Punkte. Alle Felder werden nur unter der Sperre des Puffers gelesen und geschrieben.
+	 */
+	private static final class Stripe {
+		
+		/** Die übergebenen Punkte als {@code long}-Werte in der Reihenfolge der Übergabe */
+		private long[] keys = new long[INITIAL_BUFFER_CAPACITY];
+		/** Die Anzahl der Punkte */
+		private int size = 0;
+		/** Die Epoche des zuletzt angehängten Punktes */
+		private long epoch = 0;
+		/** Der Index des ersten Punktes aus der Epoche {@code epoch} */
+		private int epochStart = 0;
+	
+	}
+
+}
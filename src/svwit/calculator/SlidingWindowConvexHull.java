@@ -0,0 +1,440 @@
+package svwit.calculator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import svwit.util.ConvexHull;
+import svwit.util.Diameter;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+
+/**
+ * Diese Klasse berechnet die konvexe Hülle der zuletzt eingetroffenen Punkte eines Datenstroms mit Zeitstempeln.
+ * <p>
+ * Das Fenster enthält höchstens die letzten {@code maxPoints} Punkte und nur Punkte, deren Zeitstempel höchstens {@code maxAge} älter ist
+ * als der neueste Zeitstempel. Ein Wert von {@code 0} hebt die jeweilige Grenze auf. Doppelte Punkte werden wie verschiedene Punkte gezählt.
+ * <p>
+ * Die Punkte werden in der Reihenfolge ihres Eintreffens in Blöcke von etwa √n Punkten aufgeteilt. Zu jedem Block wird die konvexe Hülle
+ * seiner noch enthaltenen Punkte gehalten:
+ * <ul>
+ * <li>Im neuesten Block wird ein neuer Punkt zuerst in O(h) auf Enthaltensein geprüft. Nur wenn er außerhalb liegt,
+ * wird die konvexe Hülle aus ihren bisherigen Eckpunkten und dem neuen Punkt neu berechnet.</li>
+ * <li>Im ältesten Block wird die konvexe Hülle nur dann aus den verbleibenden Punkten neu berechnet,
+ * wenn ein ausgeschiedener Punkt einer ihrer Eckpunkte war.</li>
+ * <li>Die konvexe Hülle aller Blöcke dazwischen ändert sich nur, wenn ein Block voll oder der älteste Block leer wird, also höchstens alle √n Punkte.</li>
+ * </ul>
+ * Die konvexe Hülle des Fensters wird aus den Eckpunkten dieser drei konvexen Hüllen berechnet und nur dann, wenn sich eine davon geändert hat.
+ * Dadurch entstehen pro eintreffendem und ausscheidendem Punkt amortisiert sublineare Kosten, während eine Neuberechnung mit {@code Calculator.update}
+ * alle Punkte des Fensters durchlaufen müsste.
+ * <p>
+ * Eine Instanz darf nicht gleichzeitig von mehreren Threads verwendet werden. Die zurückgegebenen konvexen Hüllen werden nicht mehr verändert.
+ * 
+ * @see CalculatorManager#setSlidingWindow(int, long)
+ */
+public class SlidingWindowConvexHull {
+
+	/** Die minimale Anzahl an Punkten pro Block */
+	public static final int MIN_BLOCK_SIZE = 64;
+	
+	/** Die maximale Anzahl an Punkten im Fenster, bei {@code 0} unbegrenzt */
+	private final int maxPoints;
+	/** Das maximale Alter eines Punktes im Fenster, gemessen an dem neuesten Zeitstempel, bei {@code 0} unbegrenzt */
+	private final long maxAge;
+	/** Der {@code Calculator}, mit dem die konvexen Hüllen der Blöcke und des Fensters berechnet werden */
+	private final Calculator calculator = new Calculator();
+	/** Die Blöcke, beginnend mit dem ältesten. Nur der letzte Block nimmt neue Punkte auf. */
+	private final ArrayDeque<Block> blocks = new ArrayDeque<>();
+	
+	/** Die Anzahl der Punkte im Fenster */
+	private int size = 0;
+	/** Der neueste Zeitstempel */
+	private long latestTimestamp = Long.MIN_VALUE;
+	/** Die konvexe Hülle aller Blöcke außer dem ältesten und dem neuesten, oder {@code null}, falls sie neu berechnet werden muss */
+	private ConvexHull middleHull = new ConvexHull();
+	/** Die konvexe Hülle des Fensters */
+	private ConvexHull convexHull = new ConvexHull();
+	/** Gibt an, ob sich eine der konvexen Hüllen der Blöcke seit der letzten Berechnung von {@code convexHull} geändert hat */
+	private boolean convexHullPending = false;
+	/** Die Version der konvexen Hülle des Fensters. Sie wird bei jeder Änderung der konvexen Hülle erhöht. */
+	private long hullVersion = 0;
+	/** Der Durchmesser der konvexen Hülle des Fensters oder {@code null}, falls er noch nicht berechnet wurde */
+	private Diameter diameter = null;
+	
+	/** Die Anzahl der Neuberechnungen einer konvexen Hülle eines Blocks */
+	private long blockRecalculations = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param maxPoints Die maximale Anzahl an Punkten im Fenster, bei {@code 0} unbegrenzt
+	 * @param maxAge Das maximale Alter eines Punktes im Fenster, gemessen an dem neuesten Zeitstempel, bei {@code 0} unbegrenzt
+	 */
+	public SlidingWindowConvexHull(int maxPoints, long maxAge) {
+		this.maxPoints = Math.max(0, maxPoints);
+		this.maxAge = Math.max(0, maxAge);
+	}
+	
+	/**
+	 * Fügt dem Fenster einen Punkt hinzu und entfernt anschließend alle Punkte, die nicht mehr im Fenster liegen.
+	 * <p>
+	 * Die Zeitstempel müssen aufsteigend übergeben werden. Ein kleinerer Zeitstempel als der bisher neueste wird wie der neueste behandelt.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @param timestamp Der Zeitstempel des Punktes
+	 */
+	public void add(int x, int y, long timestamp) {
+		latestTimestamp = Math.max(latestTimestamp, timestamp);
+		Block newest = blocks.peekLast();
+		if(newest == null || newest.end == newest.keys.length) {
+			if(newest != null && blocks.size() >= 2) {
+				addToMiddleHull(newest);
+			}
+			newest = new Block(blockSize());
+			blocks.addLast(newest);
+		}
+		newest.keys[newest.end] = PackedPointsCollection.pack(x, y);
+		newest.timestamps[newest.end] = latestTimestamp;
+		newest.end++;
+		size++;
+		if(!contains(newest.hull, x, y)) {
+			newest.hull = calculateHull(newest.hull, PackedPointsCollection.pack(x, y));
+			convexHullPending = true;
+		}
+		expire();
+	}
+	
+	/**
+	 * Setzt den neuesten Zeitstempel, ohne einen Punkt hinzuzufügen, und entfernt alle Punkte, die dadurch zu alt sind.
+	 * 
+	 * @param timestamp Der neue Zeitstempel
+	 */
+	public void advanceTo(long timestamp) {
+		latestTimestamp = Math.max(latestTimestamp, timestamp);
+		expire();
+	}
+	
+	/**
+	 * Entfernt alle Punkte aus dem Fenster.
+	 */
+	public void clear() {
+		blocks.clear();
+		size = 0;
+		middleHull = new ConvexHull();
+		convexHullPending = true;
+	}
+	
+	/**
+	 * Gibt die konvexe Hülle der Punkte im Fenster zurück.
+	 * 
+	 * @return konvexe Hülle des Fensters
+	 */
+	public ConvexHull getConvexHull() {
+		updateConvexHull();
+		return convexHull;
+	}
+	
+	/**
+	 * Gibt die Version der konvexen Hülle des Fensters zurück. Sie wird bei jeder Änderung der konvexen Hülle erhöht.
+	 * 
+	 * @return Version der konvexen Hülle
+	 */
+	public long getHullVersion() {
+		updateConvexHull();
+		return hullVersion;
+	}
+	
+	/**
+	 * Gibt den Durchmesser der konvexen Hülle des Fensters zurück.
+	 * <p>
+	 * Der Durchmesser wird erst bei dem ersten Abruf nach einer Änderung der konvexen Hülle berechnet.
+	 * 
+	 * @return Durchmesser der konvexen Hülle des Fensters
+	 */
+	public Diameter getDiameter() {
+		updateConvexHull();
+		if(diameter == null) {
+			Calculator diameterCalculator = new Calculator();
+			diameterCalculator.update(convexHull);
+			diameter = diameterCalculator.getDiameter();
+		}
+		return diameter;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte im Fenster zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Gibt den neuesten Zeitstempel zurück.
+	 * 
+	 * @return neuester Zeitstempel oder {@code Long.MIN_VALUE}, falls noch kein Zeitstempel übergeben wurde
+	 */
+	public long getLatestTimestamp() {
+		return latestTimestamp;
+	}
+	
+	/**
+	 * Gibt die maximale Anzahl an Punkten im Fenster zurück.
+	 * 
+	 * @return maximale Anzahl an Punkten, {@code 0} für unbegrenzt
+	 */
+	public int getMaxPoints() {
+		return maxPoints;
+	}
+	
+	/**
+	 * Gibt das maximale Alter eines Punktes im Fenster zurück.
+	 * 
+	 * @return maximales Alter, {@code 0} für unbegrenzt
+	 */
+	public long getMaxAge() {
+		return maxAge;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Blöcke zurück.
+	 * 
+	 * @return Anzahl der Blöcke
+	 */
+	public int getBlocks() {
+		return blocks.size();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Neuberechnungen einer konvexen Hülle eines Blocks aus seinen Punkten zurück,
+	 * nachdem ein Eckpunkt aus dem Fenster ausgeschieden ist.
+	 * 
+	 * @return Anzahl der Neuberechnungen
+	 */
+	public long getBlockRecalculations() {
+		return blockRecalculations;
+	}
+	
+	/**
+	 * Gibt die Größe eines neuen Blocks zurück. Sie beträgt etwa die Wurzel der erwarteten Anzahl an Punkten im Fenster.
+	 * 
+	 * @return Anzahl an Punkten pro Block
+	 */
+	private int blockSize() {
+		int expected = maxPoints > 0 ? maxPoints : size;
+		return Math.max(MIN_BLOCK_SIZE, (int)Math.sqrt(expected));
+	}
+	
+	/**
+	 * Entfernt die ältesten Punkte, solange das Fenster zu viele oder zu alte Punkte enthält.
+	 */
+	private void expire() {
+		while(size > 0) {
+			Block oldest = blocks.peekFirst();
+			boolean tooMany = maxPoints > 0 && size > maxPoints;
+			boolean tooOld = maxAge > 0 && oldest.timestamps[oldest.start] <= latestTimestamp - maxAge;
+			if(!tooMany && !tooOld) {
+				return;
+			}
+			long key = oldest.keys[oldest.start++];
+			size--;
+			if(oldest.start == oldest.end) {
+				blocks.pollFirst();
+				middleHull = null;
+				convexHullPending = true;
+			} else if(!oldest.hullPending && isVertex(oldest.hull, key)) {
+				oldest.hullPending = true;
+				convexHullPending = true;
+			}
+		}
+	}
+	
+	/**
+	 * Fügt die konvexe Hülle eines vollen Blocks, der nicht mehr der neueste ist, der konvexen Hülle der mittleren Blöcke hinzu.
+	 * 
+	 * @param block Der volle Block
+	 */
+	private void addToMiddleHull(Block block) {
+		if(middleHull != null) {
+			long[] keys = new long[middleHull.size() + block.hull.size()];
+			int count = appendVertices(middleHull, keys, 0);
+			count = appendVertices(block.hull, keys, count);
+			middleHull = calculateHull(keys, count);
+		}
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle des Fensters neu, falls sich eine der konvexen Hüllen der Blöcke geändert hat.
+	 * <p>
+	 * Hat die neue konvexe Hülle dieselben Eckpunkte und äußersten Punkte wie die bisherige, wird die bisherige behalten und die Version nicht erhöht.
+	 */
+	private void updateConvexHull() {
+		if(!convexHullPending) {
+			return;
+		}
+		convexHullPending = false;
+		Block oldest = blocks.peekFirst();
+		Block newest = blocks.peekLast();
+		if(oldest != null && oldest.hullPending) {
+			oldest.hull = calculateHull(Arrays.copyOfRange(oldest.keys, oldest.start, oldest.end), oldest.end - oldest.start);
+			oldest.hullPending = false;
+			blockRecalculations++;
+		}
+		if(middleHull == null) {
+			int capacity = 0;
+			for(Block block : blocks) {
+				capacity += block.hull.size();
+			}
+			long[] keys = new long[capacity];
+			int count = 0;
+			Iterator<Block> iterator = blocks.iterator();
+			for(int i = 0; iterator.hasNext(); i++) {
+				Block block = iterator.next();
+				if(i > 0 && block != newest) {
+					count = appendVertices(block.hull, keys, count);
+				}
+			}
+			middleHull = calculateHull(keys, count);
+		}
+		
+		ConvexHull next;
+		if(oldest == null) {
+			next = new ConvexHull();
+		} else {
+			long[] keys = new long[oldest.hull.size() + middleHull.size() + newest.hull.size()];
+			int count = appendVertices(oldest.hull, keys, 0);
+			count = appendVertices(middleHull, keys, count);
+			if(newest != oldest) {
+				count = appendVertices(newest.hull, keys, count);
+			}
+			next = calculateHull(keys, count);
+		}
+		if(!Calculator.isSameConvexHull(convexHull, next)) {
+			convexHull = next;
+			diameter = null;
+			hullVersion++;
+		}
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle aus den Eckpunkten einer konvexen Hülle und einem weiteren Punkt.
+	 * 
+	 * @param hull Die bisherige konvexe Hülle
+	 * @param key Der {@code long}-Wert des weiteren Punktes
+	 * @return Die neue konvexe Hülle
+	 */
+	private ConvexHull calculateHull(ConvexHull hull, long key) {
+		long[] keys = new long[hull.size() + 1];
+		int count = appendVertices(hull, keys, 0);
+		keys[count++] = key;
+		return calculateHull(keys, count);
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle der übergebenen Punkte. Das Array wird dabei sortiert.
+	 * 
+	 * @param keys Die {@code long}-Werte der Punkte, auch doppelt
+	 * @param count Die Anzahl der gültigen Einträge in {@code keys}
+	 * @return Die konvexe Hülle
+	 */
+	private ConvexHull calculateHull(long[] keys, int count) {
+		if(count == 0) {
+			return new ConvexHull();
+		}
+		PackedPointsCollection points = new PackedPointsCollection(count);
+		points.addAll(keys, count);
+		return calculator.updateConvexHull(points);
+	}
+	
+	/**
+	 * Schreibt die Eckpunkte einer konvexen Hülle als {@code long}-Werte in das übergebene Array.
+	 * 
+	 * @param hull Die konvexe Hülle
+	 * @param keys Das Array
+	 * @param offset Der Index, ab dem geschrieben wird
+	 * @return Der Index nach dem letzten geschriebenen Eckpunkt
+	 */
+	private static int appendVertices(ConvexHull hull, long[] keys, int offset) {
+		for(Point p : hull) {
+			keys[offset++] = PackedPointsCollection.pack(p.getX(), p.getY());
+		}
+		return offset;
+	}
+	
+	/**
+	 * Prüft in O(h), ob ein Punkt innerhalb oder auf dem Rand einer konvexen Hülle mit mindestens drei Eckpunkten liegt.
+	 * Bei weniger Eckpunkten wird {@code false} zurückgegeben, sodass die konvexe Hülle neu berechnet wird.
+	 * 
+	 * @param hull Die gegen den Uhrzeigersinn sortierte konvexe Hülle
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return {@code true}, wenn der Punkt innerhalb oder auf dem Rand liegt, {@code false} ansonsten
+	 */
+	private static boolean contains(ConvexHull hull, int x, int y) {
+		int h = hull.size();
+		if(h < 3) {
+			return false;
+		}
+		Point a = hull.get(h - 1);
+		for(Point b : hull) {
+			long cross = ((long)b.getX() - a.getX()) * ((long)y - a.getY()) - ((long)b.getY() - a.getY()) * ((long)x - a.getX());
+			if(cross < 0) {
+				return false;
+			}
+			a = b;
+		}
+		return true;
+	}
+	
+	/**
+	 * Prüft, ob ein Punkt ein Eckpunkt einer konvexen Hülle ist.
+	 * 
+	 * @param hull Die konvexe Hülle
+	 * @param key Der {@code long}-Wert des Punktes
+	 * @return {@code true}, wenn der Punkt ein Eckpunkt ist, {@code false} ansonsten
+	 */
+	private static boolean isVertex(ConvexHull hull, long key) {
+		int x = PackedPointsCollection.unpackX(key);
+		int y = PackedPointsCollection.unpackY(key);
+		for(Point p : hull) {
+			if(p.getX() == x && p.getY() == y) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Diese Klasse beschreibt einen Block von Punkten in der Reihenfolge ihres Eintreffens.
+	 * Die Punkte von {@code start} bis ausschließlich {@code end} liegen noch im Fenster.
+	 */
+	private static final class Block {
+		
+		/** Die Punkte als {@code long}-Werte */
+		private final long[] keys;
+		/** Die Zeitstempel der Punkte */
+		private final long[] timestamps;
+		/** Der Index des ältesten Punktes, der noch im Fenster liegt */
+		private int start = 0;
+		/** Der Index nach dem neuesten Punkt */
+		private int end = 0;
+		/** Die konvexe Hülle der Punkte, die noch im Fenster liegen */
+		private ConvexHull hull = new ConvexHull();
+		/** Gibt an, ob {@code hull} aus den verbleibenden Punkten neu berechnet werden muss */
+		private boolean hullPending = false;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param capacity Die Anzahl an Punkten des Blocks
+		 */
+		private Block(int capacity) {
+			keys = new long[capacity];
+			timestamps = new long[capacity];
+		}
+	
+	}
+
+}
@@ -0,0 +1,194 @@
+package svwit.calculator;
+
+import java.util.Arrays;
+
+import svwit.util.ConvexHull;
+import svwit.util.IPackedPointsCollection;
+import svwit.util.IPointConsumer;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+
+/**
+ * Diese Klasse berechnet die konvexe Hülle einer Punktmenge, deren Punkte nacheinander übergeben werden, ohne die Punktmenge zu speichern.
+ * <p>
+ * Die Punkte werden mit {@code accept} in einem Puffer fester Größe gesammelt. Ist der Puffer voll, werden die Eckpunkte der bisherigen
+ * konvexen Hülle hinzugefügt und aus beiden zusammen die neue konvexe Hülle berechnet. Da jeder Punkt, der nicht auf der konvexen Hülle
+ * eines Stapels liegt, auch nicht auf der konvexen Hülle aller Punkte liegen kann, werden alle anderen Punkte danach verworfen.
+ * Der Speicherbedarf ist so durch die Größe eines Stapels plus die Anzahl der Eckpunkte der konvexen Hülle beschränkt,
+ * unabhängig von der Anzahl aller übergebenen Punkte.
+ * <p>
+ * Die konvexe Hülle eines Stapels wird von einem eigenen {@code Calculator} mit aktiviertem Vorfilter berechnet.
+ * Nach dem letzten Punkt muss {@code finish} aufgerufen werden. Die konvexe Hülle kann dann mit {@code Calculator.update(ConvexHull)}
+ * übergeben werden, um den Durchmesser, das größte enthaltene Viereck und Dreieck zu berechnen.
+ * <p>
+ * Eine Instanz darf nicht gleichzeitig von mehreren Threads verwendet werden.
+ * 
+ * @see IPointConsumer
+ */
+public class StreamingConvexHull implements IPointConsumer {
+
+	/** Die Standardanzahl an Punkten pro Stapel */
+	public static final int DEFAULT_BATCH_SIZE = 1 << 20;
+	
+	/** Die Anzahl an Punkten pro Stapel */
+	private final int batchSize;
+	/** Der {@code Calculator}, der die konvexe Hülle eines Stapels berechnet */
+	private final Calculator calculator;
+	
+	/** Die Punkte des aktuellen Stapels als {@code long}-Werte, gefolgt von Platz für die Eckpunkte der bisherigen konvexen Hülle */
+	private long[] batch;
+	/** Die Anzahl der Punkte im aktuellen Stapel */
+	private int batchCount = 0;
+	/** Die sortierte Ansicht auf den Stapel, die an den {@code Calculator} übergeben wird */
+	private SortedKeys sortedBatch = new SortedKeys();
+	/** Die bisherige konvexe Hülle */
+	private ConvexHull convexHull = new ConvexHull();
+	/** Die Anzahl aller bisher übergebenen Punkte, einschließlich doppelter Punkte */
+	private long points = 0;
+	/** Die Anzahl der bisher verarbeiteten Stapel */
+	private int batches = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Erzeugt eine Instanz mit {@code DEFAULT_BATCH_SIZE} Punkten pro Stapel.
+	 */
+	public StreamingConvexHull() {
+		this(DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param batchSize Die Anzahl an Punkten pro Stapel, mindestens {@code 1}
+	 */
+	public StreamingConvexHull(int batchSize) {
+		if(batchSize < 1) {
+			throw new IllegalArgumentException("batchSize muss mindestens 1 sein: " + batchSize);
+		}
+		this.batchSize = batchSize;
+		this.calculator = new Calculator();
+		this.calculator.setPrefilterEnabled(true);
+		this.batch = new long[batchSize + 16];
+	}
+	
+	/**
+	 * Nimmt einen Punkt entgegen. Ist der Stapel danach voll, wird die konvexe Hülle aktualisiert.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	@Override
+	public void accept(int x, int y) {
+		batch[batchCount++] = PackedPointsCollection.pack(x, y);
+		points++;
+		if(batchCount == batchSize) {
+			mergeBatch();
+		}
+	}
+	
+	/**
+	 * Verarbeitet die Punkte des letzten, unvollständigen Stapels.
+	 * 
+	 * @return Die konvexe Hülle aller übergebenen Punkte
+	 */
+	public ConvexHull finish() {
+		if(batchCount > 0) {
+			mergeBatch();
+		}
+		return convexHull;
+	}
+	
+	/**
+	 * Gibt die konvexe Hülle aller Punkte der bereits verarbeiteten Stapel zurück.
+	 * 
+	 * @return Die konvexe Hülle
+	 */
+	public ConvexHull getConvexHull() {
+		return convexHull;
+	}
+	
+	/**
+	 * Gibt die Anzahl aller bisher übergebenen Punkte zurück, einschließlich doppelter Punkte.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public long getPoints() {
+		return points;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher verarbeiteten Stapel zurück.
+	 * 
+	 * @return Anzahl der Stapel
+	 */
+	public int getBatches() {
+		return batches;
+	}
+	
+	/**
+	 * Fügt die Eckpunkte der bisherigen konvexen Hülle dem aktuellen Stapel hinzu und berechnet daraus die neue konvexe Hülle.
+	 * <p>
+	 * Anschließend wird der Stapel geleert und, falls die konvexe Hülle gewachsen ist, so vergrößert, dass neben einem vollen Stapel
+	 * auch alle Eckpunkte Platz finden.
+	 */
+	private void mergeBatch() {
+		int count = batchCount;
+		for(Point p : convexHull) {
+			batch[count++] = PackedPointsCollection.pack(p.getX(), p.getY());
+		}
+		Arrays.sort(batch, 0, count);
+		int unique = 0;
+		for(int i = 0; i < count; i++) {
+			if(unique == 0 || batch[unique - 1] != batch[i]) {
+				batch[unique++] = batch[i];
+			}
+		}
+		
+		sortedBatch.keys = batch;
+		sortedBatch.size = unique;
+		convexHull = calculator.updateConvexHull(sortedBatch);
+		sortedBatch.keys = null;
+		
+		batchCount = 0;
+		batches++;
+		if(batch.length < batchSize + convexHull.size()) {
+			batch = Arrays.copyOf(batch, batchSize + 2 * convexHull.size());
+		}
+	}
+	
+	/**
+	 * Diese Klasse stellt einen Bereich eines sortierten Arrays von {@code long}-Werten als {@code IPackedPointsCollection} dar,
+	 * damit der Stapel ohne Kopie an den {@code Calculator} übergeben werden kann.
+	 */
+	private static class SortedKeys implements IPackedPointsCollection {
+		
+		/** Die sortierten Punkte als {@code long}-Werte */
+		private long[] keys;
+		/** Die Anzahl der Punkte */
+		private int size;
+		
+		@Override
+		public int size() {
+			return size;
+		}
+		
+		@Override
+		public int getX(int index) {
+			return PackedPointsCollection.unpackX(keys[index]);
+		}
+		
+		@Override
+		public int getY(int index) {
+			return PackedPointsCollection.unpackY(keys[index]);
+		}
+		
+		@Override
+		public int lowerBound(int x, int y) {
+			int index = Arrays.binarySearch(keys, 0, size, PackedPointsCollection.pack(x, y));
+			return index >= 0 ? index : -index - 1;
+		}
+	
+	}
+
+}
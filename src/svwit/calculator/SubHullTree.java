@@ -0,0 +1,645 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import svwit.util.Geometry;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+
+/**
+ * Diese Klasse speichert eine Punktmenge als Baum von Teilhüllen nach Overmars und van Leeuwen,
+ * sodass die konvexe Hülle nach dem Hinzufügen oder Entfernen eines beliebigen Punktes in polylogarithmischer Zeit aktualisiert ist.
+ * <p>
+ * Die Punkte werden als {@code long}-Werte wie in {@code PackedPointsCollection} gespeichert und lexikographisch sortiert
+ * auf Blätter mit höchstens {@code 2 * BUCKET_SIZE} Punkten verteilt. Jedes Blatt speichert die obere und untere Kontur seiner Punkte.
+ * Jeder innere Knoten speichert für beide Konturen nur die Brücke, also die gemeinsame Tangente der Konturen seiner beiden Kinder.
+ * Die Kontur eines Knotens besteht aus der Kontur des ersten Kindes bis zum ersten Endpunkt der Brücke
+ * und der Kontur des zweiten Kindes ab dem zweiten Endpunkt. Dadurch benötigt der Baum nur O(n) Speicher.
+ * <p>
+ * Die untere Kontur entspricht der oberen Kontur der um 180 Grad gedrehten Punkte. Da die Drehung die Determinante nicht verändert,
+ * werden beide Konturen mit denselben Methoden berechnet. Bei der unteren Kontur sind lediglich die Reihenfolge der Punkte und der Kinder umgekehrt.
+ * <ul>
+ * <li>Die Tangente von einem Punkt vor allen Punkten eines Knotens an dessen Kontur wird gefunden, indem anhand der Brücke
+ * in das Kind abgestiegen wird, welches den Tangentenpunkt enthält. Dies benötigt O(log n) Zeit.</li>
+ * <li>Die Brücke eines Knotens wird gefunden, indem in der Kontur des ersten Kindes abgestiegen wird.
+ * Für jede betrachtete Kante wird die Tangente von ihrem Startpunkt an die Kontur des zweiten Kindes berechnet.
+ * Liegt der Endpunkt der Kante oberhalb dieser Tangente, liegt der Brückenpunkt dahinter, ansonsten davor. Dies benötigt O(log² n) Zeit.</li>
+ * <li>Beim Hinzufügen und Entfernen eines Punktes werden das betroffene Blatt und die Brücken aller Vorfahren neu berechnet, insgesamt in O(log³ n) Zeit.
+ * Wird ein Blatt zu groß, wird es geteilt, wird es leer, wird es entfernt. Gerät ein Teilbaum dadurch aus dem Gleichgewicht,
+ * wird er mit denselben Blättern balanciert neu aufgebaut.</li>
+ * </ul>
+ * Die konvexe Hülle wird aus den Brücken entlang der Konturen in O(h log n) Zeit ausgelesen, wobei h die Anzahl ihrer Punkte ist.
+ * 
+ * @see DynamicConvexHull
+ * 
+ */
+public class SubHullTree {
+
+	/** Die Anzahl der Punkte eines Blattes beim Aufbau. Ein Blatt wird geteilt, wenn es mehr als doppelt so viele Punkte enthält. */
+	public static final int BUCKET_SIZE = 64;
+	/** Der größte Anteil der Blätter eines Knotens, die in einem seiner Kinder liegen dürfen, bevor der Knoten neu aufgebaut wird */
+	private static final double BALANCE = 0.7;
+	
+	/** Die Wurzel des Baumes oder {@code null}, wenn die Punktmenge leer ist */
+	private Node root = null;
+	/** Die Anzahl der Punkte */
+	private int size = 0;
+	/** Die Anzahl der Blätter */
+	private int leafCount = 0;
+	
+	/**
+	 * Ein Knoten des Baumes. Ein Blatt speichert die Punkte und beide Konturen, ein innerer Knoten nur die Brücken seiner beiden Kinder.
+	 */
+	private static final class Node {
+		
+		/** Der Elternknoten oder {@code null} bei der Wurzel */
+		Node parent;
+		/** Das linke Kind eines inneren Knotens */
+		Node left;
+		/** Das rechte Kind eines inneren Knotens */
+		Node right;
+		/** Die Anzahl der Blätter des Teilbaumes */
+		int leaves;
+		/** Der kleinste Punkt des Teilbaumes */
+		long min;
+		
+		/** Die sortierten Punkte eines Blattes oder {@code null} bei einem inneren Knoten */
+		long[] keys;
+		/** Die Anzahl der Punkte eines Blattes */
+		int count;
+		/** Die obere Kontur eines Blattes, lexikographisch aufsteigend */
+		long[] upper;
+		/** Die Anzahl der Punkte der oberen Kontur */
+		int upperSize;
+		/** Die untere Kontur eines Blattes, lexikographisch absteigend */
+		long[] lower;
+		/** Die Anzahl der Punkte der unteren Kontur */
+		int lowerSize;
+		
+		/** Die Endpunkte der Brücke der oberen Kontur im linken und rechten Kind */
+		long upperFirst, upperSecond;
+		/** Die Endpunkte der Brücke der unteren Kontur im rechten und linken Kind */
+		long lowerFirst, lowerSecond;
+		
+		/**
+		 * Gibt zurück, ob der Knoten ein Blatt ist.
+		 * 
+		 * @return {@code true}, wenn der Knoten ein Blatt ist, {@code false} ansonsten
+		 */
+		boolean isLeaf() {
+			return keys != null;
+		}
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Hier werden die Punkte übergeben, die lexikographisch aufsteigend sortiert und paarweise verschieden sein müssen.
+	 * Der Baum wird in O(n + n / BUCKET_SIZE * log² n) Zeit aufgebaut.
+	 * 
+	 * @param sortedKeys Die Punkte als {@code long}-Werte wie in {@code PackedPointsCollection}
+	 * @param count Die Anzahl der Punkte
+	 */
+	public SubHullTree(long[] sortedKeys, int count) {
+		build(sortedKeys, count);
+	}
+	
+	/**
+	 * Legt einen Baum aus den übergebenen Punkten an.
+	 * 
+	 * @param points Die lexikographisch sortierten Punkte, zum Beispiel eine {@code PointsCollection}
+	 * @param ignoredPoint Ein Punkt, der nicht übernommen wird, oder {@code null}
+	 * @return Der Baum
+	 */
+	public static SubHullTree fromPoints(Collection<Point> points, Point ignoredPoint) {
+		long[] keys = new long[points.size()];
+		int count = 0;
+		for(Point p : points) {
+			if(!p.equals(ignoredPoint)) {
+				keys[count++] = PackedPointsCollection.pack(p.getX(), p.getY());
+			}
+		}
+		return new SubHullTree(keys, count);
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Fügt den übergebenen Punkt hinzu und berechnet die Brücken auf dem Weg zur Wurzel neu.
+	 * 
+	 * @param p Der Punkt, der hinzugefügt werden soll
+	 * @return {@code true}, wenn der Punkt hinzugefügt wurde, {@code false}, wenn er bereits enthalten war
+	 */
+	public boolean add(Point p) {
+		long key = PackedPointsCollection.pack(p.getX(), p.getY());
+		if(root == null) {
+			build(new long[] {key}, 1);
+			return true;
+		}
+		Node leaf = findLeaf(key);
+		int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+		if(index >= 0) {
+			return false;
+		}
+		index = -index - 1;
+		if(leaf.count == leaf.keys.length) {
+			leaf.keys = Arrays.copyOf(leaf.keys, leaf.keys.length + (leaf.keys.length >> 1) + 1);
+		}
+		System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+		leaf.keys[index] = key;
+		leaf.count++;
+		size++;
+		
+		if(leaf.count <= 2 * BUCKET_SIZE) {
+			updateUpwards(leaf);
+			return true;
+		}
+		
+		// Das Blatt wird geteilt und durch einen inneren Knoten mit beiden Hälften ersetzt
+		int half = leaf.count / 2;
+		Node first = createLeaf(Arrays.copyOfRange(leaf.keys, 0, half), half);
+		Node second = createLeaf(Arrays.copyOfRange(leaf.keys, half, leaf.count), leaf.count - half);
+		Node node = new Node();
+		node.left = first;
+		node.right = second;
+		node.leaves = 2;
+		first.parent = node;
+		second.parent = node;
+		replace(leaf, node);
+		leafCount++;
+		for(Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.leaves++;
+		}
+		updateUpwards(rebalance(node));
+		return true;
+	}
+	
+	/**
+	 * Entfernt den übergebenen Punkt und berechnet die Brücken auf dem Weg zur Wurzel neu.
+	 * 
+	 * @param p Der Punkt, der entfernt werden soll
+	 * @return {@code true}, wenn der Punkt entfernt wurde, {@code false}, wenn er nicht enthalten war
+	 */
+	public boolean remove(Point p) {
+		if(root == null) {
+			return false;
+		}
+		long key = PackedPointsCollection.pack(p.getX(), p.getY());
+		Node leaf = findLeaf(key);
+		int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+		if(index < 0) {
+			return false;
+		}
+		System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+		leaf.count--;
+		size--;
+		
+		if(leaf.count > 0) {
+			updateUpwards(leaf);
+			return true;
+		}
+		
+		// Das leere Blatt wird entfernt und sein Geschwisterknoten nimmt den Platz des Elternknotens ein
+		Node parent = leaf.parent;
+		if(parent == null) {
+			root = null;
+			leafCount = 0;
+			return true;
+		}
+		Node sibling = parent.left == leaf ? parent.right : parent.left;
+		replace(parent, sibling);
+		leafCount--;
+		for(Node ancestor = sibling.parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.leaves--;
+		}
+		if(sibling.parent != null) {
+			updateUpwards(rebalance(sibling.parent));
+		}
+		return true;
+	}
+	
+	/**
+	 * Gibt die Punkte der konvexen Hülle gegen den Uhrzeigersinn zurück, beginnend mit dem lexikographisch kleinsten Punkt.
+	 * <p>
+	 * Die untere Kontur wird vom lexikographisch kleinsten zum größten Punkt durchlaufen, die obere Kontur zurück.
+	 * Kollineare Punkte sind nicht enthalten.
+	 * 
+	 * @return Die Punkte der konvexen Hülle oder {@code null}, wenn die Punktmenge leer ist
+	 */
+	public ArrayList<Point> getConvexHull() {
+		if(root == null) {
+			return null;
+		}
+		LongList lowerChain = new LongList();
+		collectChain(root, true, Long.MIN_VALUE, Long.MAX_VALUE, lowerChain);
+		LongList upperChain = new LongList();
+		collectChain(root, false, Long.MIN_VALUE, Long.MAX_VALUE, upperChain);
+		
+		ArrayList<Point> points = new ArrayList<Point>(lowerChain.size + upperChain.size);
+		for(int i = lowerChain.size - 1; i >= 0; i--) {
+			points.add(unpack(lowerChain.values[i]));
+		}
+		for(int i = upperChain.size - 2; i >= 1; i--) {
+			points.add(unpack(upperChain.values[i]));
+		}
+		return points;
+	}
+	
+	/**
+	 * Verteilt die übergebenen Punkte auf Blätter und baut darüber einen balancierten Baum auf.
+	 * 
+	 * @param sortedKeys Die lexikographisch sortierten Punkte
+	 * @param count Die Anzahl der Punkte
+	 */
+	private void build(long[] sortedKeys, int count) {
+		size = count;
+		leafCount = (count + BUCKET_SIZE - 1) / BUCKET_SIZE;
+		if(count == 0) {
+			root = null;
+			return;
+		}
+		Node[] leaves = new Node[leafCount];
+		for(int i = 0; i < leafCount; i++) {
+			int from = (int)((long)count * i / leafCount);
+			int to = (int)((long)count * (i + 1) / leafCount);
+			leaves[i] = createLeaf(Arrays.copyOfRange(sortedKeys, from, to), to - from);
+		}
+		root = build(leaves, 0, leafCount);
+		root.parent = null;
+	}
+	
+	/**
+	 * Baut über den übergebenen Blättern einen balancierten Teilbaum auf und berechnet die Brücken seiner inneren Knoten.
+	 * 
+	 * @param leaves Die Blätter in lexikographischer Reihenfolge
+	 * @param from Der Index des ersten Blattes
+	 * @param to Der Index nach dem letzten Blatt
+	 * @return Die Wurzel des Teilbaumes
+	 */
+	private Node build(Node[] leaves, int from, int to) {
+		if(to - from == 1) {
+			return leaves[from];
+		}
+		int middle = (from + to) >>> 1;
+		Node node = new Node();
+		node.left = build(leaves, from, middle);
+		node.right = build(leaves, middle, to);
+		node.left.parent = node;
+		node.right.parent = node;
+		node.leaves = to - from;
+		updateNode(node);
+		return node;
+	}
+	
+	/**
+	 * Legt ein Blatt mit den übergebenen Punkten an und berechnet seine Konturen.
+	 * 
+	 * @param keys Die lexikographisch sortierten Punkte, deren Array in das Blatt übernommen wird
+	 * @param count Die Anzahl der Punkte
+	 * @return Das Blatt
+	 */
+	private Node createLeaf(long[] keys, int count) {
+		Node leaf = new Node();
+		leaf.keys = keys;
+		leaf.count = count;
+		leaf.leaves = 1;
+		updateNode(leaf);
+		return leaf;
+	}
+	
+	/**
+	 * Sucht das Blatt, in dessen Bereich der übergebene Punkt liegt.
+	 * 
+	 * @param key Der Punkt
+	 * @return Das Blatt
+	 */
+	private Node findLeaf(long key) {
+		Node node = root;
+		while(!node.isLeaf()) {
+			node = key < node.right.min ? node.left : node.right;
+		}
+		return node;
+	}
+	
+	/**
+	 * Ersetzt den übergebenen Knoten bei seinem Elternknoten oder als Wurzel durch einen anderen Knoten.
+	 * 
+	 * @param node Der Knoten, der ersetzt wird
+	 * @param replacement Der neue Knoten
+	 */
+	private void replace(Node node, Node replacement) {
+		Node parent = node.parent;
+		replacement.parent = parent;
+		if(parent == null) {
+			root = replacement;
+		} else if(parent.left == node) {
+			parent.left = replacement;
+		} else {
+			parent.right = replacement;
+		}
+	}
+	
+	/**
+	 * Sucht den obersten Knoten zwischen dem übergebenen Knoten und der Wurzel, bei dem ein Kind mehr als den Anteil {@code BALANCE}
+	 * der Blätter enthält, und baut diesen mit denselben Blättern balanciert neu auf.
+	 * 
+	 * @param node Der Knoten, dessen Teilbaum sich verändert hat
+	 * @return Der Knoten, ab dem die Vorfahren neu berechnet werden müssen. Dies ist der Elternknoten des neu aufgebauten Knotens
+	 * oder der übergebene Knoten, falls kein Knoten neu aufgebaut wurde.
+	 */
+	private Node rebalance(Node node) {
+		Node unbalanced = null;
+		for(Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+			if(!ancestor.isLeaf() && Math.max(ancestor.left.leaves, ancestor.right.leaves) > BALANCE * ancestor.leaves) {
+				unbalanced = ancestor;
+			}
+		}
+		if(unbalanced == null) {
+			return node;
+		}
+		Node[] leaves = new Node[unbalanced.leaves];
+		collectLeaves(unbalanced, leaves, 0);
+		Node rebuilt = build(leaves, 0, leaves.length);
+		replace(unbalanced, rebuilt);
+		return rebuilt.parent;
+	}
+	
+	/**
+	 * Sammelt die Blätter des übergebenen Teilbaumes in lexikographischer Reihenfolge.
+	 * 
+	 * @param node Die Wurzel des Teilbaumes
+	 * @param leaves Das Array, in das die Blätter geschrieben werden
+	 * @param index Der Index, ab dem geschrieben wird
+	 * @return Der Index nach dem letzten geschriebenen Blatt
+	 */
+	private int collectLeaves(Node node, Node[] leaves, int index) {
+		if(node.isLeaf()) {
+			leaves[index] = node;
+			return index + 1;
+		}
+		index = collectLeaves(node.left, leaves, index);
+		return collectLeaves(node.right, leaves, index);
+	}
+	
+	/**
+	 * Berechnet den übergebenen Knoten und alle seine Vorfahren neu.
+	 * 
+	 * @param node Der Knoten, ab dem neu berechnet wird, oder {@code null}
+	 */
+	private void updateUpwards(Node node) {
+		for(Node current = node; current != null; current = current.parent) {
+			updateNode(current);
+		}
+	}
+	
+	/**
+	 * Berechnet bei einem Blatt die beiden Konturen und bei einem inneren Knoten die beiden Brücken neu.
+	 * Die Kinder müssen bereits berechnet sein.
+	 * 
+	 * @param node Der Knoten
+	 */
+	private void updateNode(Node node) {
+		if(node.isLeaf()) {
+			node.min = node.keys[0];
+			node.upper = new long[node.count];
+			node.upperSize = calculateLeafChain(node, false, node.upper);
+			node.lower = new long[node.count];
+			node.lowerSize = calculateLeafChain(node, true, node.lower);
+			return;
+		}
+		node.min = node.left.min;
+		findBridge(node, false);
+		findBridge(node, true);
+	}
+	
+	/**
+	 * Berechnet eine Kontur der Punkte eines Blattes mit dem Monotone-Chain-Algorithmus, bei dem kollineare Punkte entfernt werden.
+	 * 
+	 * @param leaf Das Blatt
+	 * @param lower Gibt an, ob die untere Kontur berechnet wird. Die Punkte werden dann absteigend durchlaufen.
+	 * @param chain Das Array, in das die Kontur geschrieben wird
+	 * @return Die Anzahl der Punkte der Kontur
+	 */
+	private int calculateLeafChain(Node leaf, boolean lower, long[] chain) {
+		int chainSize = 0;
+		for(int i = 0; i < leaf.count; i++) {
+			long q = leaf.keys[lower ? leaf.count - 1 - i : i];
+			while(chainSize >= 2 && getDeterminant(chain[chainSize - 2], chain[chainSize - 1], q) >= 0) {
+				chainSize--;
+			}
+			chain[chainSize++] = q;
+		}
+		return chainSize;
+	}
+	
+	/**
+	 * Berechnet die Brücke der oberen oder unteren Kontur eines inneren Knotens.
+	 * <p>
+	 * Gesucht ist der Punkt b der Kontur des ersten Kindes, dessen Tangente an die Kontur des zweiten Kindes auch die Kontur des ersten Kindes berührt.
+	 * Für jeden Punkt vor b liegt sein Nachfolger oberhalb seiner Tangente, für alle anderen nicht.
+	 * Ausgehend von der Brücke des ersten Kindes wird daher immer nur eine Kante geprüft und in den Teil der Kontur abgestiegen, der b enthält.
+	 * Die Grenzen {@code low} und {@code high} beschränken die Kontur des aktuellen Knotens auf den Teil, der auch zu der Kontur des ersten Kindes gehört.
+	 * 
+	 * @param node Der innere Knoten
+	 * @param lower Gibt an, ob die Brücke der unteren Kontur berechnet wird
+	 */
+	private void findBridge(Node node, boolean lower) {
+		Node second = getSecond(node, lower);
+		Node current = getFirst(node, lower);
+		long low = Long.MIN_VALUE;
+		long high = Long.MAX_VALUE;
+		while(!current.isLeaf()) {
+			long bridgeFirst = lower ? current.lowerFirst : current.upperFirst;
+			long bridgeSecond = lower ? current.lowerSecond : current.upperSecond;
+			if(rank(bridgeFirst, lower) < low) {
+				current = getSecond(current, lower);
+			} else if(rank(bridgeSecond, lower) > high) {
+				current = getFirst(current, lower);
+			} else if(getDeterminant(bridgeFirst, findTangent(bridgeFirst, second, lower), bridgeSecond) > 0) {
+				low = rank(bridgeSecond, lower);
+				current = getSecond(current, lower);
+			} else {
+				high = rank(bridgeFirst, lower);
+				current = getFirst(current, lower);
+			}
+		}
+		
+		long[] chain = lower ? current.lower : current.upper;
+		int start = 0;
+		int end = (lower ? current.lowerSize : current.upperSize) - 1;
+		while(rank(chain[start], lower) < low) {
+			start++;
+		}
+		while(rank(chain[end], lower) > high) {
+			end--;
+		}
+		while(start < end) {
+			int middle = (start + end) >>> 1;
+			if(getDeterminant(chain[middle], findTangent(chain[middle], second, lower), chain[middle + 1]) > 0) {
+				start = middle + 1;
+			} else {
+				end = middle;
+			}
+		}
+		long tangent = findTangent(chain[start], second, lower);
+		if(lower) {
+			node.lowerFirst = chain[start];
+			node.lowerSecond = tangent;
+		} else {
+			node.upperFirst = chain[start];
+			node.upperSecond = tangent;
+		}
+	}
+	
+	/**
+	 * Berechnet den Punkt, in dem die Tangente von dem übergebenen Punkt aus die obere oder untere Kontur des übergebenen Knotens berührt.
+	 * <p>
+	 * Der Punkt muss in der Reihenfolge der Kontur vor allen Punkten des Knotens liegen. Liegen mehrere Punkte der Kontur auf der Tangente,
+	 * wird der am weitesten entfernte gewählt. Anhand der Brücke eines inneren Knotens wird entschieden, ob der Tangentenpunkt zu dem ersten oder zweiten Kind gehört.
+	 * 
+	 * @param q Der Punkt, von dem die Tangente ausgeht
+	 * @param node Der Knoten
+	 * @param lower Gibt an, ob die untere Kontur verwendet wird
+	 * @return Der Tangentenpunkt
+	 */
+	private long findTangent(long q, Node node, boolean lower) {
+		while(!node.isLeaf()) {
+			long bridgeFirst = lower ? node.lowerFirst : node.upperFirst;
+			long bridgeSecond = lower ? node.lowerSecond : node.upperSecond;
+			node = getDeterminant(q, bridgeFirst, bridgeSecond) >= 0 ? getSecond(node, lower) : getFirst(node, lower);
+		}
+		long[] chain = lower ? node.lower : node.upper;
+		int low = 0;
+		int high = (lower ? node.lowerSize : node.upperSize) - 1;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(getDeterminant(q, chain[middle], chain[middle + 1]) >= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return chain[low];
+	}
+	
+	/**
+	 * Schreibt die Punkte der oberen oder unteren Kontur des übergebenen Knotens, die zwischen den beiden Grenzen liegen, in die übergebene Liste.
+	 * 
+	 * @param node Der Knoten
+	 * @param lower Gibt an, ob die untere Kontur ausgelesen wird
+	 * @param low Die untere Grenze in der Reihenfolge der Kontur, siehe {@code rank}
+	 * @param high Die obere Grenze in der Reihenfolge der Kontur, siehe {@code rank}
+	 * @param chain Die Liste, in die die Punkte geschrieben werden
+	 */
+	private void collectChain(Node node, boolean lower, long low, long high, LongList chain) {
+		if(node.isLeaf()) {
+			long[] leafChain = lower ? node.lower : node.upper;
+			int leafChainSize = lower ? node.lowerSize : node.upperSize;
+			for(int i = 0; i < leafChainSize; i++) {
+				long rank = rank(leafChain[i], lower);
+				if(rank >= low && rank <= high) {
+					chain.add(leafChain[i]);
+				}
+			}
+			return;
+		}
+		long bridgeFirst = rank(lower ? node.lowerFirst : node.upperFirst, lower);
+		long bridgeSecond = rank(lower ? node.lowerSecond : node.upperSecond, lower);
+		if(bridgeFirst >= low) {
+			collectChain(getFirst(node, lower), lower, low, Math.min(high, bridgeFirst), chain);
+		}
+		if(bridgeSecond <= high) {
+			collectChain(getSecond(node, lower), lower, Math.max(low, bridgeSecond), high, chain);
+		}
+	}
+	
+	/**
+	 * Gibt das Kind zurück, dessen Punkte in der Reihenfolge der Kontur zuerst kommen.
+	 * 
+	 * @param node Der innere Knoten
+	 * @param lower Gibt an, ob die untere Kontur betrachtet wird
+	 * @return Das erste Kind
+	 */
+	private static Node getFirst(Node node, boolean lower) {
+		return lower ? node.right : node.left;
+	}
+	
+	/**
+	 * Gibt das Kind zurück, dessen Punkte in der Reihenfolge der Kontur zuletzt kommen.
+	 * 
+	 * @param node Der innere Knoten
+	 * @param lower Gibt an, ob die untere Kontur betrachtet wird
+	 * @return Das zweite Kind
+	 */
+	private static Node getSecond(Node node, boolean lower) {
+		return lower ? node.left : node.right;
+	}
+	
+	/**
+	 * Gibt einen Wert zurück, dessen Ordnung der Reihenfolge des Punktes in der oberen oder unteren Kontur entspricht.
+	 * Bei der unteren Kontur wird die lexikographische Ordnung durch das bitweise Komplement umgekehrt.
+	 * 
+	 * @param key Der Punkt
+	 * @param lower Gibt an, ob die untere Kontur betrachtet wird
+	 * @return Der Rang des Punktes
+	 */
+	private static long rank(long key, boolean lower) {
+		return lower ? ~key : key;
+	}
+	
+	/**
+	 * Gibt die Determinante aus den drei übergebenen Punkten zurück, wie die Methode {@code getDeterminant} der Klasse {@code Geometry}.
+	 * 
+	 * @param a Der erste Punkt
+	 * @param b Der zweite Punkt
+	 * @param c Der dritte Punkt
+	 * @return Die Determinante
+	 */
+	private static long getDeterminant(long a, long b, long c) {
+		return Geometry.getDeterminant(PackedPointsCollection.unpackX(a), PackedPointsCollection.unpackY(a),
+				PackedPointsCollection.unpackX(b), PackedPointsCollection.unpackY(b),
+				PackedPointsCollection.unpackX(c), PackedPointsCollection.unpackY(c));
+	}
+	
+	/**
+	 * Erzeugt einen Punkt aus dem übergebenen {@code long}-Wert.
+	 * 
+	 * @param key Der Punkt als {@code long}-Wert
+	 * @return Der Punkt
+	 */
+	private static Point unpack(long key) {
+		return new Point(PackedPointsCollection.unpackX(key), PackedPointsCollection.unpackY(key));
+	}
+	
+	/**
+	 * Eine wachsende Liste von {@code long}-Werten.
+	 */
+	private static final class LongList {
+		
+		/** Die Werte */
+		long[] values = new long[16];
+		/** Die Anzahl der Werte */
+		int size = 0;
+		
+		/**
+		 * Hängt einen Wert an.
+		 * 
+		 * @param value Der Wert
+		 */
+		void add(long value) {
+			if(size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
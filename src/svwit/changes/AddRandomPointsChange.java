@@ -33,11 +33,13 @@ public class AddRandomPointsChange implements IChange{
 	@Override
 	public boolean execute() {
 		ArrayList<Point> newRandomPoints = new ArrayList<>();
-		for(Point p : randomPoints) {
-			if(calculatorManager.addPoint(p)) {
-				newRandomPoints.add(p);
+		calculatorManager.executeBatch(() -> {
+			for(Point p : randomPoints) {
+				if(calculatorManager.addPoint(p)) {
+					newRandomPoints.add(p);
+				}
 			}
-		}
+		});
 		randomPoints = newRandomPoints;
 		return true;
 	}
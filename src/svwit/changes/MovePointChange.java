@@ -45,8 +45,7 @@ public class MovePointChange implements IChange{
 
 	@Override
 	public boolean execute() {
-		if(calculatorManager.addPoint(destination)) {
-			calculatorManager.removePoint(origin);
+		if(calculatorManager.movePoint(origin, destination)) {
 			executed = true;
 		}
 		return true;
@@ -54,8 +53,10 @@ public class MovePointChange implements IChange{
 
 	@Override
 	public boolean unExecute() {
-		calculatorManager.removePoint(destination);
-		calculatorManager.addPoint(origin);
+		calculatorManager.executeBatch(() -> {
+			calculatorManager.removePoint(destination);
+			calculatorManager.addPoint(origin);
+		});
 		return true;
 	}
 
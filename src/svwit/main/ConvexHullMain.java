@@ -1,8 +1,12 @@
 package svwit.main;
 
+import java.util.Arrays;
+
 import svwit.GUI.GUIManager;
+import svwit.calculator.CalculationService;
 import svwit.calculator.CalculatorManager;
 
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 
@@ -20,9 +24,9 @@ public class ConvexHullMain {
 	 * Startet das Programm. 
 	 * <p>
 	 * Wenn der Parameter "-t" übergeben wird, wird das Programm ohne eine grafische Benutzeroberfläche gestartet.
-	 * In diesem Fall wird der Tester aus der Aufgabenstellung ausgeführt und eine anzahl an Tests durchgeführt.
-	 * Es kann spezifiziert werden, welcher Test ausgeführt werden soll, indem der Name des Tests nach dem Testparameter angefügt wird.
-	 * Zum Beispiel: "-t random10.test".
+	 * In diesem Fall werden die nachfolgenden Parameter an den {@code HeadlessRunner} übergeben, der die angegebenen Dateien einliest
+	 * und die Ergebnisse der Berechnungen ausgibt. AWT wird dabei nicht initialisiert.
+	 * Zum Beispiel: "-t -f json random10.points".
 	 * <p>
 	 * Wenn kein Parameter angegeben wird, wird zunächst ein Plattformübergreifendes Look and Feel geladen und anschließend das
 	 * Programm mit einer grafischen Benutzeroberfläche gestartet.
@@ -31,12 +35,11 @@ public class ConvexHullMain {
 	 */
 	public static void main(String[] args) {
 		if (args.length > 0 && "-t".equals(args[0])) {
-			// starte den Tester und danach die Ausgabe der Ergebnisse
+			// starte die Berechnung ohne GUI und danach die Ausgabe der Ergebnisse
 			
-			// IHullCalculator calculator = new CalculatorManagerAdapter();
-			// Tester tester = new Tester(args, calculator);
-			// System.out.println(tester.test());
-			// System.exit(0); //fertig
+			System.setProperty("java.awt.headless", "true");
+			HeadlessRunner runner = new HeadlessRunner();
+			System.exit(runner.run(Arrays.copyOfRange(args, 1, args.length))); //fertig
 		} else {
 			// Andernfalls starte den normalen Programmablauf mit GUI		
 			
@@ -52,12 +55,13 @@ public class ConvexHullMain {
 			} catch (UnsupportedLookAndFeelException e) {
 				e.printStackTrace();
 			}
-				
+			
 			CalculatorManager calculatorManager = new CalculatorManager();
-
+			calculatorManager.setCalculationService(new CalculationService(SwingUtilities::invokeLater));
+			
 			GUIManager guiManager = new GUIManager(calculatorManager);
 			guiManager.createGUI();
-			
+		
 		}
 	}
 }
@@ -0,0 +1,500 @@
+package svwit.main;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import svwit.calculator.Calculator;
+import svwit.calculator.CalculatorManager;
+import svwit.util.BinaryPointsFile;
+import svwit.util.CompressedPointsFile;
+import svwit.util.FileManager;
+import svwit.util.Point;
+import svwit.util.ResultCache;
+
+/**
+ * Diese Klasse führt die Berechnungen ohne grafische Benutzeroberfläche aus.
+ * <p>
+ * Es werden eine oder mehrere Dateien mit Punktmengen eingelesen und für jede Datei die konvexe Hülle,
+ * sowie der Durchmesser und das größte enthaltene Viereck und Dreieck berechnet. Die Ergebnisse werden
+ * auf der Standardausgabe oder pro Datei in ein Ausgabeverzeichnis geschrieben.
+ * Das Format einer Datei wird über ihre Endung bestimmt: Dateien mit der Endung ".bpoints" werden im Binärformat
+ * der Klasse {@code BinaryPointsFile} gelesen, Dateien mit der Endung ".points.gz" oder ".points.bgz" werden beim Lesen
+ * von der Klasse {@code CompressedPointsFile} entpackt, alle anderen Dateien im Textformat.
+ * <p>
+ * Diese Klasse verwendet keine Klassen aus AWT oder Swing, sodass für die Ausführung kein Display benötigt wird.
+ * <p>
+ * Folgende Optionen werden unterstützt:
+ * <ul>
+ * <li>{@code -p <n>}, {@code --parallelism <n>}: Anzahl der Threads für das Einlesen und die Berechnung der konvexen Hülle, Standard ist {@code 1}</li>
+ * <li>{@code --threshold <n>}: Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird</li>
+ * <li>{@code --prefilter}: Punkte im Inneren werden vor der Berechnung der konvexen Hülle aussortiert</li>
+ * <li>{@code --timings}: Die Dauer der Phasen beim Einlesen jeder Datei wird auf der Fehlerausgabe ausgegeben</li>
+ * <li>{@code --stream <n>}: Die Punkte werden in Stapeln von {@code n} Punkten verarbeitet, ohne sie zu speichern. Es wird nur die konvexe Hülle behalten,
+ * sodass auch Dateien verarbeitet werden können, die nicht in den Speicher passen. Als Anzahl der Punkte wird die Anzahl der gelesenen Punkte
+ * einschließlich doppelter Punkte ausgegeben.</li>
+ * <li>{@code --no-journal}: Die Dateien werden ohne die Änderungen aus ihrem Journal gelesen, siehe {@code PointsJournal}</li>
+ * <li>{@code --cache <verzeichnis>}: Die Ergebnisse großer Punktmengen werden in dem Verzeichnis gespeichert und beim erneuten Verarbeiten
+ * derselben Punktmenge von dort übernommen, siehe {@code ResultCache}</li>
+ * <li>{@code -f <format>}, {@code --format <format>}: Ausgabeformat {@code text}, {@code csv} oder {@code json}, Standard ist {@code text}</li>
+ * <li>{@code -o <verzeichnis>}, {@code --output <verzeichnis>}: Verzeichnis, in das für jede Datei eine Ergebnisdatei geschrieben wird</li>
+ * <li>{@code -h}, {@code --help}: Gibt die Hilfe aus</li>
+ * </ul>
+ * Im Format {@code json} wird pro Datei ein JSON-Objekt in eine eigene Zeile geschrieben.
+ * 
+ */
+public class HeadlessRunner {
+
+	/** Der Rückgabewert, wenn alle Dateien verarbeitet werden konnten */
+	public static final int EXIT_OK = 0;
+	/** Der Rückgabewert, wenn mindestens eine Datei nicht gelesen oder geschrieben werden konnte */
+	public static final int EXIT_IO_ERROR = 1;
+	/** Der Rückgabewert, wenn die übergebenen Parameter ungültig sind */
+	public static final int EXIT_USAGE_ERROR = 2;
+	
+	/** Das Ausgabeformat als lesbarer Text */
+	private static final String FORMAT_TEXT = "text";
+	/** Das Ausgabeformat als kommaseparierte Werte */
+	private static final String FORMAT_CSV = "csv";
+	/** Das Ausgabeformat als JSON */
+	private static final String FORMAT_JSON = "json";
+	
+	/** Der Stream für die Ausgabe der Ergebnisse */
+	private PrintStream out;
+	/** Der Stream für die Ausgabe von Fehlermeldungen */
+	private PrintStream err;
+	
+	/** Die Anzahl der Threads für die Berechnung der konvexen Hülle */
+	private int parallelism = 1;
+	/** Die Anzahl an Punkten, ab der die konvexe Hülle parallel berechnet wird, bei {@code -1} der Standardwert */
+	private int parallelThreshold = -1;
+	/** Gibt an, ob der Vorfilter verwendet werden soll */
+	private boolean prefilter = false;
+	/** Die Anzahl an Punkten pro Stapel bei der Berechnung ohne Speichern der Punkte, bei {@code 0} werden alle Punkte eingelesen */
+	private int streamBatchSize = 0;
+	/** Gibt an, ob die Dauer der Phasen beim Einlesen ausgegeben werden soll */
+	private boolean timings = false;
+	/** Gibt an, ob die Änderungen aus dem Journal einer Datei angewendet werden sollen */
+	private boolean journal = true;
+	/** Das Verzeichnis für die Ergebnisse großer Punktmengen, bei {@code null} werden alle Ergebnisse neu berechnet */
+	private Path cacheDirectory = null;
+	/** Das Ausgabeformat */
+	private String format = FORMAT_TEXT;
+	/** Das Ausgabeverzeichnis, bei {@code null} wird auf {@code out} geschrieben */
+	private Path outputDirectory = null;
+	/** Die Dateien, die verarbeitet werden sollen */
+	private List<String> files = new ArrayList<>();
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Ergebnisse werden auf {@code System.out} und Fehlermeldungen auf {@code System.err} ausgegeben.
+	 */
+	public HeadlessRunner() {
+		this(System.out, System.err);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param out Der Stream für die Ausgabe der Ergebnisse
+	 * @param err Der Stream für die Ausgabe von Fehlermeldungen
+	 */
+	public HeadlessRunner(PrintStream out, PrintStream err) {
+		this.out = out;
+		this.err = err;
+	}
+	
+	/**
+	 * Wertet die übergebenen Parameter aus und verarbeitet alle angegebenen Dateien.
+	 * <p>
+	 * Kann eine Datei nicht gelesen werden, wird eine Fehlermeldung ausgegeben und mit der nächsten Datei fortgefahren.
+	 * 
+	 * @param args Die Parameter ohne den Parameter "-t"
+	 * @return {@code EXIT_OK}, {@code EXIT_IO_ERROR} oder {@code EXIT_USAGE_ERROR}
+	 */
+	public int run(String[] args) {
+		try {
+			if(!parseArguments(args)) {
+				printUsage(out);
+				return EXIT_OK;
+			}
+		} catch(IllegalArgumentException e) {
+			err.println(e.getMessage());
+			printUsage(err);
+			return EXIT_USAGE_ERROR;
+		}
+		
+		CalculatorManager calculatorManager = new CalculatorManager();
+		calculatorManager.setParallelism(parallelism);
+		calculatorManager.setReadParallelism(parallelism);
+		if(parallelThreshold >= 0) {
+			calculatorManager.setParallelThreshold(parallelThreshold);
+		}
+		calculatorManager.setPrefilterEnabled(prefilter);
+		calculatorManager.setJournalEnabled(journal);
+		if(cacheDirectory != null) {
+			calculatorManager.setResultCache(new ResultCache(cacheDirectory, Calculator.ALGORITHM_VERSION));
+		}
+		
+		int exitCode = EXIT_OK;
+		for(String file : files) {
+			try {
+				long size;
+				if(streamBatchSize > 0) {
+					size = calculatorManager.calculateFromFileStreaming(file, streamBatchSize);
+				} else {
+					calculatorManager.addPointsFromFile(file);
+					size = calculatorManager.getAllPoints().size();
+					if(timings) {
+						printTimings(file, calculatorManager);
+					}
+				}
+				String result = formatResult(file, size, calculatorManager);
+				if(outputDirectory != null) {
+					Files.createDirectories(outputDirectory);
+					Path target = outputDirectory.resolve(getResultFileName(file));
+					Files.write(target, result.getBytes(StandardCharsets.UTF_8));
+				} else {
+					out.print(result);
+				}
+			} catch(IOException e) {
+				err.println("Die Datei " + file + " konnte nicht verarbeitet werden: " + e.getMessage());
+				exitCode = EXIT_IO_ERROR;
+			}
+		}
+		out.flush();
+		return exitCode;
+	}
+	
+	/**
+	 * Wertet die übergebenen Parameter aus und speichert sie in den Klassenvariablen.
+	 * 
+	 * @param args Die Parameter
+	 * @return {@code false}, wenn die Hilfe angefordert wurde, {@code true} ansonsten
+	 * @throws IllegalArgumentException Wenn ein Parameter ungültig ist oder keine Datei angegeben wurde
+	 */
+	private boolean parseArguments(String[] args) {
+		for(int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch(arg) {
+			case "-h":
+			case "--help":
+				return false;
+			case "-p":
+			case "--parallelism":
+				parallelism = parsePositiveInt(arg, getValue(args, ++i, arg));
+				break;
+			case "--threshold":
+				parallelThreshold = parsePositiveInt(arg, getValue(args, ++i, arg));
+				break;
+			case "--prefilter":
+				prefilter = true;
+				break;
+			case "--timings":
+				timings = true;
+				break;
+			case "--stream":
+				streamBatchSize = parsePositiveInt(arg, getValue(args, ++i, arg));
+				break;
+			case "--no-journal":
+				journal = false;
+				break;
+			case "--cache":
+				cacheDirectory = Paths.get(getValue(args, ++i, arg));
+				break;
+			case "-f":
+			case "--format":
+				format = getValue(args, ++i, arg);
+				if(!FORMAT_TEXT.equals(format) && !FORMAT_CSV.equals(format) && !FORMAT_JSON.equals(format)) {
+					throw new IllegalArgumentException("Unbekanntes Ausgabeformat: " + format);
+				}
+				break;
+			case "-o":
+			case "--output":
+				outputDirectory = Paths.get(getValue(args, ++i, arg));
+				break;
+			default:
+				if(arg.startsWith("-")) {
+					throw new IllegalArgumentException("Unbekannte Option: " + arg);
+				}
+				files.add(arg);
+			}
+		}
+		if(files.isEmpty()) {
+			throw new IllegalArgumentException("Es wurde keine Datei angegeben.");
+		}
+		return true;
+	}
+	
+	/**
+	 * Gibt den Wert einer Option zurück.
+	 * 
+	 * @param args Die Parameter
+	 * @param index Der Index des Wertes
+	 * @param option Die Option, zu der der Wert gehört
+	 * @return Der Wert der Option
+	 * @throws IllegalArgumentException Wenn kein Wert angegeben wurde
+	 */
+	private String getValue(String[] args, int index, String option) {
+		if(index >= args.length) {
+			throw new IllegalArgumentException("Die Option " + option + " erwartet einen Wert.");
+		}
+		return args[index];
+	}
+	
+	/**
+	 * Wandelt den Wert einer Option in eine positive Zahl um.
+	 * 
+	 * @param option Die Option, zu der der Wert gehört
+	 * @param value Der Wert der Option
+	 * @return Die Zahl
+	 * @throws IllegalArgumentException Wenn der Wert keine positive Zahl ist
+	 */
+	private int parsePositiveInt(String option, String value) {
+		try {
+			int number = Integer.parseInt(value);
+			if(number > 0) {
+				return number;
+			}
+		} catch(NumberFormatException e) {
+			// wird unten behandelt
+		}
+		throw new IllegalArgumentException("Die Option " + option + " erwartet eine positive Zahl: " + value);
+	}
+	
+	/**
+	 * Gibt den Namen der Ergebnisdatei für die übergebene Datei zurück.
+	 * <p>
+	 * Die Endung der Punktmenge wird dabei durch die Endung des Ausgabeformats ersetzt.
+	 * 
+	 * @param file Die verarbeitete Datei
+	 * @return Name der Ergebnisdatei
+	 */
+	private String getResultFileName(String file) {
+		String name = Paths.get(file).getFileName().toString();
+		if(name.endsWith(".points")) {
+			name = name.substring(0, name.length() - ".points".length());
+		} else if(BinaryPointsFile.hasExtension(name)) {
+			name = name.substring(0, name.length() - BinaryPointsFile.EXTENSION.length() - 1);
+		} else if(CompressedPointsFile.hasBlockExtension(name)) {
+			name = name.substring(0, name.length() - CompressedPointsFile.BLOCK_EXTENSION.length() - 1);
+		} else if(CompressedPointsFile.hasExtension(name)) {
+			name = name.substring(0, name.length() - CompressedPointsFile.GZIP_EXTENSION.length() - 1);
+		}
+		return name + "." + (FORMAT_TEXT.equals(format) ? "txt" : format);
+	}
+	
+	/**
+	 * Formatiert die Ergebnisse einer Datei in dem gewählten Ausgabeformat.
+	 * 
+	 * @param file Die verarbeitete Datei
+	 * @param size Die Anzahl der Punkte der Datei
+	 * @param calculatorManager Der {@code CalculatorManager} mit den Ergebnissen
+	 * @return Die formatierten Ergebnisse
+	 */
+	private String formatResult(String file, long size, CalculatorManager calculatorManager) {
+		Point[] hull = calculatorManager.getconvexHull().toArray(new Point[0]);
+		Point[] diameter = calculatorManager.getDiameter().getDiameterPoints();
+		Point[] quadrangle = calculatorManager.getQuadrangle().getQuadranglePoints();
+		Point[] triangle = calculatorManager.getTriangle().getTrianglePoints();
+		double diameterLength = hull.length > 0 ? calculatorManager.getDiameter().getDiameterLength() : 0;
+		double quadrangleArea = hull.length > 2 ? calculatorManager.getQuadrangle().getQuadrangleArea() : 0;
+		double triangleArea = hull.length > 2 ? calculatorManager.getTriangle().getTriangleArea() : 0;
+		
+		StringBuilder sb = new StringBuilder();
+		if(FORMAT_JSON.equals(format)) {
+			sb.append("{\"file\":\"").append(escapeJson(file)).append("\",\"points\":").append(size);
+			sb.append(",\"hull\":");
+			appendJsonPoints(sb, hull);
+			sb.append(",\"diameter\":{\"length\":").append(diameterLength).append(",\"points\":");
+			appendJsonPoints(sb, diameter);
+			sb.append("},\"quadrangle\":{\"area\":").append(quadrangleArea).append(",\"points\":");
+			appendJsonPoints(sb, quadrangle);
+			sb.append("},\"triangle\":{\"area\":").append(triangleArea).append(",\"points\":");
+			appendJsonPoints(sb, triangle);
+			sb.append("}}\n");
+		} else if(FORMAT_CSV.equals(format)) {
+			String name = escapeCsv(file);
+			sb.append(name).append(",points,").append(size).append(",\n");
+			appendCsvRow(sb, name, "hull", String.valueOf(countPoints(hull)), hull);
+			appendCsvRow(sb, name, "diameter", String.valueOf(diameterLength), diameter);
+			appendCsvRow(sb, name, "quadrangle", String.valueOf(quadrangleArea), quadrangle);
+			appendCsvRow(sb, name, "triangle", String.valueOf(triangleArea), triangle);
+		} else {
+			sb.append("Datei: ").append(file).append('\n');
+			sb.append("Punkte: ").append(size).append('\n');
+			sb.append("Konvexe Hülle (").append(countPoints(hull)).append("): ");
+			appendTextPoints(sb, hull);
+			sb.append("\nDurchmesser: ").append(diameterLength).append(' ');
+			appendTextPoints(sb, diameter);
+			sb.append("\nViereck: ").append(quadrangleArea).append(' ');
+			appendTextPoints(sb, quadrangle);
+			sb.append("\nDreieck: ").append(triangleArea).append(' ');
+			appendTextPoints(sb, triangle);
+			sb.append("\n\n");
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Gibt die Anzahl der gesetzten Punkte zurück.
+	 * 
+	 * @param points Die Punkte, von denen einzelne {@code null} sein können
+	 * @return Anzahl der Punkte, die nicht {@code null} sind
+	 */
+	private int countPoints(Point[] points) {
+		int count = 0;
+		for(Point p : points) {
+			if(p != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Hängt die Punkte im Textformat an. Punkte, die {@code null} sind, werden übersprungen.
+	 * 
+	 * @param sb Der {@code StringBuilder}, an den angehängt wird
+	 * @param points Die Punkte
+	 */
+	private void appendTextPoints(StringBuilder sb, Point[] points) {
+		boolean first = true;
+		for(Point p : points) {
+			if(p != null) {
+				if(!first) {
+					sb.append(' ');
+				}
+				sb.append('(').append(p.getX()).append(", ").append(p.getY()).append(')');
+				first = false;
+			}
+		}
+	}
+	
+	/**
+	 * Hängt eine Zeile im CSV-Format an. Die Punkte werden als "x y" getrennt durch ";" in einer Spalte ausgegeben.
+	 * 
+	 * @param sb Der {@code StringBuilder}, an den angehängt wird
+	 * @param file Der bereits maskierte Name der Datei
+	 * @param shape Der Name der Form
+	 * @param value Der Wert der Form
+	 * @param points Die Punkte der Form
+	 */
+	private void appendCsvRow(StringBuilder sb, String file, String shape, String value, Point[] points) {
+		sb.append(file).append(',').append(shape).append(',').append(value).append(',');
+		boolean first = true;
+		for(Point p : points) {
+			if(p != null) {
+				if(!first) {
+					sb.append(';');
+				}
+				sb.append(p.getX()).append(' ').append(p.getY());
+				first = false;
+			}
+		}
+		sb.append('\n');
+	}
+	
+	/**
+	 * Hängt die Punkte als JSON-Array von Koordinatenpaaren an. Punkte, die {@code null} sind, werden übersprungen.
+	 * 
+	 * @param sb Der {@code StringBuilder}, an den angehängt wird
+	 * @param points Die Punkte
+	 */
+	private void appendJsonPoints(StringBuilder sb, Point[] points) {
+		sb.append('[');
+		boolean first = true;
+		for(Point p : points) {
+			if(p != null) {
+				if(!first) {
+					sb.append(',');
+				}
+				sb.append('[').append(p.getX()).append(',').append(p.getY()).append(']');
+				first = false;
+			}
+		}
+		sb.append(']');
+	}
+	
+	/**
+	 * Maskiert eine Zeichenkette für die Verwendung in JSON.
+	 * 
+	 * @param value Die Zeichenkette
+	 * @return Die maskierte Zeichenkette ohne Anführungszeichen
+	 */
+	private String escapeJson(String value) {
+		StringBuilder sb = new StringBuilder();
+		for(char c : value.toCharArray()) {
+			if(c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if(c < 0x20) {
+				sb.append(String.format("\\u%04x", (int)c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Maskiert eine Zeichenkette für die Verwendung in einer CSV-Spalte.
+	 * 
+	 * @param value Die Zeichenkette
+	 * @return Die Zeichenkette, bei Bedarf in Anführungszeichen
+	 */
+	private String escapeCsv(String value) {
+		if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+	
+	/**
+	 * Gibt die Dauer der Phasen des letzten Einlesens auf der Fehlerausgabe aus.
+	 * 
+	 * @param file Die eingelesene Datei
+	 * @param calculatorManager Der {@code CalculatorManager}, der die Datei eingelesen hat
+	 */
+	private void printTimings(String file, CalculatorManager calculatorManager) {
+		err.println("Einlesen von " + file + ": map " + toMillis(calculatorManager.getReadPhaseTime(FileManager.PHASE_MAP))
+				+ " ms, parse " + toMillis(calculatorManager.getReadPhaseTime(FileManager.PHASE_PARSE))
+				+ " ms, sort " + toMillis(calculatorManager.getReadPhaseTime(FileManager.PHASE_SORT))
+				+ " ms, merge " + toMillis(calculatorManager.getReadPhaseTime(FileManager.PHASE_MERGE)) + " ms");
+	}
+	
+	/**
+	 * Wandelt eine Dauer in Nanosekunden in Millisekunden um.
+	 * 
+	 * @param nanos Die Dauer in Nanosekunden
+	 * @return Die Dauer in Millisekunden
+	 */
+	private static long toMillis(long nanos) {
+		return nanos / 1000000;
+	}
+	
+	/**
+	 * Gibt die Hilfe zu den Parametern aus.
+	 * 
+	 * @param stream Der Stream, auf den die Hilfe ausgegeben wird
+	 */
+	private void printUsage(PrintStream stream) {
+		stream.println("Aufruf: -t [Optionen] Datei...");
+		stream.println("  -p, --parallelism <n>   Anzahl der Threads für das Einlesen und die Berechnung (Standard 1)");
+		stream.println("      --threshold <n>     Anzahl an Punkten, ab der parallel berechnet wird");
+		stream.println("      --prefilter         Punkte im Inneren vor der Berechnung aussortieren");
+		stream.println("      --timings           Dauer der Phasen beim Einlesen ausgeben");
+		stream.println("      --stream <n>        Punkte in Stapeln von n Punkten verarbeiten, ohne sie zu speichern");
+		stream.println("      --no-journal        Dateien ohne die Änderungen aus ihrem Journal lesen");
+		stream.println("      --cache <pfad>      Ergebnisse großer Punktmengen in dem Verzeichnis ablegen und wiederverwenden");
+		stream.println("  -f, --format <format>   Ausgabeformat: text, csv oder json (Standard text)");
+		stream.println("  -o, --output <pfad>     Verzeichnis, in das pro Datei eine Ergebnisdatei geschrieben wird");
+		stream.println("  -h, --help              Diese Hilfe ausgeben");
+	}
+
+}
@@ -0,0 +1,354 @@
+package svwit.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SortedSet;
+
+/**
+ * Diese Klasse liest und schreibt Punktmengen in einem kompakten, versionierten Binärformat.
+ * <p>
+ * Alle Werte werden in der Byte-Reihenfolge Little-Endian gespeichert. Die Datei beginnt mit einem Kopf von {@code HEADER_SIZE} Bytes:
+ * <ul>
+ * <li>4 Bytes: Die Kennung {@code MAGIC}, entspricht den Zeichen "PNTS"</li>
+ * <li>2 Bytes: Die Version des Formats, aktuell {@code VERSION}</li>
+ * <li>2 Bytes: Flags, aktuell nur {@code FLAG_DELTA_ENCODED}</li>
+ * <li>8 Bytes: Die Anzahl der Punkte</li>
+ * <li>16 Bytes: Das umgebende Rechteck als kleinste X-Koordinate, kleinste Y-Koordinate, größte X-Koordinate und größte Y-Koordinate</li>
+ * </ul>
+ * Danach folgen die Punkte lexikographisch sortiert und ohne doppelte Punkte. Ohne das Flag {@code FLAG_DELTA_ENCODED}
+ * wird jeder Punkt als zwei {@code int}-Werte gespeichert. Mit dem Flag wird jeder Punkt als Differenz zum vorherigen Punkt gespeichert,
+ * beginnend bei der linken unteren Ecke des umgebenden Rechtecks: zuerst die Differenz der X-Koordinaten, die wegen der Sortierung
+ * nie negativ ist, und danach die ZigZag-kodierte Differenz der Y-Koordinaten, jeweils als Varint mit 7 Bit pro Byte.
+ * Bei dichten Punktmengen benötigt ein Punkt so meist nur zwei bis vier Bytes.
+ * <p>
+ * Da die Punkte bereits sortiert gespeichert sind, entfällt beim Einlesen das Sortieren. Ist eine Datei dennoch nicht sortiert,
+ * wird dies beim Einlesen erkannt und die Punkte werden nachträglich sortiert.
+ * 
+ */
+public final class BinaryPointsFile {
+
+	/** Die Dateiendung des Binärformats */
+	public static final String EXTENSION = "bpoints";
+	/** Die Kennung am Anfang jeder Datei, entspricht den Zeichen "PNTS" in Little-Endian */
+	public static final int MAGIC = 0x53544E50;
+	/** Die aktuelle Version des Formats */
+	public static final short VERSION = 1;
+	/** Das Flag für Punkte, die als Differenzen zum vorherigen Punkt gespeichert sind */
+	public static final short FLAG_DELTA_ENCODED = 1;
+	/** Die Größe des Kopfes in Bytes */
+	public static final int HEADER_SIZE = 32;
+	
+	/** Die Größe des Puffers, über den die Datei gelesen und geschrieben wird */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Die maximale Länge eines Varint in Bytes */
+	private static final int MAX_VARINT_SIZE = 10;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Klasse enthält nur statische Methoden und wird nicht instanziiert.
+	 */
+	private BinaryPointsFile() {
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Pfad die Dateiendung des Binärformats besitzt.
+	 * 
+	 * @param path Der Pfad
+	 * @return {@code true}, wenn der Pfad auf ".bpoints" endet, {@code false} ansonsten
+	 */
+	public static boolean hasExtension(String path) {
+		return path.endsWith("." + EXTENSION);
+	}
+	
+	/**
+	 * Schreibt die übergebenen Punkte in die Datei an dem übergebenen Pfad.
+	 * <p>
+	 * Die Punkte müssen nach der natürlichen Ordnung sortiert sein, wie es bei einer {@code PointsCollection} der Fall ist.
+	 * 
+	 * @param path Pfad, an dem die Datei erzeugt beziehungsweise überschrieben wird
+	 * @param points Die Punkte
+	 * @param deltaEncoded Gibt an, ob die Punkte als Differenzen gespeichert werden sollen
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht erzeugt oder beschrieben werden kann.
+	 */
+	public static void write(Path path, SortedSet<Point> points, boolean deltaEncoded) throws IOException {
+		if(points.comparator() != null) {
+			throw new IllegalArgumentException("Die Punkte müssen nach ihrer natürlichen Ordnung sortiert sein");
+		}
+		int minX = 0;
+		int minY = 0;
+		int maxX = 0;
+		int maxY = 0;
+		if(!points.isEmpty()) {
+			minX = points.first().getX();
+			maxX = points.last().getX();
+			minY = Integer.MAX_VALUE;
+			maxY = Integer.MIN_VALUE;
+			for(Point p : points) {
+				minY = Math.min(minY, p.getY());
+				maxY = Math.max(maxY, p.getY());
+			}
+		}
+		
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC);
+			buffer.putShort(VERSION);
+			buffer.putShort(deltaEncoded ? FLAG_DELTA_ENCODED : 0);
+			buffer.putLong(points.size());
+			buffer.putInt(minX);
+			buffer.putInt(minY);
+			buffer.putInt(maxX);
+			buffer.putInt(maxY);
+			
+			long previousX = minX;
+			long previousY = minY;
+			for(Point p : points) {
+				if(buffer.remaining() < 2 * MAX_VARINT_SIZE) {
+					flush(channel, buffer);
+				}
+				if(deltaEncoded) {
+					putVarint(buffer, p.getX() - previousX);
+					long deltaY = p.getY() - previousY;
+					putVarint(buffer, (deltaY << 1) ^ (deltaY >> 63));
+					previousX = p.getX();
+					previousY = p.getY();
+				} else {
+					buffer.putInt(p.getX());
+					buffer.putInt(p.getY());
+				}
+			}
+			flush(channel, buffer);
+		}
+	}
+	
+	/**
+	 * Liest die Punkte aus der Datei an dem übergebenen Pfad.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @return Die lexikographisch sortierten Punkte ohne doppelte Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert, nicht gelesen werden kann oder kein gültiges Binärformat enthält.
+	 */
+	public static PackedPointsCollection read(Path path) throws IOException {
+		KeyCollector collector = new KeyCollector();
+		read(path, collector);
+		return collector.toPointsCollection();
+	}
+	
+	/**
+	 * Liest die Punkte aus der Datei an dem übergebenen Pfad und übergibt sie nacheinander an den übergebenen Empfänger.
+	 * <p>
+	 * Die Punkte werden dabei nicht gespeichert, sodass auch Dateien mit mehr Punkten gelesen werden können, als in den Speicher passen.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @param consumer Der Empfänger der Punkte
+	 * @return Die Anzahl der gelesenen Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert, nicht gelesen werden kann oder kein gültiges Binärformat enthält.
+	 */
+	public static long read(Path path, IPointConsumer consumer) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.flip();
+			fill(channel, buffer, HEADER_SIZE);
+			if(buffer.getInt() != MAGIC) {
+				throw new IOException("Die Datei " + path + " ist keine binäre Punktdatei");
+			}
+			short version = buffer.getShort();
+			if(version < 1 || version > VERSION) {
+				throw new IOException("Die Version " + version + " des Binärformats wird nicht unterstützt");
+			}
+			short flags = buffer.getShort();
+			if((flags & ~FLAG_DELTA_ENCODED) != 0) {
+				throw new IOException("Unbekannte Flags im Binärformat: " + flags);
+			}
+			long count = buffer.getLong();
+			int minX = buffer.getInt();
+			int minY = buffer.getInt();
+			int maxX = buffer.getInt();
+			int maxY = buffer.getInt();
+			boolean deltaEncoded = (flags & FLAG_DELTA_ENCODED) != 0;
+			if(count < 0 || count > (channel.size() - HEADER_SIZE) / (deltaEncoded ? 2 : 8)) {
+				throw new EOFException("Die Datei ist zu kurz für " + count + " Punkte");
+			}
+			if(consumer instanceof KeyCollector) {
+				((KeyCollector)consumer).allocate(count);
+			}
+			
+			long previousX = minX;
+			long previousY = minY;
+			for(long i = 0; i < count; i++) {
+				long x;
+				long y;
+				if(deltaEncoded) {
+					if(buffer.remaining() < 2 * MAX_VARINT_SIZE) {
+						refill(channel, buffer);
+					}
+					x = previousX + getVarint(buffer);
+					long zigZag = getVarint(buffer);
+					y = previousY + ((zigZag >>> 1) ^ -(zigZag & 1));
+					previousX = x;
+					previousY = y;
+				} else {
+					fill(channel, buffer, 8);
+					x = buffer.getInt();
+					y = buffer.getInt();
+				}
+				if(x < minX || x > maxX || y < minY || y > maxY) {
+					throw new IOException("Der Punkt (" + x + ", " + y + ") liegt außerhalb des umgebenden Rechtecks");
+				}
+				consumer.accept((int)x, (int)y);
+			}
+			return count;
+		}
+	}
+	
+	/**
+	 * Schreibt einen vorzeichenlosen Wert als Varint mit 7 Bit pro Byte in den Puffer.
+	 * 
+	 * @param buffer Der Puffer
+	 * @param value Der Wert
+	 */
+	private static void putVarint(ByteBuffer buffer, long value) {
+		while((value & ~0x7FL) != 0) {
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+	
+	/**
+	 * Liest einen vorzeichenlosen Varint mit 7 Bit pro Byte aus dem Puffer.
+	 * 
+	 * @param buffer Der Puffer
+	 * @return Der Wert
+	 * @throws IOException Wirft eine Exception, falls der Varint zu lang ist.
+	 */
+	private static long getVarint(ByteBuffer buffer) throws IOException {
+		long value = 0;
+		for(int shift = 0; shift < 7 * MAX_VARINT_SIZE; shift += 7) {
+			if(!buffer.hasRemaining()) {
+				throw new EOFException("Die Datei endet innerhalb eines Punktes");
+			}
+			byte b = buffer.get();
+			value |= (long)(b & 0x7F) << shift;
+			if(b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Ungültiger Varint im Binärformat");
+	}
+	
+	/**
+	 * Schreibt den Inhalt des Puffers in die Datei und leert den Puffer.
+	 * 
+	 * @param channel Die Datei
+	 * @param buffer Der Puffer
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Füllt den Puffer mit den nächsten Bytes der Datei, bis er voll ist oder die Datei endet.
+	 * <p>
+	 * Der Puffer befindet sich vor und nach dem Aufruf im Lesemodus.
+	 * 
+	 * @param channel Die Datei
+	 * @param buffer Der Puffer
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	private static void refill(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.compact();
+		while(buffer.hasRemaining()) {
+			if(channel.read(buffer) < 0) {
+				break;
+			}
+		}
+		buffer.flip();
+	}
+	
+	/**
+	 * Liest so lange aus der Datei in den Puffer, bis mindestens die übergebene Anzahl an Bytes im Puffer bereitsteht.
+	 * <p>
+	 * Der Puffer befindet sich vor und nach dem Aufruf im Lesemodus.
+	 * 
+	 * @param channel Die Datei
+	 * @param buffer Der Puffer
+	 * @param bytes Die Anzahl an Bytes, die mindestens bereitstehen sollen
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann oder vorher endet.
+	 */
+	private static void fill(FileChannel channel, ByteBuffer buffer, long bytes) throws IOException {
+		if(buffer.remaining() >= bytes) {
+			return;
+		}
+		buffer.compact();
+		while(buffer.position() < bytes) {
+			if(channel.read(buffer) < 0) {
+				buffer.flip();
+				throw new EOFException("Die Datei endet vorzeitig");
+			}
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Diese Klasse sammelt die gelesenen Punkte in einem Array und prüft dabei, ob sie sortiert sind.
+	 */
+	private static class KeyCollector implements IPointConsumer {
+		
+		/** Die gelesenen Punkte als {@code long}-Werte */
+		private long[] keys = new long[0];
+		/** Die Anzahl der gelesenen Punkte */
+		private int size = 0;
+		/** Gibt an, ob die Punkte bisher streng aufsteigend sortiert sind */
+		private boolean sorted = true;
+		
+		/**
+		 * Legt das Array für die übergebene Anzahl an Punkten an.
+		 * 
+		 * @param count Die Anzahl der Punkte aus dem Kopf der Datei
+		 * @throws IOException Wirft eine Exception, falls die Punkte nicht in ein Array passen.
+		 */
+		private void allocate(long count) throws IOException {
+			if(count > Integer.MAX_VALUE - 8) {
+				throw new IOException("Zu viele Punkte für eine Punktmenge: " + count);
+			}
+			keys = new long[(int)count];
+		}
+		
+		@Override
+		public void accept(int x, int y) {
+			long key = PackedPointsCollection.pack(x, y);
+			if(size > 0 && keys[size - 1] >= key) {
+				sorted = false;
+			}
+			keys[size++] = key;
+		}
+		
+		/**
+		 * Gibt die gesammelten Punkte als Punktmenge zurück. Waren die Punkte nicht sortiert, werden sie hier sortiert.
+		 * 
+		 * @return Die Punktmenge
+		 */
+		private PackedPointsCollection toPointsCollection() {
+			if(!sorted) {
+				PackedPointsCollection points = new PackedPointsCollection();
+				points.addAll(keys, size);
+				return points;
+			}
+			return PackedPointsCollection.wrapSorted(keys, size);
+		}
+	
+	}
+
+}
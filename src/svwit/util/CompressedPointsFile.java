@@ -0,0 +1,404 @@
+package svwit.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Diese Klasse liest und schreibt Punktmengen im Textformat, die mit gzip komprimiert sind.
+ * <p>
+ * Es werden zwei Varianten unterstützt, die beide von jedem gzip-Programm gelesen werden können:
+ * <ul>
+ * <li>Dateien mit der Endung ".points.gz" werden als ein einziger gzip-Datenstrom geschrieben.</li>
+ * <li>Dateien mit der Endung ".points.bgz" werden in Blöcken geschrieben. Jeder Block ist ein eigenständiger gzip-Datenstrom mit
+ * höchstens {@code BLOCK_SIZE} Bytes unkomprimierten Daten, der nur vollständige Zeilen enthält. Im Kopf jedes Blocks ist im
+ * Zusatzfeld "PB" die Länge des komprimierten Blocks in Bytes gespeichert. Die Blöcke können so mit {@code findBlocks} gefunden werden,
+ * ohne die Datei zu entpacken, und unabhängig voneinander von mehreren Threads entpackt werden.</li>
+ * </ul>
+ * Beim Lesen werden die entpackten Daten direkt an den {@code PointsFileParser} übergeben, ohne sie zwischenzuspeichern.
+ * Es wird also weder eine entpackte Datei auf dem Datenträger angelegt noch die ganze Datei im Speicher entpackt.
+ * 
+ * @see PointsFileParser
+ * @see PointsFileWriter
+ */
+public final class CompressedPointsFile {
+
+	/** Die Dateiendung einer mit gzip komprimierten Datei */
+	public static final String GZIP_EXTENSION = "points.gz";
+	/** Die Dateiendung einer in Blöcken mit gzip komprimierten Datei */
+	public static final String BLOCK_EXTENSION = "points.bgz";
+	/** Die maximale Anzahl unkomprimierter Bytes pro Block */
+	public static final int BLOCK_SIZE = 1 << 18;
+	
+	/** Die Größe des Puffers, über den die Datei gelesen wird */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Die Größe des Kopfes eines Blocks in Bytes, einschließlich des Zusatzfeldes */
+	private static final int BLOCK_HEADER_SIZE = 20;
+	/** Die Größe des Endes eines Blocks in Bytes: die Prüfsumme und die Anzahl unkomprimierter Bytes */
+	private static final int BLOCK_TRAILER_SIZE = 8;
+	/** Das Flag im Kopf eines gzip-Datenstroms, das ein Zusatzfeld ankündigt */
+	private static final int FLAG_EXTRA = 4;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Klasse enthält nur statische Methoden und wird nicht instanziiert.
+	 */
+	private CompressedPointsFile() {
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Pfad die Dateiendung einer komprimierten Datei besitzt.
+	 * 
+	 * @param path Der Pfad
+	 * @return {@code true}, wenn der Pfad auf ".points.gz" oder ".points.bgz" endet, {@code false} ansonsten
+	 */
+	public static boolean hasExtension(String path) {
+		return path.endsWith("." + GZIP_EXTENSION) || hasBlockExtension(path);
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Pfad die Dateiendung einer in Blöcken komprimierten Datei besitzt.
+	 * 
+	 * @param path Der Pfad
+	 * @return {@code true}, wenn der Pfad auf ".points.bgz" endet, {@code false} ansonsten
+	 */
+	public static boolean hasBlockExtension(String path) {
+		return path.endsWith("." + BLOCK_EXTENSION);
+	}
+	
+	/**
+	 * Schreibt die übergebenen Punkte komprimiert im Textformat in die Datei an dem übergebenen Pfad.
+	 * 
+	 * @param path Pfad, an dem die Datei erzeugt beziehungsweise überschrieben wird
+	 * @param points Die Punkte
+	 * @param blocks Gibt an, ob die Punkte in Blöcken komprimiert werden sollen
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht erzeugt oder beschrieben werden kann.
+	 */
+	public static void write(Path path, Iterable<Point> points, boolean blocks) throws IOException {
+		FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		WritableByteChannel channel;
+		int bufferSize;
+		try {
+			if(blocks) {
+				channel = new BlockChannel(file);
+				bufferSize = BLOCK_SIZE;
+			} else {
+				channel = Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_SIZE));
+				bufferSize = BUFFER_SIZE;
+			}
+		} catch(IOException | RuntimeException e) {
+			file.close();
+			throw e;
+		}
+		try(PointsFileWriter writer = new PointsFileWriter(channel, bufferSize)) {
+			writer.writeAll(points);
+		}
+	}
+	
+	/**
+	 * Liest die Punkte aus der komprimierten Datei an dem übergebenen Pfad und übergibt sie nacheinander an den übergebenen Empfänger.
+	 * <p>
+	 * Es können beide Varianten gelesen werden. Die Datei wird dabei mit einem Thread entpackt.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @param consumer Der Empfänger der Punkte
+	 * @return Die Anzahl der übergebenen Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert, gelesen werden kann oder nicht mit gzip komprimiert ist.
+	 */
+	public static long read(Path path, IPointConsumer consumer) throws IOException {
+		PointsFileParser parser = new PointsFileParser(consumer);
+		try(InputStream in = new GZIPInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+			byte[] bytes = new byte[BUFFER_SIZE];
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			int read;
+			while((read = in.read(bytes)) >= 0) {
+				buffer.clear();
+				buffer.limit(read);
+				parser.feed(buffer);
+			}
+		}
+		parser.finish();
+		return parser.getPoints();
+	}
+	
+	/**
+	 * Sucht die Blöcke einer in Blöcken komprimierten Datei.
+	 * <p>
+	 * Es werden nur die Köpfe der Blöcke gelesen. Besitzt ein Block nicht das Zusatzfeld mit seiner Länge, handelt es sich um
+	 * eine gewöhnliche gzip-Datei und es wird {@code null} zurückgegeben.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @return Die Positionen der Blöcke, gefolgt von der Größe der Datei, oder {@code null}, falls die Datei nicht in Blöcken komprimiert ist
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann oder ein Block über das Ende der Datei hinausgeht.
+	 */
+	public static long[] findBlocks(FileChannel channel) throws IOException {
+		long size = channel.size();
+		ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		long[] positions = new long[16];
+		int count = 0;
+		long position = 0;
+		while(position < size) {
+			if(size - position < BLOCK_HEADER_SIZE + BLOCK_TRAILER_SIZE) {
+				return null;
+			}
+			header.clear();
+			readFully(channel, header, position);
+			int length = getBlockLength(header);
+			if(length < 0) {
+				return null;
+			}
+			if(length < BLOCK_HEADER_SIZE + BLOCK_TRAILER_SIZE || length > size - position) {
+				throw new IOException("Ungültige Länge des Blocks an Position " + position + ": " + length);
+			}
+			if(count == positions.length - 1) {
+				positions = Arrays.copyOf(positions, positions.length * 2);
+			}
+			positions[count++] = position;
+			position += length;
+		}
+		if(count == 0) {
+			return null;
+		}
+		positions[count++] = size;
+		return Arrays.copyOf(positions, count);
+	}
+	
+	/**
+	 * Entpackt die Blöcke einer in Blöcken komprimierten Datei zwischen den übergebenen Positionen
+	 * und übergibt die gelesenen Punkte nacheinander an den übergebenen Empfänger.
+	 * <p>
+	 * Die Positionen müssen von {@code findBlocks} stammen. Da jeder Block nur vollständige Zeilen enthält, können mehrere Threads
+	 * verschiedene Bereiche derselben Datei gleichzeitig lesen. Die Prüfsumme jedes Blocks wird dabei überprüft.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @param from Die Position des ersten Blocks (eingeschlossen)
+	 * @param to Die Position nach dem letzten Block (ausgeschlossen)
+	 * @param consumer Der Empfänger der Punkte
+	 * @return Die Anzahl der übergebenen Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann oder ein Block beschädigt ist.
+	 */
+	public static long readBlocks(FileChannel channel, long from, long to, IPointConsumer consumer) throws IOException {
+		PointsFileParser parser = new PointsFileParser(consumer);
+		Inflater inflater = new Inflater(true);
+		CRC32 crc = new CRC32();
+		ByteBuffer input = ByteBuffer.allocate(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] output = new byte[BLOCK_SIZE];
+		try {
+			long position = from;
+			while(position < to) {
+				input.clear();
+				input.limit(BLOCK_HEADER_SIZE);
+				readFully(channel, input, position);
+				int length = getBlockLength(input);
+				if(length < BLOCK_HEADER_SIZE + BLOCK_TRAILER_SIZE || length > to - position) {
+					throw new IOException("Ungültiger Block an Position " + position);
+				}
+				if(input.capacity() < length) {
+					input = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+				}
+				input.clear();
+				input.limit(length);
+				readFully(channel, input, position);
+				int expectedCrc = input.getInt(length - BLOCK_TRAILER_SIZE);
+				int expectedSize = input.getInt(length - 4);
+				if(expectedSize < 0) {
+					throw new IOException("Ungültige Größe des Blocks an Position " + position + ": " + expectedSize);
+				}
+				if(output.length <= expectedSize) {
+					output = new byte[expectedSize + 1];
+				}
+				
+				inflater.reset();
+				inflater.setInput(input.array(), BLOCK_HEADER_SIZE, length - BLOCK_HEADER_SIZE - BLOCK_TRAILER_SIZE);
+				int inflated = 0;
+				try {
+					// das Array ist größer als erwartet, damit zu viele Bytes erkannt werden
+					while(!inflater.finished() && inflated <= expectedSize) {
+						int n = inflater.inflate(output, inflated, output.length - inflated);
+						if(n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+							break;
+						}
+						inflated += n;
+					}
+				} catch(DataFormatException e) {
+					throw new IOException("Beschädigter Block an Position " + position, e);
+				}
+				crc.reset();
+				crc.update(output, 0, inflated);
+				if(!inflater.finished() || inflated != expectedSize || (int)crc.getValue() != expectedCrc) {
+					throw new IOException("Beschädigter Block an Position " + position);
+				}
+				
+				parser.feed(ByteBuffer.wrap(output, 0, inflated));
+				position += length;
+			}
+		} finally {
+			inflater.end();
+		}
+		parser.finish();
+		return parser.getPoints();
+	}
+	
+	/**
+	 * Liest die Länge eines Blocks aus dem Zusatzfeld seines Kopfes.
+	 * 
+	 * @param header Die ersten {@code BLOCK_HEADER_SIZE} Bytes des Blocks
+	 * @return Die Länge des Blocks in Bytes oder {@code -1}, falls der Kopf nicht das Zusatzfeld eines Blocks enthält
+	 * @throws IOException Wirft eine Exception, falls die Bytes nicht mit einem gzip-Kopf beginnen.
+	 */
+	private static int getBlockLength(ByteBuffer header) throws IOException {
+		if((header.get(0) & 0xFF) != 0x1F || (header.get(1) & 0xFF) != 0x8B || header.get(2) != Deflater.DEFLATED) {
+			throw new IOException("Keine gzip-Datei");
+		}
+		if((header.get(3) & FLAG_EXTRA) == 0 || header.getShort(10) < 8
+				|| header.get(12) != 'P' || header.get(13) != 'B' || header.getShort(14) != 4) {
+			return -1;
+		}
+		return header.getInt(16);
+	}
+	
+	/**
+	 * Liest ab der übergebenen Position der Datei, bis der {@code ByteBuffer} voll ist.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @param buffer Der {@code ByteBuffer}
+	 * @param position Die Position in der Datei
+	 * @throws IOException Wirft eine Exception, falls die Datei vorher endet oder nicht gelesen werden kann.
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while(buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if(read < 0) {
+				throw new EOFException("Unerwartetes Ende der Datei");
+			}
+			position += read;
+		}
+	}
+	
+	/**
+	 * Diese Klasse komprimiert jeden übergebenen Puffer als eigenen Block und schreibt diesen in eine Datei.
+	 * <p>
+	 * Der {@code PointsFileWriter} übergibt nur vollständige Zeilen, sodass jeder Block nur vollständige Zeilen enthält.
+	 * Wird kein Block geschrieben, wird beim Schließen ein leerer Block geschrieben, damit die Datei eine gültige gzip-Datei ist.
+	 */
+	private static class BlockChannel implements WritableByteChannel {
+		
+		/** Die Datei, in die geschrieben wird */
+		private final FileChannel file;
+		/** Der {@code Deflater}, der für jeden Block zurückgesetzt wird */
+		private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		/** Die Prüfsumme der unkomprimierten Daten eines Blocks */
+		private final CRC32 crc = new CRC32();
+		/** Die unkomprimierten Daten eines Blocks */
+		private byte[] input = new byte[BLOCK_SIZE];
+		/** Der komprimierte Block, einschließlich Kopf und Ende */
+		private ByteBuffer output = ByteBuffer.allocate(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		/** Die Anzahl der geschriebenen Blöcke */
+		private long blocks = 0;
+		/** Gibt an, ob der Kanal geöffnet ist */
+		private boolean open = true;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param file Die Datei, in die geschrieben wird
+		 */
+		private BlockChannel(FileChannel file) {
+			this.file = file;
+		}
+		
+		@Override
+		public int write(ByteBuffer src) throws IOException {
+			if(!open) {
+				throw new ClosedChannelException();
+			}
+			int length = src.remaining();
+			if(length > BLOCK_SIZE) {
+				throw new IOException("Zu viele Bytes für einen Block: " + length);
+			}
+			src.get(input, 0, length);
+			writeBlock(length);
+			return length;
+		}
+		
+		/**
+		 * Komprimiert die übergebene Anzahl an Bytes aus {@code input} und schreibt sie als einen Block in die Datei.
+		 * 
+		 * @param length Die Anzahl der unkomprimierten Bytes
+		 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+		 */
+		private void writeBlock(int length) throws IOException {
+			deflater.reset();
+			deflater.setInput(input, 0, length);
+			deflater.finish();
+			int compressed = 0;
+			byte[] bytes = output.array();
+			while(!deflater.finished()) {
+				if(BLOCK_HEADER_SIZE + compressed == bytes.length - BLOCK_TRAILER_SIZE) {
+					output = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length * 2)).order(ByteOrder.LITTLE_ENDIAN);
+					bytes = output.array();
+				}
+				compressed += deflater.deflate(bytes, BLOCK_HEADER_SIZE + compressed, bytes.length - BLOCK_TRAILER_SIZE - BLOCK_HEADER_SIZE - compressed);
+			}
+			crc.reset();
+			crc.update(input, 0, length);
+			
+			int blockLength = BLOCK_HEADER_SIZE + compressed + BLOCK_TRAILER_SIZE;
+			output.clear();
+			output.put((byte)0x1F).put((byte)0x8B).put((byte)Deflater.DEFLATED).put((byte)FLAG_EXTRA);
+			output.putInt(0);
+			// keine Angabe zur Kompression, unbekanntes Betriebssystem
+			output.put((byte)0).put((byte)0xFF);
+			output.putShort((short)8);
+			output.put((byte)'P').put((byte)'B').putShort((short)4).putInt(blockLength);
+			output.position(BLOCK_HEADER_SIZE + compressed);
+			output.putInt((int)crc.getValue());
+			output.putInt(length);
+			output.flip();
+			while(output.hasRemaining()) {
+				file.write(output);
+			}
+			blocks++;
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			if(!open) {
+				return;
+			}
+			open = false;
+			try {
+				if(blocks == 0) {
+					writeBlock(0);
+				}
+			} finally {
+				deflater.end();
+				file.close();
+			}
+		}
+	
+	}
+
+}
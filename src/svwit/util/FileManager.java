@@ -1,10 +1,23 @@
 package svwit.util;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import svwit.calculator.CalculatorManager;
 
@@ -14,8 +27,42 @@ import svwit.calculator.CalculatorManager;
  */
 public class FileManager {
 	
+	/** Die Phase, in der die Datei in den Speicher abgebildet und in Bereiche geteilt wird */
+	public static final int PHASE_MAP = 0;
+	/** Die Phase, in der die Punkte aus der Datei gelesen werden */
+	public static final int PHASE_PARSE = 1;
+	/** Die Phase, in der die gelesenen Punkte sortiert werden */
+	public static final int PHASE_SORT = 2;
+	/** Die Phase, in der die sortierten Punkte zusammengeführt und der Punktmenge hinzugefügt werden */
+	public static final int PHASE_MERGE = 3;
+	
+	/** Die Mindestgröße einer Datei in Bytes, ab der sie mit mehreren Threads gelesen wird */
+	public static final long PARALLEL_MIN_FILE_SIZE = 1 << 20;
+	/** Die standardmäßige Größe des Journals in Bytes, ab der es in eine vollständige Datei verdichtet wird */
+	public static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 22;
+	
 	/** Der {@code CalculatorManager}, der die Punktmenge verwaltet und die Berechnungen auf dieser startet. */
 	private CalculatorManager calculatorManager;
+	/** Die Anzahl der Threads, mit denen große Dateien gelesen werden */
+	private int parallelism = 1;
+	/** Gibt an, ob Punkte im Binärformat als Differenzen gespeichert werden */
+	private boolean binaryDeltaEncoded = true;
+	/** Gibt an, ob Punktmengen über eine temporäre Datei atomar gespeichert werden */
+	private boolean atomicSaveEnabled = true;
+	/** Die Dauer der Phasen des letzten Einlesens in Nanosekunden */
+	private long[] phaseTimes = new long[4];
+	/** Gibt an, ob Änderungen an einer gelesenen oder gespeicherten Datei in einem Journal gespeichert werden */
+	private boolean journalEnabled = true;
+	/** Die Größe des Journals in Bytes, ab der es in eine vollständige Datei verdichtet wird */
+	private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+	/** Das Journal der zuletzt gelesenen oder gespeicherten Datei oder {@code null}, falls Änderungen nicht aufgezeichnet werden */
+	private PointsJournal journal;
+	/** Der Pfad der Datei, zu der das Journal gehört */
+	private Path journalSnapshot;
+	/** Der Thread, der das Journal im Hintergrund verdichtet, oder {@code null} */
+	private Thread compaction;
+	/** Die Exception, mit der die letzte Verdichtung im Hintergrund fehlgeschlagen ist, oder {@code null} */
+	private volatile IOException compactionError;
 	
 	/**
 	 * Der Konstruktor.
@@ -32,48 +79,366 @@ public class FileManager {
 	 * Liest eine Punktmenge aus der Datei, die sich an dem übergebenen Pfad befindet.
 	 * <p>
 	 * Die Punktmenge wird in die Punktmenge gespeichert, die von der Instanz des {@code CalculatorManager} verwaltet wird.
+	 * Die Datei wird vom {@code PointsFileParser} gelesen, der die Punkte ohne Objekte pro Zeile in primitive Puffer schreibt.
+	 * Diese werden sortiert und anschließend in einem Schritt der Punktmenge hinzugefügt. Ist die Punktmenge zu diesem Zeitpunkt leer,
+	 * wird der Baum dabei in O(n) Zeit aufgebaut, statt jeden Punkt einzeln einzufügen.
+	 * <p>
+	 * Endet der Pfad auf ".bpoints", wird die Datei mit {@code readPointsBinary} im Binärformat gelesen.
+	 * Endet der Pfad auf ".points.gz" oder ".points.bgz", wird die Datei mit {@code readPointsCompressed} beim Lesen entpackt.
+	 * Ist die Anzahl der Threads größer als 1 und die Datei mindestens {@code PARALLEL_MIN_FILE_SIZE} Bytes groß,
+	 * wird die Datei mit {@code readPointsParallel} gelesen, ansonsten mit {@code readPointsSequential}.
+	 * Die Dauer der einzelnen Phasen kann danach mit {@code getPhaseTime} abgefragt werden.
+	 * <p>
+	 * Ist das Journal aktiviert, werden anschließend die gespeicherten Änderungen aus dem Journal der Datei angewendet
+	 * und alle weiteren Änderungen in diesem aufgezeichnet, siehe {@code PointsJournal}.
+	 * <p>
+	 * Die Einträge beider Journale werden vor der Datei in den Speicher gelesen, zuerst ".journal" und danach ".journal.old".
+	 * Verdichtet ein anderer {@code FileManager} oder ein anderer Prozess das Journal währenddessen, wird das alte Journal
+	 * erst nach dem Ersetzen der Datei gelöscht. Die Einträge sind so entweder bereits in der gelesenen Datei enthalten oder wurden vorher gelesen.
+	 * Da jeder Eintrag nur festlegt, ob ein Punkt danach enthalten ist, dürfen sie auch doppelt angewendet werden.
 	 * 
 	 * @param path Pfad, an dem sich die Datei befindet
 	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert oder gelesen werden kann.
 	 */
 	public void readPointsFromFile(String path) throws IOException {
+		closeJournal();
+		if(!journalEnabled) {
+			readSnapshot(path);
+			return;
+		}
+		Path snapshot = Paths.get(path).toAbsolutePath();
+		awaitCompaction();
+		PointsJournal.Entries entries = PointsJournal.read(PointsJournal.getPath(snapshot));
+		PointsJournal.Entries oldEntries = PointsJournal.read(PointsJournal.getOldPath(snapshot));
+		readSnapshot(path);
+		oldEntries.apply(calculatorManager.getAllPoints());
+		entries.apply(calculatorManager.getAllPoints());
+		journal = new PointsJournal(PointsJournal.getPath(snapshot), entries.getLength());
+		journalSnapshot = snapshot;
+	}
+	
+	/**
+	 * Liest eine Punktmenge aus der Datei, die sich an dem übergebenen Pfad befindet, ohne das Journal zu berücksichtigen.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert oder gelesen werden kann.
+	 */
+	private void readSnapshot(String path) throws IOException {
+		Arrays.fill(phaseTimes, 0);
+		if(BinaryPointsFile.hasExtension(path)) {
+			readPointsBinary(path);
+			return;
+		}
+		if(CompressedPointsFile.hasExtension(path)) {
+			readPointsCompressed(path);
+			return;
+		}
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			SortedSet<Point> points;
+			if(parallelism > 1 && channel.size() >= PARALLEL_MIN_FILE_SIZE) {
+				points = readPointsParallel(channel);
+			} else {
+				points = readPointsSequential(channel);
+			}
+			long start = System.nanoTime();
+			calculatorManager.getAllPoints().addAll(points);
+			phaseTimes[PHASE_MERGE] += System.nanoTime() - start;
+		}
+	}
+	
+	/**
+	 * Liest die Punkte aus der Datei, die sich an dem übergebenen Pfad befindet, und übergibt sie nacheinander an den übergebenen Empfänger.
+	 * <p>
+	 * Im Gegensatz zu {@code readPointsFromFile} werden die Punkte weder gespeichert noch sortiert, und die Punktmenge
+	 * des {@code CalculatorManager} bleibt unverändert. Der Speicherbedarf hängt so nur vom Empfänger ab. Das Format wird wie bei
+	 * {@code readPointsFromFile} über die Dateiendung bestimmt. Doppelte Punkte werden mehrfach übergeben.
+	 * <p>
+	 * Ist das Journal aktiviert und besitzt die Datei ein Journal mit abgeschlossenen Einträgen, werden die darin hinzugefügten Punkte nach denen der Datei übergeben.
+	 * Entfernte oder verschobene Punkte können einem Empfänger jedoch nicht nachträglich entzogen werden. Enthält eines der Journale solche Einträge,
+	 * wird die Datei daher nicht gelesen, bis das Journal beim Speichern verdichtet oder die Datei mit {@code readPointsFromFile} gelesen wurde.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @param consumer Der Empfänger der Punkte
+	 * @return Die Anzahl der übergebenen Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert oder gelesen werden kann,
+	 * oder ihr Journal entfernte oder verschobene Punkte enthält.
+	 */
+	public long streamPointsFromFile(String path, IPointConsumer consumer) throws IOException {
+		PointsJournal.Entries entries = null;
+		PointsJournal.Entries oldEntries = null;
+		if(journalEnabled) {
+			Path snapshot = Paths.get(path).toAbsolutePath();
+			entries = PointsJournal.read(PointsJournal.getPath(snapshot));
+			oldEntries = PointsJournal.read(PointsJournal.getOldPath(snapshot));
+			if(!entries.isAddOnly() || !oldEntries.isAddOnly()) {
+				throw new IOException("Die Datei " + path + " besitzt ein Journal mit entfernten oder verschobenen Punkten und kann nicht gestreamt werden");
+			}
+		}
+		long points;
+		if(BinaryPointsFile.hasExtension(path)) {
+			points = BinaryPointsFile.read(Paths.get(path), consumer);
+		} else if(CompressedPointsFile.hasExtension(path)) {
+			points = CompressedPointsFile.read(Paths.get(path), consumer);
+		} else {
+			PointsFileParser parser = new PointsFileParser(consumer);
+			parser.parse(Paths.get(path));
+			points = parser.getPoints();
+		}
+		if(journalEnabled) {
+			points += oldEntries.forEachAdded(consumer);
+			points += entries.forEachAdded(consumer);
+		}
+		return points;
+	}
+	
+	/**
+	 * Liest eine Punktmenge im Binärformat der Klasse {@code BinaryPointsFile}.
+	 * <p>
+	 * Da die Punkte in der Datei bereits sortiert sind, entfällt das Sortieren und die Punktmenge wird direkt aufgebaut.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert, gelesen werden kann oder kein gültiges Binärformat enthält.
+	 */
+	private void readPointsBinary(String path) throws IOException {
+		long start = System.nanoTime();
+		PackedPointsCollection points = BinaryPointsFile.read(Paths.get(path));
+		long parsed = System.nanoTime();
+		calculatorManager.getAllPoints().addAll(points.asSortedSet());
+		phaseTimes[PHASE_PARSE] = parsed - start;
+		phaseTimes[PHASE_MERGE] = System.nanoTime() - parsed;
+	}
+	
+	/**
+	 * Liest eine mit gzip komprimierte Punktmenge der Klasse {@code CompressedPointsFile}.
+	 * <p>
+	 * Die Datei wird beim Lesen entpackt und die entpackten Daten werden direkt an den {@code PointsFileParser} übergeben,
+	 * sodass keine entpackte Kopie auf dem Datenträger oder im Speicher entsteht. Ist die Anzahl der Threads größer als 1 und
+	 * die Datei in mehreren Blöcken komprimiert, werden die Blöcke wie bei {@code readPointsParallel} auf die Threads verteilt
+	 * und von diesen gleichzeitig entpackt und gelesen. Ansonsten wird die Datei mit dem aufrufenden Thread in eine
+	 * {@code OffHeapPointsCollection} gelesen, die anschließend sortiert wird. Die Phase {@code PHASE_PARSE} enthält dabei das Entpacken.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert, gelesen werden kann oder nicht mit gzip komprimiert ist.
+	 */
+	private void readPointsCompressed(String path) throws IOException {
+		SortedSet<Point> points;
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long start = System.nanoTime();
+			long[] blocks = parallelism > 1 ? CompressedPointsFile.findBlocks(channel) : null;
+			if(blocks != null && blocks.length > 2) {
+				int chunks = Math.min(parallelism, blocks.length - 1);
+				ChunkReader[] readers = new ChunkReader[chunks];
+				List<Callable<Void>> parseTasks = new ArrayList<>();
+				for(int i = 0; i < chunks; i++) {
+					long from = blocks[(int)((long)(blocks.length - 1) * i / chunks)];
+					long to = blocks[(int)((long)(blocks.length - 1) * (i + 1) / chunks)];
+					ChunkReader reader = new ChunkReader(null, (to - from) * 4);
+					readers[i] = reader;
+					parseTasks.add(() -> {
+						CompressedPointsFile.readBlocks(channel, from, to, reader);
+						return null;
+					});
+				}
+				phaseTimes[PHASE_MAP] = System.nanoTime() - start;
+				points = readChunks(readers, parseTasks);
+			} else {
+				OffHeapPointsCollection collection = new OffHeapPointsCollection(getChunkBits(channel.size() * 4));
+				CompressedPointsFile.read(Paths.get(path), collection::append);
+				long parsed = System.nanoTime();
+				collection.sort();
+				phaseTimes[PHASE_PARSE] = parsed - start;
+				phaseTimes[PHASE_SORT] = System.nanoTime() - parsed;
+				points = collection.asSortedSet();
+			}
+		}
+		long start = System.nanoTime();
+		calculatorManager.getAllPoints().addAll(points);
+		phaseTimes[PHASE_MERGE] += System.nanoTime() - start;
+	}
+	
+	/**
+	 * Liest die Punkte einer Datei mit dem aufrufenden Thread in eine {@code OffHeapPointsCollection}, die anschließend sortiert wird.
+	 * <p>
+	 * Die Punkte belegen so bis zum Aufbau der Punktmenge keinen Speicher im Java-Heap.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @return Die sortierten Punkte ohne doppelte Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	private SortedSet<Point> readPointsSequential(FileChannel channel) throws IOException {
+		long start = System.nanoTime();
+		MappedByteBuffer[] windows = PointsFileParser.map(channel, 0, channel.size());
+		long mapped = System.nanoTime();
 		
-		BufferedReader reader = new BufferedReader(new FileReader(path));
+		OffHeapPointsCollection points = new OffHeapPointsCollection(getChunkBits(channel.size()));
+		PointsFileParser parser = new PointsFileParser(points::append);
+		for(MappedByteBuffer window : windows) {
+			parser.feed(window);
+		}
+		parser.finish();
+		long parsed = System.nanoTime();
+		
+		points.sort();
+		long sorted = System.nanoTime();
 		
-		int x = 0;
-		int y = 0;	
-		boolean foundX;
-		boolean foundY;
+		phaseTimes[PHASE_MAP] = mapped - start;
+		phaseTimes[PHASE_PARSE] = parsed - mapped;
+		phaseTimes[PHASE_SORT] = sorted - parsed;
+		return points.asSortedSet();
+	}
+	
+	/**
+	 * Liest die Punkte einer Datei mit mehreren Threads.
+	 * <p>
+	 * Die Datei wird in so viele Bereiche geteilt, wie Threads verwendet werden. Die Grenzen der Bereiche werden dabei
+	 * mit {@code PointsFileParser.nextLineStart} auf den nächsten Zeilenanfang verschoben, sodass jede Zeile vollständig in einem Bereich liegt.
+	 * Jeder Bereich wird von einem eigenen Thread in ein eigenes Array gelesen und dieses anschließend sortiert.
+	 * Zuletzt werden die sortierten Arrays mit {@code PackedPointsCollection.mergeSorted} zusammengeführt und doppelte Punkte entfernt.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @return Die sortierten Punkte ohne doppelte Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	private SortedSet<Point> readPointsParallel(FileChannel channel) throws IOException {
+		long start = System.nanoTime();
+		long size = channel.size();
+		ChunkReader[] readers = new ChunkReader[parallelism];
+		long from = 0;
+		for(int i = 0; i < parallelism; i++) {
+			long to = i == parallelism - 1 ? size : PointsFileParser.nextLineStart(channel, Math.max(from, size / parallelism * (i + 1)));
+			readers[i] = new ChunkReader(PointsFileParser.map(channel, from, to), to - from);
+			from = to;
+		}
+		List<Callable<Void>> parseTasks = new ArrayList<>();
+		for(ChunkReader reader : readers) {
+			parseTasks.add(() -> {
+				reader.parse();
+				return null;
+			});
+		}
+		phaseTimes[PHASE_MAP] = System.nanoTime() - start;
+		return readChunks(readers, parseTasks);
+	}
 		
-		String line;
-		String[] words;
-		while((line = reader.readLine()) != null) {
+	/**
+	 * Führt die übergebenen Aufgaben zum Lesen der Bereiche mit mehreren Threads aus, sortiert danach die Punkte jedes Bereichs
+	 * und führt die sortierten Arrays mit {@code PackedPointsCollection.mergeSorted} zusammen.
+	 * 
+	 * @param readers Die Bereiche
+	 * @param parseTasks Die Aufgaben, welche die Punkte der Bereiche lesen
+	 * @return Die sortierten Punkte ohne doppelte Punkte
+	 * @throws IOException Wirft eine Exception, falls ein Bereich nicht gelesen werden kann.
+	 */
+	private SortedSet<Point> readChunks(ChunkReader[] readers, List<Callable<Void>> parseTasks) throws IOException {
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<Callable<Void>> sortTasks = new ArrayList<>();
+			for(ChunkReader reader : readers) {
+				sortTasks.add(() -> {
+					reader.sort();
+					return null;
+				});
+			}
+			invokeAll(pool, parseTasks);
+			long parsed = System.nanoTime();
+			invokeAll(pool, sortTasks);
+			long sorted = System.nanoTime();
 			
-			foundX = false;
-			foundY = false;
+			long[][] keys = new long[readers.length][];
+			int[] counts = new int[readers.length];
+			for(int i = 0; i < readers.length; i++) {
+				keys[i] = readers[i].keys;
+				counts[i] = readers[i].size;
+				readers[i] = null;
+			}
+			PackedPointsCollection points = PackedPointsCollection.mergeSorted(keys, counts);
+			long merged = System.nanoTime();
 			
-			words = line.split(" ");
-			for(String word : words) {
-				try {
-					if(word != "") {
-						if(!foundX) {
-							x = Integer.parseInt(word);
-							foundX = true;
-						} else if(!foundY) {
-							y = Integer.parseInt(word);
-							foundY = true;
-							break;
-						}
-					}
-				} catch(NumberFormatException e) {
-					break;
+			phaseTimes[PHASE_PARSE] = parsed - start;
+			phaseTimes[PHASE_SORT] = sorted - parsed;
+			phaseTimes[PHASE_MERGE] = merged - sorted;
+			return points.asSortedSet();
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Führt die übergebenen Aufgaben im übergebenen Pool aus und wartet, bis alle beendet sind.
+	 * 
+	 * @param pool Der Pool, in dem die Aufgaben ausgeführt werden
+	 * @param tasks Die Aufgaben
+	 * @throws IOException Wirft die Exception weiter, mit der eine der Aufgaben abgebrochen wurde.
+	 */
+	private static void invokeAll(ForkJoinPool pool, List<Callable<Void>> tasks) throws IOException {
+		for(Future<Void> future : pool.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Das Einlesen wurde unterbrochen");
+			} catch(ExecutionException e) {
+				Throwable cause = e.getCause();
+				// der ForkJoinPool verpackt geprüfte Exceptions der Aufgaben in RuntimeExceptions
+				while(cause instanceof RuntimeException && cause.getCause() instanceof Exception) {
+					cause = cause.getCause();
 				}
-			}
-			if(foundX && foundY) {
-				calculatorManager.getAllPoints().add(new Point(x, y));
+				if(cause instanceof IOException) {
+					throw (IOException)cause;
+				}
+				if(cause instanceof RuntimeException) {
+					throw (RuntimeException)cause;
+				}
+				throw new IOException(cause);
 			}
 		}
-		reader.close();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Threads zurück, mit denen große Dateien gelesen werden.
+	 * 
+	 * @return Anzahl der Threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Setzt die Anzahl der Threads, mit denen große Dateien gelesen werden. Bei {@code 1} wird jede Datei vom aufrufenden Thread gelesen.
+	 * 
+	 * @param parallelism Anzahl der Threads, mindestens {@code 1}
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+	
+	/**
+	 * Gibt die Dauer einer Phase des letzten Aufrufs von {@code readPointsFromFile} in Nanosekunden zurück.
+	 * <p>
+	 * Die Phasen sind {@code PHASE_MAP}, {@code PHASE_PARSE}, {@code PHASE_SORT} und {@code PHASE_MERGE}.
+	 * Die Phase {@code PHASE_MERGE} enthält auch den Aufbau der Punktmenge des {@code CalculatorManager}.
+	 * 
+	 * @param phase Die Phase
+	 * @return Dauer der Phase in Nanosekunden
+	 */
+	public long getPhaseTime(int phase) {
+		return phaseTimes[phase];
+	}
+	
+	/**
+	 * Gibt die Größe der Blöcke der {@code OffHeapPointsCollection} für eine Datei der übergebenen Größe zurück.
+	 * <p>
+	 * Jede Zeile mit einem Punkt ist mindestens vier Bytes lang. Die Blöcke werden so gewählt, dass kleine Dateien
+	 * keine großen Blöcke belegen, aber höchstens {@code OffHeapPointsCollection.DEFAULT_CHUNK_BITS} erreicht wird.
+	 * 
+	 * @param fileSize Die Größe der Datei in Bytes
+	 * @return Der Zweierlogarithmus der Anzahl an Punkten pro Block
+	 */
+	private static int getChunkBits(long fileSize) {
+		long maxPoints = Math.max(1, fileSize / 4 + 1);
+		int bits = 64 - Long.numberOfLeadingZeros(maxPoints - 1);
+		return Math.max(4, Math.min(OffHeapPointsCollection.DEFAULT_CHUNK_BITS, bits));
 	}
 	
 	/**
@@ -81,16 +446,400 @@ public class FileManager {
 	 * <p>
 	 * Wenn sich an dem übergebenen Pfad keine Datei befindet, wird eine neue Datei erzeugt.
 	 * Die zu speichernden Punkte weder der Punktmenge entnommen, welche von dem {@code CalculatorManager} verwaltet wird.
+	 * Endet der Pfad auf ".bpoints", werden die Punkte im Binärformat der Klasse {@code BinaryPointsFile} gespeichert.
+	 * Endet der Pfad auf ".points.gz" oder ".points.bgz", werden sie mit der Klasse {@code CompressedPointsFile} komprimiert gespeichert,
+	 * ansonsten im Textformat mit dem {@code PointsFileWriter}.
+	 * <p>
+	 * Ist das atomare Speichern aktiviert, wird zunächst eine temporäre Datei im selben Verzeichnis geschrieben, auf den Datenträger übertragen
+	 * und anschließend in einem Schritt an den übergebenen Pfad verschoben. Wird das Speichern unterbrochen, bleibt so die bisherige Datei
+	 * unverändert erhalten, statt nur teilweise überschrieben zu werden.
+	 * 
+	 * <p>
+	 * Ist das Journal aktiviert und gehört es zu der Datei an dem übergebenen Pfad, werden statt der ganzen Punktmenge nur die
+	 * Änderungen seit dem letzten Speichern an das Journal angehängt. Der Aufwand hängt so nur von der Anzahl der Änderungen ab.
+	 * Überschreitet das Journal danach {@code compactionThreshold} Bytes, wird es mit {@code compactJournal} im Hintergrund verdichtet.
+	 * Ansonsten wird die ganze Punktmenge geschrieben und danach ein neues, leeres Journal für die Datei begonnen.
 	 * 
 	 * @param path Pfad, an dem sich die Datei befindet
 	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert oder beschrieben werden kann.
 	 */
 	public void savePointsToFile(String path) throws IOException{
-		BufferedWriter writer = new BufferedWriter(new FileWriter(path));
-		for(Point dp : calculatorManager.getAllPoints()) {
-			writer.write(dp.getX() + " " + dp.getY() + "\n");
+		Path target = Paths.get(path).toAbsolutePath();
+		if(journal != null && target.equals(journalSnapshot) && Files.exists(target)) {
+			journal.commit();
+			if(journal.getLength() >= compactionThreshold && !isCompactionRunning()) {
+				awaitCompaction();
+				compactJournal();
+			}
+			return;
+		}
+		
+		awaitCompaction();
+		closeJournal();
+		writeSnapshot(target, calculatorManager.getAllPoints(), atomicSaveEnabled);
+		Files.deleteIfExists(PointsJournal.getPath(target));
+		Files.deleteIfExists(PointsJournal.getOldPath(target));
+		if(journalEnabled) {
+			journal = new PointsJournal(PointsJournal.getPath(target), 0);
+			journalSnapshot = target;
+		}
+	}
+	
+	/**
+	 * Schreibt die übergebenen Punkte vollständig in die Datei an dem übergebenen Pfad.
+	 * <p>
+	 * Das Format wird wie bei {@code savePointsToFile} über die Dateiendung bestimmt.
+	 * 
+	 * @param target Pfad, an dem sich die Datei befindet
+	 * @param points Die Punkte, sortiert nach ihrer natürlichen Ordnung
+	 * @param atomic Gibt an, ob die Datei über eine temporäre Datei atomar geschrieben werden soll
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	private void writeSnapshot(Path target, SortedSet<Point> points, boolean atomic) throws IOException {
+		String path = target.toString();
+		Path file = target;
+		if(atomic) {
+			file = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+		}
+		try {
+			if(BinaryPointsFile.hasExtension(path)) {
+				BinaryPointsFile.write(file, points, binaryDeltaEncoded);
+			} else if(CompressedPointsFile.hasExtension(path)) {
+				CompressedPointsFile.write(file, points, CompressedPointsFile.hasBlockExtension(path));
+			} else {
+				try(PointsFileWriter writer = new PointsFileWriter(file)) {
+					writer.writeAll(points);
+				}
+			}
+			if(atomic) {
+				try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+					channel.force(true);
+				}
+				moveReplacing(file, target);
+			}
+		} catch(IOException | RuntimeException e) {
+			if(atomic) {
+				Files.deleteIfExists(file);
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * Verdichtet das Journal im Hintergrund in eine vollständige Datei.
+	 * <p>
+	 * Das Journal wird mit {@code PointsJournal.rotate} in die Datei mit der Endung ".journal.old" verschoben und die Punktmenge kopiert.
+	 * Ein eigener Thread schreibt die Kopie anschließend immer atomar in die Datei und löscht erst danach das alte Journal.
+	 * Weitere Änderungen werden währenddessen bereits in das neue Journal geschrieben. Schlägt das Schreiben fehl,
+	 * bleibt das alte Journal erhalten und wird beim nächsten Einlesen und bei der nächsten Verdichtung berücksichtigt.
+	 * Die Exception wird dann von dem nächsten Aufruf von {@code awaitCompaction} weitergegeben.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht verschoben werden kann.
+	 */
+	private void compactJournal() throws IOException {
+		Path snapshot = journalSnapshot;
+		Path oldJournal = PointsJournal.getOldPath(snapshot);
+		journal.rotate(oldJournal);
+		PackedPointsCollection points = PackedPointsCollection.fromPoints(calculatorManager.getAllPoints());
+		compaction = new Thread(() -> {
+			try {
+				writeSnapshot(snapshot, points.asSortedSet(), true);
+				Files.deleteIfExists(oldJournal);
+			} catch(IOException e) {
+				compactionError = e;
+			}
+		}, "Journal-Verdichtung");
+		compaction.start();
+	}
+	
+	/**
+	 * Gibt zurück, ob das Journal gerade im Hintergrund verdichtet wird.
+	 * 
+	 * @return {@code true}, wenn das Journal verdichtet wird, {@code false} ansonsten
+	 */
+	public boolean isCompactionRunning() {
+		return compaction != null && compaction.isAlive();
+	}
+	
+	/**
+	 * Wartet, bis eine laufende Verdichtung des Journals abgeschlossen ist.
+	 * <p>
+	 * Ist die Verdichtung fehlgeschlagen, wird die Exception einmalig als Ursache einer {@code IOException} weitergegeben.
+	 * 
+	 * @throws InterruptedIOException Wirft eine Exception, falls der aufrufende Thread beim Warten unterbrochen wird.
+	 * @throws IOException Wirft eine Exception, falls die Verdichtung fehlgeschlagen ist.
+	 */
+	public void awaitCompaction() throws IOException {
+		if(compaction == null) {
+			return;
+		}
+		try {
+			compaction.join();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Das Warten auf die Verdichtung wurde unterbrochen");
+		}
+		compaction = null;
+		IOException error = compactionError;
+		if(error != null) {
+			compactionError = null;
+			throw new IOException("Das Journal konnte nicht verdichtet werden", error);
+		}
+	}
+	
+	/**
+	 * Zeichnet im Journal auf, dass ein Punkt hinzugefügt wurde.
+	 * <p>
+	 * Gibt es kein Journal, wird nichts aufgezeichnet. Kann das Journal nicht beschrieben werden, wird es verworfen,
+	 * sodass beim nächsten Speichern die ganze Punktmenge geschrieben wird.
+	 * 
+	 * @param p Der Punkt
+	 */
+	public void recordAdd(Point p) {
+		if(journal != null) {
+			try {
+				journal.add(p);
+			} catch(IOException e) {
+				closeJournal();
+			}
+		}
+	}
+	
+	/**
+	 * Zeichnet im Journal auf, dass die Punkte der übergebenen Punktmenge hinzugefügt wurden.
+	 * <p>
+	 * Bereits enthaltene Punkte dürfen ebenfalls aufgezeichnet werden, da das erneute Hinzufügen beim Einlesen des Journals keine Wirkung hat.
+	 * 
+	 * @param points Die Punkte
+	 * @see #recordAdd(Point)
+	 */
+	public void recordAdds(IPackedPointsCollection points) {
+		if(journal != null) {
+			try {
+				for(int i = 0; i < points.size(); i++) {
+					journal.add(points.getX(i), points.getY(i));
+				}
+			} catch(IOException e) {
+				closeJournal();
+			}
+		}
+	}
+	
+	/**
+	 * Zeichnet im Journal auf, dass ein Punkt entfernt wurde.
+	 * 
+	 * @param p Der Punkt
+	 * @see #recordAdd(Point)
+	 */
+	public void recordRemove(Point p) {
+		if(journal != null) {
+			try {
+				journal.remove(p);
+			} catch(IOException e) {
+				closeJournal();
+			}
+		}
+	}
+	
+	/**
+	 * Zeichnet im Journal auf, dass ein Punkt verschoben wurde.
+	 * 
+	 * @param origin Die Startposition des Punktes
+	 * @param destination Die Zielposition des Punktes
+	 * @see #recordAdd(Point)
+	 */
+	public void recordMove(Point origin, Point destination) {
+		if(journal != null) {
+			try {
+				journal.move(origin, destination);
+			} catch(IOException e) {
+				closeJournal();
+			}
+		}
+	}
+	
+	/**
+	 * Zeichnet auf, dass alle Punkte entfernt wurden.
+	 * <p>
+	 * Da die Punktmenge danach nicht mehr auf der gespeicherten Datei aufbaut, wird das Journal verworfen,
+	 * sodass beim nächsten Speichern die ganze Punktmenge geschrieben wird.
+	 */
+	public void recordClear() {
+		closeJournal();
+	}
+	
+	/**
+	 * Verwirft das Journal und alle noch nicht gespeicherten Einträge. Die Datei des Journals bleibt unverändert.
+	 */
+	private void closeJournal() {
+		if(journal != null) {
+			try {
+				journal.close();
+			} catch(IOException e) {
+				// die abgeschlossenen Einträge sind bereits vollständig geschrieben
+			}
+			journal = null;
+			journalSnapshot = null;
+		}
+	}
+	
+	/**
+	 * Gibt zurück, ob Änderungen an einer gelesenen oder gespeicherten Datei in einem Journal gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn das Journal aktiviert ist, {@code false} ansonsten
+	 */
+	public boolean isJournalEnabled() {
+		return journalEnabled;
+	}
+	
+	/**
+	 * Legt fest, ob Änderungen an einer gelesenen oder gespeicherten Datei in einem Journal gespeichert werden.
+	 * <p>
+	 * Die Einstellung wird beim nächsten Einlesen oder vollständigen Speichern wirksam. Beim Deaktivieren wird das aktuelle Journal verworfen.
+	 * 
+	 * @param b {@code true}, wenn das Journal aktiviert werden soll, {@code false} ansonsten
+	 */
+	public void setJournalEnabled(boolean b) {
+		journalEnabled = b;
+		if(!b) {
+			closeJournal();
+		}
+	}
+	
+	/**
+	 * Gibt die Größe des Journals in Bytes zurück, ab der es beim Speichern in eine vollständige Datei verdichtet wird.
+	 * 
+	 * @return Größe in Bytes
+	 */
+	public long getCompactionThreshold() {
+		return compactionThreshold;
+	}
+	
+	/**
+	 * Setzt die Größe des Journals in Bytes, ab der es beim Speichern in eine vollständige Datei verdichtet wird.
+	 * 
+	 * @param compactionThreshold Größe in Bytes
+	 */
+	public void setCompactionThreshold(long compactionThreshold) {
+		this.compactionThreshold = compactionThreshold;
+	}
+	
+	/**
+	 * Verschiebt eine Datei an den Zielpfad und ersetzt eine dort vorhandene Datei.
+	 * <p>
+	 * Wenn möglich, wird die Datei atomar verschoben. Unterstützt das Dateisystem dies nicht, wird sie normal verschoben.
+	 * 
+	 * @param source Die Datei, die verschoben wird
+	 * @param target Der Zielpfad
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht verschoben werden kann.
+	 */
+	static void moveReplacing(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch(AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
 		}
-		writer.flush();
-		writer.close();
-	}	
+	}
+	
+	/**
+	 * Gibt zurück, ob Punktmengen über eine temporäre Datei atomar gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn atomar gespeichert wird, {@code false} ansonsten
+	 */
+	public boolean isAtomicSaveEnabled() {
+		return atomicSaveEnabled;
+	}
+	
+	/**
+	 * Legt fest, ob Punktmengen über eine temporäre Datei atomar gespeichert werden.
+	 * Ist dies deaktiviert, wird direkt in die Zieldatei geschrieben.
+	 * 
+	 * @param b {@code true}, wenn atomar gespeichert werden soll, {@code false} ansonsten
+	 */
+	public void setAtomicSaveEnabled(boolean b) {
+		atomicSaveEnabled = b;
+	}
+	
+	/**
+	 * Gibt zurück, ob Punkte im Binärformat als Differenzen gespeichert werden.
+	 * 
+	 * @return {@code true}, wenn die Punkte als Differenzen gespeichert werden, {@code false} ansonsten
+	 */
+	public boolean isBinaryDeltaEncoded() {
+		return binaryDeltaEncoded;
+	}
+	
+	/**
+	 * Legt fest, ob Punkte im Binärformat als Differenzen gespeichert werden.
+	 * 
+	 * @param b {@code true}, wenn die Punkte als Differenzen gespeichert werden sollen, {@code false} ansonsten
+	 */
+	public void setBinaryDeltaEncoded(boolean b) {
+		binaryDeltaEncoded = b;
+	}
+	
+	/**
+	 * Diese Klasse liest einen Bereich einer Datei in ein eigenes Array und sortiert dieses.
+	 * <p>
+	 * Jede Instanz wird zu einem Zeitpunkt nur von einem Thread verwendet.
+	 */
+	private static class ChunkReader implements IPointConsumer {
+		
+		/** Die Fenster des Bereichs */
+		private MappedByteBuffer[] windows;
+		/** Die gelesenen Punkte als {@code long}-Werte */
+		private long[] keys;
+		/** Die Anzahl der gelesenen Punkte */
+		private int size = 0;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param windows Die Fenster des Bereichs oder {@code null}, falls die Punkte nicht mit {@code parse} gelesen werden
+		 * @param length Die Länge des Bereichs in Bytes, aus der die initiale Größe des Arrays geschätzt wird
+		 */
+		private ChunkReader(MappedByteBuffer[] windows, long length) {
+			this.windows = windows;
+			this.keys = new long[(int)Math.min(Integer.MAX_VALUE - 8, Math.max(16, length / 16))];
+		}
+		
+		@Override
+		public void accept(int x, int y) {
+			if(size == keys.length) {
+				if(size == Integer.MAX_VALUE - 8) {
+					throw new IllegalStateException("Zu viele Punkte in einem Bereich");
+				}
+				keys = Arrays.copyOf(keys, (int)Math.min(Integer.MAX_VALUE - 8, (long)size + (size >> 1) + 1));
+			}
+			keys[size++] = PackedPointsCollection.pack(x, y);
+		}
+		
+		/**
+		 * Liest alle Punkte des Bereichs.
+		 */
+		private void parse() {
+			PointsFileParser parser = new PointsFileParser(this);
+			for(MappedByteBuffer window : windows) {
+				parser.feed(window);
+			}
+			parser.finish();
+			windows = null;
+		}
+		
+		/**
+		 * Sortiert die gelesenen Punkte und entfernt doppelte Punkte.
+		 */
+		private void sort() {
+			Arrays.sort(keys, 0, size);
+			int unique = 0;
+			for(int i = 0; i < size; i++) {
+				if(unique == 0 || keys[unique - 1] != keys[i]) {
+					keys[unique++] = keys[i];
+				}
+			}
+			size = unique;
+		}
+	
+	}
+
 }
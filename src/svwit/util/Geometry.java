@@ -0,0 +1,78 @@
+package svwit.util;
+
+/**
+ * Diese Klasse stellt die geometrischen Grundoperationen bereit, die bei der Berechnung der konvexen Hülle
+ * und der daraus abgeleiteten Formen benötigt werden.
+ * <p>
+ * Neben der Determinante für einzelne Punkte gibt es Methoden, die viele Punkte in primitiven Arrays gegen dieselbe Gerade testen.
+ * Die Gerade wird dafür einmal in die Form {@code a * x + b * y + c} gebracht, sodass pro Punkt nur zwei Multiplikationen nötig sind.
+ * Die Schleifen enthalten keine Verzweigungen und keine Methodenaufrufe und können so vom JIT-Compiler vektorisiert werden.
+ * <p>
+ * Alle Determinanten werden als {@code long} berechnet.
+ * 
+ */
+public final class Geometry {
+
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Klasse enthält nur statische Methoden und wird nicht instanziiert.
+	 */
+	private Geometry() {
+	}
+	
+	/**
+	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
+	 * <p>
+	 * Die Determinante ist positiv, wenn der dritte Punkt links der Geraden vom ersten zum zweiten Punkt liegt,
+	 * negativ, wenn er rechts davon liegt, und {@code 0}, wenn die drei Punkte kollinear sind.
+	 * 
+	 * @param pointA Der erste Punkt
+	 * @param pointB Der zweite Punkt
+	 * @param pointC Der dritte Punkt
+	 * @return Die Determinante
+	 */
+	public static long getDeterminant(Point pointA, Point pointB, Point pointC) {
+		return getDeterminant(pointA.getX(), pointA.getY(), pointB.getX(), pointB.getY(), pointC.getX(), pointC.getY());
+	}
+	
+	/**
+	 * Gibt die Determinante aus den drei übergebenen Punkten zurück, die als Koordinaten übergeben werden.
+	 * 
+	 * @param ax X-Koordinate des ersten Punktes
+	 * @param ay Y-Koordinate des ersten Punktes
+	 * @param bx X-Koordinate des zweiten Punktes
+	 * @param by Y-Koordinate des zweiten Punktes
+	 * @param cx X-Koordinate des dritten Punktes
+	 * @param cy Y-Koordinate des dritten Punktes
+	 * @return Die Determinante
+	 */
+	public static long getDeterminant(long ax, long ay, long bx, long by, long cx, long cy) {
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+	
+	/**
+	 * Behält für jeden übergebenen Punkt die Markierung nur dann bei, wenn der Punkt echt links der Geraden vom Punkt A zum Punkt B liegt.
+	 * <p>
+	 * Wird diese Methode nacheinander für alle Kanten eines konvexen Polygons gegen den Uhrzeigersinn aufgerufen,
+	 * sind anschließend genau die Punkte markiert, die echt innerhalb des Polygons liegen.
+	 * 
+	 * @param ax X-Koordinate des Punktes A
+	 * @param ay Y-Koordinate des Punktes A
+	 * @param bx X-Koordinate des Punktes B
+	 * @param by Y-Koordinate des Punktes B
+	 * @param xs Die X-Koordinaten der Punkte
+	 * @param ys Die Y-Koordinaten der Punkte
+	 * @param length Die Anzahl der Punkte
+	 * @param marks Die Markierungen der Punkte, die angepasst werden
+	 */
+	public static void retainLeftOf(long ax, long ay, long bx, long by, int[] xs, int[] ys, int length, boolean[] marks) {
+		long a = ay - by;
+		long b = bx - ax;
+		long c = ax * by - ay * bx;
+		for(int i = 0; i < length; i++) {
+			marks[i] &= a * xs[i] + b * ys[i] + c > 0;
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package svwit.util;
+
+import java.util.Iterator;
+import java.util.SortedSet;
+
+/**
+ * Dieses Interface beschreibt eine lexikographisch sortierte Punktmenge, deren Punkte nicht als einzelne Objekte,
+ * sondern als primitive Koordinaten gespeichert werden.
+ * <p>
+ * Auf die Punkte wird über ihren Index in der sortierten Reihenfolge zugegriffen. Der Index 0 ist der lexikographisch kleinste Punkt.
+ * Zum Durchlaufen der Punkte ohne die Erzeugung von Objekten pro Punkt stehen die Methoden {@code ascendingCursor} und {@code descendingCursor} bereit.
+ * Für die Kompatibilität mit der Klasse {@code PointsCollection} stehen zusätzlich die Methoden {@code iterator} und {@code descendingIterator} bereit,
+ * die für jeden Punkt ein neues Objekt vom Typ {@code Point} erzeugen.
+ * 
+ * @see PackedPointsCollection
+ * @see PointsCursor
+ */
+public interface IPackedPointsCollection extends Iterable<Point> {
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public int size();
+	
+	/**
+	 * Gibt die X-Koordinate des Punktes an dem übergebenen Index zurück.
+	 * 
+	 * @param index Der Index des Punktes
+	 * @return X-Koordinate des Punktes
+	 */
+	public int getX(int index);
+	
+	/**
+	 * Gibt die Y-Koordinate des Punktes an dem übergebenen Index zurück.
+	 * 
+	 * @param index Der Index des Punktes
+	 * @return Y-Koordinate des Punktes
+	 */
+	public int getY(int index);
+	
+	/**
+	 * Gibt den Index des ersten Punktes zurück, der lexikographisch größer oder gleich dem übergebenen Punkt ist.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return Index des ersten Punktes, der nicht kleiner ist, oder {@code size()}, wenn es keinen solchen Punkt gibt
+	 */
+	public int lowerBound(int x, int y);
+	
+	/**
+	 * Gibt zurück, ob die Punktmenge leer ist.
+	 * 
+	 * @return {@code true}, wenn die Punktmenge leer ist, {@code false} ansonsten
+	 */
+	public default boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Punkt in der Punktmenge enthalten ist.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return {@code true}, wenn der Punkt enthalten ist, {@code false} ansonsten
+	 */
+	public default boolean contains(int x, int y) {
+		int index = lowerBound(x, y);
+		return index < size() && getX(index) == x && getY(index) == y;
+	}
+	
+	/**
+	 * Gibt den Punkt an dem übergebenen Index als neues Objekt zurück.
+	 * 
+	 * @param index Der Index des Punktes
+	 * @return Der Punkt
+	 */
+	public default Point getPoint(int index) {
+		return new Point(getX(index), getY(index));
+	}
+	
+	/**
+	 * Gibt einen Cursor zurück, der die Punkte in lexikographisch aufsteigender Reihenfolge durchläuft.
+	 * 
+	 * @return aufsteigender Cursor
+	 */
+	public default PointsCursor ascendingCursor() {
+		return new PointsCursor(this, true);
+	}
+	
+	/**
+	 * Gibt einen Cursor zurück, der die Punkte in lexikographisch absteigender Reihenfolge durchläuft.
+	 * 
+	 * @return absteigender Cursor
+	 */
+	public default PointsCursor descendingCursor() {
+		return new PointsCursor(this, false);
+	}
+	
+	/**
+	 * Gibt eine Ansicht auf den Teil der Punktmenge zurück, dessen Punkte lexikographisch zwischen den übergebenen Punkten liegen.
+	 * <p>
+	 * Wie bei {@code TreeSet.subSet} ist der untere Punkt eingeschlossen und der obere Punkt ausgeschlossen.
+	 * Die Ansicht kopiert keine Punkte.
+	 * 
+	 * @param from Der untere Punkt (eingeschlossen)
+	 * @param to Der obere Punkt (ausgeschlossen)
+	 * @return Ansicht auf den Teil der Punktmenge
+	 */
+	public default IPackedPointsCollection subCollection(Point from, Point to) {
+		int fromIndex = lowerBound(from.getX(), from.getY());
+		int toIndex = Math.max(fromIndex, lowerBound(to.getX(), to.getY()));
+		return new PackedPointsRange(this, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Gibt eine unveränderliche Ansicht auf die Punktmenge als {@code SortedSet} zurück.
+	 * <p>
+	 * Eine leere {@code PointsCollection} kann mit {@code addAll} in O(n) Zeit aus dieser Ansicht aufgebaut werden.
+	 * 
+	 * @return Ansicht auf die Punktmenge
+	 */
+	public default SortedSet<Point> asSortedSet() {
+		return new PackedPointsSortedSet(this);
+	}
+	
+	/**
+	 * Gibt einen Iterator zurück, der die Punkte in lexikographisch aufsteigender Reihenfolge durchläuft.
+	 * Für jeden Punkt wird ein neues Objekt erzeugt.
+	 * 
+	 * @return aufsteigender Iterator
+	 */
+	@Override
+	public default Iterator<Point> iterator() {
+		return ascendingCursor().asIterator();
+	}
+	
+	/**
+	 * Gibt einen Iterator zurück, der die Punkte in lexikographisch absteigender Reihenfolge durchläuft.
+	 * Für jeden Punkt wird ein neues Objekt erzeugt.
+	 * 
+	 * @return absteigender Iterator
+	 */
+	public default Iterator<Point> descendingIterator() {
+		return descendingCursor().asIterator();
+	}
+
+}
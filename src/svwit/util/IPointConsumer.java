@@ -0,0 +1,21 @@
+package svwit.util;
+
+/**
+ * Dieses Interface beschreibt einen Empfänger für Punkte, die als primitive Koordinaten übergeben werden.
+ * <p>
+ * Es wird zum Beispiel vom {@code PointsFileParser} verwendet, um jeden gelesenen Punkt weiterzugeben,
+ * ohne dafür ein Objekt vom Typ {@code Point} zu erzeugen.
+ * 
+ * @see PointsFileParser
+ */
+public interface IPointConsumer {
+	
+	/**
+	 * Nimmt einen Punkt entgegen.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	public void accept(int x, int y);
+
+}
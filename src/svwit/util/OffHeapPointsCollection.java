@@ -0,0 +1,316 @@
+package svwit.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Diese Klasse repräsentiert eine Punktmenge, deren Punkte außerhalb des Java-Heaps in direkten {@code ByteBuffer}n gespeichert werden.
+ * <p>
+ * Die Punkte werden wie in der Klasse {@code PackedPointsCollection} als {@code long}-Werte abgelegt, sodass der Vergleich zweier Werte
+ * dem lexikographischen Vergleich der Punkte entspricht. Da ein einzelner {@code ByteBuffer} höchstens 2 GB groß sein kann,
+ * werden die Werte auf mehrere gleich große Blöcke verteilt. Für den Garbage Collector sind so unabhängig von der Anzahl der Punkte
+ * nur wenige Objekte sichtbar.
+ * <p>
+ * Die Punktmenge wird in zwei Phasen verwendet. Zuerst werden die Punkte mit {@code append} in beliebiger Reihenfolge angehängt.
+ * Anschließend werden sie mit {@code sort} sortiert und doppelte Punkte entfernt. Erst danach kann die Punktmenge über die Methoden
+ * des Interfaces {@code IPackedPointsCollection} gelesen und zum Beispiel an {@code Calculator.update} übergeben werden.
+ * 
+ * @see IPackedPointsCollection
+ * @see PackedPointsCollection
+ */
+public class OffHeapPointsCollection implements IPackedPointsCollection {
+
+	/** Der Zweierlogarithmus der Anzahl an Punkten pro Block, 2^24 Punkte entsprechen 128 MB */
+	public static final int DEFAULT_CHUNK_BITS = 24;
+	
+	/** Der Zweierlogarithmus der Anzahl an Punkten pro Block */
+	private final int chunkBits;
+	/** Die Anzahl an Punkten pro Block */
+	private final int chunkSize;
+	/** Die Bitmaske für den Index innerhalb eines Blockes */
+	private final int chunkMask;
+	
+	/** Die Blöcke, in denen die Punkte gespeichert werden */
+	private LongBuffer[] chunks;
+	/** Die Anzahl der Punkte */
+	private int size;
+	/** Ob die Punkte sortiert und ohne doppelte Punkte vorliegen */
+	private boolean sorted;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Erzeugt eine leere Punktmenge mit der Standardgröße für Blöcke.
+	 */
+	public OffHeapPointsCollection() {
+		this(DEFAULT_CHUNK_BITS);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Erzeugt eine leere Punktmenge, deren Blöcke jeweils 2^{@code chunkBits} Punkte aufnehmen.
+	 * 
+	 * @param chunkBits Der Zweierlogarithmus der Anzahl an Punkten pro Block, zwischen 4 und 27
+	 */
+	public OffHeapPointsCollection(int chunkBits) {
+		if(chunkBits < 4 || chunkBits > 27) {
+			throw new IllegalArgumentException("chunkBits muss zwischen 4 und 27 liegen: " + chunkBits);
+		}
+		this.chunkBits = chunkBits;
+		this.chunkSize = 1 << chunkBits;
+		this.chunkMask = chunkSize - 1;
+		this.chunks = new LongBuffer[0];
+		this.size = 0;
+		this.sorted = true;
+	}
+	
+	/**
+	 * Erzeugt eine neue sortierte Punktmenge aus den übergebenen Punkten.
+	 * 
+	 * @param points Die Punkte, die übernommen werden sollen
+	 * @return Die neue Punktmenge
+	 */
+	public static OffHeapPointsCollection fromPoints(Collection<Point> points) {
+		OffHeapPointsCollection collection = new OffHeapPointsCollection();
+		for(Point p : points) {
+			collection.append(p.getX(), p.getY());
+		}
+		collection.sort();
+		return collection;
+	}
+	
+	/**
+	 * Hängt einen Punkt an die Punktmenge an.
+	 * <p>
+	 * Die Punktmenge ist danach nicht mehr sortiert und muss vor dem Lesen mit {@code sort} sortiert werden.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 */
+	public void append(int x, int y) {
+		if(size == Integer.MAX_VALUE) {
+			throw new IllegalStateException("Die Punktmenge ist voll");
+		}
+		int chunk = size >>> chunkBits;
+		if(chunk == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunk + 1);
+			chunks[chunk] = allocateChunk();
+		}
+		chunks[chunk].put(size & chunkMask, PackedPointsCollection.pack(x, y));
+		size++;
+		sorted = false;
+	}
+	
+	/**
+	 * Sortiert die Punkte lexikographisch und entfernt doppelte Punkte.
+	 * <p>
+	 * Jeder Block wird zunächst einzeln über ein wiederverwendetes Array sortiert. Besteht die Punktmenge aus mehreren Blöcken,
+	 * werden diese anschließend in einem Durchlauf zu neuen Blöcken zusammengeführt, wodurch kurzzeitig der doppelte Speicher belegt wird.
+	 */
+	public void sort() {
+		if(sorted) {
+			return;
+		}
+		int[] lengths = new int[chunks.length];
+		long[] buffer = new long[Math.min(chunkSize, size)];
+		for(int c = 0; c < chunks.length; c++) {
+			int length = Math.min(chunkSize, size - (c << chunkBits));
+			chunks[c].get(0, buffer, 0, length);
+			Arrays.sort(buffer, 0, length);
+			int unique = 0;
+			for(int i = 0; i < length; i++) {
+				if(unique == 0 || buffer[unique - 1] != buffer[i]) {
+					buffer[unique++] = buffer[i];
+				}
+			}
+			chunks[c].put(0, buffer, 0, unique);
+			lengths[c] = unique;
+		}
+		buffer = null;
+		
+		if(chunks.length == 1) {
+			size = lengths[0];
+		} else {
+			mergeChunks(lengths);
+		}
+		sorted = true;
+	}
+	
+	/**
+	 * Führt die einzeln sortierten Blöcke zu neuen, vollständig belegten Blöcken zusammen und entfernt doppelte Punkte.
+	 * <p>
+	 * Der jeweils kleinste Wert wird über einen binären Heap der Blöcke bestimmt, der nach ihrem aktuellen Wert geordnet ist.
+	 * 
+	 * @param lengths Die Anzahl der sortierten Punkte in jedem Block
+	 */
+	private void mergeChunks(int[] lengths) {
+		LongBuffer[] source = chunks;
+		int[] positions = new int[source.length];
+		int[] heap = new int[source.length];
+		int heapSize = 0;
+		for(int c = 0; c < source.length; c++) {
+			if(lengths[c] > 0) {
+				heap[heapSize++] = c;
+			}
+		}
+		for(int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(heap, heapSize, i, source, positions);
+		}
+		
+		chunks = new LongBuffer[0];
+		size = 0;
+		long last = 0;
+		while(heapSize > 0) {
+			int c = heap[0];
+			long key = source[c].get(positions[c]);
+			if(size == 0 || key != last) {
+				int chunk = size >>> chunkBits;
+				if(chunk == chunks.length) {
+					chunks = Arrays.copyOf(chunks, chunk + 1);
+					chunks[chunk] = allocateChunk();
+				}
+				chunks[chunk].put(size & chunkMask, key);
+				size++;
+				last = key;
+			}
+			positions[c]++;
+			if(positions[c] == lengths[c]) {
+				source[c] = null;
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0, source, positions);
+		}
+	}
+	
+	/**
+	 * Stellt die Heap-Eigenschaft ab dem übergebenen Eintrag wieder her.
+	 * 
+	 * @param heap Die Indizes der Blöcke
+	 * @param heapSize Die Anzahl der Einträge im Heap
+	 * @param i Der Eintrag, ab dem die Heap-Eigenschaft wiederhergestellt werden soll
+	 * @param source Die Blöcke
+	 * @param positions Die aktuelle Position in jedem Block
+	 */
+	private static void siftDown(int[] heap, int heapSize, int i, LongBuffer[] source, int[] positions) {
+		while(true) {
+			int smallest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if(left < heapSize && headOf(heap[left], source, positions) < headOf(heap[smallest], source, positions)) {
+				smallest = left;
+			}
+			if(right < heapSize && headOf(heap[right], source, positions) < headOf(heap[smallest], source, positions)) {
+				smallest = right;
+			}
+			if(smallest == i) {
+				return;
+			}
+			int temp = heap[i];
+			heap[i] = heap[smallest];
+			heap[smallest] = temp;
+			i = smallest;
+		}
+	}
+	
+	/**
+	 * Gibt den aktuellen Wert des übergebenen Blockes zurück.
+	 * 
+	 * @param chunk Der Index des Blockes
+	 * @param source Die Blöcke
+	 * @param positions Die aktuelle Position in jedem Block
+	 * @return Der aktuelle Wert des Blockes
+	 */
+	private static long headOf(int chunk, LongBuffer[] source, int[] positions) {
+		return source[chunk].get(positions[chunk]);
+	}
+	
+	/**
+	 * Gibt die Anzahl der Punkte zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 * @throws IllegalStateException wenn die Punktmenge nicht sortiert ist
+	 */
+	@Override
+	public int size() {
+		checkSorted();
+		return size;
+	}
+	
+	@Override
+	public int getX(int index) {
+		return PackedPointsCollection.unpackX(getKey(index));
+	}
+	
+	@Override
+	public int getY(int index) {
+		return PackedPointsCollection.unpackY(getKey(index));
+	}
+	
+	/**
+	 * Gibt den {@code long}-Wert des Punktes an dem übergebenen Index zurück.
+	 * 
+	 * @param index Der Index des Punktes
+	 * @return Der {@code long}-Wert des Punktes
+	 */
+	public long getKey(int index) {
+		return chunks[index >>> chunkBits].get(index & chunkMask);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalStateException wenn die Punktmenge nicht sortiert ist
+	 */
+	@Override
+	public int lowerBound(int x, int y) {
+		checkSorted();
+		long key = PackedPointsCollection.pack(x, y);
+		int low = 0;
+		int high = size;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(getKey(mid) < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Entfernt alle Punkte aus der Punktmenge und gibt die Blöcke frei.
+	 * <p>
+	 * Der Speicher der direkten {@code ByteBuffer} wird freigegeben, sobald der Garbage Collector die Blöcke entfernt.
+	 */
+	public void clear() {
+		chunks = new LongBuffer[0];
+		size = 0;
+		sorted = true;
+	}
+	
+	/**
+	 * Erzeugt einen neuen Block außerhalb des Java-Heaps.
+	 * 
+	 * @return Der neue Block
+	 */
+	private LongBuffer allocateChunk() {
+		return ByteBuffer.allocateDirect(chunkSize * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+	}
+	
+	/**
+	 * Prüft, ob die Punktmenge sortiert ist.
+	 * 
+	 * @throws IllegalStateException wenn die Punktmenge nicht sortiert ist
+	 */
+	private void checkSorted() {
+		if(!sorted) {
+			throw new IllegalStateException("Die Punktmenge muss vor dem Lesen mit sort() sortiert werden");
+		}
+	}
+
+}
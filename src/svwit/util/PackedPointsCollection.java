@@ -0,0 +1,440 @@
+package svwit.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Diese Klasse repräsentiert eine Punktmenge, deren Punkte als primitive Werte in einem sortierten Array gespeichert werden.
+ * <p>
+ * Jeder Punkt wird als ein {@code long} gespeichert, in dessen oberen 32 Bit die X-Koordinate und in dessen unteren 32 Bit die Y-Koordinate liegt.
+ * Die Y-Koordinate wird dabei mit umgekehrtem Vorzeichenbit abgelegt, sodass der Vergleich zweier {@code long}-Werte
+ * dem lexikographischen Vergleich der Punkte entspricht, wie er in der Klasse {@code Point} definiert ist.
+ * Ein Punkt belegt so 8 Byte, im Gegensatz zu einem Objekt vom Typ {@code Point} mit einem Eintrag in einem {@code TreeSet}.
+ * <p>
+ * Wie bei der Klasse {@code PointsCollection} sind die Punkte lexikographisch sortiert und jeder Punkt ist höchstens einmal enthalten.
+ * Das Hinzufügen und Entfernen eines einzelnen Punktes geschieht in O(n) Zeit. Mengen von Punkten sollten deshalb mit
+ * {@code addAll} beziehungsweise {@code addAllSorted} in einem Schritt hinzugefügt werden.
+ * 
+ * @see IPackedPointsCollection
+ */
+public class PackedPointsCollection implements IPackedPointsCollection {
+
+	/** Die initiale Kapazität des Arrays */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/** Die sortierten Punkte als {@code long}-Werte */
+	private long[] keys;
+	/** Die Anzahl der Punkte */
+	private int size;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Erzeugt eine leere Punktmenge.
+	 */
+	public PackedPointsCollection() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Erzeugt eine leere Punktmenge mit der übergebenen Kapazität.
+	 * 
+	 * @param capacity Die Anzahl an Punkten, die ohne Vergrößerung des Arrays gespeichert werden können
+	 */
+	public PackedPointsCollection(int capacity) {
+		keys = new long[Math.max(1, capacity)];
+		size = 0;
+	}
+	
+	/**
+	 * Erzeugt eine neue Punktmenge aus den übergebenen Punkten.
+	 * <p>
+	 * Ist die übergebene Sammlung eine {@code PointsCollection}, sind die Punkte bereits sortiert und werden direkt übernommen.
+	 * 
+	 * @param points Die Punkte, die übernommen werden sollen
+	 * @return Die neue Punktmenge
+	 */
+	public static PackedPointsCollection fromPoints(Collection<Point> points) {
+		long[] newKeys = new long[points.size()];
+		int count = 0;
+		for(Point p : points) {
+			newKeys[count++] = pack(p.getX(), p.getY());
+		}
+		PackedPointsCollection collection = new PackedPointsCollection(0);
+		if(points instanceof PointsCollection) {
+			collection.keys = newKeys;
+			collection.size = count;
+		} else {
+			collection.addAll(newKeys, count);
+		}
+		return collection;
+	}
+	
+	/**
+	 * Gibt den {@code long}-Wert zurück, als der ein Punkt mit den übergebenen Koordinaten gespeichert wird.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return Der {@code long}-Wert des Punktes
+	 */
+	public static long pack(int x, int y) {
+		return ((long)x << 32) | ((y ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Gibt die X-Koordinate des übergebenen {@code long}-Wertes zurück.
+	 * 
+	 * @param key Der {@code long}-Wert eines Punktes
+	 * @return X-Koordinate des Punktes
+	 */
+	public static int unpackX(long key) {
+		return (int)(key >> 32);
+	}
+	
+	/**
+	 * Gibt die Y-Koordinate des übergebenen {@code long}-Wertes zurück.
+	 * 
+	 * @param key Der {@code long}-Wert eines Punktes
+	 * @return Y-Koordinate des Punktes
+	 */
+	public static int unpackY(long key) {
+		return (int)key ^ Integer.MIN_VALUE;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public int getX(int index) {
+		return unpackX(keys[index]);
+	}
+	
+	@Override
+	public int getY(int index) {
+		return unpackY(keys[index]);
+	}
+	
+	/**
+	 * Gibt den {@code long}-Wert des Punktes an dem übergebenen Index zurück.
+	 * 
+	 * @param index Der Index des Punktes
+	 * @return Der {@code long}-Wert des Punktes
+	 */
+	public long getKey(int index) {
+		return keys[index];
+	}
+	
+	@Override
+	public int lowerBound(int x, int y) {
+		long key = pack(x, y);
+		int low = 0;
+		int high = size;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(keys[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Fügt einen Punkt der Punktmenge hinzu, wenn dieser noch nicht enthalten ist.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return {@code true}, wenn der Punkt hinzugefügt wurde, {@code false}, wenn er bereits enthalten war
+	 */
+	public boolean add(int x, int y) {
+		int index = lowerBound(x, y);
+		long key = pack(x, y);
+		if(index < size && keys[index] == key) {
+			return false;
+		}
+		ensureCapacity(size + 1);
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		keys[index] = key;
+		size++;
+		return true;
+	}
+	
+	/**
+	 * Entfernt einen Punkt aus der Punktmenge.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @return {@code true}, wenn der Punkt entfernt wurde, {@code false}, wenn er nicht enthalten war
+	 */
+	public boolean remove(int x, int y) {
+		int index = lowerBound(x, y);
+		if(index >= size || keys[index] != pack(x, y)) {
+			return false;
+		}
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		size--;
+		return true;
+	}
+	
+	/**
+	 * Fügt eine unsortierte Menge an Punkten der Punktmenge hinzu.
+	 * <p>
+	 * Die übergebenen {@code long}-Werte werden sortiert und doppelte Punkte entfernt.
+	 * Anschließend werden sie mit {@code addAllSorted} in einem Durchlauf mit der Punktmenge zusammengeführt.
+	 * Das übergebene Array wird dabei verändert.
+	 * 
+	 * @param newKeys Die {@code long}-Werte der Punkte, die hinzugefügt werden sollen
+	 * @param count Die Anzahl der gültigen Einträge in {@code newKeys}
+	 */
+	public void addAll(long[] newKeys, int count) {
+		Arrays.sort(newKeys, 0, count);
+		addAllSorted(newKeys, count);
+	}
+	
+	/**
+	 * Fügt eine lexikographisch aufsteigend sortierte Menge an Punkten der Punktmenge hinzu.
+	 * <p>
+	 * Die übergebenen Punkte werden in einem Durchlauf mit den vorhandenen Punkten zusammengeführt,
+	 * wodurch das Hinzufügen in O(n + m) Zeit geschieht. Doppelte Punkte werden dabei entfernt.
+	 * 
+	 * @param newKeys Die sortierten {@code long}-Werte der Punkte, die hinzugefügt werden sollen
+	 * @param count Die Anzahl der gültigen Einträge in {@code newKeys}
+	 */
+	public void addAllSorted(long[] newKeys, int count) {
+		if(count <= 0) {
+			return;
+		}
+		long[] merged = new long[size + count];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while(i < size || j < count) {
+			long next;
+			if(j >= count || (i < size && keys[i] <= newKeys[j])) {
+				next = keys[i++];
+			} else {
+				next = newKeys[j++];
+			}
+			if(k == 0 || merged[k - 1] != next) {
+				merged[k++] = next;
+			}
+		}
+		keys = merged;
+		size = k;
+	}
+	
+	/**
+	 * Erzeugt eine neue Punktmenge, die das übergebene Array direkt verwendet.
+	 * <p>
+	 * Die Werte müssen bereits streng aufsteigend sortiert sein, dies wird nicht geprüft. Das Array darf danach nicht mehr verändert werden.
+	 * 
+	 * @param sortedKeys Die streng aufsteigend sortierten {@code long}-Werte der Punkte
+	 * @param count Die Anzahl der gültigen Einträge in {@code sortedKeys}
+	 * @return Die neue Punktmenge
+	 */
+	static PackedPointsCollection wrapSorted(long[] sortedKeys, int count) {
+		PackedPointsCollection points = new PackedPointsCollection(0);
+		points.keys = sortedKeys.length > 0 ? sortedKeys : points.keys;
+		points.size = count;
+		return points;
+	}
+	
+	/**
+	 * Erzeugt eine neue Punktmenge aus mehreren einzeln sortierten Arrays von Punkten.
+	 * <p>
+	 * Die Arrays werden in einem Durchlauf zusammengeführt, wobei der jeweils kleinste Wert über einen binären Heap der Arrays bestimmt wird.
+	 * Die Laufzeit beträgt so O(n log k) für n Punkte in k Arrays. Doppelte Punkte werden dabei entfernt, auch wenn sie in verschiedenen Arrays liegen.
+	 * 
+	 * @param sortedKeys Die aufsteigend sortierten {@code long}-Werte der Punkte, ein Array pro Quelle
+	 * @param counts Die Anzahl der gültigen Einträge in jedem Array
+	 * @return Die neue Punktmenge
+	 */
+	public static PackedPointsCollection mergeSorted(long[][] sortedKeys, int[] counts) {
+		long total = 0;
+		int[] heap = new int[sortedKeys.length];
+		int heapSize = 0;
+		for(int s = 0; s < sortedKeys.length; s++) {
+			total += counts[s];
+			if(counts[s] > 0) {
+				heap[heapSize++] = s;
+			}
+		}
+		if(total > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Zu viele Punkte: " + total);
+		}
+		int[] positions = new int[sortedKeys.length];
+		for(int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(heap, heapSize, i, sortedKeys, positions);
+		}
+		
+		PackedPointsCollection merged = new PackedPointsCollection((int)total);
+		long[] target = merged.keys;
+		int k = 0;
+		while(heapSize > 0) {
+			int s = heap[0];
+			long key = sortedKeys[s][positions[s]++];
+			if(k == 0 || target[k - 1] != key) {
+				target[k++] = key;
+			}
+			if(positions[s] == counts[s]) {
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0, sortedKeys, positions);
+		}
+		merged.size = k;
+		return merged;
+	}
+	
+	/**
+	 * Stellt die Heap-Eigenschaft ab dem übergebenen Eintrag wieder her.
+	 * 
+	 * @param heap Die Indizes der Arrays
+	 * @param heapSize Die Anzahl der Einträge im Heap
+	 * @param i Der Eintrag, ab dem die Heap-Eigenschaft wiederhergestellt werden soll
+	 * @param sortedKeys Die Arrays
+	 * @param positions Die aktuelle Position in jedem Array
+	 */
+	private static void siftDown(int[] heap, int heapSize, int i, long[][] sortedKeys, int[] positions) {
+		while(true) {
+			int smallest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if(left < heapSize && sortedKeys[heap[left]][positions[heap[left]]] < sortedKeys[heap[smallest]][positions[heap[smallest]]]) {
+				smallest = left;
+			}
+			if(right < heapSize && sortedKeys[heap[right]][positions[heap[right]]] < sortedKeys[heap[smallest]][positions[heap[smallest]]]) {
+				smallest = right;
+			}
+			if(smallest == i) {
+				return;
+			}
+			int temp = heap[i];
+			heap[i] = heap[smallest];
+			heap[smallest] = temp;
+			i = smallest;
+		}
+	}
+	
+	/**
+	 * Erzeugt eine neue Punktmenge, in der die übergebenen Änderungen auf diese Punktmenge angewendet sind. Diese Punktmenge bleibt unverändert.
+	 * <p>
+	 * Die Änderungen werden in einem Durchlauf mit den vorhandenen Punkten zusammengeführt, wodurch dies in O(n + m) Zeit geschieht.
+	 * Pro Punkt darf höchstens eine Änderung übergeben werden. Hinzugefügte Punkte, die bereits enthalten sind,
+	 * und entfernte Punkte, die nicht enthalten sind, werden ignoriert.
+	 * 
+	 * @param sortedKeys Die streng aufsteigend sortierten {@code long}-Werte der geänderten Punkte
+	 * @param added Für jeden geänderten Punkt {@code true}, wenn er hinzugefügt, und {@code false}, wenn er entfernt werden soll
+	 * @param count Die Anzahl der gültigen Einträge in {@code sortedKeys} und {@code added}
+	 * @return Die neue Punktmenge
+	 */
+	public PackedPointsCollection withChanges(long[] sortedKeys, boolean[] added, int count) {
+		long[] merged = new long[size + count];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while(i < size || j < count) {
+			if(j >= count || (i < size && keys[i] < sortedKeys[j])) {
+				merged[k++] = keys[i++];
+			} else {
+				if(added[j]) {
+					merged[k++] = sortedKeys[j];
+				}
+				if(i < size && keys[i] == sortedKeys[j]) {
+					i++;
+				}
+				j++;
+			}
+		}
+		return wrapSorted(merged, k);
+	}
+	
+	/**
+	 * Erzeugt eine neue Punktmenge aus dieser Punktmenge ohne die Punkte aus {@code removed} und mit den Punkten aus {@code added}.
+	 * Diese Punktmenge bleibt unverändert.
+	 * <p>
+	 * Die drei Punktmengen werden in einem Durchlauf zusammengeführt, wodurch dies in O(n + m) Zeit geschieht.
+	 * 
+	 * @param removed Die Punkte, die entfernt werden sollen
+	 * @param added Die Punkte, die hinzugefügt werden sollen. Sie dürfen nicht in {@code removed} enthalten sein.
+	 * @return Die neue Punktmenge
+	 */
+	public PackedPointsCollection withChanges(PackedPointsCollection removed, PackedPointsCollection added) {
+		long[] merged = new long[size + added.size];
+		int i = 0;
+		int j = 0;
+		int r = 0;
+		int k = 0;
+		while(i < size || j < added.size) {
+			long next;
+			if(j >= added.size || (i < size && keys[i] <= added.keys[j])) {
+				next = keys[i++];
+				while(r < removed.size && removed.keys[r] < next) {
+					r++;
+				}
+				if(r < removed.size && removed.keys[r] == next) {
+					continue;
+				}
+			} else {
+				next = added.keys[j++];
+			}
+			if(k == 0 || merged[k - 1] != next) {
+				merged[k++] = next;
+			}
+		}
+		return wrapSorted(merged, k);
+	}
+	
+	/**
+	 * Gibt zurück, ob ein Punkt enthalten ist.
+	 * 
+	 * @param key Der {@code long}-Wert des Punktes
+	 * @return {@code true}, wenn der Punkt enthalten ist, {@code false} ansonsten
+	 */
+	public boolean containsKey(long key) {
+		int index = lowerBound(unpackX(key), unpackY(key));
+		return index < size && keys[index] == key;
+	}
+	
+	/**
+	 * Fügt die Punkte einer anderen Punktmenge dieser Punktmenge hinzu.
+	 * 
+	 * @param other Die Punktmenge, deren Punkte hinzugefügt werden sollen
+	 */
+	public void addAllSorted(PackedPointsCollection other) {
+		addAllSorted(other.keys, other.size);
+	}
+	
+	/**
+	 * Entfernt alle Punkte aus der Punktmenge.
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Verkleinert das Array auf die Anzahl der enthaltenen Punkte.
+	 */
+	public void trimToSize() {
+		if(keys.length > size) {
+			keys = Arrays.copyOf(keys, Math.max(1, size));
+		}
+	}
+	
+	/**
+	 * Vergrößert das Array, sodass mindestens die übergebene Anzahl an Punkten gespeichert werden kann.
+	 * 
+	 * @param capacity Die benötigte Kapazität
+	 */
+	private void ensureCapacity(int capacity) {
+		if(capacity > keys.length) {
+			int newCapacity = Math.max(capacity, keys.length + (keys.length >> 1));
+			keys = Arrays.copyOf(keys, newCapacity);
+		}
+	}
+
+}
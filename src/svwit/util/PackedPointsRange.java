@@ -0,0 +1,54 @@
+package svwit.util;
+
+/**
+ * Diese Klasse repräsentiert eine Ansicht auf einen zusammenhängenden Bereich einer {@code IPackedPointsCollection}.
+ * <p>
+ * Die Ansicht kopiert keine Punkte, sondern greift über einen Versatz auf die zugrundeliegende Punktmenge zu.
+ * Wird die zugrundeliegende Punktmenge verändert, ist die Ansicht ungültig.
+ * 
+ * @see IPackedPointsCollection#subCollection(Point, Point)
+ */
+public class PackedPointsRange implements IPackedPointsCollection {
+
+	/** Die zugrundeliegende Punktmenge */
+	private IPackedPointsCollection points;
+	/** Der Index des ersten Punktes der Ansicht in der zugrundeliegenden Punktmenge */
+	private int fromIndex;
+	/** Die Anzahl der Punkte der Ansicht */
+	private int size;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param points Die zugrundeliegende Punktmenge
+	 * @param fromIndex Der Index des ersten Punktes (eingeschlossen)
+	 * @param toIndex Der Index des letzten Punktes (ausgeschlossen)
+	 */
+	public PackedPointsRange(IPackedPointsCollection points, int fromIndex, int toIndex) {
+		this.points = points;
+		this.fromIndex = fromIndex;
+		this.size = toIndex - fromIndex;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public int getX(int index) {
+		return points.getX(fromIndex + index);
+	}
+	
+	@Override
+	public int getY(int index) {
+		return points.getY(fromIndex + index);
+	}
+	
+	@Override
+	public int lowerBound(int x, int y) {
+		int index = points.lowerBound(x, y) - fromIndex;
+		return Math.max(0, Math.min(size, index));
+	}
+
+}
@@ -0,0 +1,96 @@
+package svwit.util;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Diese Klasse stellt eine {@code IPackedPointsCollection} als unveränderliches {@code SortedSet} dar.
+ * <p>
+ * Die Punkte werden nicht kopiert. Erst beim Durchlaufen wird für jeden Punkt ein Objekt vom Typ {@code Point} erzeugt.
+ * Da die Klasse {@code SortedSet} implementiert und die natürliche Ordnung der Punkte verwendet, kann eine leere {@code PointsCollection}
+ * mit {@code addAll} in O(n) Zeit aus dieser Ansicht aufgebaut werden, ohne dass jeder Punkt einzeln in den Baum eingefügt wird.
+ * Wird die zugrundeliegende Punktmenge verändert, ist die Ansicht ungültig.
+ * 
+ * @see IPackedPointsCollection#asSortedSet()
+ */
+public class PackedPointsSortedSet extends AbstractSet<Point> implements SortedSet<Point> {
+
+	/** Die zugrundeliegende Punktmenge */
+	private IPackedPointsCollection points;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param points Die zugrundeliegende Punktmenge
+	 */
+	public PackedPointsSortedSet(IPackedPointsCollection points) {
+		this.points = points;
+	}
+	
+	@Override
+	public int size() {
+		return points.size();
+	}
+	
+	@Override
+	public Iterator<Point> iterator() {
+		return points.iterator();
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		if(!(o instanceof Point)) {
+			return false;
+		}
+		Point p = (Point)o;
+		return points.contains(p.getX(), p.getY());
+	}
+	
+	/**
+	 * Gibt {@code null} zurück, da die Punkte nach ihrer natürlichen Ordnung sortiert sind.
+	 * 
+	 * @return {@code null}
+	 */
+	@Override
+	public Comparator<? super Point> comparator() {
+		return null;
+	}
+	
+	@Override
+	public SortedSet<Point> subSet(Point fromElement, Point toElement) {
+		if(fromElement.compareTo(toElement) > 0) {
+			throw new IllegalArgumentException("fromElement ist größer als toElement");
+		}
+		return new PackedPointsSortedSet(points.subCollection(fromElement, toElement));
+	}
+	
+	@Override
+	public SortedSet<Point> headSet(Point toElement) {
+		return new PackedPointsSortedSet(new PackedPointsRange(points, 0, points.lowerBound(toElement.getX(), toElement.getY())));
+	}
+	
+	@Override
+	public SortedSet<Point> tailSet(Point fromElement) {
+		return new PackedPointsSortedSet(new PackedPointsRange(points, points.lowerBound(fromElement.getX(), fromElement.getY()), points.size()));
+	}
+	
+	@Override
+	public Point first() {
+		if(points.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return points.getPoint(0);
+	}
+	
+	@Override
+	public Point last() {
+		if(points.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return points.getPoint(points.size() - 1);
+	}
+
+}
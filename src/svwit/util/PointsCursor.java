@@ -0,0 +1,118 @@
+package svwit.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Diese Klasse repräsentiert einen Cursor, der die Punkte einer {@code IPackedPointsCollection} durchläuft.
+ * <p>
+ * Im Gegensatz zu einem {@code Iterator} werden keine Objekte pro Punkt erzeugt. Nach jedem erfolgreichen Aufruf von {@code next}
+ * können die Koordinaten des aktuellen Punktes über {@code getX} und {@code getY} abgefragt werden.
+ * 
+ * @see IPackedPointsCollection
+ */
+public class PointsCursor {
+
+	/** Die Punktmenge, die durchlaufen wird */
+	private IPackedPointsCollection points;
+	/** Der Index des aktuellen Punktes */
+	private int index;
+	/** Die Schrittweite, {@code 1} für aufsteigend und {@code -1} für absteigend */
+	private int step;
+	/** Die X-Koordinate des aktuellen Punktes */
+	private int x;
+	/** Die Y-Koordinate des aktuellen Punktes */
+	private int y;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Der Cursor steht vor dem ersten Punkt. Erst nach dem ersten Aufruf von {@code next} ist ein aktueller Punkt gesetzt.
+	 * 
+	 * @param points Die Punktmenge, die durchlaufen werden soll
+	 * @param ascending {@code true}, wenn die Punkte aufsteigend durchlaufen werden sollen, {@code false} für absteigend
+	 */
+	public PointsCursor(IPackedPointsCollection points, boolean ascending) {
+		this.points = points;
+		this.step = ascending ? 1 : -1;
+		this.index = ascending ? -1 : points.size();
+	}
+	
+	/**
+	 * Gibt zurück, ob es einen weiteren Punkt gibt.
+	 * 
+	 * @return {@code true}, wenn es einen weiteren Punkt gibt, {@code false} ansonsten
+	 */
+	public boolean hasNext() {
+		int nextIndex = index + step;
+		return nextIndex >= 0 && nextIndex < points.size();
+	}
+	
+	/**
+	 * Setzt den Cursor auf den nächsten Punkt.
+	 * 
+	 * @return {@code true}, wenn es einen nächsten Punkt gibt, {@code false}, wenn alle Punkte durchlaufen wurden
+	 */
+	public boolean next() {
+		if(!hasNext()) {
+			return false;
+		}
+		index += step;
+		x = points.getX(index);
+		y = points.getY(index);
+		return true;
+	}
+	
+	/**
+	 * Gibt den Index des aktuellen Punktes zurück.
+	 * 
+	 * @return Index des aktuellen Punktes
+	 */
+	public int getIndex() {
+		return index;
+	}
+	
+	/**
+	 * Gibt die X-Koordinate des aktuellen Punktes zurück.
+	 * 
+	 * @return X-Koordinate
+	 */
+	public int getX() {
+		return x;
+	}
+	
+	/**
+	 * Gibt die Y-Koordinate des aktuellen Punktes zurück.
+	 * 
+	 * @return Y-Koordinate
+	 */
+	public int getY() {
+		return y;
+	}
+	
+	/**
+	 * Gibt einen Iterator zurück, der die verbleibenden Punkte dieses Cursors als Objekte vom Typ {@code Point} zurückgibt.
+	 * 
+	 * @return Iterator über die verbleibenden Punkte
+	 */
+	public Iterator<Point> asIterator() {
+		Iterator<Point> iterator = new Iterator<>() {
+			
+			@Override
+			public boolean hasNext() {
+				return PointsCursor.this.hasNext();
+			}
+			
+			@Override
+			public Point next() {
+				if(!PointsCursor.this.next()) {
+					throw new NoSuchElementException();
+				}
+				return new Point(x, y);
+			}
+		
+		};
+		return iterator;
+	}
+
+}
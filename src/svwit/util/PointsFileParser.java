@@ -0,0 +1,251 @@
+package svwit.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Diese Klasse liest Punkte aus einer Datei im Textformat, ohne pro Zeile Objekte zu erzeugen.
+ * <p>
+ * Die Datei wird in Fenstern von {@code MAP_WINDOW_SIZE} Bytes mit {@code FileChannel.map} in den Speicher abgebildet
+ * und Byte für Byte von einem Zustandsautomaten gelesen. Da der Zustand zwischen zwei Aufrufen von {@code feed} erhalten bleibt,
+ * dürfen Zeilen und Zahlen über die Grenze zweier Fenster hinausgehen. Jeder gefundene Punkt wird direkt an einen {@code IPointConsumer} übergeben.
+ * <p>
+ * Die Regeln entsprechen denen der bisherigen Implementierung mit {@code BufferedReader.readLine}, {@code String.split(" ")}
+ * und {@code Integer.parseInt}:
+ * <ul>
+ * <li>Eine Zeile endet mit {@code '\n'} oder {@code '\r'}.</li>
+ * <li>Die Wörter einer Zeile werden durch Leerzeichen getrennt, mehrere Leerzeichen hintereinander werden übersprungen.</li>
+ * <li>Ein Wort ist eine Zahl, wenn es aus einem optionalen Vorzeichen {@code '+'} oder {@code '-'} und mindestens einer Ziffer besteht
+ * und im Wertebereich von {@code int} liegt.</li>
+ * <li>Die ersten beiden Zahlen einer Zeile bilden den Punkt, der Rest der Zeile wird ignoriert.</li>
+ * <li>Ist ein Wort vor der zweiten Zahl keine Zahl, wird der Rest der Zeile ignoriert und die Zeile liefert keinen Punkt.</li>
+ * </ul>
+ * Als Ziffern werden nur die ASCII-Zeichen {@code '0'} bis {@code '9'} erkannt.
+ * <p>
+ * Eine Instanz darf nicht gleichzeitig von mehreren Threads verwendet werden.
+ * 
+ * @see IPointConsumer
+ */
+public class PointsFileParser {
+
+	/** Die Größe der Fenster, in denen die Datei in den Speicher abgebildet wird */
+	public static final int MAP_WINDOW_SIZE = 1 << 28;
+	/** Die Größe des Puffers, mit dem nach dem nächsten Zeilenende gesucht wird */
+	private static final int LINE_SEARCH_BUFFER_SIZE = 1 << 16;
+	
+	/** Zustand: Zwischen zwei Wörtern, das nächste Zeichen beginnt ein neues Wort */
+	private static final int STATE_SEPARATOR = 0;
+	/** Zustand: Ein Vorzeichen wurde gelesen, es muss eine Ziffer folgen */
+	private static final int STATE_SIGN = 1;
+	/** Zustand: Innerhalb einer Zahl */
+	private static final int STATE_DIGITS = 2;
+	/** Zustand: Der Rest der Zeile wird ignoriert */
+	private static final int STATE_SKIP = 3;
+	
+	/** Der Empfänger der gelesenen Punkte */
+	private IPointConsumer consumer;
+	
+	/** Der aktuelle Zustand */
+	private int state = STATE_SEPARATOR;
+	/** Gibt an, ob die aktuelle Zahl negativ ist */
+	private boolean negative = false;
+	/** Der Betrag der aktuellen Zahl */
+	private long value = 0;
+	/** Gibt an, ob in der aktuellen Zeile bereits die X-Koordinate gelesen wurde */
+	private boolean foundX = false;
+	/** Die X-Koordinate der aktuellen Zeile */
+	private int x = 0;
+	/** Die Anzahl der bisher übergebenen Punkte */
+	private long points = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * 
+	 * @param consumer Der Empfänger der gelesenen Punkte
+	 */
+	public PointsFileParser(IPointConsumer consumer) {
+		this.consumer = consumer;
+	}
+	
+	/**
+	 * Liest alle Punkte aus der Datei, die sich an dem übergebenen Pfad befindet, und übergibt sie an den Empfänger.
+	 * 
+	 * @param path Pfad, an dem sich die Datei befindet
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht existiert oder gelesen werden kann.
+	 */
+	public void parse(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for(ByteBuffer window : map(channel, 0, channel.size())) {
+				feed(window);
+			}
+		}
+		finish();
+	}
+	
+	/**
+	 * Bildet die Bytes zwischen den übergebenen Positionen einer Datei in Fenstern von {@code MAP_WINDOW_SIZE} Bytes in den Speicher ab.
+	 * <p>
+	 * Die Fenster können nacheinander an {@code feed} übergeben werden. Da {@code FileChannel.map} von mehreren Threads
+	 * gleichzeitig verwendet werden kann, dürfen mehrere Instanzen verschiedene Bereiche derselben Datei lesen.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @param from Die Position des ersten Bytes (eingeschlossen)
+	 * @param to Die Position des letzten Bytes (ausgeschlossen)
+	 * @return Die Fenster in der Reihenfolge ihrer Position in der Datei
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	public static MappedByteBuffer[] map(FileChannel channel, long from, long to) throws IOException {
+		int windows = (int)((Math.max(0, to - from) + MAP_WINDOW_SIZE - 1) / MAP_WINDOW_SIZE);
+		MappedByteBuffer[] buffers = new MappedByteBuffer[windows];
+		for(int i = 0; i < windows; i++) {
+			long position = from + (long)i * MAP_WINDOW_SIZE;
+			buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW_SIZE, to - position));
+		}
+		return buffers;
+	}
+	
+	/**
+	 * Gibt die Position des ersten Zeilenanfangs zurück, der an oder nach der übergebenen Position liegt.
+	 * <p>
+	 * Damit kann eine Datei so in Bereiche geteilt werden, dass keine Zeile auf zwei Bereiche verteilt wird.
+	 * Liegt kein Zeilenende mehr in der Datei, wird die Größe der Datei zurückgegeben.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @param position Die Position, ab der gesucht wird
+	 * @return Die Position des Zeilenanfangs
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	public static long nextLineStart(FileChannel channel, long position) throws IOException {
+		if(position <= 0) {
+			return 0;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(LINE_SEARCH_BUFFER_SIZE);
+		long offset = position - 1;
+		int read;
+		while((read = channel.read(buffer, offset)) > 0) {
+			for(int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if(b == '\n' || b == '\r') {
+					return offset + i + 1;
+				}
+			}
+			offset += read;
+			buffer.clear();
+		}
+		return Math.max(position, channel.size());
+	}
+	
+	/**
+	 * Liest die Bytes zwischen der Position und dem Limit des übergebenen {@code ByteBuffer}.
+	 * <p>
+	 * Der Zustand bleibt nach dem Aufruf erhalten, sodass die Datei in beliebigen Stücken übergeben werden kann.
+	 * Nach dem letzten Stück muss {@code finish} aufgerufen werden. Die Position des {@code ByteBuffer} steht danach auf seinem Limit.
+	 * 
+	 * @param buffer Das nächste Stück der Datei
+	 */
+	public void feed(ByteBuffer buffer) {
+		int state = this.state;
+		boolean negative = this.negative;
+		long value = this.value;
+		
+		int limit = buffer.limit();
+		for(int i = buffer.position(); i < limit; i++) {
+			byte b = buffer.get(i);
+			if(b == '\n' || b == '\r') {
+				if(state == STATE_DIGITS) {
+					acceptNumber(negative ? -value : value);
+				}
+				foundX = false;
+				state = STATE_SEPARATOR;
+				continue;
+			}
+			int digit = b - '0';
+			switch(state) {
+			case STATE_SEPARATOR:
+				if(digit >= 0 && digit <= 9) {
+					negative = false;
+					value = digit;
+					state = STATE_DIGITS;
+				} else if(b == '-' || b == '+') {
+					negative = b == '-';
+					value = 0;
+					state = STATE_SIGN;
+				} else if(b != ' ') {
+					state = STATE_SKIP;
+				}
+				break;
+			case STATE_SIGN:
+				if(digit >= 0 && digit <= 9) {
+					value = digit;
+					state = STATE_DIGITS;
+				} else {
+					state = STATE_SKIP;
+				}
+				break;
+			case STATE_DIGITS:
+				if(digit >= 0 && digit <= 9) {
+					value = value * 10 + digit;
+					if(value > (negative ? -(long)Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+						state = STATE_SKIP;
+					}
+				} else if(b == ' ') {
+					state = acceptNumber(negative ? -value : value);
+				} else {
+					state = STATE_SKIP;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		buffer.position(limit);
+		
+		this.state = state;
+		this.negative = negative;
+		this.value = value;
+	}
+	
+	/**
+	 * Schließt das Lesen ab, als ob die Datei mit einem Zeilenende enden würde, und setzt den Zustand zurück.
+	 */
+	public void finish() {
+		if(state == STATE_DIGITS) {
+			acceptNumber(negative ? -value : value);
+		}
+		foundX = false;
+		state = STATE_SEPARATOR;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher an den Empfänger übergebenen Punkte zurück.
+	 * 
+	 * @return Anzahl der Punkte
+	 */
+	public long getPoints() {
+		return points;
+	}
+	
+	/**
+	 * Verarbeitet eine vollständig gelesene Zahl.
+	 * <p>
+	 * Die erste Zahl einer Zeile wird als X-Koordinate gespeichert, mit der zweiten Zahl wird der Punkt an den Empfänger übergeben.
+	 * 
+	 * @param number Die gelesene Zahl
+	 * @return Der Zustand, mit dem das Lesen der Zeile fortgesetzt wird
+	 */
+	private int acceptNumber(long number) {
+		if(!foundX) {
+			x = (int)number;
+			foundX = true;
+			return STATE_SEPARATOR;
+		}
+		consumer.accept(x, (int)number);
+		points++;
+		return STATE_SKIP;
+	}
+
+}
@@ -0,0 +1,149 @@
+package svwit.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Diese Klasse schreibt Punkte im Textformat in eine Datei, ohne pro Punkt Objekte zu erzeugen.
+ * <p>
+ * Jeder Punkt wird als Zeile "x y" geschrieben, wie sie auch vom {@code PointsFileParser} gelesen wird.
+ * Die Ziffern der Koordinaten werden direkt als ASCII-Zeichen in einen wiederverwendeten {@code ByteBuffer} geschrieben,
+ * der über einen {@code FileChannel} in die Datei geschrieben wird, sobald er voll ist. Es wird also weder ein {@code String}
+ * pro Punkt erzeugt noch der Standardzeichensatz der Plattform verwendet.
+ * <p>
+ * Statt in eine Datei kann auch in einen beliebigen {@code WritableByteChannel} geschrieben werden, zum Beispiel in einen komprimierenden Kanal.
+ * Der Puffer wird immer nur mit vollständigen Zeilen an den Kanal übergeben.
+ * <p>
+ * Eine Instanz darf nicht gleichzeitig von mehreren Threads verwendet werden.
+ * 
+ * @see PointsFileParser
+ */
+public class PointsFileWriter implements Closeable {
+
+	/** Die maximale Länge einer Zeile in Bytes: zwei Zahlen mit Vorzeichen und zehn Ziffern, ein Leerzeichen und ein Zeilenumbruch */
+	public static final int MAX_LINE_LENGTH = 24;
+	
+	/** Die Standardgröße des Puffers in Bytes */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Die Zeichen der kleinsten {@code int}-Zahl, deren Betrag nicht als {@code int} dargestellt werden kann */
+	private static final byte[] MIN_VALUE_BYTES = {'-', '2', '1', '4', '7', '4', '8', '3', '6', '4', '8'};
+	
+	/** Der Kanal, in den geschrieben wird */
+	private WritableByteChannel channel;
+	/** Der Puffer, in dem die Zeilen gesammelt werden */
+	private ByteBuffer buffer;
+	/** Das Array, in dem die Ziffern einer Zahl von hinten nach vorne gebildet werden */
+	private byte[] digits = new byte[10];
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Datei an dem übergebenen Pfad wird erzeugt beziehungsweise überschrieben.
+	 * 
+	 * @param path Pfad, an dem die Datei geschrieben wird
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht erzeugt werden kann.
+	 */
+	public PointsFileWriter(Path path) throws IOException {
+		this(FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE);
+	}
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Der übergebene Kanal wird beim Schließen ebenfalls geschlossen.
+	 * 
+	 * @param channel Der Kanal, in den geschrieben wird
+	 * @param bufferSize Die Größe des Puffers in Bytes, mindestens {@code MAX_LINE_LENGTH}
+	 */
+	public PointsFileWriter(WritableByteChannel channel, int bufferSize) {
+		if(bufferSize < MAX_LINE_LENGTH) {
+			throw new IllegalArgumentException("bufferSize muss mindestens " + MAX_LINE_LENGTH + " sein: " + bufferSize);
+		}
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+	
+	/**
+	 * Schreibt einen Punkt als eine Zeile.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	public void write(int x, int y) throws IOException {
+		if(buffer.remaining() < MAX_LINE_LENGTH) {
+			flush();
+		}
+		putInt(x);
+		buffer.put((byte)' ');
+		putInt(y);
+		buffer.put((byte)'\n');
+	}
+	
+	/**
+	 * Schreibt alle übergebenen Punkte, jeweils als eine Zeile.
+	 * 
+	 * @param points Die Punkte
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	public void writeAll(Iterable<Point> points) throws IOException {
+		for(Point p : points) {
+			write(p.getX(), p.getY());
+		}
+	}
+	
+	/**
+	 * Schreibt den Inhalt des Puffers in den Kanal.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	public void flush() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Schreibt den Inhalt des Puffers in den Kanal und schließt diesen.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht beschrieben werden kann.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Schreibt eine Zahl als Dezimalzahl in den Puffer.
+	 * 
+	 * @param value Die Zahl
+	 */
+	private void putInt(int value) {
+		if(value == Integer.MIN_VALUE) {
+			buffer.put(MIN_VALUE_BYTES);
+			return;
+		}
+		if(value < 0) {
+			buffer.put((byte)'-');
+			value = -value;
+		}
+		int start = digits.length;
+		do {
+			digits[--start] = (byte)('0' + value % 10);
+			value /= 10;
+		} while(value != 0);
+		buffer.put(digits, start, digits.length - start);
+	}
+
+}
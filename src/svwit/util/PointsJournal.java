@@ -0,0 +1,502 @@
+package svwit.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Diese Klasse schreibt die Änderungen an einer gespeicherten Punktmenge in ein Journal, an das nur angehängt wird.
+ * <p>
+ * Das Journal liegt neben der Datei der Punktmenge und hat deren Namen mit der zusätzlichen Endung ".journal".
+ * Nach einem Kopf von {@code HEADER_SIZE} Bytes mit der Kennung {@code MAGIC} und der Version {@code VERSION} folgen die Einträge,
+ * jeweils ein Byte für die Art des Eintrags und danach die Koordinaten als {@code int}-Werte in Little-Endian:
+ * <ul>
+ * <li>{@code OP_ADD}: Ein Punkt wurde hinzugefügt.</li>
+ * <li>{@code OP_REMOVE}: Ein Punkt wurde entfernt.</li>
+ * <li>{@code OP_MOVE}: Ein Punkt wurde verschoben, zuerst die Startposition und dann die Zielposition.</li>
+ * <li>{@code OP_COMMIT}: Die vorherigen Einträge wurden gespeichert, gefolgt von der CRC32-Prüfsumme aller Einträge seit dem letzten {@code OP_COMMIT}.</li>
+ * </ul>
+ * Beim Speichern werden nur die neuen Einträge und ein {@code OP_COMMIT} angehängt, der Aufwand hängt also nur von der Anzahl der Änderungen ab.
+ * Beim Einlesen werden nur Einträge übernommen, die von einem gültigen {@code OP_COMMIT} abgeschlossen werden. Bricht das Programm
+ * während des Schreibens ab, wird der unvollständige Rest so ignoriert und beim nächsten Schreiben abgeschnitten.
+ * <p>
+ * Jeder Eintrag legt nur fest, ob ein Punkt danach enthalten ist oder nicht. Das Journal kann daher auch auf eine Punktmenge angewendet werden,
+ * die bereits einen Teil der Änderungen enthält, und führt zum selben Ergebnis. Dies wird beim Verdichten genutzt: Das Journal wird mit
+ * {@code rotate} in eine Datei mit der Endung ".journal.old" verschoben, danach wird die vollständige Punktmenge geschrieben und
+ * erst anschließend die alte Datei gelöscht. Bricht das Programm dazwischen ab, werden beide Journale beim Einlesen erneut angewendet.
+ * <p>
+ * Eine Instanz darf nicht gleichzeitig von mehreren Threads verwendet werden.
+ * 
+ */
+public class PointsJournal implements Closeable {
+
+	/** Die zusätzliche Dateiendung des Journals */
+	public static final String EXTENSION = "journal";
+	/** Die zusätzliche Dateiendung des Journals, das gerade verdichtet wird */
+	public static final String OLD_EXTENSION = "journal.old";
+	/** Die Kennung am Anfang jedes Journals, entspricht den Zeichen "PJNL" in Little-Endian */
+	public static final int MAGIC = 0x4C4E4A50;
+	/** Die aktuelle Version des Formats */
+	public static final short VERSION = 1;
+	/** Die Größe des Kopfes in Bytes */
+	public static final int HEADER_SIZE = 8;
+	
+	/** Die Art eines Eintrags, bei dem ein Punkt hinzugefügt wurde */
+	public static final int OP_ADD = 1;
+	/** Die Art eines Eintrags, bei dem ein Punkt entfernt wurde */
+	public static final int OP_REMOVE = 2;
+	/** Die Art eines Eintrags, bei dem ein Punkt verschoben wurde */
+	public static final int OP_MOVE = 3;
+	/** Die Art eines Eintrags, der die vorherigen Einträge abschließt */
+	public static final int OP_COMMIT = 4;
+	
+	/** Die Größe des Puffers, über den das Journal gelesen und geschrieben wird */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Die maximale Größe eines Eintrags in Bytes */
+	private static final int MAX_ENTRY_SIZE = 17;
+	
+	/** Der Pfad des Journals */
+	private final Path path;
+	/** Die geöffnete Datei oder {@code null}, solange noch nicht geschrieben wurde */
+	private FileChannel channel;
+	/** Der Puffer, in dem die Einträge gesammelt werden */
+	private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	/** Die Prüfsumme der Einträge seit dem letzten {@code OP_COMMIT} */
+	private CRC32 crc = new CRC32();
+	/** Die Länge des gültigen, abgeschlossenen Teils der Datei in Bytes */
+	private long length;
+	/** Die Anzahl der Einträge seit dem letzten {@code OP_COMMIT} */
+	private int pendingEntries = 0;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Die Datei wird erst beim ersten Schreiben geöffnet und dabei auf die übergebene Länge gekürzt.
+	 * Wird das Journal nicht verändert, wird also auch keine Datei angelegt.
+	 * 
+	 * @param path Der Pfad des Journals
+	 * @param length Die Länge des gültigen Teils einer bereits vorhandenen Datei, wie von {@code replay} ermittelt, oder {@code 0}
+	 */
+	public PointsJournal(Path path, long length) {
+		this.path = path;
+		this.length = length;
+	}
+	
+	/**
+	 * Gibt den Pfad des Journals zu der Datei einer Punktmenge zurück.
+	 * 
+	 * @param snapshot Der Pfad der Datei der Punktmenge
+	 * @return Der Pfad des Journals
+	 */
+	public static Path getPath(Path snapshot) {
+		return snapshot.resolveSibling(snapshot.getFileName() + "." + EXTENSION);
+	}
+	
+	/**
+	 * Gibt den Pfad des Journals zu der Datei einer Punktmenge zurück, das gerade verdichtet wird.
+	 * 
+	 * @param snapshot Der Pfad der Datei der Punktmenge
+	 * @return Der Pfad des alten Journals
+	 */
+	public static Path getOldPath(Path snapshot) {
+		return snapshot.resolveSibling(snapshot.getFileName() + "." + OLD_EXTENSION);
+	}
+	
+	/**
+	 * Schreibt einen Eintrag, bei dem ein Punkt hinzugefügt wurde.
+	 * 
+	 * @param p Der Punkt
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	public void add(Point p) throws IOException {
+		add(p.getX(), p.getY());
+	}
+	
+	/**
+	 * Schreibt einen Eintrag, bei dem ein Punkt hinzugefügt wurde, der als Koordinaten übergeben wird.
+	 * 
+	 * @param x X-Koordinate des Punktes
+	 * @param y Y-Koordinate des Punktes
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	public void add(int x, int y) throws IOException {
+		ensureRemaining();
+		int start = buffer.position();
+		buffer.put((byte)OP_ADD).putInt(x).putInt(y);
+		crc.update(buffer.array(), start, buffer.position() - start);
+		pendingEntries++;
+	}
+	
+	/**
+	 * Schreibt einen Eintrag, bei dem ein Punkt entfernt wurde.
+	 * 
+	 * @param p Der Punkt
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	public void remove(Point p) throws IOException {
+		ensureRemaining();
+		int start = buffer.position();
+		buffer.put((byte)OP_REMOVE).putInt(p.getX()).putInt(p.getY());
+		crc.update(buffer.array(), start, buffer.position() - start);
+		pendingEntries++;
+	}
+	
+	/**
+	 * Schreibt einen Eintrag, bei dem ein Punkt verschoben wurde.
+	 * 
+	 * @param origin Die Startposition des Punktes
+	 * @param destination Die Zielposition des Punktes
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	public void move(Point origin, Point destination) throws IOException {
+		ensureRemaining();
+		int start = buffer.position();
+		buffer.put((byte)OP_MOVE).putInt(origin.getX()).putInt(origin.getY()).putInt(destination.getX()).putInt(destination.getY());
+		crc.update(buffer.array(), start, buffer.position() - start);
+		pendingEntries++;
+	}
+	
+	/**
+	 * Schließt alle bisherigen Einträge mit einem {@code OP_COMMIT} ab und überträgt das Journal auf den Datenträger.
+	 * <p>
+	 * Gibt es keine neuen Einträge, wird nichts geschrieben.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	public void commit() throws IOException {
+		if(pendingEntries == 0) {
+			return;
+		}
+		flush();
+		buffer.put((byte)OP_COMMIT).putInt((int)crc.getValue());
+		flush();
+		channel.force(false);
+		crc.reset();
+		length = channel.position();
+		pendingEntries = 0;
+	}
+	
+	/**
+	 * Gibt zurück, ob es Einträge gibt, die noch nicht mit {@code commit} abgeschlossen wurden.
+	 * 
+	 * @return {@code true}, wenn es solche Einträge gibt, {@code false} ansonsten
+	 */
+	public boolean hasPendingEntries() {
+		return pendingEntries > 0;
+	}
+	
+	/**
+	 * Gibt die Länge des abgeschlossenen Teils des Journals in Bytes zurück.
+	 * 
+	 * @return Länge in Bytes
+	 */
+	public long getLength() {
+		return length;
+	}
+	
+	/**
+	 * Verschiebt das abgeschlossene Journal in die Datei mit der Endung ".journal.old", damit es verdichtet werden kann.
+	 * <p>
+	 * Existiert diese Datei bereits, weil eine frühere Verdichtung nicht abgeschlossen wurde, werden die Einträge an diese angehängt.
+	 * Danach beginnt das Journal wieder leer. Einträge, die noch nicht abgeschlossen wurden, bleiben im Journal.
+	 * 
+	 * @param oldPath Der Pfad des alten Journals
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht verschoben werden kann.
+	 */
+	public void rotate(Path oldPath) throws IOException {
+		if(channel != null) {
+			channel.truncate(length);
+			channel.close();
+			channel = null;
+		}
+		if(length > HEADER_SIZE) {
+			if(Files.exists(oldPath)) {
+				try(FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+						FileChannel target = FileChannel.open(oldPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+					long position = HEADER_SIZE;
+					while(position < length) {
+						position += source.transferTo(position, length - position, target);
+					}
+					target.force(false);
+				}
+				Files.delete(path);
+			} else {
+				Files.move(path, oldPath, StandardCopyOption.ATOMIC_MOVE);
+			}
+		}
+		length = 0;
+	}
+	
+	/**
+	 * Verwirft die Einträge, die noch nicht abgeschlossen wurden, und schließt die Datei.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht geschlossen werden kann.
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.clear();
+		crc.reset();
+		pendingEntries = 0;
+		if(channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+	
+	/**
+	 * Wendet die abgeschlossenen Einträge des Journals an dem übergebenen Pfad auf die übergebene Punktmenge an.
+	 * <p>
+	 * Die Einträge werden mit {@code read} gelesen und anschließend mit {@code Entries.apply} angewendet.
+	 * 
+	 * @param path Der Pfad des Journals
+	 * @param points Die Punktmenge, auf welche die Einträge angewendet werden
+	 * @return Die Länge des gültigen Teils des Journals in Bytes, oder {@code 0}, falls das Journal nicht existiert oder ungültig ist
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht gelesen werden kann.
+	 */
+	public static long replay(Path path, Collection<Point> points) throws IOException {
+		Entries entries = read(path);
+		entries.apply(points);
+		return entries.getLength();
+	}
+	
+	/**
+	 * Liest die abgeschlossenen Einträge des Journals an dem übergebenen Pfad in den Speicher, ohne sie anzuwenden.
+	 * <p>
+	 * Existiert das Journal nicht oder besitzt es keinen gültigen Kopf, sind keine Einträge enthalten. Das Einlesen endet beim ersten
+	 * Eintrag, der unvollständig oder unbekannt ist oder dessen {@code OP_COMMIT} eine falsche Prüfsumme enthält.
+	 * <p>
+	 * So können die Einträge gelesen werden, bevor die zugehörige Datei der Punktmenge gelesen wird. Wird das Journal währenddessen
+	 * von einer Verdichtung verschoben und gelöscht, gehen die Einträge nicht verloren.
+	 * 
+	 * @param path Der Pfad des Journals
+	 * @return Die abgeschlossenen Einträge
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht gelesen werden kann.
+	 */
+	public static Entries read(Path path) throws IOException {
+		int[] entries = new int[64];
+		int entriesSize = 0;
+		FileChannel opened;
+		try {
+			opened = FileChannel.open(path, StandardOpenOption.READ);
+		} catch(NoSuchFileException e) {
+			// das Journal existiert nicht oder wurde gerade nach einer Verdichtung gelöscht
+			return new Entries(entries, 0, 0);
+		}
+		try(FileChannel channel = opened) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.limit(0);
+			if(!fill(channel, buffer, HEADER_SIZE) || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+				return new Entries(entries, 0, 0);
+			}
+			buffer.getShort();
+			
+			CRC32 crc = new CRC32();
+			int pendingSize = 0;
+			long position = HEADER_SIZE;
+			long valid = HEADER_SIZE;
+			while(fill(channel, buffer, 1)) {
+				int op = buffer.get();
+				int size = op == OP_MOVE ? 4 : (op == OP_ADD || op == OP_REMOVE ? 2 : 1);
+				if(op < OP_ADD || op > OP_COMMIT || !fill(channel, buffer, 4 * size)) {
+					break;
+				}
+				int start = buffer.position() - 1;
+				if(op == OP_COMMIT) {
+					if(buffer.getInt() != (int)crc.getValue()) {
+						break;
+					}
+					entriesSize = pendingSize;
+					crc.reset();
+					position += 5;
+					valid = position;
+					continue;
+				}
+				if(pendingSize + 1 + size > entries.length) {
+					entries = Arrays.copyOf(entries, Math.max(entries.length * 2, pendingSize + 1 + size));
+				}
+				entries[pendingSize++] = op;
+				for(int i = 0; i < size; i++) {
+					entries[pendingSize++] = buffer.getInt();
+				}
+				crc.update(buffer.array(), start, 1 + 4 * size);
+				position += 1 + 4 * size;
+			}
+			return new Entries(entries, entriesSize, valid);
+		}
+	}
+	
+	/**
+	 * Diese Klasse enthält die abgeschlossenen Einträge eines Journals, die mit {@code read} in den Speicher gelesen wurden.
+	 */
+	public static final class Entries {
+		
+		/** Die Einträge, jeweils die Art gefolgt von den Koordinaten */
+		private final int[] entries;
+		/** Die Anzahl der belegten Werte */
+		private final int size;
+		/** Die Länge des gültigen Teils des Journals in Bytes */
+		private final long length;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param entries Die Einträge, jeweils die Art gefolgt von den Koordinaten
+		 * @param size Die Anzahl der belegten Werte
+		 * @param length Die Länge des gültigen Teils des Journals in Bytes
+		 */
+		private Entries(int[] entries, int size, long length) {
+			this.entries = entries;
+			this.size = size;
+			this.length = length;
+		}
+		
+		/**
+		 * Gibt die Länge des gültigen Teils des Journals in Bytes zurück.
+		 * 
+		 * @return Länge in Bytes, oder {@code 0}, falls das Journal nicht existiert oder ungültig ist
+		 */
+		public long getLength() {
+			return length;
+		}
+		
+		/**
+		 * Gibt zurück, ob keine abgeschlossenen Einträge enthalten sind.
+		 * 
+		 * @return {@code true}, wenn keine Einträge enthalten sind, {@code false} ansonsten
+		 */
+		public boolean isEmpty() {
+			return size == 0;
+		}
+		
+		/**
+		 * Gibt zurück, ob alle Einträge Punkte hinzufügen.
+		 * 
+		 * @return {@code true}, wenn nur Einträge der Art {@code OP_ADD} enthalten sind, {@code false} ansonsten
+		 */
+		public boolean isAddOnly() {
+			int i = 0;
+			while(i < size) {
+				if(entries[i] != OP_ADD) {
+					return false;
+				}
+				i += 3;
+			}
+			return true;
+		}
+		
+		/**
+		 * Wendet die Einträge in ihrer Reihenfolge auf die übergebene Punktmenge an.
+		 * 
+		 * @param points Die Punktmenge
+		 */
+		public void apply(Collection<Point> points) {
+			int i = 0;
+			while(i < size) {
+				int op = entries[i++];
+				Point p = new Point(entries[i++], entries[i++]);
+				if(op == OP_ADD) {
+					points.add(p);
+				} else if(op == OP_REMOVE) {
+					points.remove(p);
+				} else {
+					points.remove(p);
+					points.add(new Point(entries[i++], entries[i++]));
+				}
+			}
+		}
+		
+		/**
+		 * Übergibt die hinzugefügten Punkte der Einträge an den übergebenen Empfänger. Die Einträge müssen {@code isAddOnly} erfüllen.
+		 * 
+		 * @param consumer Der Empfänger der Punkte
+		 * @return Die Anzahl der übergebenen Punkte
+		 */
+		public long forEachAdded(IPointConsumer consumer) {
+			long count = 0;
+			for(int i = 0; i < size; i += 3) {
+				consumer.accept(entries[i + 1], entries[i + 2]);
+				count++;
+			}
+			return count;
+		}
+	
+	}
+	
+	/**
+	 * Stellt sicher, dass mindestens die übergebene Anzahl an Bytes zwischen Position und Limit des Puffers liegt,
+	 * und liest dazu bei Bedarf weitere Bytes aus der Datei.
+	 * 
+	 * @param channel Die geöffnete Datei
+	 * @param buffer Der Puffer
+	 * @param bytes Die benötigte Anzahl an Bytes
+	 * @return {@code true}, wenn genügend Bytes vorhanden sind, {@code false}, wenn die Datei vorher endet
+	 * @throws IOException Wirft eine Exception, falls die Datei nicht gelesen werden kann.
+	 */
+	private static boolean fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+		if(buffer.remaining() >= bytes) {
+			return true;
+		}
+		buffer.compact();
+		while(buffer.position() < bytes) {
+			if(channel.read(buffer) < 0) {
+				buffer.flip();
+				return false;
+			}
+		}
+		buffer.flip();
+		return true;
+	}
+	
+	/**
+	 * Stellt sicher, dass ein weiterer Eintrag in den Puffer passt, und schreibt den Puffer bei Bedarf in die Datei.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	private void ensureRemaining() throws IOException {
+		if(buffer.remaining() < MAX_ENTRY_SIZE) {
+			flush();
+		}
+	}
+	
+	/**
+	 * Öffnet die Datei bei Bedarf und schreibt den Inhalt des Puffers an das Ende des gültigen Teils.
+	 * <p>
+	 * Beim Öffnen wird ein unvollständiger Rest abgeschnitten und bei einer leeren Datei der Kopf geschrieben.
+	 * 
+	 * @throws IOException Wirft eine Exception, falls das Journal nicht beschrieben werden kann.
+	 */
+	private void flush() throws IOException {
+		if(channel == null) {
+			channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+			if(length < HEADER_SIZE) {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(MAGIC).putShort(VERSION).putShort((short)0);
+				header.flip();
+				channel.truncate(0);
+				while(header.hasRemaining()) {
+					channel.write(header);
+				}
+				length = HEADER_SIZE;
+			} else {
+				channel.truncate(length);
+			}
+			channel.position(length);
+		}
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+}
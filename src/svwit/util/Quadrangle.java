@@ -24,7 +24,7 @@ public class Quadrangle implements Iterable<Point>{
 	private Point pointC;
 	/** Der vierte Punkt des Vierecks */
 	private Point pointD;
-		
+	
 	/**
 	 * Gibt die vier Punkte des Vierecks als ein Array von Punkten zurück.
 	 * 
@@ -130,36 +130,20 @@ public class Quadrangle implements Iterable<Point>{
 	 * @return Fläche des Vierecks
 	 */
 	public double getQuadrangleArea() {
-		return (getDeterminant(pointA, pointB, pointC) + getDeterminant(pointA, pointC, pointD)) / 2;
+		return (Geometry.getDeterminant(pointA, pointB, pointC) + Geometry.getDeterminant(pointA, pointC, pointD)) / 2;
 	}
 	
-	/**
-	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
-	 * 
-	 * @param pointA Der erste Punkt
-	 * @param pointB Der zweite Punkt
-	 * @param pointC Der dritte Punkt
-	 * @return Die Determinante
-	 */
-	private long getDeterminant(Point pointA, Point pointB, Point pointC) {
-		long determinant = 0;	
-		determinant += (long)pointA.getX() * ((long)pointB.getY() - (long)pointC.getY());
-		determinant += (long)pointB.getX() * ((long)pointC.getY() - (long)pointA.getY());
-		determinant += (long)pointC.getX() * ((long)pointA.getY() - (long)pointB.getY());	
-		return determinant;
-	}
-
 	@Override
 	public Iterator<Point> iterator() {
 		Iterator<Point> iterator = new Iterator<>() {
-
+			
 			private int currentIndex = 0;
 			
 			@Override
 			public boolean hasNext() {
 				return currentIndex < 4;
 			}
-
+			
 			@Override
 			public Point next() {
 				if(currentIndex == 0) {
@@ -180,5 +164,5 @@ public class Quadrangle implements Iterable<Point>{
 		};
 		return iterator;
 	}
-	
+
 }
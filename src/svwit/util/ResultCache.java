@@ -0,0 +1,467 @@
+package svwit.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Diese Klasse speichert die Ergebnisse der Berechnungen zu einer Punktmenge in einem Verzeichnis, damit sie beim erneuten Laden
+ * derselben Punktmenge nicht neu berechnet werden müssen.
+ * <p>
+ * Zu jeder Punktmenge wird eine Datei mit der konvexen Hülle, dem Durchmesser, dem größten enthaltenen Viereck und Dreieck geschrieben.
+ * Der Name der Datei ist der hexadezimale Hashwert der sortierten Punktmenge, siehe {@code hash}. Die Datei ist wie folgt aufgebaut,
+ * alle Zahlen in Little-Endian:
+ * <ul>
+ * <li>Kopf: {@code MAGIC}, {@code FORMAT_VERSION}, die Version der Algorithmen, die Anzahl der Punkte und der Hashwert</li>
+ * <li>Die Anzahl der Eckpunkte der konvexen Hülle, gefolgt von den Eckpunkten als X- und Y-Koordinate</li>
+ * <li>Die Indizes der vier äußersten Punkte der konvexen Hülle, {@code -1} falls nicht gesetzt</li>
+ * <li>Die zwei Punkte des Durchmessers, die vier Punkte des Vierecks und die drei Punkte des Dreiecks</li>
+ * <li>Die CRC32-Prüfsumme aller vorherigen Bytes</li>
+ * </ul>
+ * Beim Lesen werden Kopf, Länge und Prüfsumme geprüft. Passt einer dieser Werte nicht, wird die Datei wie ein fehlender Eintrag behandelt.
+ * Ändern sich die Algorithmen, muss die übergebene Version erhöht werden, damit alte Einträge nicht mehr verwendet werden.
+ * <p>
+ * Einträge werden über eine temporäre Datei atomar geschrieben. Nach jedem Schreiben werden die am längsten nicht verwendeten Einträge gelöscht,
+ * bis höchstens {@code maxEntries} Einträge mit zusammen höchstens {@code maxBytes} Bytes übrig sind. Ein gelesener Eintrag gilt
+ * durch das Setzen seiner Änderungszeit als verwendet. Fehler beim Lesen und Schreiben werden nicht weitergegeben,
+ * da die Ergebnisse jederzeit neu berechnet werden können.
+ */
+public class ResultCache {
+
+	/** Die Kennung am Anfang jeder Datei: "PHRC" in Little-Endian */
+	public static final int MAGIC = 0x43524850;
+	/** Die Version des Dateiformats */
+	public static final int FORMAT_VERSION = 1;
+	/** Die Dateiendung der Einträge */
+	public static final String EXTENSION = "hull";
+	/** Die standardmäßige maximale Anzahl an Einträgen */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+	/** Die standardmäßige maximale Größe aller Einträge in Bytes */
+	public static final long DEFAULT_MAX_BYTES = 1L << 26;
+	
+	/** Die Größe des Kopfes in Bytes */
+	private static final int HEADER_SIZE = 32;
+	/** Die Anzahl der Punkte von Durchmesser, Viereck und Dreieck */
+	private static final int SHAPE_POINTS = 2 + 4 + 3;
+	/** Das Alter in Millisekunden, ab dem eine zurückgebliebene temporäre Datei gelöscht wird */
+	private static final long TEMP_FILE_AGE = 60_000;
+	
+	/** Das Verzeichnis der Einträge */
+	private final Path directory;
+	/** Die Version der Algorithmen, mit denen die Ergebnisse berechnet wurden */
+	private final int algorithmVersion;
+	/** Die maximale Anzahl an Einträgen */
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+	/** Die maximale Größe aller Einträge in Bytes */
+	private long maxBytes = DEFAULT_MAX_BYTES;
+	
+	/**
+	 * Der Konstruktor.
+	 * <p>
+	 * Das Verzeichnis wird erst beim Schreiben des ersten Eintrags erzeugt.
+	 * 
+	 * @param directory Das Verzeichnis der Einträge
+	 * @param algorithmVersion Die Version der Algorithmen, mit denen die Ergebnisse berechnet werden
+	 */
+	public ResultCache(Path directory, int algorithmVersion) {
+		this.directory = directory;
+		this.algorithmVersion = algorithmVersion;
+	}
+	
+	/**
+	 * Berechnet den Hashwert einer sortierten Punktmenge.
+	 * <p>
+	 * Jeder Punkt wird als {@code long}-Wert gemischt und abhängig von seiner Position in den Hashwert aufgenommen,
+	 * sodass dieselben Punkte in derselben Reihenfolge immer denselben Hashwert ergeben. Die Anzahl der Punkte geht ebenfalls ein.
+	 * 
+	 * @param sortedPoints Die lexikographisch sortierten Punkte
+	 * @return Der Hashwert
+	 */
+	public static long hash(Iterable<Point> sortedPoints) {
+		long h = 0x2545F4914F6CDD1DL;
+		long size = 0;
+		for(Point p : sortedPoints) {
+			h = Long.rotateLeft(h ^ mix(PackedPointsCollection.pack(p.getX(), p.getY())), 31) * 0x9E3779B97F4A7C15L;
+			size++;
+		}
+		return mix(h ^ size);
+	}
+	
+	/**
+	 * Mischt die Bits eines {@code long}-Wertes, sodass ähnliche Werte stark unterschiedliche Ergebnisse haben.
+	 * 
+	 * @param z Der Wert
+	 * @return Der gemischte Wert
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return z ^ (z >>> 33);
+	}
+	
+	/**
+	 * Liest den Eintrag zu einer Punktmenge.
+	 * 
+	 * @param hash Der Hashwert der Punktmenge, siehe {@code hash}
+	 * @param size Die Anzahl der Punkte
+	 * @return Der Eintrag oder {@code null}, falls kein gültiger Eintrag vorhanden ist
+	 */
+	public Entry get(long hash, int size) {
+		Path path = getPath(hash);
+		ByteBuffer buffer;
+		try {
+			byte[] bytes = Files.readAllBytes(path);
+			buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		} catch(NoSuchFileException e) {
+			return null;
+		} catch(IOException e) {
+			// Der Eintrag wird wie ein fehlender Eintrag behandelt und die Ergebnisse neu berechnet
+			return null;
+		}
+		
+		Entry entry = decode(buffer, hash, size);
+		if(entry != null) {
+			try {
+				Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			} catch(IOException e) {
+				// Der Eintrag ist trotzdem gültig, er wird nur früher gelöscht
+			}
+		}
+		return entry;
+	}
+	
+	/**
+	 * Schreibt den Eintrag zu einer Punktmenge und löscht anschließend die am längsten nicht verwendeten Einträge.
+	 * <p>
+	 * Ist eines der Ergebnisse nicht vollständig, wird kein Eintrag geschrieben.
+	 * 
+	 * @param hash Der Hashwert der Punktmenge, siehe {@code hash}
+	 * @param size Die Anzahl der Punkte
+	 * @param entry Die Ergebnisse der Berechnungen
+	 */
+	public void put(long hash, int size, Entry entry) {
+		ByteBuffer buffer = encode(hash, size, entry);
+		if(buffer == null) {
+			return;
+		}
+		Path path = getPath(hash);
+		Path temp = directory.resolve("." + path.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+		try {
+			Files.createDirectories(directory);
+			Files.write(temp, buffer.array());
+			FileManager.moveReplacing(temp, path);
+		} catch(IOException e) {
+			// Die Ergebnisse werden beim nächsten Laden neu berechnet
+			try {
+				Files.deleteIfExists(temp);
+			} catch(IOException ex) {
+				// Die temporäre Datei wird beim nächsten Aufräumen gelöscht
+			}
+			return;
+		}
+		evict();
+	}
+	
+	/**
+	 * Löscht die am längsten nicht verwendeten Einträge, bis höchstens {@code maxEntries} Einträge
+	 * mit zusammen höchstens {@code maxBytes} Bytes übrig sind.
+	 * <p>
+	 * Zurückgebliebene temporäre Dateien werden ebenfalls gelöscht.
+	 */
+	public void evict() {
+		List<Path> entries = new ArrayList<>();
+		Map<Path, FileTime> times = new HashMap<>();
+		try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for(Path path : stream) {
+				String name = path.getFileName().toString();
+				FileTime time = Files.getLastModifiedTime(path);
+				if(name.startsWith(".") && name.endsWith(".tmp")) {
+					if(System.currentTimeMillis() - time.toMillis() > TEMP_FILE_AGE) {
+						Files.deleteIfExists(path);
+					}
+				} else if(name.endsWith("." + EXTENSION)) {
+					entries.add(path);
+					times.put(path, time);
+				}
+			}
+			entries.sort(Comparator.comparing(times::get).reversed());
+			
+			int count = 0;
+			long bytes = 0;
+			for(Path path : entries) {
+				count++;
+				bytes += Files.size(path);
+				if(count > maxEntries || bytes > maxBytes) {
+					Files.deleteIfExists(path);
+				}
+			}
+		} catch(NoSuchFileException e) {
+			return;
+		} catch(IOException e) {
+			// Die übrigen Einträge werden beim nächsten Aufräumen gelöscht
+		}
+	}
+	
+	/**
+	 * Gibt den Pfad des Eintrags zu einem Hashwert zurück.
+	 * 
+	 * @param hash Der Hashwert
+	 * @return Der Pfad
+	 */
+	public Path getPath(long hash) {
+		return directory.resolve(String.format("%016x.%s", hash, EXTENSION));
+	}
+	
+	/**
+	 * Gibt das Verzeichnis der Einträge zurück.
+	 * 
+	 * @return Das Verzeichnis
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * Gibt die maximale Anzahl an Einträgen zurück.
+	 * 
+	 * @return maximale Anzahl an Einträgen
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+	
+	/**
+	 * Setzt die maximale Anzahl an Einträgen.
+	 * 
+	 * @param maxEntries maximale Anzahl an Einträgen
+	 */
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+	
+	/**
+	 * Gibt die maximale Größe aller Einträge in Bytes zurück.
+	 * 
+	 * @return maximale Größe in Bytes
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+	
+	/**
+	 * Setzt die maximale Größe aller Einträge in Bytes.
+	 * 
+	 * @param maxBytes maximale Größe in Bytes
+	 */
+	public void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+	
+	/**
+	 * Schreibt einen Eintrag in einen Puffer.
+	 * 
+	 * @param hash Der Hashwert der Punktmenge
+	 * @param size Die Anzahl der Punkte
+	 * @param entry Der Eintrag
+	 * @return Der Puffer oder {@code null}, falls eines der Ergebnisse nicht vollständig ist
+	 */
+	private ByteBuffer encode(long hash, int size, Entry entry) {
+		ConvexHull convexHull = entry.getConvexHull();
+		Point[] shapes = new Point[SHAPE_POINTS];
+		System.arraycopy(entry.getDiameter().getDiameterPoints(), 0, shapes, 0, 2);
+		System.arraycopy(entry.getQuadrangle().getQuadranglePoints(), 0, shapes, 2, 4);
+		System.arraycopy(entry.getTriangle().getTrianglePoints(), 0, shapes, 6, 3);
+		for(Point p : shapes) {
+			if(p == null) {
+				return null;
+			}
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(getLength(convexHull.size())).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC);
+		buffer.putInt(FORMAT_VERSION);
+		buffer.putInt(algorithmVersion);
+		buffer.putInt(size);
+		buffer.putLong(hash);
+		buffer.putInt(convexHull.size());
+		buffer.putInt(0);
+		for(Point p : convexHull) {
+			putPoint(buffer, p);
+		}
+		buffer.putInt(convexHull.indexOf(convexHull.getMostLeftPoint()));
+		buffer.putInt(convexHull.indexOf(convexHull.getMostRightPoint()));
+		buffer.putInt(convexHull.indexOf(convexHull.getMostTopPoint()));
+		buffer.putInt(convexHull.indexOf(convexHull.getMostBottomPoint()));
+		for(Point p : shapes) {
+			putPoint(buffer, p);
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, buffer.position());
+		buffer.putInt((int)crc.getValue());
+		return buffer;
+	}
+	
+	/**
+	 * Liest einen Eintrag aus einem Puffer und prüft ihn.
+	 * 
+	 * @param buffer Der Puffer mit dem Inhalt der Datei
+	 * @param hash Der erwartete Hashwert der Punktmenge
+	 * @param size Die erwartete Anzahl der Punkte
+	 * @return Der Eintrag oder {@code null}, falls der Eintrag ungültig ist oder nicht zu der Punktmenge passt
+	 */
+	private Entry decode(ByteBuffer buffer, long hash, int size) {
+		if(buffer.remaining() < HEADER_SIZE
+				|| buffer.getInt() != MAGIC
+				|| buffer.getInt() != FORMAT_VERSION
+				|| buffer.getInt() != algorithmVersion
+				|| buffer.getInt() != size
+				|| buffer.getLong() != hash) {
+			return null;
+		}
+		int hullSize = buffer.getInt();
+		buffer.getInt();
+		if(hullSize < 0 || hullSize > size || buffer.capacity() != getLength(hullSize)) {
+			return null;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, buffer.capacity() - 4);
+		if(buffer.getInt(buffer.capacity() - 4) != (int)crc.getValue()) {
+			return null;
+		}
+		
+		ConvexHull convexHull = new ConvexHull();
+		convexHull.ensureCapacity(hullSize);
+		for(int i = 0; i < hullSize; i++) {
+			convexHull.add(getPoint(buffer));
+		}
+		int[] extremes = new int[4];
+		for(int i = 0; i < extremes.length; i++) {
+			extremes[i] = buffer.getInt();
+			if(extremes[i] < -1 || extremes[i] >= hullSize) {
+				return null;
+			}
+		}
+		convexHull.setMostLeftPoint(extremes[0] < 0 ? null : convexHull.get(extremes[0]));
+		convexHull.setMostRightPoint(extremes[1] < 0 ? null : convexHull.get(extremes[1]));
+		convexHull.setMostTopPoint(extremes[2] < 0 ? null : convexHull.get(extremes[2]));
+		convexHull.setMostBottomPoint(extremes[3] < 0 ? null : convexHull.get(extremes[3]));
+		
+		Diameter diameter = new Diameter();
+		diameter.setDiameterPoints(getPoint(buffer), getPoint(buffer));
+		Quadrangle quadrangle = new Quadrangle();
+		quadrangle.setQuandranglePoints(getPoint(buffer), getPoint(buffer), getPoint(buffer), getPoint(buffer));
+		Triangle triangle = new Triangle();
+		triangle.setTrianglePoints(getPoint(buffer), getPoint(buffer), getPoint(buffer));
+		return new Entry(convexHull, diameter, quadrangle, triangle);
+	}
+	
+	/**
+	 * Gibt die Länge einer Datei mit der übergebenen Anzahl an Eckpunkten in Bytes zurück.
+	 * 
+	 * @param hullSize Die Anzahl der Eckpunkte der konvexen Hülle
+	 * @return Die Länge in Bytes
+	 */
+	private static int getLength(int hullSize) {
+		return HEADER_SIZE + 8 * hullSize + 16 + 8 * SHAPE_POINTS + 4;
+	}
+	
+	/**
+	 * Schreibt einen Punkt in einen Puffer.
+	 * 
+	 * @param buffer Der Puffer
+	 * @param p Der Punkt
+	 */
+	private static void putPoint(ByteBuffer buffer, Point p) {
+		buffer.putInt(p.getX());
+		buffer.putInt(p.getY());
+	}
+	
+	/**
+	 * Liest einen Punkt aus einem Puffer.
+	 * 
+	 * @param buffer Der Puffer
+	 * @return Der Punkt
+	 */
+	private static Point getPoint(ByteBuffer buffer) {
+		return new Point(buffer.getInt(), buffer.getInt());
+	}
+	
+	/**
+	 * Diese Klasse fasst die Ergebnisse der Berechnungen zu einer Punktmenge zusammen.
+	 */
+	public static class Entry {
+		
+		/** Die konvexe Hülle */
+		private final ConvexHull convexHull;
+		/** Der Durchmesser der konvexen Hülle */
+		private final Diameter diameter;
+		/** Das größte enthaltene Viereck der konvexen Hülle */
+		private final Quadrangle quadrangle;
+		/** Das größte enthaltene Dreieck der konvexen Hülle */
+		private final Triangle triangle;
+		
+		/**
+		 * Der Konstruktor.
+		 * 
+		 * @param convexHull Die konvexe Hülle
+		 * @param diameter Der Durchmesser der konvexen Hülle
+		 * @param quadrangle Das größte enthaltene Viereck der konvexen Hülle
+		 * @param triangle Das größte enthaltene Dreieck der konvexen Hülle
+		 */
+		public Entry(ConvexHull convexHull, Diameter diameter, Quadrangle quadrangle, Triangle triangle) {
+			this.convexHull = convexHull;
+			this.diameter = diameter;
+			this.quadrangle = quadrangle;
+			this.triangle = triangle;
+		}
+		
+		/**
+		 * Gibt die konvexe Hülle zurück.
+		 * 
+		 * @return konvexe Hülle
+		 */
+		public ConvexHull getConvexHull() {
+			return convexHull;
+		}
+		
+		/**
+		 * Gibt den Durchmesser der konvexen Hülle zurück.
+		 * 
+		 * @return Durchmesser der konvexen Hülle
+		 */
+		public Diameter getDiameter() {
+			return diameter;
+		}
+		
+		/**
+		 * Gibt das größte enthaltene Viereck der konvexen Hülle zurück.
+		 * 
+		 * @return größtes enthaltene Viereck der konvexen Hülle
+		 */
+		public Quadrangle getQuadrangle() {
+			return quadrangle;
+		}
+		
+		/**
+		 * Gibt das größte enthaltene Dreieck der konvexen Hülle zurück.
+		 * 
+		 * @return größtes enthaltene Dreieck der konvexen Hülle
+		 */
+		public Triangle getTriangle() {
+			return triangle;
+		}
+	
+	}
+
+}
@@ -102,37 +102,20 @@ public class Triangle implements Iterable<Point>{
 	 * @return Fläche des Dreiecks
 	 */
 	public double getTriangleArea() {
-		return getDeterminant(pointA, pointB, pointC) / 2;
-	}
-	
-	/**
-	 * Gibt die Determinante aus den drei übergebenen Punkten zurück. Die Determinante wird als {@code long} zurückgegeben.
-	 * 
-	 * @param pointA Der erste Punkt
-	 * @param pointB Der zweite Punkt
-	 * @param pointC Der dritte Punkt
-	 * @return Die Determinante
-	 */
-	// TODO wird das gebraucht? Wenn nein, weg damit!
-	private long getDeterminant(Point pointA, Point pointB, Point pointC) {
-		long determinant = 0;	
-		determinant += (long)pointA.getX() * ((long)pointB.getY() - (long)pointC.getY());
-		determinant += (long)pointB.getX() * ((long)pointC.getY() - (long)pointA.getY());
-		determinant += (long)pointC.getX() * ((long)pointA.getY() - (long)pointB.getY());	
-		return determinant;
+		return Geometry.getDeterminant(pointA, pointB, pointC) / 2;
 	}
 	
 	@Override
 	public Iterator<Point> iterator() {
 		Iterator<Point> iterator = new Iterator<>() {
-
+			
 			private int currentIndex = 0;
 			
 			@Override
 			public boolean hasNext() {
 				return currentIndex < 3;
 			}
-
+			
 			@Override
 			public Point next() {
 				if(currentIndex == 0) {
@@ -150,5 +133,5 @@ public class Triangle implements Iterable<Point>{
 		};
 		return iterator;
 	}
-	
+
 }
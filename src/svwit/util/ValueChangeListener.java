@@ -13,4 +13,14 @@ public interface ValueChangeListener {
 	 */
 	public void onValueChanged();
 	
+	/**
+	 * Wird ausgefuehrt, sobald die Punktmenge verändert wurde, die konvexe Hülle und damit auch der Durchmesser,
+	 * das größte enthaltene Viereck und Dreieck jedoch unverändert geblieben sind.
+	 * <p>
+	 * Standardmäßig wird {@code onValueChanged} aufgerufen.
+	 */
+	public default void onPointsChanged() {
+		onValueChanged();
+	}
+
 }
@@ -0,0 +1,151 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import svwit.util.Geometry;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse prüft die Klasse {@code ContourCleaner} gegen die Methode {@code clearContourWithIterator} der Klasse {@code Calculator}.
+ * <p>
+ * Beide Verfahren bereinigen dieselben Konturen in beide Richtungen und müssen dieselben Punkte in derselben Reihenfolge behalten.
+ * Geprüft werden zufällige monotone Konturen wie aus {@code calculateContour}, Konturen auf einem kleinen Gitter mit vielen kollinearen Punkten,
+ * vollständig kollineare Konturen und sehr kurze Konturen. Zusätzlich wird die konvexe Hülle zufälliger Punktmengen mit beiden Verfahren verglichen.
+ * <p>
+ * Die Prüfung wird über die Methode {@code main} gestartet und bricht bei der ersten Abweichung mit einem {@code AssertionError} ab.
+ * 
+ */
+public class ContourCleanerCheck {
+
+	/**
+	 * Startet die Prüfung.
+	 * 
+	 * @param args Werden nicht verwendet
+	 */
+	public static void main(String[] args) {
+		Random random = new Random(8);
+		ContourCleaner cleaner = new ContourCleaner();
+		Calculator calc = new Calculator();
+		for(int i = 0; i < 20000; i++) {
+			int length = random.nextInt(i < 1000 ? 6 : 200);
+			checkContour(cleaner, calc, createMonotoneContour(random, length, 1 << 20));
+			checkContour(cleaner, calc, createMonotoneContour(random, length, 6));
+			checkContour(cleaner, calc, createCollinearContour(random, length));
+		}
+		for(int i = 0; i < 200; i++) {
+			checkConvexHull(random, 1 + random.nextInt(5000), i % 2 == 0 ? 1 << 20 : 50);
+		}
+		System.out.println("ContourCleanerCheck: OK");
+	}
+	
+	/**
+	 * Erzeugt eine Kontur, deren X-Koordinaten aufsteigen und deren Y-Koordinaten in eine Richtung monoton sind, wie die Konturen aus {@code calculateContour}.
+	 * Gleiche X- oder Y-Koordinaten aufeinanderfolgender Punkte sind erlaubt, gleiche Punkte nicht.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param length Die Anzahl der Punkte
+	 * @param step Die größte Schrittweite zwischen zwei Punkten
+	 * @return Die Kontur
+	 */
+	private static ArrayList<Point> createMonotoneContour(Random random, int length, int step) {
+		ArrayList<Point> contour = new ArrayList<Point>(length);
+		int direction = random.nextBoolean() ? 1 : -1;
+		int x = 0;
+		int y = 0;
+		for(int i = 0; i < length; i++) {
+			if(i > 0) {
+				int dx = random.nextInt(step);
+				int dy = random.nextInt(step);
+				if(dx == 0 && dy == 0) {
+					dx = 1;
+				}
+				x += dx;
+				y += direction * dy;
+			}
+			contour.add(new Point(x, y));
+		}
+		return contour;
+	}
+	
+	/**
+	 * Erzeugt eine Kontur, deren Punkte alle auf einer Geraden liegen.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param length Die Anzahl der Punkte
+	 * @return Die Kontur
+	 */
+	private static ArrayList<Point> createCollinearContour(Random random, int length) {
+		ArrayList<Point> contour = new ArrayList<Point>(length);
+		int dx = random.nextInt(4);
+		int dy = random.nextInt(9) - 4;
+		if(dx == 0 && dy == 0) {
+			dx = 1;
+		}
+		int t = 0;
+		for(int i = 0; i < length; i++) {
+			t += 1 + random.nextInt(3);
+			contour.add(new Point(dx * t, dy * t));
+		}
+		return contour;
+	}
+	
+	/**
+	 * Bereinigt die übergebene Kontur mit beiden Verfahren in beide Richtungen und vergleicht die Ergebnisse.
+	 * 
+	 * @param cleaner Der {@code ContourCleaner}
+	 * @param calc Der {@code Calculator}, dessen Methode {@code clearContourWithIterator} verwendet wird
+	 * @param contour Die Kontur
+	 */
+	private static void checkContour(ContourCleaner cleaner, Calculator calc, ArrayList<Point> contour) {
+		for(int direction = 0; direction < 2; direction++) {
+			boolean counterClockwise = direction == 0;
+			ArrayList<Point> expected = new ArrayList<Point>(contour);
+			if(counterClockwise) {
+				calc.clearContourWithIterator(expected, (a, b, c) -> Geometry.getDeterminant(a, b, c) >= 0);
+			} else {
+				calc.clearContourWithIterator(expected, (a, b, c) -> Geometry.getDeterminant(a, b, c) <= 0);
+			}
+			ArrayList<Point> actual = new ArrayList<Point>(contour);
+			cleaner.clearContour(actual, counterClockwise);
+			check(actual.equals(expected), "Abweichende Kontur " + (counterClockwise ? "gegen den" : "im") + " Uhrzeigersinn aus "
+					+ SubHullTreeCheck.format(contour) + ": " + SubHullTreeCheck.format(actual) + " statt " + SubHullTreeCheck.format(expected));
+		}
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle zufälliger Punkte einmal mit dem {@code ContourCleaner} und einmal mit {@code clearContourWithIterator} und vergleicht sie.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param size Die Anzahl der Punkte
+	 * @param range Der Wertebereich der Koordinaten
+	 */
+	private static void checkConvexHull(Random random, int size, int range) {
+		PointsCollection pointsCollection = new PointsCollection();
+		for(int i = 0; i < size; i++) {
+			pointsCollection.add(new Point(random.nextInt(range), random.nextInt(range)));
+		}
+		Calculator withCleaner = new Calculator();
+		withCleaner.setArrayCleanupEnabled(true);
+		withCleaner.update(pointsCollection);
+		Calculator withIterator = new Calculator();
+		withIterator.setArrayCleanupEnabled(false);
+		withIterator.update(pointsCollection);
+		check(Calculator.isSameConvexHull(withCleaner.getConvexHull(), withIterator.getConvexHull()),
+				"Abweichende konvexe Hülle aus " + size + " Punkten: " + SubHullTreeCheck.format(withCleaner.getConvexHull())
+				+ " statt " + SubHullTreeCheck.format(withIterator.getConvexHull()));
+	}
+	
+	/**
+	 * Bricht die Prüfung ab, wenn die übergebene Bedingung nicht erfüllt ist.
+	 * 
+	 * @param condition Die Bedingung
+	 * @param message Die Meldung bei einer Abweichung
+	 */
+	private static void check(boolean condition, String message) {
+		if(!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import svwit.util.ConvexHull;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse prüft die Klasse {@code DynamicConvexHull} gegen die vollständige Berechnung der Klasse {@code Calculator}.
+ * <p>
+ * Nach jeder angepassten Änderung muss die konvexe Hülle dieselben Eckpunkte in derselben Reihenfolge und dieselben äußersten Punkte haben
+ * wie die vollständig berechnete konvexe Hülle. Eine anschließende vollständige Berechnung darf die Version der konvexen Hülle daher nicht erhöhen.
+ * <p>
+ * Die Prüfung wird über die Methode {@code main} gestartet und bricht bei der ersten Abweichung mit einem {@code AssertionError} ab.
+ * 
+ */
+public class DynamicConvexHullCheck {
+
+	/**
+	 * Startet die Prüfung.
+	 * 
+	 * @param args Werden nicht verwendet
+	 */
+	public static void main(String[] args) {
+		checkEqualYExtremePoints();
+		checkRandomChanges(new Random(1), 2000, 8);
+		checkRandomChanges(new Random(2), 2000, 1000);
+		System.out.println("DynamicConvexHullCheck: OK");
+	}
+	
+	/**
+	 * Prüft, dass bei mehreren Punkten mit der kleinsten oder größten Y-Koordinate derselbe äußerste Punkt wie bei der vollständigen Berechnung gewählt wird.
+	 */
+	private static void checkEqualYExtremePoints() {
+		PointsCollection pointsCollection = new PointsCollection();
+		pointsCollection.add(new Point(0, 0));
+		pointsCollection.add(new Point(0, 3));
+		pointsCollection.add(new Point(2, 1));
+		pointsCollection.add(new Point(2, 3));
+		pointsCollection.add(new Point(1, 1));
+		
+		Calculator calc = new Calculator();
+		calc.update(pointsCollection);
+		
+		Point added = new Point(1, 0);
+		pointsCollection.add(added);
+		check(calc.addToConvexHull(pointsCollection, added), "Der Punkt (1, 0) konnte nicht angepasst werden");
+		long version = calc.getHullVersion();
+		ConvexHull adjusted = calc.getConvexHull();
+		
+		calc.update(pointsCollection);
+		check(Calculator.isSameConvexHull(adjusted, calc.getConvexHull()), "Abweichende konvexe Hülle nach dem Hinzufügen von (1, 0)");
+		check(calc.getHullVersion() == version, "Die Version wurde von " + version + " auf " + calc.getHullVersion() + " erhöht");
+	}
+	
+	/**
+	 * Fügt zufällige Punkte hinzu, entfernt und verschiebt sie und vergleicht die angepasste konvexe Hülle jeweils mit der vollständigen Berechnung.
+	 * <p>
+	 * Bei kleinem Wertebereich entstehen viele Punkte mit gleichen Koordinaten und kollineare Punkte auf dem Rand.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param changes Die Anzahl der Änderungen
+	 * @param range Der Wertebereich der Koordinaten
+	 */
+	private static void checkRandomChanges(Random random, int changes, int range) {
+		PointsCollection pointsCollection = new PointsCollection();
+		ArrayList<Point> points = new ArrayList<Point>();
+		for(int i = 0; i < 20; i++) {
+			Point p = new Point(random.nextInt(range), random.nextInt(range));
+			if(pointsCollection.add(p)) {
+				points.add(p);
+			}
+		}
+		Calculator calc = new Calculator();
+		calc.update(pointsCollection);
+		Calculator reference = new Calculator();
+		
+		for(int i = 0; i < changes; i++) {
+			int operation = random.nextInt(3);
+			boolean adjusted;
+			if(operation == 0 || points.size() < 5) {
+				Point p = new Point(random.nextInt(range), random.nextInt(range));
+				if(!pointsCollection.add(p)) {
+					continue;
+				}
+				points.add(p);
+				adjusted = calc.addToConvexHull(pointsCollection, p);
+			} else if(operation == 1) {
+				Point p = points.remove(random.nextInt(points.size()));
+				pointsCollection.remove(p);
+				adjusted = calc.removeFromConvexHull(pointsCollection, p);
+			} else {
+				int index = random.nextInt(points.size());
+				Point origin = points.get(index);
+				Point destination = new Point(random.nextInt(range), random.nextInt(range));
+				if(pointsCollection.contains(destination)) {
+					continue;
+				}
+				pointsCollection.remove(origin);
+				pointsCollection.add(destination);
+				points.set(index, destination);
+				adjusted = calc.moveInConvexHull(pointsCollection, origin, destination);
+			}
+			if(!adjusted) {
+				calc.update(pointsCollection);
+				continue;
+			}
+			reference.update(pointsCollection);
+			check(Calculator.isSameConvexHull(calc.getConvexHull(), reference.getConvexHull()),
+					"Abweichende konvexe Hülle nach Änderung " + i + ": " + SubHullTreeCheck.format(calc.getConvexHull()) + " statt " + SubHullTreeCheck.format(reference.getConvexHull()));
+		}
+	}
+	
+	/**
+	 * Bricht die Prüfung ab, wenn die übergebene Bedingung nicht erfüllt ist.
+	 * 
+	 * @param condition Die Bedingung
+	 * @param message Die Meldung bei einer Abweichung
+	 */
+	private static void check(boolean condition, String message) {
+		if(!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
@@ -0,0 +1,371 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import svwit.util.ConvexHull;
+import svwit.util.Geometry;
+import svwit.util.PackedPointsCollection;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse prüft die Klasse {@code Geometry} und die Stellen, an denen sie verwendet wird, gegen einfache skalare Referenzen.
+ * <p>
+ * Geprüft werden die Determinante gegen die frühere Formel der Klasse {@code Calculator}, der blockweise Test {@code retainLeftOf}
+ * gegen die Determinante jedes einzelnen Punktes, {@code OctagonFilter.classify} gegen {@code isInside}, der Vorfilter der Klasse
+ * {@code Calculator} gegen die Berechnung ohne Vorfilter, der Test {@code locate} der Klasse {@code DynamicConvexHull}
+ * gegen einen Test aller Kanten und die parallele Berechnung gegen die sequentielle Berechnung.
+ * Die Bereinigung der Konturen wird in der Klasse {@code ContourCleanerCheck} geprüft.
+ * <p>
+ * Die Prüfung wird über die Methode {@code main} gestartet und bricht bei der ersten Abweichung mit einem {@code AssertionError} ab.
+ * 
+ */
+public class GeometryCheck {
+
+	/** Gleichverteilte Punkte */
+	private static final int UNIFORM = 0;
+	/** Punkte auf einem kleinen Gitter */
+	private static final int GRID = 1;
+	/** Punkte auf einer Geraden */
+	private static final int LINE = 2;
+	/** Punkte auf einem Kreis */
+	private static final int CIRCLE = 3;
+	/** Punkte mit Koordinaten aus dem gesamten Wertebereich von {@code int} */
+	private static final int EXTREME = 4;
+	
+	/**
+	 * Startet die Prüfung.
+	 * 
+	 * @param args Werden nicht verwendet
+	 */
+	public static void main(String[] args) {
+		Random random = new Random(9);
+		checkDeterminant(random, 1000000);
+		checkRetainLeftOf(random, 2000);
+		for(int i = 0; i < 300; i++) {
+			int distribution = i % (EXTREME + 1);
+			int size = 1 + random.nextInt(i < 100 ? 20 : 5000);
+			PointsCollection pointsCollection = createPoints(random, distribution, size);
+			checkOctagonFilter(pointsCollection, distribution);
+			if(distribution != EXTREME) {
+				checkPrefilter(pointsCollection, distribution);
+				checkLocate(random, pointsCollection, distribution);
+				checkParallelCalculation(pointsCollection, distribution);
+			}
+		}
+		System.out.println("GeometryCheck: OK");
+	}
+	
+	/**
+	 * Vergleicht die Determinante der Klasse {@code Geometry} mit der früheren Formel der Klasse {@code Calculator}.
+	 * <p>
+	 * Beide Formeln müssen auch bei einem Überlauf denselben Wert liefern.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param count Die Anzahl der Vergleiche
+	 */
+	private static void checkDeterminant(Random random, int count) {
+		for(int i = 0; i < count; i++) {
+			int distribution = i % (EXTREME + 1);
+			Point a = createPoint(random, distribution);
+			Point b = createPoint(random, distribution);
+			Point c = createPoint(random, distribution);
+			long expected = getDeterminantReference(a, b, c);
+			check(Geometry.getDeterminant(a, b, c) == expected, "Abweichende Determinante aus " + format(a, b, c));
+			check(Geometry.getDeterminant(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY()) == expected,
+					"Abweichende Determinante aus den Koordinaten " + format(a, b, c));
+		}
+	}
+	
+	/**
+	 * Vergleicht {@code Geometry.retainLeftOf} mit der Determinante jedes einzelnen Punktes.
+	 * <p>
+	 * Die Markierungen werden zufällig vorbelegt, damit auch geprüft wird, dass bereits entfernte Markierungen entfernt bleiben.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param count Die Anzahl der Geraden
+	 */
+	private static void checkRetainLeftOf(Random random, int count) {
+		for(int i = 0; i < count; i++) {
+			int distribution = i % (EXTREME + 1);
+			Point a = createPoint(random, distribution);
+			Point b = createPoint(random, distribution);
+			int length = random.nextInt(3000);
+			int[] xs = new int[length + 1];
+			int[] ys = new int[length + 1];
+			boolean[] marks = new boolean[length + 1];
+			boolean[] initial = new boolean[length + 1];
+			for(int j = 0; j <= length; j++) {
+				// Ein Teil der Punkte liegt auf der Geraden durch A und B
+				Point c = random.nextInt(4) == 0 ? new Point(a.getX() + j * (b.getX() - a.getX()), a.getY() + j * (b.getY() - a.getY())) : createPoint(random, distribution);
+				xs[j] = c.getX();
+				ys[j] = c.getY();
+				marks[j] = random.nextInt(8) != 0;
+				initial[j] = marks[j];
+			}
+			Geometry.retainLeftOf(a.getX(), a.getY(), b.getX(), b.getY(), xs, ys, length, marks);
+			for(int j = 0; j < length; j++) {
+				Point c = new Point(xs[j], ys[j]);
+				boolean expected = initial[j] && getDeterminantReference(a, b, c) > 0;
+				check(marks[j] == expected, "Abweichende Markierung für " + format(a, b, c));
+			}
+			check(marks[length] == initial[length], "Die Markierung nach dem letzten Punkt wurde verändert");
+		}
+	}
+	
+	/**
+	 * Vergleicht {@code OctagonFilter.classify} mit {@code isInside} und prüft, dass jeder aussortierte Punkt echt innerhalb der konvexen Hülle liegt.
+	 * 
+	 * @param pointsCollection Die Punktmenge
+	 * @param distribution Die Verteilung der Punkte
+	 */
+	private static void checkOctagonFilter(PointsCollection pointsCollection, int distribution) {
+		OctagonFilter filter = new OctagonFilter();
+		int[] xs = new int[pointsCollection.size()];
+		int[] ys = new int[pointsCollection.size()];
+		int length = 0;
+		for(Point p : pointsCollection) {
+			filter.offer(p.getX(), p.getY());
+			xs[length] = p.getX();
+			ys[length] = p.getY();
+			length++;
+		}
+		filter.build();
+		boolean[] inside = new boolean[length];
+		filter.classify(xs, ys, length, inside);
+		
+		DynamicConvexHull reference = null;
+		if(distribution != EXTREME) {
+			Calculator calc = new Calculator();
+			calc.update(pointsCollection);
+			if(calc.getConvexHull().size() >= 3) {
+				reference = new DynamicConvexHull(pointsCollection, calc.getConvexHull());
+			}
+		}
+		for(int i = 0; i < length; i++) {
+			check(inside[i] == filter.isInside(xs[i], ys[i]), "Abweichende Einordnung des Punktes (" + xs[i] + ", " + ys[i] + ") bei Verteilung " + distribution);
+			if(inside[i] && reference != null) {
+				check(reference.locate(new Point(xs[i], ys[i])) == DynamicConvexHull.LOCATION_INSIDE,
+						"Der Punkt (" + xs[i] + ", " + ys[i] + ") wurde aussortiert, liegt aber nicht echt innerhalb der konvexen Hülle");
+			}
+		}
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle mit und ohne Vorfilter, sowohl aus Punkten als auch aus primitiven Koordinaten, und vergleicht sie.
+	 * Die Anzahl der aussortierten Punkte muss der Anzahl der Punkte entsprechen, für die {@code OctagonFilter.isInside} zutrifft.
+	 * 
+	 * @param pointsCollection Die Punktmenge
+	 * @param distribution Die Verteilung der Punkte
+	 */
+	private static void checkPrefilter(PointsCollection pointsCollection, int distribution) {
+		OctagonFilter filter = new OctagonFilter();
+		for(Point p : pointsCollection) {
+			filter.offer(p.getX(), p.getY());
+		}
+		filter.build();
+		int eliminated = 0;
+		for(Point p : pointsCollection) {
+			if(filter.isInside(p.getX(), p.getY())) {
+				eliminated++;
+			}
+		}
+		
+		Calculator reference = new Calculator();
+		reference.setPrefilterEnabled(false);
+		reference.update(pointsCollection);
+		ConvexHull expected = reference.getConvexHull();
+		
+		Calculator calc = new Calculator();
+		calc.setPrefilterEnabled(true);
+		calc.update(pointsCollection);
+		check(Calculator.isSameConvexHull(calc.getConvexHull(), expected), "Abweichende konvexe Hülle mit Vorfilter bei Verteilung " + distribution
+				+ ": " + SubHullTreeCheck.format(calc.getConvexHull()) + " statt " + SubHullTreeCheck.format(expected));
+		if(pointsCollection.size() > 2) {
+			check(calc.getPrefilterEliminatedPoints() == eliminated, "Abweichende Anzahl aussortierter Punkte bei Verteilung " + distribution
+					+ ": " + calc.getPrefilterEliminatedPoints() + " statt " + eliminated);
+		}
+		
+		Calculator packed = new Calculator();
+		packed.setPrefilterEnabled(true);
+		packed.update(PackedPointsCollection.fromPoints(pointsCollection));
+		check(Calculator.isSameConvexHull(packed.getConvexHull(), expected), "Abweichende konvexe Hülle aus primitiven Koordinaten mit Vorfilter bei Verteilung " + distribution
+				+ ": " + SubHullTreeCheck.format(packed.getConvexHull()) + " statt " + SubHullTreeCheck.format(expected));
+		if(pointsCollection.size() > 2) {
+			check(packed.getPrefilterEliminatedPoints() == eliminated, "Abweichende Anzahl aussortierter Punkte aus primitiven Koordinaten bei Verteilung " + distribution
+					+ ": " + packed.getPrefilterEliminatedPoints() + " statt " + eliminated);
+		}
+	}
+	
+	/**
+	 * Vergleicht {@code DynamicConvexHull.locate} für zufällige Punkte, Punkte der Punktmenge, Eckpunkte und Punkte auf den Kanten
+	 * mit einem Test aller Kanten der konvexen Hülle.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param pointsCollection Die Punktmenge
+	 * @param distribution Die Verteilung der Punkte
+	 */
+	private static void checkLocate(Random random, PointsCollection pointsCollection, int distribution) {
+		Calculator calc = new Calculator();
+		calc.update(pointsCollection);
+		ConvexHull convexHull = calc.getConvexHull();
+		if(convexHull.size() < 3) {
+			return;
+		}
+		DynamicConvexHull dynamicConvexHull = new DynamicConvexHull(pointsCollection, convexHull);
+		
+		// Der Test aller Kanten benötigt O(h) Zeit, daher werden bei großen Hüllen und Punktmengen nur gleichmäßig verteilte Stichproben geprüft
+		ArrayList<Point> queries = new ArrayList<Point>();
+		for(int i = 0; i < convexHull.size(); i += 1 + convexHull.size() / 200) {
+			Point a = convexHull.get(i);
+			Point b = convexHull.get((i + 1) % convexHull.size());
+			queries.add(a);
+			queries.add(new Point(a.getX() + (b.getX() - a.getX()) / 2, a.getY() + (b.getY() - a.getY()) / 2));
+			queries.add(new Point(2 * a.getX() - b.getX(), 2 * a.getY() - b.getY()));
+		}
+		for(int i = 0; i < 500; i++) {
+			queries.add(createPoint(random, distribution));
+		}
+		int index = 0;
+		for(Point p : pointsCollection) {
+			if(index++ % (1 + pointsCollection.size() / 500) == 0) {
+				queries.add(p);
+			}
+		}
+		
+		for(Point p : queries) {
+			int expected = locateReference(convexHull, p);
+			int actual = dynamicConvexHull.locate(p);
+			check(actual == expected, "Abweichende Lage des Punktes (" + p.getX() + ", " + p.getY() + ") bei Verteilung " + distribution
+					+ ": " + actual + " statt " + expected + " in " + SubHullTreeCheck.format(convexHull));
+		}
+	}
+	
+	/**
+	 * Berechnet die konvexe Hülle einmal parallel und einmal sequentiell, sowohl aus Punkten als auch aus primitiven Koordinaten, und vergleicht sie.
+	 * 
+	 * @param pointsCollection Die Punktmenge
+	 * @param distribution Die Verteilung der Punkte
+	 */
+	private static void checkParallelCalculation(PointsCollection pointsCollection, int distribution) {
+		Calculator reference = new Calculator();
+		reference.setParallelCalculationEnabled(false);
+		reference.update(pointsCollection);
+		ConvexHull expected = reference.getConvexHull();
+		
+		Calculator calc = new Calculator();
+		calc.setParallelCalculationEnabled(true);
+		calc.setParallelThreshold(1);
+		calc.update(pointsCollection);
+		check(Calculator.isSameConvexHull(calc.getConvexHull(), expected), "Abweichende parallele konvexe Hülle bei Verteilung " + distribution
+				+ ": " + SubHullTreeCheck.format(calc.getConvexHull()) + " statt " + SubHullTreeCheck.format(expected));
+		
+		calc.update(PackedPointsCollection.fromPoints(pointsCollection));
+		check(Calculator.isSameConvexHull(calc.getConvexHull(), expected), "Abweichende parallele konvexe Hülle aus primitiven Koordinaten bei Verteilung " + distribution
+				+ ": " + SubHullTreeCheck.format(calc.getConvexHull()) + " statt " + SubHullTreeCheck.format(expected));
+	}
+	
+	/**
+	 * Erzeugt eine Punktmenge der übergebenen Verteilung.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param distribution Die Verteilung der Punkte
+	 * @param size Die Anzahl der zufälligen Punkte, gleiche Punkte werden nur einmal aufgenommen
+	 * @return Die Punktmenge
+	 */
+	private static PointsCollection createPoints(Random random, int distribution, int size) {
+		PointsCollection pointsCollection = new PointsCollection();
+		for(int i = 0; i < size; i++) {
+			pointsCollection.add(createPoint(random, distribution));
+		}
+		return pointsCollection;
+	}
+	
+	/**
+	 * Erzeugt einen zufälligen Punkt der übergebenen Verteilung.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param distribution Die Verteilung der Punkte
+	 * @return Der Punkt
+	 */
+	private static Point createPoint(Random random, int distribution) {
+		switch(distribution) {
+		case GRID:
+			return new Point(random.nextInt(12), random.nextInt(12));
+		case LINE:
+			int t = random.nextInt(100000);
+			return new Point(3 * t, 2 * t - 7);
+		case CIRCLE:
+			double angle = random.nextInt(1 << 20) * 2 * Math.PI / (1 << 20);
+			return new Point((int)Math.round(Math.cos(angle) * 1000000), (int)Math.round(Math.sin(angle) * 1000000));
+		case EXTREME:
+			return new Point(random.nextInt(), random.nextInt());
+		default:
+			return new Point(random.nextInt(2000001) - 1000000, random.nextInt(2000001) - 1000000);
+		}
+	}
+	
+	/**
+	 * Gibt die Determinante aus den drei übergebenen Punkten mit der früheren Formel der Klasse {@code Calculator} zurück.
+	 * 
+	 * @param pointA Der erste Punkt
+	 * @param pointB Der zweite Punkt
+	 * @param pointC Der dritte Punkt
+	 * @return Die Determinante
+	 */
+	private static long getDeterminantReference(Point pointA, Point pointB, Point pointC) {
+		long determinant = 0;
+		determinant += (long)pointA.getX() * ((long)pointB.getY() - (long)pointC.getY());
+		determinant += (long)pointB.getX() * ((long)pointC.getY() - (long)pointA.getY());
+		determinant += (long)pointC.getX() * ((long)pointA.getY() - (long)pointB.getY());
+		return determinant;
+	}
+	
+	/**
+	 * Gibt zurück, ob der übergebene Punkt außerhalb, auf dem Rand oder echt innerhalb der konvexen Hülle liegt, indem er gegen alle Kanten getestet wird.
+	 * 
+	 * @param convexHull Die konvexe Hülle gegen den Uhrzeigersinn
+	 * @param p Der Punkt, der geprüft werden soll
+	 * @return {@code LOCATION_OUTSIDE}, {@code LOCATION_BOUNDARY} oder {@code LOCATION_INSIDE}
+	 */
+	private static int locateReference(ConvexHull convexHull, Point p) {
+		boolean boundary = false;
+		for(int i = 0; i < convexHull.size(); i++) {
+			long determinant = getDeterminantReference(convexHull.get(i), convexHull.get((i + 1) % convexHull.size()), p);
+			if(determinant < 0) {
+				return DynamicConvexHull.LOCATION_OUTSIDE;
+			}
+			boundary |= determinant == 0;
+		}
+		return boundary ? DynamicConvexHull.LOCATION_BOUNDARY : DynamicConvexHull.LOCATION_INSIDE;
+	}
+	
+	/**
+	 * Gibt die Koordinaten der übergebenen drei Punkte als Text zurück.
+	 * 
+	 * @param pointA Der erste Punkt
+	 * @param pointB Der zweite Punkt
+	 * @param pointC Der dritte Punkt
+	 * @return Die Koordinaten als Text
+	 */
+	private static String format(Point pointA, Point pointB, Point pointC) {
+		ArrayList<Point> points = new ArrayList<Point>();
+		points.add(pointA);
+		points.add(pointB);
+		points.add(pointC);
+		return SubHullTreeCheck.format(points);
+	}
+	
+	/**
+	 * Bricht die Prüfung ab, wenn die übergebene Bedingung nicht erfüllt ist.
+	 * 
+	 * @param condition Die Bedingung
+	 * @param message Die Meldung bei einer Abweichung
+	 */
+	private static void check(boolean condition, String message) {
+		if(!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package svwit.calculator;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import svwit.util.ConvexHull;
+import svwit.util.Point;
+import svwit.util.PointsCollection;
+
+/**
+ * Diese Klasse prüft die Klasse {@code SubHullTree} gegen die vollständige Berechnung der Klasse {@code Calculator}.
+ * <p>
+ * Es werden zufällige Punkte hinzugefügt und entfernt. Nach jeder Änderung muss der Baum dieselben Eckpunkte in derselben Reihenfolge liefern.
+ * Neben gleichverteilten Punkten werden Punkte auf einem kleinen Gitter, auf einer Geraden, auf senkrechten Geraden und auf einem Kreis verwendet,
+ * sodass viele kollineare Punkte, gleiche X-Koordinaten und Konturen aus allen Punkten entstehen.
+ * <p>
+ * Die Prüfung wird über die Methode {@code main} gestartet und bricht bei der ersten Abweichung mit einem {@code AssertionError} ab.
+ * 
+ */
+public class SubHullTreeCheck {
+
+	/** Gleichverteilte Punkte */
+	private static final int UNIFORM = 0;
+	/** Punkte auf einem kleinen Gitter */
+	private static final int GRID = 1;
+	/** Punkte auf einer Geraden */
+	private static final int LINE = 2;
+	/** Punkte auf wenigen senkrechten Geraden */
+	private static final int COLUMNS = 3;
+	/** Punkte auf einem Kreis */
+	private static final int CIRCLE = 4;
+	
+	/**
+	 * Startet die Prüfung.
+	 * 
+	 * @param args Werden nicht verwendet
+	 */
+	public static void main(String[] args) {
+		for(int distribution = UNIFORM; distribution <= CIRCLE; distribution++) {
+			checkRandomChanges(new Random(distribution), distribution, 3000, 4000);
+			checkRandomChanges(new Random(distribution + 100), distribution, 20, 3000);
+		}
+		System.out.println("SubHullTreeCheck: OK");
+	}
+	
+	/**
+	 * Baut einen Baum aus zufälligen Punkten auf, fügt anschließend zufällige Punkte hinzu, entfernt sie wieder
+	 * und vergleicht die konvexe Hülle nach jeder Änderung mit der vollständigen Berechnung.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param distribution Die Verteilung der Punkte
+	 * @param initialSize Die Anzahl der Punkte beim Aufbau
+	 * @param changes Die Anzahl der Änderungen
+	 */
+	private static void checkRandomChanges(Random random, int distribution, int initialSize, int changes) {
+		PointsCollection pointsCollection = new PointsCollection();
+		ArrayList<Point> points = new ArrayList<Point>();
+		for(int i = 0; i < initialSize; i++) {
+			Point p = createPoint(random, distribution);
+			if(pointsCollection.add(p)) {
+				points.add(p);
+			}
+		}
+		SubHullTree tree = SubHullTree.fromPoints(pointsCollection, null);
+		compare(tree, pointsCollection, distribution, -1);
+		
+		for(int i = 0; i < changes; i++) {
+			// Zunächst überwiegt das Entfernen, damit auch Blätter leer werden, danach das Hinzufügen, damit Blätter geteilt werden
+			boolean remove = points.size() > 0 && random.nextInt(4) < (i < changes / 2 ? 3 : 1);
+			if(remove) {
+				Point p = points.remove(random.nextInt(points.size()));
+				pointsCollection.remove(p);
+				check(tree.remove(p), "Der Punkt (" + p.getX() + ", " + p.getY() + ") wurde nicht entfernt");
+			} else {
+				Point p = createPoint(random, distribution);
+				boolean added = pointsCollection.add(p);
+				if(added) {
+					points.add(p);
+				}
+				check(tree.add(p) == added, "Der Punkt (" + p.getX() + ", " + p.getY() + ") wurde falsch hinzugefügt");
+			}
+			check(tree.size() == pointsCollection.size(), "Abweichende Anzahl an Punkten nach Änderung " + i);
+			compare(tree, pointsCollection, distribution, i);
+		}
+	}
+	
+	/**
+	 * Erzeugt einen zufälligen Punkt der übergebenen Verteilung.
+	 * 
+	 * @param random Der Zufallsgenerator
+	 * @param distribution Die Verteilung der Punkte
+	 * @return Der Punkt
+	 */
+	private static Point createPoint(Random random, int distribution) {
+		switch(distribution) {
+		case GRID:
+			return new Point(random.nextInt(12), random.nextInt(12));
+		case LINE:
+			int t = random.nextInt(100000);
+			return new Point(3 * t, 2 * t - 7);
+		case COLUMNS:
+			return new Point(random.nextInt(3) * 1000, random.nextInt(1000000));
+		case CIRCLE:
+			double angle = random.nextInt(1 << 20) * 2 * Math.PI / (1 << 20);
+			return new Point((int)Math.round(Math.cos(angle) * 1000000), (int)Math.round(Math.sin(angle) * 1000000));
+		default:
+			return new Point(random.nextInt(2000001) - 1000000, random.nextInt(2000001) - 1000000);
+		}
+	}
+	
+	/**
+	 * Vergleicht die konvexe Hülle des Baumes mit der vollständigen Berechnung.
+	 * 
+	 * @param tree Der Baum
+	 * @param pointsCollection Die Punktmenge
+	 * @param distribution Die Verteilung der Punkte
+	 * @param change Die Nummer der Änderung
+	 */
+	private static void compare(SubHullTree tree, PointsCollection pointsCollection, int distribution, int change) {
+		ArrayList<Point> actual = tree.getConvexHull();
+		if(pointsCollection.isEmpty()) {
+			check(actual == null, "Die konvexe Hülle einer leeren Punktmenge ist nicht leer");
+			return;
+		}
+		Calculator reference = new Calculator();
+		reference.update(pointsCollection);
+		ConvexHull expected = reference.getConvexHull();
+		boolean same = actual.size() == expected.size();
+		for(int i = 0; same && i < actual.size(); i++) {
+			same = actual.get(i).equals(expected.get(i));
+		}
+		check(same, "Abweichende konvexe Hülle bei Verteilung " + distribution + " nach Änderung " + change + ": " + format(actual) + " statt " + format(expected));
+	}
+	
+	/**
+	 * Gibt die Koordinaten der übergebenen Punkte als Text zurück.
+	 * 
+	 * @param points Die Punkte
+	 * @return Die Koordinaten als Text
+	 */
+	static String format(Iterable<Point> points) {
+		StringBuilder text = new StringBuilder("[");
+		for(Point p : points) {
+			if(text.length() > 1) {
+				text.append(", ");
+			}
+			text.append("(").append(p.getX()).append(", ").append(p.getY()).append(")");
+		}
+		return text.append("]").toString();
+	}
+	
+	/**
+	 * Bricht die Prüfung ab, wenn die übergebene Bedingung nicht erfüllt ist.
+	 * 
+	 * @param condition Die Bedingung
+	 * @param message Die Meldung bei einer Abweichung
+	 */
+	private static void check(boolean condition, String message) {
+		if(!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}